@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Time to ready and resident memory of one build of the service, measured from process start until
+# /actuator/health answers UP (which includes the MongoDB check).
+#
+# Usage: scripts/compare-startup.sh <label> <command...>
+#   scripts/compare-startup.sh jvm        java -jar target/cpwarehouse-0.0.1-SNAPSHOT.jar
+#   scripts/compare-startup.sh fast-start sh -c 'cd target/fast-start && exec java -XX:SharedArchiveFile=application.jsa \
+#                                           -Dspring.aot.enabled=true -Dspring.profiles.active=fast-start \
+#                                           -jar cpwarehouse-0.0.1-SNAPSHOT.jar'
+#   scripts/compare-startup.sh native     target/cpwarehouse
+set -euo pipefail
+
+if [ $# -lt 2 ]; then
+  sed -n '2,11p' "$0"
+  exit 1
+fi
+
+label=$1
+shift
+port=${SERVER_PORT:-8080}
+log="${TMPDIR:-/tmp}/cpwarehouse-startup-$label.log"
+
+start=$(date +%s%N)
+SERVER_PORT=$port "$@" >"$log" 2>&1 &
+pid=$!
+trap 'kill "$pid" 2>/dev/null || true' EXIT
+
+until curl -sf "http://localhost:$port/actuator/health" >/dev/null; do
+  if ! kill -0 "$pid" 2>/dev/null; then
+    echo "$label: exited before becoming ready, see $log" >&2
+    exit 1
+  fi
+  sleep 0.02
+done
+
+ready_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+rss_kb=$(awk '/^VmRSS/ {print $2}' "/proc/$pid/status")
+echo "$label: ready in ${ready_ms} ms, RSS $(( rss_kb / 1024 )) MB"
@@ -0,0 +1,152 @@
+package io.github.edmaputra.cpwarehouse.common;
+
+import io.github.edmaputra.cpwarehouse.config.AdmissionProperties;
+import io.github.edmaputra.cpwarehouse.config.AdmissionProperties.CommandLimit;
+import io.github.edmaputra.cpwarehouse.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for CommandExecutor: per-command token-bucket rate limits and shared concurrency pools.
+ *
+ * <p>A command is checked against its rate limit first and then takes a slot in its pool, waiting in a
+ * bounded priority queue if the pool is busy. Anything that cannot be admitted fails fast with
+ * {@link TooManyRequestsException} instead of piling onto the database. Outcomes are counted in
+ * {@code command.admission} tagged with the command and admitted/queued/shed; pool occupancy is exported
+ * as {@code command.admission.in.flight} and {@code command.admission.queued}.
+ */
+@Slf4j
+@Component
+public class AdmissionController {
+
+  private static final Permit UNLIMITED = () -> {
+  };
+
+  private final AdmissionProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, AdmissionPool> pools = new HashMap<>();
+  private final Map<String, Optional<Gate>> gates = new ConcurrentHashMap<>();
+
+  public AdmissionController(AdmissionProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+
+    properties.getPools().forEach((name, config) -> {
+      AdmissionPool pool = new AdmissionPool(config.getMaxConcurrent(), config.getMaxQueued(),
+          config.getQueueTimeout().toNanos(), TimeUnit.NANOSECONDS);
+      pools.put(name, pool);
+      Gauge.builder("command.admission.in.flight", pool, AdmissionPool::inFlight)
+          .description("Commands executing in the admission pool")
+          .tag("pool", name)
+          .register(meterRegistry);
+      Gauge.builder("command.admission.queued", pool, AdmissionPool::queued)
+          .description("Commands waiting for a slot in the admission pool")
+          .tag("pool", name)
+          .register(meterRegistry);
+    });
+  }
+
+  /**
+   * Slot held by an admitted command; closing it lets the next command in.
+   */
+  @FunctionalInterface
+  public interface Permit extends AutoCloseable {
+
+    @Override
+    void close();
+  }
+
+  /**
+   * Admit a command or reject it.
+   *
+   * @param commandName the command simple name
+   * @return permit to close once the command has finished
+   * @throws TooManyRequestsException if the command is rate limited or its pool is saturated
+   */
+  public Permit admit(String commandName) {
+    if (!properties.isEnabled()) {
+      return UNLIMITED;
+    }
+
+    Gate gate = gates.computeIfAbsent(commandName, this::gate).orElse(null);
+    if (gate == null) {
+      return UNLIMITED;
+    }
+
+    if (gate.bucket != null) {
+      long waitNanos = gate.bucket.tryAcquire();
+      if (waitNanos > 0) {
+        gate.shed.increment();
+        throw new TooManyRequestsException("Rate limit exceeded for " + commandName, Duration.ofNanos(waitNanos));
+      }
+    }
+
+    if (gate.pool == null) {
+      gate.admitted.increment();
+      return UNLIMITED;
+    }
+
+    AdmissionPool.Outcome outcome;
+    try {
+      outcome = gate.pool.acquire(gate.priority);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      outcome = AdmissionPool.Outcome.SHED;
+    }
+
+    switch (outcome) {
+      case ADMITTED -> gate.admitted.increment();
+      case QUEUED -> gate.queued.increment();
+      case SHED -> {
+        gate.shed.increment();
+        log.debug("Shedding {}: pool {} is saturated", commandName, gate.poolName);
+        throw new TooManyRequestsException("Too many concurrent requests for " + commandName,
+            properties.getRetryAfter());
+      }
+    }
+    return gate.pool::release;
+  }
+
+  private Optional<Gate> gate(String commandName) {
+    CommandLimit limit = properties.getCommands().get(commandName);
+    if (limit == null) {
+      return Optional.empty();
+    }
+
+    AdmissionPool pool = null;
+    if (limit.getPool() != null) {
+      pool = pools.get(limit.getPool());
+      if (pool == null) {
+        throw new IllegalStateException("Unknown admission pool '" + limit.getPool() + "' for " + commandName);
+      }
+    }
+    TokenBucket bucket = limit.getRatePerSecond() > 0
+        ? new TokenBucket(limit.getRatePerSecond(), limit.getBurst())
+        : null;
+
+    return Optional.of(new Gate(limit.getPool(), pool, bucket, limit.getPriority(),
+        counter(commandName, "admitted"), counter(commandName, "queued"), counter(commandName, "shed")));
+  }
+
+  private Counter counter(String commandName, String outcome) {
+    return Counter.builder("command.admission")
+        .description("Admission decisions per command")
+        .tag("command", commandName)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private record Gate(String poolName, AdmissionPool pool, TokenBucket bucket, int priority,
+                      Counter admitted, Counter queued, Counter shed) {
+  }
+}
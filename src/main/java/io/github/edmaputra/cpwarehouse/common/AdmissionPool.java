@@ -0,0 +1,161 @@
+package io.github.edmaputra.cpwarehouse.common;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded set of execution slots with a bounded priority queue in front of it.
+ *
+ * <p>A released slot is handed directly to the highest-priority waiter (FIFO within a priority), so a
+ * stream of new low-priority arrivals cannot starve waiting high-priority ones. When the queue is full,
+ * an arrival displaces the newest waiter of a lower priority, or is itself rejected.
+ */
+final class AdmissionPool {
+
+  private static final Comparator<Waiter> ORDER = Comparator
+      .comparingInt((Waiter waiter) -> -waiter.priority)
+      .thenComparingLong(waiter -> waiter.sequence);
+
+  private final int maxConcurrent;
+  private final int maxQueued;
+  private final long queueTimeoutNanos;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(ORDER);
+  private int inFlight;
+  private long sequence;
+
+  AdmissionPool(int maxConcurrent, int maxQueued, long queueTimeout, TimeUnit unit) {
+    this.maxConcurrent = maxConcurrent;
+    this.maxQueued = maxQueued;
+    this.queueTimeoutNanos = unit.toNanos(queueTimeout);
+  }
+
+  enum Outcome {
+    /** Got a slot immediately. */
+    ADMITTED,
+    /** Got a slot after waiting in the queue. */
+    QUEUED,
+    /** Rejected: queue full, displaced by a higher priority, or timed out. */
+    SHED
+  }
+
+  /**
+   * Take a slot, waiting up to the queue timeout.
+   *
+   * @param priority priority of the caller
+   * @return how the slot was obtained, or SHED if it was not
+   */
+  Outcome acquire(int priority) throws InterruptedException {
+    Waiter waiter;
+    lock.lock();
+    try {
+      if (inFlight < maxConcurrent && waiters.isEmpty()) {
+        inFlight++;
+        return Outcome.ADMITTED;
+      }
+      if (waiters.size() >= maxQueued && !displaceLowerThan(priority)) {
+        return Outcome.SHED;
+      }
+
+      waiter = new Waiter(priority, sequence++, lock.newCondition());
+      waiters.add(waiter);
+
+      long remaining = queueTimeoutNanos;
+      try {
+        while (!waiter.granted && !waiter.displaced && remaining > 0) {
+          remaining = waiter.signal.awaitNanos(remaining);
+        }
+      } catch (InterruptedException e) {
+        abandon(waiter);
+        throw e;
+      }
+
+      if (waiter.granted) {
+        return Outcome.QUEUED;
+      }
+      waiters.remove(waiter);
+      return Outcome.SHED;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Give a slot back, handing it to the next waiter if there is one.
+   */
+  void release() {
+    lock.lock();
+    try {
+      Waiter next = waiters.poll();
+      if (next != null) {
+        next.granted = true;
+        next.signal.signal();
+      } else {
+        inFlight--;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int inFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int queued() {
+    lock.lock();
+    try {
+      return waiters.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean displaceLowerThan(int priority) {
+    Waiter lowest = null;
+    for (Waiter candidate : waiters) {
+      if (lowest == null || ORDER.compare(candidate, lowest) > 0) {
+        lowest = candidate;
+      }
+    }
+    if (lowest == null || lowest.priority >= priority) {
+      return false;
+    }
+    waiters.remove(lowest);
+    lowest.displaced = true;
+    lowest.signal.signal();
+    return true;
+  }
+
+  private void abandon(Waiter waiter) {
+    if (waiter.granted) {
+      // The slot was handed over while the thread was being interrupted; pass it on
+      release();
+    } else {
+      waiters.remove(waiter);
+    }
+  }
+
+  private static final class Waiter {
+    private final int priority;
+    private final long sequence;
+    private final Condition signal;
+    private boolean granted;
+    private boolean displaced;
+
+    private Waiter(int priority, long sequence, Condition signal) {
+      this.priority = priority;
+      this.sequence = sequence;
+      this.signal = signal;
+    }
+  }
+}
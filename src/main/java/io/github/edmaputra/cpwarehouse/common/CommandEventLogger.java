@@ -0,0 +1,79 @@
+package io.github.edmaputra.cpwarehouse.common;
+
+import io.github.edmaputra.cpwarehouse.config.CommandLoggingProperties;
+import io.github.edmaputra.cpwarehouse.exception.DuplicateResourceException;
+import io.github.edmaputra.cpwarehouse.exception.InsufficientStockException;
+import io.github.edmaputra.cpwarehouse.exception.InvalidOperationException;
+import io.github.edmaputra.cpwarehouse.exception.InvalidPaymentException;
+import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one structured key/value event per command execution.
+ * Successful executions are sampled according to {@link CommandLoggingProperties};
+ * failures are always logged. Business exceptions are logged at WARN without a stack trace,
+ * anything else at ERROR with the cause attached.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommandEventLogger {
+
+  private final CommandLoggingProperties properties;
+
+  /**
+   * Log a successful command execution, subject to sampling.
+   *
+   * @param commandName  the command simple name
+   * @param elapsedNanos execution time in nanoseconds
+   */
+  public void success(String commandName, long elapsedNanos) {
+    if (!log.isInfoEnabled()) {
+      return;
+    }
+
+    double sampleRate = properties.sampleRateFor(commandName);
+    if (sampleRate <= 0.0 || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+      return;
+    }
+
+    log.atInfo()
+        .addKeyValue("event", "command.success")
+        .addKeyValue("command", commandName)
+        .addKeyValue("durationMicros", TimeUnit.NANOSECONDS.toMicros(elapsedNanos))
+        .addKeyValue("sampleRate", sampleRate)
+        .log("Command succeeded");
+  }
+
+  /**
+   * Log a failed command execution. Never sampled.
+   *
+   * @param commandName  the command simple name
+   * @param elapsedNanos execution time in nanoseconds
+   * @param failure      the exception thrown by the command
+   */
+  public void failure(String commandName, long elapsedNanos, Throwable failure) {
+    boolean business = isBusinessException(failure);
+
+    (business ? log.atWarn() : log.atError().setCause(failure))
+        .addKeyValue("event", "command.failure")
+        .addKeyValue("command", commandName)
+        .addKeyValue("durationMicros", TimeUnit.NANOSECONDS.toMicros(elapsedNanos))
+        .addKeyValue("error", failure.getClass().getSimpleName())
+        .addKeyValue("errorMessage", failure.getMessage())
+        .log("Command failed");
+  }
+
+  private static boolean isBusinessException(Throwable failure) {
+    return failure instanceof ResourceNotFoundException
+        || failure instanceof DuplicateResourceException
+        || failure instanceof InvalidOperationException
+        || failure instanceof InsufficientStockException
+        || failure instanceof InvalidPaymentException;
+  }
+}
@@ -10,6 +10,13 @@ import org.springframework.stereotype.Service;
  * This allows for dependency injection in command classes and centralized command execution.
  * The controller uses this executor to call command interfaces, and Spring resolves
  * the actual implementation at runtime.
+ * Every execution is timed and reported to {@link CommandEventLogger} as a single structured event.
+ * Commands pass {@link AdmissionController} first, so an overloaded command is shed before it starts.
+ * Identical concurrent calls of coalesced read commands share one execution through {@link SingleFlight},
+ * unless they run inside a write command.
+ * Query commands run on replica set secondaries through {@link ReadRouting}, and writes get the write
+ * concern tier of their command from {@link DurabilityPolicy}. With transactions enabled, write commands run
+ * in a MongoDB transaction through {@link MongoTransactions}.
  */
 @Slf4j
 @Service
@@ -17,6 +24,12 @@ import org.springframework.stereotype.Service;
 public class CommandExecutor {
 
   private final ApplicationContext applicationContext;
+  private final CommandEventLogger commandEventLogger;
+  private final AdmissionController admissionController;
+  private final SingleFlight singleFlight;
+  private final ReadRouting readRouting;
+  private final DurabilityPolicy durabilityPolicy;
+  private final MongoTransactions mongoTransactions;
 
   /**
    * Execute a command by retrieving it from the ApplicationContext and calling its execute method.
@@ -28,14 +41,41 @@ public class CommandExecutor {
    * @param <T>          the response type
    * @return the response from the command execution
    * @throws RuntimeException if the command execution fails
+   * @throws io.github.edmaputra.cpwarehouse.exception.TooManyRequestsException if the command is shed
    */
   public <R, T> T execute(Class<? extends Command<R, T>> commandClass, R request) throws RuntimeException {
-    log.debug("Executing command: {}", commandClass.getSimpleName());
+    String commandName = commandClass.getSimpleName();
+    log.debug("Executing command: {}", commandName);
 
     Command<R, T> command = applicationContext.getBean(commandClass);
-    T result = command.execute(request);
+    if (singleFlight.applies(commandName) && coalescible()) {
+      // Only the leader of a coalesced group is admitted and executed
+      return singleFlight.execute(commandName, request, () -> admitAndExecute(commandName, command, request));
+    }
+    return admitAndExecute(commandName, command, request);
+  }
+
+  /**
+   * A call that must read after a given write, or from the primary or transaction of the write command
+   * it runs in, cannot share the result of a call that need not.
+   */
+  private boolean coalescible() {
+    return !readRouting.readsAfterWrite() && !readRouting.insideWrite() && MongoTransactions.currentSession() == null;
+  }
 
-    log.debug("Command {} executed successfully", commandClass.getSimpleName());
-    return result;
+  private <R, T> T admitAndExecute(String commandName, Command<R, T> command, R request) {
+    try (AdmissionController.Permit permit = admissionController.admit(commandName)) {
+      long start = System.nanoTime();
+      try {
+        T result = readRouting.execute(commandName, command,
+            () -> durabilityPolicy.execute(commandName,
+                () -> mongoTransactions.execute(commandName, command, request)));
+        commandEventLogger.success(commandName, System.nanoTime() - start);
+        return result;
+      } catch (RuntimeException ex) {
+        commandEventLogger.failure(commandName, System.nanoTime() - start, ex);
+        throw ex;
+      }
+    }
   }
 }
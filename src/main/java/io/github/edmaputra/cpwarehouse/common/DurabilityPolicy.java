@@ -0,0 +1,200 @@
+package io.github.edmaputra.cpwarehouse.common;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.github.edmaputra.cpwarehouse.config.DurabilityProperties;
+import io.github.edmaputra.cpwarehouse.config.DurabilityProperties.CollectionRule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoAction;
+import org.springframework.data.mongodb.core.WriteConcernResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Write concern tiers per command, collection and operation, enforced by MongoTemplate.
+ *
+ * <p>A write gets the tier of the first matching rule: the operation rule of its collection (insert, update,
+ * remove), the collection tier, then the tier of the running command. Without a match it keeps the client's
+ * write concern. Collection tiers are applied to every collection MongoTemplate hands out, so they also cover
+ * findAndModify, aggregation writes and bulk writes; operation rules are resolved per insert, update and
+ * remove through {@link WriteConcernResolver}.
+ *
+ * <p>Write latency is recorded in {@code mongodb.write}, tagged with the tier the driver actually sent
+ * ("default" for the client's write concern), the driver command and the outcome.
+ */
+@Component
+public class DurabilityPolicy implements WriteConcernResolver {
+
+  private static final String DEFAULT_TIER = "default";
+  private static final Set<String> WRITE_COMMANDS = Set.of("insert", "update", "delete", "findAndModify");
+  private static final ThreadLocal<WriteConcern> COMMAND_TIER = new ThreadLocal<>();
+
+  private final DurabilityProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, WriteConcern> tiers = new HashMap<>();
+  private final Map<BsonDocument, String> tierNames = new HashMap<>();
+  private final Map<Integer, String> startedWrites = new ConcurrentHashMap<>();
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  public DurabilityPolicy(DurabilityProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+
+    properties.getTiers().forEach((name, tier) -> {
+      WriteConcern writeConcern = tier.getW().chars().allMatch(Character::isDigit)
+          ? new WriteConcern(Integer.parseInt(tier.getW()))
+          : new WriteConcern(tier.getW());
+      if (tier.getJournal() != null) {
+        writeConcern = writeConcern.withJournal(tier.getJournal());
+      }
+      if (tier.getTimeout() != null) {
+        writeConcern = writeConcern.withWTimeout(tier.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+      }
+      tiers.put(name, writeConcern);
+      tierNames.put(writeConcern.asDocument(), name);
+    });
+
+    properties.getCollections().forEach((collection, rule) -> {
+      for (String tier : new String[] {rule.getTier(), rule.getInsert(), rule.getUpdate(), rule.getRemove()}) {
+        tier(tier, "collection " + collection);
+      }
+    });
+    properties.getCommands().forEach((command, tier) -> tier(tier, "command " + command));
+  }
+
+  /**
+   * Run a command with its configured tier; a command without one keeps the tier of the command calling it.
+   *
+   * @param commandName the command simple name
+   * @param call        the command execution
+   * @param <T>         the response type
+   * @return the command response
+   */
+  public <T> T execute(String commandName, Supplier<T> call) {
+    WriteConcern tier = properties.isEnabled() ? tier(properties.getCommands().get(commandName), null) : null;
+    if (tier == null) {
+      return call.get();
+    }
+
+    WriteConcern previous = COMMAND_TIER.get();
+    COMMAND_TIER.set(tier);
+    try {
+      return call.get();
+    } finally {
+      if (previous == null) {
+        COMMAND_TIER.remove();
+      } else {
+        COMMAND_TIER.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Apply the collection or command tier to a collection MongoTemplate is about to use.
+   *
+   * @param collection the collection
+   * @return the collection with the tier's write concern, or unchanged without a matching rule
+   */
+  public MongoCollection<Document> prepare(MongoCollection<Document> collection) {
+    if (!properties.isEnabled()) {
+      return collection;
+    }
+    WriteConcern tier = baseTier(collection.getNamespace().getCollectionName());
+    return tier != null ? collection.withWriteConcern(tier) : collection;
+  }
+
+  @Override
+  public WriteConcern resolve(MongoAction action) {
+    if (!properties.isEnabled()) {
+      return action.getDefaultWriteConcern();
+    }
+
+    CollectionRule rule = properties.getCollections().get(action.getCollectionName());
+    String operationTier = rule == null ? null : switch (action.getMongoActionOperation()) {
+      case INSERT, INSERT_LIST -> rule.getInsert();
+      case UPDATE, REPLACE, SAVE -> rule.getUpdate();
+      case REMOVE -> rule.getRemove();
+      case BULK -> null;
+    };
+    if (operationTier != null) {
+      return tiers.get(operationTier);
+    }
+    // Null keeps the write concern already applied by prepare()
+    return action.getDefaultWriteConcern();
+  }
+
+  /**
+   * Driver listener that times write commands per tier.
+   *
+   * @return the listener to register on the MongoClient
+   */
+  public CommandListener latencyListener() {
+    return new CommandListener() {
+      @Override
+      public void commandStarted(CommandStartedEvent event) {
+        if (WRITE_COMMANDS.contains(event.getCommandName())) {
+          BsonDocument writeConcern = event.getCommand().getDocument("writeConcern", null);
+          startedWrites.put(event.getRequestId(),
+              writeConcern == null ? DEFAULT_TIER : tierNames.getOrDefault(writeConcern, writeConcern.toJson()));
+        }
+      }
+
+      @Override
+      public void commandSucceeded(CommandSucceededEvent event) {
+        record(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), "success");
+      }
+
+      @Override
+      public void commandFailed(CommandFailedEvent event) {
+        record(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), "failure");
+      }
+    };
+  }
+
+  private void record(int requestId, String command, long elapsedNanos, String outcome) {
+    String tier = startedWrites.remove(requestId);
+    if (tier == null) {
+      return;
+    }
+    timers.computeIfAbsent(tier + '/' + command + '/' + outcome, key -> Timer.builder("mongodb.write")
+            .description("Latency of MongoDB write commands per write concern tier")
+            .tag("tier", tier)
+            .tag("command", command)
+            .tag("outcome", outcome)
+            .register(meterRegistry))
+        .record(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private WriteConcern baseTier(String collection) {
+    CollectionRule rule = properties.getCollections().get(collection);
+    if (rule != null && rule.getTier() != null) {
+      return tiers.get(rule.getTier());
+    }
+    return COMMAND_TIER.get();
+  }
+
+  private WriteConcern tier(String name, String owner) {
+    if (name == null) {
+      return null;
+    }
+    WriteConcern tier = tiers.get(name);
+    if (tier == null) {
+      throw new IllegalStateException("Unknown durability tier '" + name + "'"
+          + (owner != null ? " for " + owner : ""));
+    }
+    return tier;
+  }
+}
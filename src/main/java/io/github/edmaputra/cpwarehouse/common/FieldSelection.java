@@ -0,0 +1,75 @@
+package io.github.edmaputra.cpwarehouse.common;
+
+import io.github.edmaputra.cpwarehouse.exception.InvalidOperationException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldsets for list endpoints ({@code fields=id,name}).
+ *
+ * <p>A selectable field is a property of the response DTO that is stored as-is on the entity, so the same
+ * names are pushed down as the Mongo projection and used to filter the JSON output. Response DTOs that
+ * support it are annotated with {@code @JsonFilter(FieldSelection.FILTER_ID)}; see SparseFieldsAdvice.
+ */
+public final class FieldSelection {
+
+  /**
+   * Jackson filter ID of the response DTOs whose output can be narrowed.
+   */
+  public static final String FILTER_ID = "fields";
+
+  private static final Map<Class<?>, Set<String>> SELECTABLE = new ConcurrentHashMap<>();
+
+  private FieldSelection() {
+  }
+
+  /**
+   * Validate the requested fields against a response DTO and its entity.
+   *
+   * @param requested the requested field names (null or empty for all fields)
+   * @param response  the response DTO class
+   * @param entity    the entity class the DTO is mapped from
+   * @return the selected field names including "id", or an empty set for all fields
+   * @throws InvalidOperationException if a requested field cannot be selected
+   */
+  public static Set<String> resolve(Collection<String> requested, Class<?> response, Class<?> entity) {
+    if (requested == null || requested.isEmpty()) {
+      return Set.of();
+    }
+
+    Set<String> selectable = SELECTABLE.computeIfAbsent(response, type -> {
+      Set<String> entityFields = fieldNames(entity);
+      return fieldNames(type).stream().filter(entityFields::contains).collect(Collectors.toUnmodifiableSet());
+    });
+
+    Set<String> selected = new LinkedHashSet<>();
+    selected.add("id");
+    for (String field : requested) {
+      String name = field.trim();
+      if (name.isEmpty()) {
+        continue;
+      }
+      if (!selectable.contains(name)) {
+        throw new InvalidOperationException(String.format("Unknown field '%s'; selectable fields are %s",
+            name, selectable.stream().sorted().toList()));
+      }
+      selected.add(name);
+    }
+    return selected;
+  }
+
+  private static Set<String> fieldNames(Class<?> type) {
+    return Arrays.stream(type.getDeclaredFields())
+        .filter(field -> !Modifier.isStatic(field.getModifiers()))
+        .map(Field::getName)
+        .collect(Collectors.toSet());
+  }
+}
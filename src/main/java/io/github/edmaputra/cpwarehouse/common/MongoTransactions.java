@@ -0,0 +1,178 @@
+package io.github.edmaputra.cpwarehouse.common;
+
+import com.mongodb.MongoException;
+import com.mongodb.ReadConcern;
+import com.mongodb.TransactionOptions;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import io.github.edmaputra.cpwarehouse.config.MovementStorageProperties;
+import io.github.edmaputra.cpwarehouse.config.TransactionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs write commands in MongoDB multi-document transactions.
+ *
+ * <p>When enabled, a command whose {@code execute} method is {@code @Transactional} and not read-only runs in
+ * one transaction through {@link ClientSession#withTransaction}. The Mongo database factory binds every
+ * operation of the command, and of the commands it calls, to the transaction's session (see
+ * {@link #currentSession()}), so its writes commit or abort together. The driver retries the whole command on
+ * TransientTransactionError, such as a write conflict with another transaction, and the commit alone on
+ * UnknownTransactionCommitResult, for up to two minutes.
+ *
+ * <p>The command is called on its target rather than through its retry proxy: an optimistic locking failure
+ * aborts the transaction and is retried by the driver like a write conflict, instead of retrying the single
+ * write that failed. Transactions commit with majority write concern; write concern tiers do not apply to
+ * writes inside them.
+ *
+ * <p>MongoDB does not allow writes to time-series collections in a transaction, and every stock command writes
+ * a movement, so transactions cannot be combined with {@code application.movements.storage=timeseries}.
+ */
+@Component
+public class MongoTransactions {
+
+  private static final ThreadLocal<ClientSession> SESSION = new ThreadLocal<>();
+
+  private final TransactionProperties properties;
+  private final MongoClient mongoClient;
+  private final MeterRegistry meterRegistry;
+  private final TransactionOptions options;
+  private final MongoExceptionTranslator exceptionTranslator = new MongoExceptionTranslator();
+  private final Map<String, Boolean> writeCommands = new ConcurrentHashMap<>();
+  private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+  public MongoTransactions(TransactionProperties properties, MovementStorageProperties movementStorage,
+                           MongoClient mongoClient, MeterRegistry meterRegistry) {
+    if (properties.isEnabled() && movementStorage.getStorage() == MovementStorageProperties.Storage.TIMESERIES) {
+      throw new IllegalStateException("application.transactions cannot be enabled with "
+          + "application.movements.storage=timeseries: time-series collections cannot be written in a transaction");
+    }
+    this.properties = properties;
+    this.mongoClient = mongoClient;
+    this.meterRegistry = meterRegistry;
+    this.options = TransactionOptions.builder()
+        .readConcern(ReadConcern.SNAPSHOT)
+        .writeConcern(WriteConcern.MAJORITY)
+        .maxCommitTime(properties.getMaxCommitTime().toMillis(), TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  /**
+   * The session of the transaction running on this thread.
+   *
+   * @return the session, or null outside a transaction
+   */
+  public static ClientSession currentSession() {
+    return SESSION.get();
+  }
+
+  /**
+   * Run a command, in a transaction if it is a write command and transactions are enabled. A command called
+   * from inside a transaction joins it.
+   *
+   * @param commandName the command simple name
+   * @param command     the command bean
+   * @param request     the command request
+   * @param <R>         the request type
+   * @param <T>         the response type
+   * @return the command response
+   */
+  public <R, T> T execute(String commandName, Command<R, T> command, R request) {
+    if (!properties.isEnabled() || SESSION.get() != null
+        || !writeCommands.computeIfAbsent(commandName, name -> isWrite(command))) {
+      return command.execute(request);
+    }
+
+    Command<R, T> target = target(command);
+    try (ClientSession session = mongoClient.startSession()) {
+      T result = session.withTransaction(() -> attempt(commandName, session, target, request), options);
+      count(commandName, "committed");
+      return result;
+    } catch (MongoException e) {
+      count(commandName, "aborted");
+      throw translate(e);
+    } catch (RuntimeException e) {
+      count(commandName, "aborted");
+      throw e;
+    }
+  }
+
+  private <R, T> T attempt(String commandName, ClientSession session, Command<R, T> command, R request) {
+    SESSION.set(session);
+    try {
+      return command.execute(request);
+    } catch (RuntimeException e) {
+      MongoException retryable = retryable(e);
+      if (retryable == null) {
+        throw e;
+      }
+      count(commandName, "retried");
+      throw retryable;
+    } finally {
+      SESSION.remove();
+    }
+  }
+
+  /**
+   * The driver only retries a MongoException labelled TransientTransactionError thrown from the body, while
+   * MongoTemplate has already translated it. Optimistic locking failures get the label too.
+   */
+  private static MongoException retryable(RuntimeException e) {
+    if (e instanceof OptimisticLockingFailureException) {
+      MongoException conflict = new MongoException("Optimistic locking failure in transaction", e);
+      conflict.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+      return conflict;
+    }
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof MongoException mongoException
+          && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+        return mongoException;
+      }
+    }
+    return null;
+  }
+
+  private RuntimeException translate(MongoException e) {
+    if (e.getCause() instanceof OptimisticLockingFailureException conflict) {
+      return conflict;
+    }
+    DataAccessException translated = exceptionTranslator.translateExceptionIfPossible(e);
+    return translated != null ? translated : e;
+  }
+
+  private void count(String commandName, String outcome) {
+    counters.computeIfAbsent(commandName + '/' + outcome, key -> Counter.builder("command.transaction")
+            .description("Transaction attempts of write commands that committed, were retried or aborted")
+            .tag("command", commandName)
+            .tag("outcome", outcome)
+            .register(meterRegistry))
+        .increment();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <R, T> Command<R, T> target(Command<R, T> command) {
+    Object target = AopProxyUtils.getSingletonTarget(command);
+    return target instanceof Command<?, ?> unwrapped ? (Command<R, T>) unwrapped : command;
+  }
+
+  private static boolean isWrite(Command<?, ?> command) {
+    return Arrays.stream(AopUtils.getTargetClass(command).getMethods())
+        .filter(method -> method.getName().equals("execute") && !method.isBridge())
+        .map(method -> AnnotatedElementUtils.findMergedAnnotation(method, Transactional.class))
+        .anyMatch(transactional -> transactional != null && !transactional.readOnly());
+  }
+}
@@ -0,0 +1,244 @@
+package io.github.edmaputra.cpwarehouse.common;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.connection.ClusterType;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import io.github.edmaputra.cpwarehouse.config.ReadRoutingProperties;
+import io.github.edmaputra.cpwarehouse.exception.InvalidOperationException;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Routes query commands to replica set secondaries.
+ *
+ * <p>A query command is one whose {@code execute} method is {@code @Transactional(readOnly = true)}. While it
+ * runs, the Mongo database factory hands out databases with the configured read preference and max staleness
+ * (see {@link #current()}). Query commands called from inside a write command, such as existence checks, stay
+ * on the primary.
+ *
+ * <p>Write commands record the operation time of their last acknowledged write. A transport opens a scope per
+ * call: the scope passes the write's consistency token back to the caller, and a token sent with a later call
+ * (or a write earlier in the same call) makes its queries read through a causally consistent session that
+ * starts after that write. Tokens exist only on replica sets and sharded clusters; a standalone server has no
+ * operation time.
+ */
+@Component
+public class ReadRouting {
+
+  private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+  private static final ThreadLocal<Route> ROUTE = new ThreadLocal<>();
+  private static final ClientSessionOptions CAUSAL = ClientSessionOptions.builder().causallyConsistent(true).build();
+
+  private final ReadRoutingProperties properties;
+  private final MongoClient mongoClient;
+  private final ReadPreference readPreference;
+  private final Map<String, Boolean> queryCommands = new ConcurrentHashMap<>();
+
+  public ReadRouting(ReadRoutingProperties properties, MongoClient mongoClient) {
+    this.properties = properties;
+    this.mongoClient = mongoClient;
+    ReadPreference mode = ReadPreference.valueOf(properties.getReadPreference());
+    this.readPreference = mode.equals(ReadPreference.primary())
+        ? mode
+        : ReadPreference.valueOf(properties.getReadPreference(), List.of(),
+            properties.getMaxStaleness().toSeconds(), TimeUnit.SECONDS);
+  }
+
+  /**
+   * Read preference and session of the query command running on this thread.
+   *
+   * @param readPreference the read preference to apply
+   * @param session        the causally consistent session to read through, or null
+   */
+  public record Route(ReadPreference readPreference, ClientSession session) {
+  }
+
+  /**
+   * The route of the query command running on this thread.
+   *
+   * @return the route, or null outside a routed query command
+   */
+  public static Route current() {
+    return ROUTE.get();
+  }
+
+  /**
+   * Open the consistency scope of one call on this thread.
+   *
+   * @param token   the consistency token sent by the caller, or null
+   * @param onWrite receives the token of the call's writes once a write command completes
+   * @throws InvalidOperationException if the token is malformed
+   */
+  public static void openScope(String token, Consumer<String> onWrite) {
+    CONTEXT.set(new Context(token == null || token.isBlank() ? null : parseToken(token), onWrite));
+  }
+
+  /**
+   * Close the consistency scope opened on this thread.
+   */
+  public static void closeScope() {
+    CONTEXT.remove();
+  }
+
+  /**
+   * Whether the call on this thread must read after a given write. Such a call cannot share the
+   * result of an identical call without that requirement.
+   *
+   * @return true if the scope carries a consistency token
+   */
+  public boolean readsAfterWrite() {
+    Context context = CONTEXT.get();
+    return context != null && context.readAfter() != null;
+  }
+
+  /**
+   * Whether a write command is running on this thread. Query commands it calls stay on the primary,
+   * so they cannot share the result of an identical call that was routed.
+   *
+   * @return true inside a write command
+   */
+  public boolean insideWrite() {
+    Context context = CONTEXT.get();
+    return context != null && context.writeDepth > 0;
+  }
+
+  /**
+   * Run a command: routed if it is a query command, with its operation time recorded otherwise.
+   *
+   * @param commandName the command simple name
+   * @param command     the command bean
+   * @param call        the command execution
+   * @param <T>         the response type
+   * @return the command response
+   */
+  public <T> T execute(String commandName, Command<?, ?> command, Supplier<T> call) {
+    Context context = CONTEXT.get();
+    if (!queryCommands.computeIfAbsent(commandName, name -> isQuery(command))) {
+      return tracked(context, call);
+    }
+    if (!properties.isEnabled() || properties.getPrimaryCommands().contains(commandName)
+        || (context != null && context.writeDepth > 0)) {
+      return call.get();
+    }
+    return routed(context, call);
+  }
+
+  /**
+   * Driver listener that records operation times of write commands for their consistency token.
+   *
+   * @return the listener to register on the MongoClient
+   */
+  public static CommandListener operationTimeListener() {
+    return new CommandListener() {
+      @Override
+      public void commandSucceeded(CommandSucceededEvent event) {
+        // The synchronous driver notifies on the thread that ran the operation
+        Context context = CONTEXT.get();
+        BsonValue operationTime = event.getResponse().get("operationTime");
+        if (context != null && context.writeDepth > 0 && operationTime != null && operationTime.isTimestamp()) {
+          context.observe(operationTime.asTimestamp());
+        }
+      }
+    };
+  }
+
+  private <T> T routed(Context context, Supplier<T> call) {
+    ClientSession session = null;
+    BsonTimestamp after = context != null ? context.readAfter() : null;
+    if (after != null && supportsCausalReads()) {
+      session = mongoClient.startSession(CAUSAL);
+      session.advanceOperationTime(after);
+    }
+    ROUTE.set(new Route(readPreference, session));
+    try {
+      return call.get();
+    } finally {
+      ROUTE.remove();
+      if (session != null) {
+        session.close();
+      }
+    }
+  }
+
+  private <T> T tracked(Context context, Supplier<T> call) {
+    Context scope = context != null ? context : new Context(null, null);
+    if (context == null) {
+      CONTEXT.set(scope);
+    }
+    scope.writeDepth++;
+    try {
+      T result = call.get();
+      if (scope.writeDepth == 1 && scope.written != null && scope.onWrite != null) {
+        scope.onWrite.accept(Long.toHexString(scope.written.getValue()));
+      }
+      return result;
+    } finally {
+      scope.writeDepth--;
+      if (context == null) {
+        CONTEXT.remove();
+      }
+    }
+  }
+
+  private boolean supportsCausalReads() {
+    ClusterType type = mongoClient.getClusterDescription().getType();
+    return type == ClusterType.REPLICA_SET || type == ClusterType.SHARDED;
+  }
+
+  private static boolean isQuery(Command<?, ?> command) {
+    return Arrays.stream(AopUtils.getTargetClass(command).getMethods())
+        .filter(method -> method.getName().equals("execute") && !method.isBridge())
+        .map(method -> AnnotatedElementUtils.findMergedAnnotation(method, Transactional.class))
+        .anyMatch(transactional -> transactional != null && transactional.readOnly());
+  }
+
+  private static BsonTimestamp parseToken(String token) {
+    try {
+      return new BsonTimestamp(Long.parseUnsignedLong(token.trim(), 16));
+    } catch (NumberFormatException e) {
+      throw new InvalidOperationException("Invalid consistency token: " + token);
+    }
+  }
+
+  private static final class Context {
+
+    private final BsonTimestamp after;
+    private final Consumer<String> onWrite;
+    private int writeDepth;
+    private BsonTimestamp written;
+
+    private Context(BsonTimestamp after, Consumer<String> onWrite) {
+      this.after = after;
+      this.onWrite = onWrite;
+    }
+
+    /**
+     * The caller's token, or the call's own writes if it has made any since.
+     */
+    private BsonTimestamp readAfter() {
+      return written != null ? written : after;
+    }
+
+    private void observe(BsonTimestamp operationTime) {
+      if (written == null || operationTime.compareTo(written) > 0) {
+        written = operationTime;
+      }
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package io.github.edmaputra.cpwarehouse.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Global retry listener that logs every optimistic locking conflict and every exhausted retry
+ * as structured key/value events. Picked up by @EnableRetry for all @Retryable methods,
+ * so retries are always visible even when command success logs are sampled.
+ * Business exceptions are not retried and are left to CommandEventLogger.
+ */
+@Slf4j
+@Component
+public class RetryEventLogger implements RetryListener {
+
+  @Override
+  public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+      Throwable throwable) {
+    if (!(throwable instanceof OptimisticLockingFailureException)) {
+      return;
+    }
+
+    log.atWarn()
+        .addKeyValue("event", "command.retry")
+        .addKeyValue("operation", context.getAttribute(RetryContext.NAME))
+        .addKeyValue("attempt", context.getRetryCount())
+        .addKeyValue("error", throwable.getClass().getSimpleName())
+        .log("Command attempt failed, retrying");
+  }
+
+  @Override
+  public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+      Throwable throwable) {
+    if (!(throwable instanceof OptimisticLockingFailureException) || !context.hasAttribute(RetryContext.EXHAUSTED)) {
+      return;
+    }
+
+    log.atError()
+        .addKeyValue("event", "command.retry.exhausted")
+        .addKeyValue("operation", context.getAttribute(RetryContext.NAME))
+        .addKeyValue("attempts", context.getRetryCount())
+        .addKeyValue("error", throwable.getClass().getSimpleName())
+        .log("Command retries exhausted");
+  }
+}
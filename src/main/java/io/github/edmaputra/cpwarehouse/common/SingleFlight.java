@@ -0,0 +1,113 @@
+package io.github.edmaputra.cpwarehouse.common;
+
+import io.github.edmaputra.cpwarehouse.config.SingleFlightProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent read commands into one execution.
+ *
+ * <p>The first caller for a command and request becomes the leader and runs the command; callers with an
+ * equal request that arrive while it is in flight wait for the leader and get the same result or exception.
+ * Nothing is cached: the entry is removed as soon as the leader finishes, so a later call runs again.
+ * Calls are counted in {@code command.single.flight}, tagged with the command and leader/coalesced.
+ */
+@Component
+@RequiredArgsConstructor
+public class SingleFlight {
+
+  private final SingleFlightProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+  /**
+   * Whether calls to the command are coalesced.
+   *
+   * @param commandName the command simple name
+   * @return true if the command is configured for single flight
+   */
+  public boolean applies(String commandName) {
+    return properties.isEnabled() && properties.getCommands().contains(commandName);
+  }
+
+  /**
+   * Run the call, or join an identical call already in flight.
+   *
+   * @param commandName the command simple name
+   * @param request     the command request, compared with equals
+   * @param call        the command execution
+   * @param <T>         the response type
+   * @return the response of this call or of the call it joined
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T execute(String commandName, Object request, Supplier<T> call) {
+    Key key = new Key(commandName, request);
+    Counters counter = counters.computeIfAbsent(commandName, this::counters);
+
+    CompletableFuture<Object> own = new CompletableFuture<>();
+    CompletableFuture<Object> leader = inFlight.putIfAbsent(key, own);
+    if (leader != null) {
+      counter.coalesced.increment();
+      return (T) join(leader);
+    }
+
+    counter.leader.increment();
+    try {
+      T result = call.get();
+      own.complete(result);
+      return result;
+    } catch (RuntimeException | Error ex) {
+      own.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, own);
+    }
+  }
+
+  private static Object join(CompletableFuture<Object> leader) {
+    try {
+      return leader.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a coalesced call", e);
+    }
+  }
+
+  private Counters counters(String commandName) {
+    return new Counters(
+        Counter.builder("command.single.flight")
+            .description("Read command calls that ran a query (leader) or joined one in flight (coalesced)")
+            .tag("command", commandName)
+            .tag("role", "leader")
+            .register(meterRegistry),
+        Counter.builder("command.single.flight")
+            .description("Read command calls that ran a query (leader) or joined one in flight (coalesced)")
+            .tag("command", commandName)
+            .tag("role", "coalesced")
+            .register(meterRegistry));
+  }
+
+  private record Key(String commandName, Object request) {
+  }
+
+  private record Counters(Counter leader, Counter coalesced) {
+  }
+}
@@ -0,0 +1,36 @@
+package io.github.edmaputra.cpwarehouse.common;
+
+/**
+ * Token bucket refilled continuously at a fixed rate.
+ */
+final class TokenBucket {
+
+  private final double tokensPerNano;
+  private final double capacity;
+  private double tokens;
+  private long refilledAt;
+
+  TokenBucket(double ratePerSecond, int burst) {
+    this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+    this.capacity = burst > 0 ? burst : Math.max(1, ratePerSecond);
+    this.tokens = capacity;
+    this.refilledAt = System.nanoTime();
+  }
+
+  /**
+   * Take one token.
+   *
+   * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+   */
+  synchronized long tryAcquire() {
+    long now = System.nanoTime();
+    tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+    refilledAt = now;
+
+    if (tokens >= 1) {
+      tokens -= 1;
+      return 0;
+    }
+    return (long) Math.ceil((1 - tokens) / tokensPerNano);
+  }
+}
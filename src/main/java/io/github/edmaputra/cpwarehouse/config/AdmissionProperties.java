@@ -0,0 +1,80 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for admission control in CommandExecutor.
+ * Commands are keyed by simple name; a command without an entry is never limited.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.admission")
+public class AdmissionProperties {
+
+  /**
+   * Apply the limits below; when false every command is admitted.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Retry-After returned when a command is shed because its pool is saturated.
+   */
+  private Duration retryAfter = Duration.ofSeconds(1);
+
+  /**
+   * Concurrency pools, keyed by name. Commands sharing a pool share its slots and queue.
+   */
+  private Map<String, Pool> pools = new HashMap<>();
+
+  /**
+   * Per-command limits, keyed by command simple name (e.g. ProcessCheckoutCommand).
+   */
+  private Map<String, CommandLimit> commands = new HashMap<>();
+
+  @Data
+  public static class Pool {
+
+    /**
+     * Maximum number of commands of the pool executing at once.
+     */
+    private int maxConcurrent = 64;
+
+    /**
+     * Maximum number of commands waiting for a slot; beyond it the lowest-priority waiter is shed.
+     */
+    private int maxQueued = 256;
+
+    /**
+     * Maximum time a command waits for a slot before it is shed.
+     */
+    private Duration queueTimeout = Duration.ofMillis(500);
+  }
+
+  @Data
+  public static class CommandLimit {
+
+    /**
+     * Name of the concurrency pool the command runs in; none means no concurrency limit.
+     */
+    private String pool;
+
+    /**
+     * Higher priorities are handed free slots first and may displace lower priorities from a full queue.
+     */
+    private int priority = 0;
+
+    /**
+     * Sustained token-bucket rate; 0 disables rate limiting.
+     */
+    private double ratePerSecond = 0;
+
+    /**
+     * Token-bucket capacity; defaults to one second of the rate.
+     */
+    private int burst = 0;
+  }
+}
@@ -0,0 +1,22 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the bulk catalog import pipeline.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.import")
+public class CatalogImportProperties {
+
+  /**
+   * Number of rows validated and written per batch ($in lookups and unordered bulk inserts).
+   */
+  private int chunkSize = 1000;
+
+  /**
+   * Maximum number of row errors returned in the import report.
+   */
+  private int maxReportedErrors = 10000;
+}
@@ -0,0 +1,37 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for the structured events written by CommandExecutor.
+ * Success events are sampled per command; failures and retries are always logged.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.logging.command")
+public class CommandLoggingProperties {
+
+  /**
+   * Fraction (0.0 - 1.0) of successful command executions that are logged.
+   */
+  private double successSampleRate = 1.0;
+
+  /**
+   * Per-command overrides of the success sample rate, keyed by command simple name
+   * (e.g. GetStockAvailabilityCommand: 0.001).
+   */
+  private Map<String, Double> sampleRates = new HashMap<>();
+
+  /**
+   * Resolve the success sample rate for a command.
+   *
+   * @param commandName the command simple name
+   * @return the sample rate to apply
+   */
+  public double sampleRateFor(String commandName) {
+    return sampleRates.getOrDefault(commandName, successSampleRate);
+  }
+}
@@ -0,0 +1,37 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import com.mongodb.client.MongoCollection;
+import io.github.edmaputra.cpwarehouse.common.DurabilityPolicy;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * MongoTemplate with the write concern tiers of {@link DurabilityPolicy}. It replaces Boot's MongoTemplate,
+ * so repositories and custom repository implementations all write through it.
+ */
+@Configuration
+public class DurabilityConfig {
+
+  @Bean
+  public MongoTemplate mongoTemplate(MongoDatabaseFactory factory, MongoConverter converter,
+      DurabilityPolicy durabilityPolicy) {
+    MongoTemplate template = new MongoTemplate(factory, converter) {
+      @Override
+      protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        return durabilityPolicy.prepare(super.prepareCollection(collection));
+      }
+    };
+    template.setWriteConcernResolver(durabilityPolicy);
+    return template;
+  }
+
+  @Bean
+  public MongoClientSettingsBuilderCustomizer writeLatencyListener(DurabilityPolicy durabilityPolicy) {
+    return builder -> builder.addCommandListener(durabilityPolicy.latencyListener());
+  }
+}
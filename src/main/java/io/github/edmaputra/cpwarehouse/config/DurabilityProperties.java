@@ -0,0 +1,81 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for per-operation write concern tiers.
+ * A write without a matching rule uses the client's write concern (majority on a replica set).
+ */
+@Data
+@ConfigurationProperties(prefix = "application.durability")
+public class DurabilityProperties {
+
+  /**
+   * Apply the rules below; when false every write uses the client's write concern.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Write concern tiers, keyed by name.
+   */
+  private Map<String, Tier> tiers = new HashMap<>();
+
+  /**
+   * Tiers per collection name. These win over command tiers, so a collection such as stocks keeps its
+   * durability whichever command writes to it.
+   */
+  private Map<String, CollectionRule> collections = new HashMap<>();
+
+  /**
+   * Tier of every write a command makes that no collection rule covers, keyed by command simple name.
+   */
+  private Map<String, String> commands = new HashMap<>();
+
+  @Data
+  public static class Tier {
+
+    /**
+     * Acknowledgement: a number of members or "majority".
+     */
+    private String w = "majority";
+
+    /**
+     * Wait for the journal before acknowledging; unset leaves it to the server.
+     */
+    private Boolean journal;
+
+    /**
+     * Maximum time to wait for the acknowledgement; unset waits indefinitely.
+     */
+    private Duration timeout;
+  }
+
+  @Data
+  public static class CollectionRule {
+
+    /**
+     * Tier of every write to the collection, including findAndModify and bulk writes.
+     */
+    private String tier;
+
+    /**
+     * Tier of inserts, overriding the collection tier.
+     */
+    private String insert;
+
+    /**
+     * Tier of updates, replaces and saves, overriding the collection tier.
+     */
+    private String update;
+
+    /**
+     * Tier of removes, overriding the collection tier.
+     */
+    private String remove;
+  }
+}
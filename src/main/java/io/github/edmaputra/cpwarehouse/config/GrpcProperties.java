@@ -0,0 +1,35 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the gRPC server exposing the stock service to internal callers.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.grpc")
+public class GrpcProperties {
+
+  /**
+   * Start the gRPC server next to the HTTP server.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Port of the gRPC server; 0 picks a free port.
+   */
+  private int port = 9090;
+
+  /**
+   * Reservations of one ReserveStream call executed at the same time. Further messages are not read
+   * from the stream until one completes, so a fast caller is slowed by HTTP/2 flow control.
+   */
+  private int maxInFlightPerStream = 64;
+
+  /**
+   * Time given to in-flight calls on shutdown before they are cancelled.
+   */
+  private Duration shutdownGracePeriod = Duration.ofSeconds(10);
+}
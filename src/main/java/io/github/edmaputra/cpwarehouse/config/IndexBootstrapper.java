@@ -0,0 +1,110 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Verifies the indexes declared with @Indexed, @CompoundIndex and @TextIndexed and builds only the missing ones.
+ *
+ * <p>Replaces {@code spring.data.mongodb.auto-index-creation}, which issues a createIndex for every declared
+ * index while the context starts. Here each collection costs one listIndexes, and index builds only happen
+ * on a database that lacks them. With {@code async} the check runs on a background thread, so the instance
+ * becomes ready without waiting for it. It runs after {@link StockMovementStorageInitializer}, which may
+ * have to create stock_movements as a time-series collection first.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class IndexBootstrapper implements ApplicationRunner {
+
+  private final MongoTemplate mongoTemplate;
+  private final MongoMappingContext mappingContext;
+  private final IndexProperties properties;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    if (properties.isAsync()) {
+      Thread.ofPlatform().name("index-bootstrap").daemon().start(() -> {
+        try {
+          bootstrap();
+        } catch (RuntimeException e) {
+          log.error("Index bootstrap failed", e);
+        }
+      });
+    } else {
+      bootstrap();
+    }
+  }
+
+  /**
+   * Build the declared indexes that do not exist yet.
+   *
+   * @return number of indexes built
+   */
+  public int bootstrap() {
+    long start = System.nanoTime();
+    IndexResolver resolver = IndexResolver.create(mappingContext);
+    int verified = 0;
+    int built = 0;
+
+    for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+      if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+        continue;
+      }
+
+      List<IndexDefinition> declared = new ArrayList<>();
+      resolver.resolveIndexFor(entity.getTypeInformation()).forEach(declared::add);
+      if (declared.isEmpty()) {
+        continue;
+      }
+
+      List<Document> existing = new ArrayList<>();
+      mongoTemplate.getCollection(entity.getCollection()).listIndexes().into(existing);
+      IndexOperations indexOps = mongoTemplate.indexOps(entity.getCollection());
+      for (IndexDefinition index : declared) {
+        verified++;
+        if (existing.stream().noneMatch(candidate -> matches(index, candidate))) {
+          String name = indexOps.createIndex(index);
+          log.info("Built missing index {} on {}", name, entity.getCollection());
+          built++;
+        }
+      }
+    }
+
+    log.info("Verified {} indexes and built {} in {} ms", verified, built, (System.nanoTime() - start) / 1_000_000);
+    return built;
+  }
+
+  /**
+   * An index exists under the declared name, with the declared keys, or, for a text index, as the
+   * collection's only text index.
+   */
+  private static boolean matches(IndexDefinition declared, Document existing) {
+    Document keys = existing.get("key", Document.class);
+    if (declared.getIndexKeys().containsValue("text")) {
+      return keys.containsKey("_fts");
+    }
+    Object name = declared.getIndexOptions().get("name");
+    return (name != null && name.equals(existing.getString("name"))) || declared.getIndexKeys().equals(keys);
+  }
+}
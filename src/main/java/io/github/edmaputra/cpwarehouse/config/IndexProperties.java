@@ -0,0 +1,24 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the index bootstrap that replaces Spring Data's auto index creation.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.indexes")
+public class IndexProperties {
+
+  /**
+   * Verify the indexes declared on the @Document entities on startup and build the missing ones.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Run the bootstrap on a background thread instead of before the application reports ready.
+   * Faster to start, but on a database without the indexes, unique constraints are not enforced
+   * until their build finishes.
+   */
+  private boolean async = false;
+}
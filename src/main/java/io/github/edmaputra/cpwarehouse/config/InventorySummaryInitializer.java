@@ -0,0 +1,32 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the item inventory summaries from stock on startup when none exist yet.
+ * After that, every stock mutation keeps them current through $inc deltas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventorySummaryInitializer implements ApplicationRunner {
+
+  private final ItemInventorySummaryRepository itemInventorySummaryRepository;
+  private final StockRepository stockRepository;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (itemInventorySummaryRepository.count() > 0 || stockRepository.count() == 0) {
+      return;
+    }
+
+    long summaries = itemInventorySummaryRepository.rebuildAll();
+    log.info("Built {} item inventory summaries from existing stock", summaries);
+  }
+}
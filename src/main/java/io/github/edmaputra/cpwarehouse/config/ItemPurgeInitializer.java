@@ -0,0 +1,37 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemPurgeJob;
+import io.github.edmaputra.cpwarehouse.repository.ItemPurgeJobRepository;
+import io.github.edmaputra.cpwarehouse.service.purge.ItemPurgeWorker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Resumes item purge jobs left unfinished by a previous run from their last checkpoint.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemPurgeInitializer implements ApplicationRunner {
+
+  private final ItemPurgeJobRepository itemPurgeJobRepository;
+  private final ItemPurgeWorker itemPurgeWorker;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    List<ItemPurgeJob> unfinished = itemPurgeJobRepository.findByStatusInOrderByCreatedAtAsc(
+        EnumSet.of(ItemPurgeJob.PurgeStatus.PENDING, ItemPurgeJob.PurgeStatus.RUNNING));
+    if (unfinished.isEmpty()) {
+      return;
+    }
+
+    log.info("Resuming {} unfinished item purge jobs", unfinished.size());
+    unfinished.forEach(job -> itemPurgeWorker.submit(job.getId()));
+  }
+}
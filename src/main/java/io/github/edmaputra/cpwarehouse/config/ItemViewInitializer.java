@@ -0,0 +1,34 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemViewRepository;
+import io.github.edmaputra.cpwarehouse.service.view.ItemViewProjector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the item views from the write collections on startup when none exist yet.
+ * After that, write commands keep them current through the item view projector.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemViewInitializer implements ApplicationRunner {
+
+  private final ItemViewRepository itemViewRepository;
+  private final ItemRepository itemRepository;
+  private final ItemViewProjector itemViewProjector;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (itemViewRepository.count() > 0 || itemRepository.count() == 0) {
+      return;
+    }
+
+    long views = itemViewProjector.rebuildAll();
+    log.info("Built {} item views from existing items", views);
+  }
+}
@@ -0,0 +1,24 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the item view read model (GET /api/v1/items/{id}/view).
+ */
+@Data
+@ConfigurationProperties(prefix = "application.item-view")
+public class ItemViewProperties {
+
+  /**
+   * Delay between projector runs; writes within one interval are coalesced into a single rebuild per item.
+   */
+  private Duration refreshInterval = Duration.ofMillis(200);
+
+  /**
+   * Number of items rebuilt per batch (one $in query each for items, variants and stock).
+   */
+  private int batchSize = 500;
+}
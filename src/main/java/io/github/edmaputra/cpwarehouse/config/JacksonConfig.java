@@ -0,0 +1,43 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Jackson configuration shared by all responses.
+ *
+ * <p>Besides JSON, the same DTOs are read and written as Smile ({@code application/x-jackson-smile}) and
+ * CBOR ({@code application/cbor}), selected with {@code Accept} and {@code Content-Type}. Both converters
+ * are built from Boot's ObjectMapper builder so they share the JSON settings and filters; they replace the
+ * default ones in place, which keeps JSON first for clients that accept anything.
+ */
+@Configuration
+public class JacksonConfig {
+
+  /**
+   * Serialize every property of DTOs annotated with {@code @JsonFilter} unless a request narrows them
+   * with {@code fields=} (see SparseFieldsAdvice).
+   */
+  @Bean
+  public Jackson2ObjectMapperBuilderCustomizer defaultFieldFilter() {
+    return builder -> builder.filters(new SimpleFilterProvider()
+        .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+        .setFailOnUnknownId(false));
+  }
+
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(builder.smile().build());
+  }
+
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(builder.cbor().build());
+  }
+}
@@ -0,0 +1,34 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Beans kept eager when {@code spring.main.lazy-initialization} is on (the fast-start profile).
+ *
+ * <p>The request path stays eager: controllers, the gRPC service, the command infrastructure and the
+ * stock and checkout commands, so the first reservation or checkout does not pay for creating them.
+ * Everything else (catalog import, exports, item views, purge, reconciliation, checkpoints, alerts) is
+ * created on first use. Beans with @Scheduled methods are always eager, see Spring Boot's
+ * ScheduledBeanLazyInitializationExcludeFilter.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+  private static final String BASE_PACKAGE = "io.github.edmaputra.cpwarehouse.";
+  private static final List<String> EAGER_PACKAGES = List.of(
+      BASE_PACKAGE + "controller.",
+      BASE_PACKAGE + "grpc.",
+      BASE_PACKAGE + "common.",
+      BASE_PACKAGE + "service.stock.",
+      BASE_PACKAGE + "service.checkout.");
+
+  @Bean
+  static LazyInitializationExcludeFilter requestPathBeans() {
+    return (beanName, beanDefinition, beanType) ->
+        EAGER_PACKAGES.stream().anyMatch(beanType.getName()::startsWith);
+  }
+}
@@ -0,0 +1,51 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import com.mongodb.client.model.TimeSeriesGranularity;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for how the stock_movements collection is stored.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.movements")
+public class MovementStorageProperties {
+
+  /**
+   * Storage mode. Only takes effect when stock_movements does not exist yet;
+   * an existing regular collection is kept as is.
+   */
+  private Storage storage = Storage.STANDARD;
+
+  /**
+   * Bucket granularity of the time-series collection. Movements of one stock are sparse,
+   * so hour buckets keep many of them in one compressed bucket.
+   */
+  private TimeSeriesGranularity granularity = TimeSeriesGranularity.HOURS;
+
+  /**
+   * Migrate movements written before the meta layout on startup. Off by default, because it rewrites every
+   * legacy movement; enable it once for a database that still has them. Startup fails while they remain.
+   */
+  private boolean migrateLegacy = false;
+
+  /**
+   * Number of legacy movements migrated per update.
+   */
+  private int migrationBatchSize = 1000;
+
+  /**
+   * Enum for movement storage modes.
+   */
+  public enum Storage {
+    /**
+     * Regular collection.
+     */
+    STANDARD,
+
+    /**
+     * Time-series collection with createdAt as time field and stockId + movementType as metadata.
+     */
+    TIMESERIES
+  }
+}
@@ -0,0 +1,76 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reflection and proxy hints for the native image (see the {@code native} Maven profile).
+ *
+ * <p>Spring AOT already covers bean definitions, MapStruct mappers (plain Spring beans) and the CGLIB proxies of
+ * @Transactional/@CommonRetryable commands; Lombok leaves nothing behind at runtime. What it cannot see is
+ * registered here: entities and DTOs are read reflectively by Jackson, the Mongo converter and FieldSelection;
+ * commands are looked up by interface in CommandExecutor and invoked through AOP; protobuf messages resolve
+ * their accessors by reflection.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+  private static final String BASE_PACKAGE = "io.github.edmaputra.cpwarehouse";
+
+  private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    for (Class<?> type : scan(classLoader, BASE_PACKAGE + ".domain", BASE_PACKAGE + ".dto")) {
+      bindingHints.registerReflectionHints(hints.reflection(), type);
+      hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS);
+    }
+
+    for (Class<?> type : scan(classLoader, BASE_PACKAGE + ".service")) {
+      if (type.isInterface() && Command.class.isAssignableFrom(type)) {
+        hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(type));
+        hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS);
+      } else if (!type.isInterface() && Command.class.isAssignableFrom(type)) {
+        hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS,
+            MemberCategory.INTROSPECT_DECLARED_METHODS);
+      }
+    }
+
+    for (Class<?> type : scan(classLoader, BASE_PACKAGE + ".grpc.v1")) {
+      hints.reflection().registerType(type, MemberCategory.values());
+    }
+  }
+
+  /**
+   * Every class in the given packages, including interfaces and nested classes.
+   */
+  private static List<Class<?>> scan(ClassLoader classLoader, String... packages) {
+    ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+      @Override
+      protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+        return true;
+      }
+    };
+    scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+    scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+
+    List<Class<?>> types = new ArrayList<>();
+    for (String basePackage : packages) {
+      for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+        types.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+      }
+    }
+    return types;
+  }
+}
@@ -0,0 +1,66 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the stock change outbox and its publisher.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.outbox")
+public class OutboxProperties {
+
+  /**
+   * Whether this instance may drain the outbox. Instances with the publisher enabled take turns through
+   * a lease, so only one of them publishes at a time.
+   */
+  private boolean publisherEnabled = true;
+
+  /**
+   * How long the publisher lease is held without renewal. It is renewed before every batch,
+   * so it must exceed the time the sink takes to accept one batch.
+   */
+  private Duration leaseDuration = Duration.ofSeconds(30);
+
+  /**
+   * Sink receiving the events: "file", "memory", or the name of a custom sink.
+   */
+  private String sink = "file";
+
+  /**
+   * NDJSON file appended to by the file sink.
+   */
+  private String filePath = "stock-events.ndjson";
+
+  /**
+   * Number of events the in-memory sink retains (oldest are dropped first).
+   */
+  private int memoryCapacity = 10000;
+
+  /**
+   * Number of events handed to the sink per call.
+   */
+  private int batchSize = 500;
+
+  /**
+   * Maximum number of batches delivered per drain run, so one run cannot hold the publisher forever.
+   */
+  private int maxBatchesPerDrain = 20;
+
+  /**
+   * Delay between drain runs.
+   */
+  private Duration pollInterval = Duration.ofSeconds(1);
+
+  /**
+   * How long delivered events are kept before compaction deletes them.
+   */
+  private Duration retention = Duration.ofHours(1);
+
+  /**
+   * Delay between compaction runs.
+   */
+  private Duration compactionInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,35 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the background cascading purge of hard-deleted items.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.purge")
+public class PurgeProperties {
+
+  /**
+   * Maximum number of documents removed per deleteMany.
+   */
+  private int batchSize = 1000;
+
+  /**
+   * Minimum pause between two batches.
+   */
+  private Duration batchPause = Duration.ofMillis(100);
+
+  /**
+   * Upper bound on the share of wall time spent running batches; the pause after a batch grows
+   * with its duration so a slow (loaded) database gets more room.
+   */
+  private double maxDutyCycle = 0.25;
+
+  /**
+   * Copy stock movements to {@code stock_movements_archive} before deleting them.
+   */
+  private boolean archiveMovements = false;
+}
@@ -0,0 +1,34 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import io.github.edmaputra.cpwarehouse.common.ReadRouting;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+/**
+ * Mongo wiring of {@link ReadRouting}: the driver reports operation times of writes, and the database
+ * factory used by MongoTemplate applies the route of the running query command.
+ */
+@Configuration
+public class ReadRoutingConfig {
+
+  @Bean
+  public MongoClientSettingsBuilderCustomizer operationTimeListener() {
+    return builder -> builder.addCommandListener(ReadRouting.operationTimeListener());
+  }
+
+  @Bean
+  public static BeanPostProcessor routingMongoDatabaseFactory() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof MongoDatabaseFactory factory && !(bean instanceof RoutingMongoDatabaseFactory)) {
+          return new RoutingMongoDatabaseFactory(factory);
+        }
+        return bean;
+      }
+    };
+  }
+}
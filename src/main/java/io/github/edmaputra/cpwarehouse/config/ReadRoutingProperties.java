@@ -0,0 +1,36 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configuration for routing query commands to replica set secondaries.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.read-routing")
+public class ReadRoutingProperties {
+
+  /**
+   * Run query commands with the read preference below; when false every read goes to the primary.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Read preference mode of query commands (secondaryPreferred, secondary, nearest, ...).
+   */
+  private String readPreference = "secondaryPreferred";
+
+  /**
+   * Secondaries lagging further behind the primary are not read from. MongoDB requires at least 90s.
+   */
+  private Duration maxStaleness = Duration.ofSeconds(90);
+
+  /**
+   * Query commands, by simple name, that keep reading from the primary.
+   */
+  private Set<String> primaryCommands = new HashSet<>();
+}
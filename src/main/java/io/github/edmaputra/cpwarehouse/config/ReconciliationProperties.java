@@ -0,0 +1,54 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for stock-vs-ledger reconciliation runs.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.reconciliation")
+public class ReconciliationProperties {
+
+  /**
+   * Number of partitions reconciled concurrently; also the number of open cursor pairs against Mongo.
+   */
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Number of stock ID ranges per worker thread; more ranges even out skewed partitions.
+   */
+  private int partitionsPerThread = 4;
+
+  /**
+   * Cursor batch size for the stock and movement streams.
+   */
+  private int cursorBatchSize = 1000;
+
+  /**
+   * Number of stocks checked between pauses within one partition.
+   */
+  private int batchSize = 500;
+
+  /**
+   * Pause after every batch, bounding the read load a run puts on Mongo next to live traffic.
+   */
+  private Duration batchPause = Duration.ofMillis(50);
+
+  /**
+   * Stocks updated more recently than this are not corrected, since their movement may still be in flight.
+   */
+  private Duration settleDelay = Duration.ofMinutes(1);
+
+  /**
+   * Cron expression for scheduled runs; "-" disables them.
+   */
+  private String cron = "-";
+
+  /**
+   * Whether scheduled runs correct the discrepancies they find.
+   */
+  private boolean autoCorrect = false;
+}
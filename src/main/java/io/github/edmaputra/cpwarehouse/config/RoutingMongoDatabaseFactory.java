@@ -0,0 +1,84 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+import io.github.edmaputra.cpwarehouse.common.MongoTransactions;
+import io.github.edmaputra.cpwarehouse.common.ReadRouting;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+/**
+ * Database factory behind MongoTemplate and the repositories. Inside a routed query command it returns the
+ * database with the command's read preference, bound to its causally consistent session if it has one.
+ * Inside a command running in a {@link MongoTransactions} transaction it returns the database bound to the
+ * transaction's session. Everywhere else, and for explicit sessions, it behaves like the factory it wraps.
+ */
+class RoutingMongoDatabaseFactory implements MongoDatabaseFactory {
+
+  private final MongoDatabaseFactory delegate;
+
+  RoutingMongoDatabaseFactory(MongoDatabaseFactory delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public MongoDatabase getMongoDatabase() throws DataAccessException {
+    ClientSession transaction = MongoTransactions.currentSession();
+    if (transaction != null) {
+      return delegate.withSession(transaction).getMongoDatabase();
+    }
+    ReadRouting.Route route = ReadRouting.current();
+    if (route == null) {
+      return delegate.getMongoDatabase();
+    }
+    return source(route).getMongoDatabase().withReadPreference(route.readPreference());
+  }
+
+  @Override
+  public MongoDatabase getMongoDatabase(String dbName) throws DataAccessException {
+    ClientSession transaction = MongoTransactions.currentSession();
+    if (transaction != null) {
+      return delegate.withSession(transaction).getMongoDatabase(dbName);
+    }
+    ReadRouting.Route route = ReadRouting.current();
+    if (route == null) {
+      return delegate.getMongoDatabase(dbName);
+    }
+    return source(route).getMongoDatabase(dbName).withReadPreference(route.readPreference());
+  }
+
+  @Override
+  public PersistenceExceptionTranslator getExceptionTranslator() {
+    return delegate.getExceptionTranslator();
+  }
+
+  @Override
+  public CodecRegistry getCodecRegistry() {
+    return delegate.getCodecRegistry();
+  }
+
+  @Override
+  public ClientSession getSession(ClientSessionOptions options) {
+    return delegate.getSession(options);
+  }
+
+  @Override
+  public MongoDatabaseFactory withSession(ClientSession session) {
+    return delegate.withSession(session);
+  }
+
+  @Override
+  public boolean isTransactionActive() {
+    // MongoTemplate counts through an aggregation inside transactions
+    ClientSession transaction = MongoTransactions.currentSession();
+    return transaction != null ? transaction.hasActiveTransaction() : delegate.isTransactionActive();
+  }
+
+  private MongoDatabaseFactory source(ReadRouting.Route route) {
+    // The session-bound database passes the session to every operation, including on withReadPreference copies
+    return route.session() != null ? delegate.withSession(route.session()) : delegate;
+  }
+}
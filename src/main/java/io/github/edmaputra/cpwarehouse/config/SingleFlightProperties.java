@@ -0,0 +1,33 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configuration for single-flight coalescing of identical concurrent read commands.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.single-flight")
+public class SingleFlightProperties {
+
+  /**
+   * Coalesce the commands below; when false every call runs its own query.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Read commands to coalesce, by simple name. Their requests must implement equals/hashCode
+   * (IDs, records) and their responses must not be modified by callers, since they are shared.
+   */
+  private Set<String> commands = new HashSet<>(Set.of(
+      "GetItemByIdCommand",
+      "GetItemViewCommand",
+      "GetVariantByIdCommand",
+      "GetVariantBySkuCommand",
+      "GetStockAvailabilityCommand",
+      "GetStockByVariantCommand",
+      "ResolveEntityTagCommand"));
+}
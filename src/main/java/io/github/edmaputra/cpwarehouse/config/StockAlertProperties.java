@@ -0,0 +1,41 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for low-stock / out-of-stock alerting driven by the stock change stream.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.alerts")
+public class StockAlertProperties {
+
+  /**
+   * Whether the stock change stream watcher runs. Off by default, because change streams need a replica set
+   * or sharded cluster.
+   */
+  private boolean enabled = false;
+
+  /**
+   * How long the watcher lease is held without renewal. One instance watches at a time; another one takes
+   * over at most this long after the watcher stops.
+   */
+  private Duration leaseDuration = Duration.ofSeconds(30);
+
+  /**
+   * How often the resume token is persisted while events are flowing.
+   */
+  private Duration checkpointInterval = Duration.ofSeconds(1);
+
+  /**
+   * Delay before reopening the change stream after an error.
+   */
+  private Duration retryDelay = Duration.ofSeconds(5);
+
+  /**
+   * Idle timeout of an SSE alert subscription.
+   */
+  private Duration sseTimeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,34 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for periodic stock checkpoints (GET /api/v1/stock/{id}/as-of).
+ */
+@Data
+@ConfigurationProperties(prefix = "application.checkpoints")
+public class StockCheckpointProperties {
+
+  /**
+   * Whether this instance writes checkpoints. Point-in-time queries work either way.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Delay between checkpoint runs. A point-in-time query replays at most about one interval of movements.
+   */
+  private Duration interval = Duration.ofHours(1);
+
+  /**
+   * How far behind the current time checkpoints are taken, so movements still being written are not missed.
+   */
+  private Duration settleDelay = Duration.ofMinutes(1);
+
+  /**
+   * Number of stocks checkpointed per batch.
+   */
+  private int batchSize = 500;
+}
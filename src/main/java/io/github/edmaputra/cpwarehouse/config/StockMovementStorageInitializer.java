@@ -0,0 +1,140 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.TimeSeriesOptions;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Prepares the stock_movements collection on startup.
+ *
+ * <p>This runs first among the startup runners, before {@link IndexBootstrapper} would create
+ * stock_movements implicitly as a regular collection while building its indexes. Nothing touches
+ * the database while the context refreshes, so an AOT or CDS training run needs no MongoDB.
+ * With {@code migrate-legacy} it also moves movements written before the meta layout, one batch
+ * at a time: release markers are copied to stock_reservations, stockId/movementType move under
+ * {@code meta} and createdAt becomes a date. The old indexes are dropped once every batch is done.
+ * Without it, startup fails while legacy movements remain: queries only see the meta layout, so they
+ * would be missing from history, exports, reconciliation and replay, and their release markers from
+ * the double-release check.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class StockMovementStorageInitializer implements ApplicationRunner {
+
+  static final String MOVEMENTS_COLLECTION = "stock_movements";
+  static final String RESERVATIONS_COLLECTION = "stock_reservations";
+  private static final List<String> LEGACY_INDEXES = List.of("stockId", "movementType", "stockId_createdAt_idx");
+  private static final Document LEGACY_MOVEMENT = new Document("stockId", new Document("$exists", true));
+  private static final int NAMESPACE_EXISTS = 48;
+
+  private final MovementStorageProperties properties;
+  private final MongoDatabaseFactory mongoDatabaseFactory;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    MongoDatabase database = mongoDatabaseFactory.getMongoDatabase();
+    if (properties.getStorage() == MovementStorageProperties.Storage.TIMESERIES) {
+      createTimeSeriesCollection(database);
+    }
+    if (properties.isMigrateLegacy()) {
+      migrateLegacyMovements(database);
+    } else if (hasLegacyMovements(database)) {
+      throw new IllegalStateException(MOVEMENTS_COLLECTION + " still has movements written before the meta layout; "
+          + "start once with application.movements.migrate-legacy=true to migrate them");
+    }
+  }
+
+  private void createTimeSeriesCollection(MongoDatabase database) {
+    Document existing = database.listCollections().filter(new Document("name", MOVEMENTS_COLLECTION)).first();
+    if (existing != null) {
+      if (!"timeseries".equals(existing.getString("type"))) {
+        log.warn("{} already exists as a regular collection and keeps standard storage; "
+            + "copy it into a time-series collection with $out to switch", MOVEMENTS_COLLECTION);
+      }
+      return;
+    }
+
+    try {
+      database.createCollection(MOVEMENTS_COLLECTION, new CreateCollectionOptions().timeSeriesOptions(
+          new TimeSeriesOptions("createdAt").metaField("meta").granularity(properties.getGranularity())));
+      log.info("Created {} as a time-series collection - granularity: {}",
+          MOVEMENTS_COLLECTION, properties.getGranularity());
+    } catch (MongoCommandException e) {
+      // Another instance created it first
+      if (e.getErrorCode() != NAMESPACE_EXISTS) {
+        throw e;
+      }
+    }
+  }
+
+  private void migrateLegacyMovements(MongoDatabase database) {
+    MongoCollection<Document> movements = database.getCollection(MOVEMENTS_COLLECTION);
+    long migrated = 0;
+
+    while (true) {
+      List<Object> ids = movements.find(LEGACY_MOVEMENT)
+          .projection(new Document("_id", 1))
+          .limit(properties.getMigrationBatchSize())
+          .map(movement -> movement.get("_id"))
+          .into(new ArrayList<>());
+      if (ids.isEmpty()) {
+        break;
+      }
+      Document batch = new Document("_id", new Document("$in", ids));
+
+      // Release markers first, while stockId is still at the top level; keepExisting makes a rerun harmless
+      movements.aggregate(List.of(
+          new Document("$match", new Document(batch).append("releasedAt", new Document("$ne", null))),
+          new Document("$project", new Document("stockId", 1).append("releasedAt", 1).append("releaseMovementId", 1)),
+          new Document("$merge", new Document("into", RESERVATIONS_COLLECTION)
+              .append("on", "_id")
+              .append("whenMatched", "keepExisting")
+              .append("whenNotMatched", "insert"))))
+          .toCollection();
+
+      UpdateResult result = movements.updateMany(batch, List.of(
+          new Document("$set", new Document("meta", new Document("stockId", "$stockId")
+              .append("movementType", "$movementType"))
+              .append("createdAt", new Document("$toDate", "$createdAt"))),
+          new Document("$unset", List.of("stockId", "movementType", "version", "releasedAt", "releaseMovementId"))));
+      migrated += result.getModifiedCount();
+      log.info("Migrated {} stock movements to the meta layout so far", migrated);
+    }
+
+    legacyIndexes(database).forEach(movements::dropIndex);
+    log.info("Migrated {} stock movements to the meta layout", migrated);
+  }
+
+  private static boolean hasLegacyMovements(MongoDatabase database) {
+    // The legacy stockId index is only dropped after a complete migration, and serves the lookup
+    return !legacyIndexes(database).isEmpty()
+        && database.getCollection(MOVEMENTS_COLLECTION).find(LEGACY_MOVEMENT)
+        .projection(new Document("_id", 1))
+        .first() != null;
+  }
+
+  private static List<String> legacyIndexes(MongoDatabase database) {
+    Set<String> indexes = new HashSet<>();
+    database.getCollection(MOVEMENTS_COLLECTION).listIndexes().forEach(index -> indexes.add(index.getString("name")));
+    return LEGACY_INDEXES.stream().filter(indexes::contains).toList();
+  }
+}
@@ -0,0 +1,25 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for multi-document transactions of write commands. Transactions need a replica set or a
+ * sharded cluster.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.transactions")
+public class TransactionProperties {
+
+  /**
+   * Run every write command in one MongoDB transaction; when false each write stands on its own.
+   */
+  private boolean enabled = false;
+
+  /**
+   * Maximum time the server may spend committing a transaction.
+   */
+  private Duration maxCommitTime = Duration.ofSeconds(5);
+}
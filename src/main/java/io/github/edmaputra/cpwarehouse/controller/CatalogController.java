@@ -0,0 +1,59 @@
+package io.github.edmaputra.cpwarehouse.controller;
+
+import io.github.edmaputra.cpwarehouse.common.CommandExecutor;
+import io.github.edmaputra.cpwarehouse.dto.response.ApiResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.CatalogImportResponse;
+import io.github.edmaputra.cpwarehouse.service.catalog.ImportCatalogCommand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+/**
+ * REST controller for bulk catalog operations (supplier onboarding).
+ * Uses CommandExecutor to execute command interfaces (Clean Architecture / CQRS pattern).
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/catalog")
+@RequiredArgsConstructor
+public class CatalogController {
+
+  private static final String TEXT_CSV_VALUE = "text/csv";
+
+  private final CommandExecutor commandExecutor;
+
+  /**
+   * Bulk import items, variants and initial stock.
+   * The request body is streamed and processed in chunks, so it can be arbitrarily large.
+   * Accepts text/csv (with header row) or application/x-ndjson.
+   *
+   * @param contentType the request content type
+   * @param body        the raw request body
+   * @return import summary with per-row errors
+   */
+  @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public ResponseEntity<ApiResponse<CatalogImportResponse>> importCatalog(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+      InputStream body) {
+
+    log.debug("POST /api/v1/catalog/import - Importing catalog, contentType: {}", contentType);
+
+    ImportCatalogCommand.Format format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+        ? ImportCatalogCommand.Format.NDJSON
+        : ImportCatalogCommand.Format.CSV;
+
+    CatalogImportResponse response = commandExecutor.execute(ImportCatalogCommand.class,
+        new ImportCatalogCommand.Request(body, format));
+
+    String message = String.format("Imported %d of %d rows", response.getImportedRows(), response.getTotalRows());
+    return ResponseEntity.ok(ApiResponse.success(response, message));
+  }
+}
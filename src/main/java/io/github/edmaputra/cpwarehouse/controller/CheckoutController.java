@@ -1,11 +1,14 @@
 package io.github.edmaputra.cpwarehouse.controller;
 
 import io.github.edmaputra.cpwarehouse.common.CommandExecutor;
+import io.github.edmaputra.cpwarehouse.dto.request.BatchPaymentRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.CheckoutRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.PaymentRequest;
 import io.github.edmaputra.cpwarehouse.dto.response.ApiResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.BatchPaymentResponse;
 import io.github.edmaputra.cpwarehouse.dto.response.CheckoutResponse;
 import io.github.edmaputra.cpwarehouse.dto.response.PaymentResponse;
+import io.github.edmaputra.cpwarehouse.service.checkout.ProcessBatchPaymentCommand;
 import io.github.edmaputra.cpwarehouse.service.checkout.ProcessCheckoutCommand;
 import io.github.edmaputra.cpwarehouse.service.checkout.ProcessPaymentCommand;
 import jakarta.validation.Valid;
@@ -37,7 +40,7 @@ public class CheckoutController {
   public ResponseEntity<ApiResponse<CheckoutResponse>> processCheckout(
       @Valid @RequestBody CheckoutRequest request) {
 
-    log.info("POST /api/v1/checkout - Processing checkout for item: {}, variant: {}, quantity: {}, customer: {}",
+    log.debug("POST /api/v1/checkout - Processing checkout for item: {}, variant: {}, quantity: {}, customer: {}",
         request.getItemId(), request.getVariantId(), request.getQuantity(), request.getCustomerId());
 
     ProcessCheckoutCommand.Request commandRequest = new ProcessCheckoutCommand.Request(request);
@@ -59,7 +62,7 @@ public class CheckoutController {
       @PathVariable String checkoutId,
       @Valid @RequestBody PaymentRequest request) {
 
-    log.info("POST /api/v1/checkout/{}/payment - Processing payment, amount: {}, success: {}",
+    log.debug("POST /api/v1/checkout/{}/payment - Processing payment, amount: {}, success: {}",
         checkoutId, request.getPaymentAmount(), request.getPaymentSuccess());
 
     ProcessPaymentCommand.Request commandRequest = new ProcessPaymentCommand.Request(checkoutId, request);
@@ -67,4 +70,24 @@ public class CheckoutController {
 
     return ResponseEntity.ok(ApiResponse.success(response, response.getMessage()));
   }
+
+  /**
+   * Process a batch of payments, e.g. a payment-gateway settlement file.
+   * Each entry is validated and applied independently; the response reports the outcome per entry.
+   *
+   * @param request the batch payment request
+   * @return batch payment response with one result per entry
+   */
+  @PostMapping("/payments/batch")
+  public ResponseEntity<ApiResponse<BatchPaymentResponse>> processBatchPayment(
+      @Valid @RequestBody BatchPaymentRequest request) {
+
+    log.debug("POST /api/v1/checkout/payments/batch - Processing {} payments", request.getPayments().size());
+
+    ProcessBatchPaymentCommand.Request commandRequest = new ProcessBatchPaymentCommand.Request(request);
+    BatchPaymentResponse response = commandExecutor.execute(ProcessBatchPaymentCommand.class, commandRequest);
+
+    return ResponseEntity.ok(ApiResponse.success(response,
+        String.format("Processed %d of %d payments", response.getProcessedEntries(), response.getTotalEntries())));
+  }
 }
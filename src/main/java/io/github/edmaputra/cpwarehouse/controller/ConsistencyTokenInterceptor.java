@@ -0,0 +1,37 @@
+package io.github.edmaputra.cpwarehouse.controller;
+
+import io.github.edmaputra.cpwarehouse.common.ReadRouting;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Read-your-writes across requests. A successful write returns an {@code X-Consistency-Token} header;
+ * sending it back on a later request makes that request's queries read data at least as new as the write,
+ * even from a secondary. The header is set as soon as the write command completes, before the body is
+ * written, so responses without a body carry it too.
+ */
+@Component
+public class ConsistencyTokenInterceptor implements AsyncHandlerInterceptor {
+
+  public static final String HEADER = "X-Consistency-Token";
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    ReadRouting.openScope(request.getHeader(HEADER), token -> response.setHeader(HEADER, token));
+    return true;
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    ReadRouting.closeScope();
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+      Exception ex) {
+    ReadRouting.closeScope();
+  }
+}
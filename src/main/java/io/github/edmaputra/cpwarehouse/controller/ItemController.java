@@ -5,11 +5,18 @@ import io.github.edmaputra.cpwarehouse.dto.request.ItemCreateRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.ItemUpdateRequest;
 import io.github.edmaputra.cpwarehouse.dto.response.ApiResponse;
 import io.github.edmaputra.cpwarehouse.dto.response.ItemDetailResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemPurgeJobResponse;
 import io.github.edmaputra.cpwarehouse.dto.response.ItemResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemViewResponse;
+import io.github.edmaputra.cpwarehouse.service.etag.ResolveEntityTagCommand;
+import io.github.edmaputra.cpwarehouse.service.etag.ResolveEntityTagCommand.Resource;
+import io.github.edmaputra.cpwarehouse.service.etag.ResolveEntityTagCommand.Validator;
 import io.github.edmaputra.cpwarehouse.service.item.CreateItemCommand;
 import io.github.edmaputra.cpwarehouse.service.item.DeleteItemCommand;
 import io.github.edmaputra.cpwarehouse.service.item.GetAllItemsCommand;
 import io.github.edmaputra.cpwarehouse.service.item.GetItemByIdCommand;
+import io.github.edmaputra.cpwarehouse.service.item.GetItemPurgeJobCommand;
+import io.github.edmaputra.cpwarehouse.service.item.GetItemViewCommand;
 import io.github.edmaputra.cpwarehouse.service.item.HardDeleteItemCommand;
 import io.github.edmaputra.cpwarehouse.service.item.UpdateItemCommand;
 import jakarta.validation.Valid;
@@ -22,6 +29,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 /**
  * REST controller for Item operations.
@@ -60,6 +70,7 @@ public class ItemController {
    * @param search   search term for name/SKU
    * @param sortBy   field to sort by (default: createdAt)
    * @param sortDir  sort direction (default: DESC)
+   * @param fields   optional comma-separated properties to load and return (id is always included)
    * @return page of items
    */
   @GetMapping
@@ -68,15 +79,17 @@ public class ItemController {
       @RequestParam(required = false) Boolean isActive,
       @RequestParam(required = false) String search,
       @RequestParam(defaultValue = "createdAt") String sortBy,
-      @RequestParam(defaultValue = "DESC") String sortDir) {
+      @RequestParam(defaultValue = "DESC") String sortDir,
+      @RequestParam(required = false) List<String> fields) {
 
-    log.info("GET /api/v1/items - page: {}, size: {}, isActive: {}, search: {}", page, size, isActive, search);
+    log.info("GET /api/v1/items - page: {}, size: {}, isActive: {}, search: {}, fields: {}",
+        page, size, isActive, search, fields);
 
     Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
 
     Pageable pageable = PageRequest.of(page, size, sort);
 
-    GetAllItemsCommand.Request request = new GetAllItemsCommand.Request(pageable, isActive, search);
+    GetAllItemsCommand.Request request = new GetAllItemsCommand.Request(pageable, isActive, search, fields);
     Page<ItemResponse> items = commandExecutor.execute(GetAllItemsCommand.class, request);
 
     return ResponseEntity.ok(ApiResponse.success(items));
@@ -84,20 +97,47 @@ public class ItemController {
 
   /**
    * Get item by ID.
+   * Supports conditional GET: answers 304 without loading the resource when the client's ETag is current.
    *
    * @param id the item ID
+   * @param webRequest the request, for If-None-Match / If-Modified-Since
    * @return item detail response
    */
   @GetMapping("/{id}")
-  public ResponseEntity<ApiResponse<ItemDetailResponse>> getItemById(@PathVariable String id) {
+  public ResponseEntity<ApiResponse<ItemDetailResponse>> getItemById(@PathVariable String id,
+      WebRequest webRequest) {
 
     log.info("GET /api/v1/items/{} - Fetching item", id);
 
+    Validator validator = commandExecutor.execute(ResolveEntityTagCommand.class,
+        new ResolveEntityTagCommand.Request(Resource.ITEM, id));
+    if (webRequest.checkNotModified(validator.etag(), validator.lastModified())) {
+      return null;
+    }
+
     ItemDetailResponse response = commandExecutor.execute(GetItemByIdCommand.class, id);
 
     return ResponseEntity.ok(ApiResponse.success(response));
   }
 
+  /**
+   * Get the product page view of an item: the item, its active variants with final prices and
+   * availability, read from the item_views read model with a single lookup.
+   * The view is updated asynchronously; compare sourceWatermark with a write's updatedAt to check freshness.
+   *
+   * @param id the item ID
+   * @return item view response
+   */
+  @GetMapping("/{id}/view")
+  public ResponseEntity<ApiResponse<ItemViewResponse>> getItemView(@PathVariable String id) {
+
+    log.debug("GET /api/v1/items/{}/view - Fetching item view", id);
+
+    ItemViewResponse response = commandExecutor.execute(GetItemViewCommand.class, id);
+
+    return ResponseEntity.ok(ApiResponse.success(response));
+  }
+
   /**
    * Update an existing item.
    *
@@ -136,6 +176,7 @@ public class ItemController {
   /**
    * Hard delete an item (admin only - for testing purposes).
    * In production, this should be protected with authorization.
+   * Variants, stock, movements and alerts are purged by a background job (see GET /{id}/purge).
    *
    * @param id the item ID
    * @return no content response
@@ -149,4 +190,21 @@ public class ItemController {
 
     return ResponseEntity.noContent().build();
   }
+
+  /**
+   * Get the progress of the background purge that removes a hard-deleted item's variants,
+   * stock, movements and alerts.
+   *
+   * @param id the item ID
+   * @return purge job response
+   */
+  @GetMapping("/{id}/purge")
+  public ResponseEntity<ApiResponse<ItemPurgeJobResponse>> getItemPurgeJob(@PathVariable String id) {
+
+    log.debug("GET /api/v1/items/{}/purge - Fetching purge progress", id);
+
+    ItemPurgeJobResponse response = commandExecutor.execute(GetItemPurgeJobCommand.class, id);
+
+    return ResponseEntity.ok(ApiResponse.success(response));
+  }
 }
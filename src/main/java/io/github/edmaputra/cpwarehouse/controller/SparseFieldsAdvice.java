@@ -0,0 +1,53 @@
+package io.github.edmaputra.cpwarehouse.controller;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import io.github.edmaputra.cpwarehouse.common.FieldSelection;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Narrows the JSON output of GET responses to the fields requested with {@code fields=}.
+ * The command has already validated the names and projected them in Mongo; this drops the
+ * properties that were not loaded, instead of serializing them as null.
+ */
+@RestControllerAdvice
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+  @Override
+  protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+      MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+
+    if (request.getMethod() != HttpMethod.GET || !(request instanceof ServletServerHttpRequest servletRequest)) {
+      return;
+    }
+    String[] fields = servletRequest.getServletRequest().getParameterValues("fields");
+    if (fields == null) {
+      return;
+    }
+
+    Set<String> selected = new LinkedHashSet<>();
+    Arrays.stream(fields).flatMap(value -> Arrays.stream(value.split(",")))
+        .map(String::trim).filter(StringUtils::hasText).forEach(selected::add);
+    if (selected.isEmpty()) {
+      return;
+    }
+    selected.add("id");
+
+    bodyContainer.setFilters(new SimpleFilterProvider()
+        .addFilter(FieldSelection.FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(selected))
+        .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+  }
+}
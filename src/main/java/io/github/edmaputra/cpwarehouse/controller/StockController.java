@@ -1,23 +1,43 @@
 package io.github.edmaputra.cpwarehouse.controller;
 
 import io.github.edmaputra.cpwarehouse.common.CommandExecutor;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockAlert.AlertLevel;
 import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement.MovementType;
 import io.github.edmaputra.cpwarehouse.dto.request.StockAdjustRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.StockCreateRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.StockReleaseRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.StockReserveRequest;
+import io.github.edmaputra.cpwarehouse.dto.request.StockThresholdRequest;
 import io.github.edmaputra.cpwarehouse.dto.response.ApiResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemInventorySummaryResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.ReconciliationRunResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.StockAlertResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.StockAsOfResponse;
 import io.github.edmaputra.cpwarehouse.dto.response.StockAvailabilityResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.StockDiscrepancyResponse;
 import io.github.edmaputra.cpwarehouse.dto.response.StockMovementResponse;
 import io.github.edmaputra.cpwarehouse.dto.response.StockResponse;
+import io.github.edmaputra.cpwarehouse.service.alert.GetStockAlertsCommand;
+import io.github.edmaputra.cpwarehouse.service.alert.SubscribeStockAlertsCommand;
+import io.github.edmaputra.cpwarehouse.service.etag.ResolveEntityTagCommand;
+import io.github.edmaputra.cpwarehouse.service.etag.ResolveEntityTagCommand.Resource;
+import io.github.edmaputra.cpwarehouse.service.etag.ResolveEntityTagCommand.Validator;
 import io.github.edmaputra.cpwarehouse.service.stock.AdjustStockCommand;
 import io.github.edmaputra.cpwarehouse.service.stock.CreateStockCommand;
+import io.github.edmaputra.cpwarehouse.service.stock.ExportStockMovementsCommand;
+import io.github.edmaputra.cpwarehouse.service.stock.GetItemInventorySummariesCommand;
+import io.github.edmaputra.cpwarehouse.service.stock.GetItemInventorySummaryCommand;
+import io.github.edmaputra.cpwarehouse.service.stock.GetReconciliationRunCommand;
+import io.github.edmaputra.cpwarehouse.service.stock.GetStockAsOfCommand;
 import io.github.edmaputra.cpwarehouse.service.stock.GetStockAvailabilityCommand;
 import io.github.edmaputra.cpwarehouse.service.stock.GetStockByItemCommand;
 import io.github.edmaputra.cpwarehouse.service.stock.GetStockByVariantCommand;
+import io.github.edmaputra.cpwarehouse.service.stock.GetStockDiscrepanciesCommand;
 import io.github.edmaputra.cpwarehouse.service.stock.GetStockMovementsCommand;
 import io.github.edmaputra.cpwarehouse.service.stock.ReleaseStockCommand;
 import io.github.edmaputra.cpwarehouse.service.stock.ReserveStockCommand;
+import io.github.edmaputra.cpwarehouse.service.stock.StartReconciliationCommand;
+import io.github.edmaputra.cpwarehouse.service.stock.UpdateReorderThresholdCommand;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,8 +46,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -52,7 +76,7 @@ public class StockController {
   @PostMapping
   public ResponseEntity<ApiResponse<StockResponse>> createStock(@Valid @RequestBody StockCreateRequest request) {
 
-    log.info("POST /api/v1/stock - Creating stock for itemId: {}, variantId: {}",
+    log.debug("POST /api/v1/stock - Creating stock for itemId: {}, variantId: {}",
         request.getItemId(), request.getVariantId());
 
     StockResponse response = commandExecutor.execute(CreateStockCommand.class, request);
@@ -73,7 +97,7 @@ public class StockController {
       @PathVariable String id,
       @Valid @RequestBody StockAdjustRequest request) {
 
-    log.info("PUT /api/v1/stock/{}/adjust - Adjusting stock with type: {}",
+    log.debug("PUT /api/v1/stock/{}/adjust - Adjusting stock with type: {}",
         id, request.getMovementType());
 
     AdjustStockCommand.Request commandRequest = new AdjustStockCommand.Request(id, request);
@@ -82,6 +106,27 @@ public class StockController {
     return ResponseEntity.ok(ApiResponse.success(response, "Stock adjusted successfully"));
   }
 
+  /**
+   * Set or clear the reorder threshold of a stock record.
+   * Low-stock alerts are raised when the available quantity drops to or below it.
+   *
+   * @param id      the stock ID
+   * @param request the threshold request (null threshold disables low-stock alerts)
+   * @return updated stock response
+   */
+  @PutMapping("/{id}/reorder-threshold")
+  public ResponseEntity<ApiResponse<StockResponse>> updateReorderThreshold(
+      @PathVariable String id,
+      @Valid @RequestBody StockThresholdRequest request) {
+
+    log.debug("PUT /api/v1/stock/{}/reorder-threshold - Setting threshold: {}", id, request.getReorderThreshold());
+
+    UpdateReorderThresholdCommand.Request commandRequest = new UpdateReorderThresholdCommand.Request(id, request);
+    StockResponse response = commandExecutor.execute(UpdateReorderThresholdCommand.class, commandRequest);
+
+    return ResponseEntity.ok(ApiResponse.success(response, "Reorder threshold updated successfully"));
+  }
+
   /**
    * Reserve stock for an order.
    *
@@ -94,7 +139,7 @@ public class StockController {
       @PathVariable String id,
       @Valid @RequestBody StockReserveRequest request) {
 
-    log.info("POST /api/v1/stock/{}/reserve - Reserving {} units", id, request.getQuantity());
+    log.debug("POST /api/v1/stock/{}/reserve - Reserving {} units", id, request.getQuantity());
 
     ReserveStockCommand.Request commandRequest = new ReserveStockCommand.Request(id, request);
     StockResponse response = commandExecutor.execute(ReserveStockCommand.class, commandRequest);
@@ -114,7 +159,7 @@ public class StockController {
       @PathVariable String id,
       @Valid @RequestBody StockReleaseRequest request) {
 
-    log.info("POST /api/v1/stock/{}/release - Releasing {} units with type: {}",
+    log.debug("POST /api/v1/stock/{}/release - Releasing {} units with type: {}",
         id, request.getQuantity(), request.getMovementType());
 
     ReleaseStockCommand.Request commandRequest = new ReleaseStockCommand.Request(id, request);
@@ -132,23 +177,68 @@ public class StockController {
   @GetMapping("/item/{itemId}")
   public ResponseEntity<ApiResponse<List<StockResponse>>> getStockByItem(@PathVariable String itemId) {
 
-    log.info("GET /api/v1/stock/item/{} - Fetching stock for item", itemId);
+    log.debug("GET /api/v1/stock/item/{} - Fetching stock for item", itemId);
 
     List<StockResponse> response = commandExecutor.execute(GetStockByItemCommand.class, itemId);
 
     return ResponseEntity.ok(ApiResponse.success(response));
   }
 
+  /**
+   * Get the inventory summary of an item: totals over all its stock records.
+   * Served from a materialized rollup, so the cost does not grow with the number of variants.
+   *
+   * @param itemId the item ID
+   * @return inventory summary
+   */
+  @GetMapping("/item/{itemId}/summary")
+  public ResponseEntity<ApiResponse<ItemInventorySummaryResponse>> getItemInventorySummary(
+      @PathVariable String itemId) {
+
+    log.debug("GET /api/v1/stock/item/{}/summary - Fetching inventory summary", itemId);
+
+    ItemInventorySummaryResponse response = commandExecutor.execute(GetItemInventorySummaryCommand.class, itemId);
+
+    return ResponseEntity.ok(ApiResponse.success(response));
+  }
+
+  /**
+   * Get the inventory summaries of many items at once, e.g. for a category page.
+   *
+   * @param itemIds the item IDs (at most 500)
+   * @return inventory summaries in request order
+   */
+  @GetMapping("/item/summaries")
+  public ResponseEntity<ApiResponse<List<ItemInventorySummaryResponse>>> getItemInventorySummaries(
+      @RequestParam List<String> itemIds) {
+
+    log.debug("GET /api/v1/stock/item/summaries - Fetching inventory summaries for {} items", itemIds.size());
+
+    List<ItemInventorySummaryResponse> response =
+        commandExecutor.execute(GetItemInventorySummariesCommand.class, itemIds);
+
+    return ResponseEntity.ok(ApiResponse.success(response));
+  }
+
   /**
    * Get stock information for a specific variant.
+   * Supports conditional GET: answers 304 without loading the resource when the client's ETag is current.
    *
    * @param variantId the variant ID
+   * @param webRequest the request, for If-None-Match / If-Modified-Since
    * @return stock response
    */
   @GetMapping("/variant/{variantId}")
-  public ResponseEntity<ApiResponse<StockResponse>> getStockByVariant(@PathVariable String variantId) {
+  public ResponseEntity<ApiResponse<StockResponse>> getStockByVariant(@PathVariable String variantId,
+      WebRequest webRequest) {
+
+    log.debug("GET /api/v1/stock/variant/{} - Fetching stock for variant", variantId);
 
-    log.info("GET /api/v1/stock/variant/{} - Fetching stock for variant", variantId);
+    Validator validator = commandExecutor.execute(ResolveEntityTagCommand.class,
+        new ResolveEntityTagCommand.Request(Resource.STOCK_BY_VARIANT, variantId));
+    if (webRequest.checkNotModified(validator.etag(), validator.lastModified())) {
+      return null;
+    }
 
     StockResponse response = commandExecutor.execute(GetStockByVariantCommand.class, variantId);
 
@@ -157,20 +247,48 @@ public class StockController {
 
   /**
    * Check stock availability.
+   * Supports conditional GET: answers 304 without loading the resource when the client's ETag is current.
    *
    * @param id the stock ID
+   * @param webRequest the request, for If-None-Match / If-Modified-Since
    * @return stock availability response
    */
   @GetMapping("/{id}/availability")
-  public ResponseEntity<ApiResponse<StockAvailabilityResponse>> getStockAvailability(@PathVariable String id) {
+  public ResponseEntity<ApiResponse<StockAvailabilityResponse>> getStockAvailability(@PathVariable String id,
+      WebRequest webRequest) {
 
-    log.info("GET /api/v1/stock/{}/availability - Checking stock availability", id);
+    log.debug("GET /api/v1/stock/{}/availability - Checking stock availability", id);
+
+    Validator validator = commandExecutor.execute(ResolveEntityTagCommand.class,
+        new ResolveEntityTagCommand.Request(Resource.STOCK, id));
+    if (webRequest.checkNotModified(validator.etag(), validator.lastModified())) {
+      return null;
+    }
 
     StockAvailabilityResponse response = commandExecutor.execute(GetStockAvailabilityCommand.class, id);
 
     return ResponseEntity.ok(ApiResponse.success(response));
   }
 
+  /**
+   * Get the quantities of a stock record at a point in time.
+   * Answered from the nearest checkpoint plus the movements between it and {@code ts}.
+   *
+   * @param id the stock ID
+   * @param ts point in time (epoch millis)
+   * @return stock quantities at ts
+   */
+  @GetMapping("/{id}/as-of")
+  public ResponseEntity<ApiResponse<StockAsOfResponse>> getStockAsOf(@PathVariable String id, @RequestParam Long ts) {
+
+    log.debug("GET /api/v1/stock/{}/as-of - ts: {}", id, ts);
+
+    StockAsOfResponse response = commandExecutor.execute(GetStockAsOfCommand.class,
+        new GetStockAsOfCommand.Request(id, ts));
+
+    return ResponseEntity.ok(ApiResponse.success(response));
+  }
+
   /**
    * Get stock movement history.
    *
@@ -180,6 +298,7 @@ public class StockController {
    * @param movementType optional filter by movement type
    * @param sortBy       field to sort by (default: createdAt)
    * @param sortDir      sort direction (default: DESC)
+   * @param fields       optional comma-separated properties to load and return (id is always included)
    * @return page of stock movements
    */
   @GetMapping("/{id}/movements")
@@ -189,17 +308,145 @@ public class StockController {
       @RequestParam(defaultValue = "50") int size,
       @RequestParam(required = false) MovementType movementType,
       @RequestParam(defaultValue = "createdAt") String sortBy,
-      @RequestParam(defaultValue = "DESC") String sortDir) {
+      @RequestParam(defaultValue = "DESC") String sortDir,
+      @RequestParam(required = false) List<String> fields) {
 
-    log.info("GET /api/v1/stock/{}/movements - page: {}, size: {}, movementType: {}",
-        id, page, size, movementType);
+    log.debug("GET /api/v1/stock/{}/movements - page: {}, size: {}, movementType: {}, fields: {}",
+        id, page, size, movementType, fields);
 
     Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
     Pageable pageable = PageRequest.of(page, size, sort);
 
-    GetStockMovementsCommand.Request request = new GetStockMovementsCommand.Request(id, movementType, pageable);
+    GetStockMovementsCommand.Request request = new GetStockMovementsCommand.Request(id, movementType, pageable, fields);
     Page<StockMovementResponse> response = commandExecutor.execute(GetStockMovementsCommand.class, request);
 
     return ResponseEntity.ok(ApiResponse.success(response));
   }
+
+  /**
+   * Export stock movements as NDJSON, streamed from a Mongo cursor.
+   * Movements are ordered by createdAt ascending; memory use is independent of the export size.
+   *
+   * @param stockIds     optional filter by stock IDs
+   * @param movementType optional filter by movement type
+   * @param createdFrom  optional inclusive lower bound on createdAt (epoch millis)
+   * @param createdTo    optional exclusive upper bound on createdAt (epoch millis)
+   * @return streaming NDJSON body
+   */
+  @GetMapping(value = "/movements/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportStockMovements(
+      @RequestParam(required = false) List<String> stockIds,
+      @RequestParam(required = false) MovementType movementType,
+      @RequestParam(required = false) Long createdFrom,
+      @RequestParam(required = false) Long createdTo) {
+
+    log.debug("GET /api/v1/stock/movements/export - stockIds: {}, movementType: {}, createdFrom: {}, createdTo: {}",
+        stockIds, movementType, createdFrom, createdTo);
+
+    StreamingResponseBody body = outputStream -> commandExecutor.execute(ExportStockMovementsCommand.class,
+        new ExportStockMovementsCommand.Request(stockIds, movementType, createdFrom, createdTo, outputStream));
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(body);
+  }
+
+  /**
+   * Get stock alerts raised by the stock change stream watcher.
+   *
+   * @param active  optional filter by active status
+   * @param level   optional filter by alert level
+   * @param stockId optional filter by stock ID
+   * @param page    page number (default: 0)
+   * @param size    page size (default: 50)
+   * @return page of stock alerts, newest first
+   */
+  @GetMapping("/alerts")
+  public ResponseEntity<ApiResponse<Page<StockAlertResponse>>> getStockAlerts(
+      @RequestParam(required = false) Boolean active,
+      @RequestParam(required = false) AlertLevel level,
+      @RequestParam(required = false) String stockId,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "50") int size) {
+
+    log.debug("GET /api/v1/stock/alerts - active: {}, level: {}, stockId: {}, page: {}, size: {}",
+        active, level, stockId, page, size);
+
+    Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+
+    GetStockAlertsCommand.Request request = new GetStockAlertsCommand.Request(active, level, stockId, pageable);
+    Page<StockAlertResponse> response = commandExecutor.execute(GetStockAlertsCommand.class, request);
+
+    return ResponseEntity.ok(ApiResponse.success(response));
+  }
+
+  /**
+   * Subscribe to new stock alerts as server-sent events (event name "stock-alert").
+   *
+   * @return SSE stream of stock alerts
+   */
+  @GetMapping(value = "/alerts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamStockAlerts() {
+
+    log.debug("GET /api/v1/stock/alerts/stream - Subscribing to stock alerts");
+
+    return commandExecutor.execute(SubscribeStockAlertsCommand.class, null);
+  }
+
+  /**
+   * Start a stock-vs-ledger reconciliation run in the background.
+   *
+   * @param autoCorrect whether discrepancies are corrected with an ADJUSTMENT movement (default: false)
+   * @return the started run with 202 status
+   */
+  @PostMapping("/reconciliations")
+  public ResponseEntity<ApiResponse<ReconciliationRunResponse>> startReconciliation(
+      @RequestParam(defaultValue = "false") boolean autoCorrect) {
+
+    log.debug("POST /api/v1/stock/reconciliations - autoCorrect: {}", autoCorrect);
+
+    ReconciliationRunResponse response = commandExecutor.execute(StartReconciliationCommand.class, autoCorrect);
+
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(response));
+  }
+
+  /**
+   * Get the status and counters of a reconciliation run.
+   *
+   * @param runId the run ID
+   * @return the run
+   */
+  @GetMapping("/reconciliations/{runId}")
+  public ResponseEntity<ApiResponse<ReconciliationRunResponse>> getReconciliationRun(@PathVariable String runId) {
+
+    log.debug("GET /api/v1/stock/reconciliations/{}", runId);
+
+    ReconciliationRunResponse response = commandExecutor.execute(GetReconciliationRunCommand.class, runId);
+
+    return ResponseEntity.ok(ApiResponse.success(response));
+  }
+
+  /**
+   * Get the discrepancies reported by a reconciliation run.
+   *
+   * @param runId the run ID
+   * @param page  page number (default: 0)
+   * @param size  page size (default: 50)
+   * @return page of discrepancies ordered by stock ID
+   */
+  @GetMapping("/reconciliations/{runId}/discrepancies")
+  public ResponseEntity<ApiResponse<Page<StockDiscrepancyResponse>>> getStockDiscrepancies(
+      @PathVariable String runId,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "50") int size) {
+
+    log.debug("GET /api/v1/stock/reconciliations/{}/discrepancies - page: {}, size: {}", runId, page, size);
+
+    Pageable pageable = PageRequest.of(page, size, Sort.by("stockId"));
+
+    GetStockDiscrepanciesCommand.Request request = new GetStockDiscrepanciesCommand.Request(runId, pageable);
+    Page<StockDiscrepancyResponse> response = commandExecutor.execute(GetStockDiscrepanciesCommand.class, request);
+
+    return ResponseEntity.ok(ApiResponse.success(response));
+  }
 }
@@ -5,6 +5,9 @@ import io.github.edmaputra.cpwarehouse.dto.request.VariantCreateRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.VariantUpdateRequest;
 import io.github.edmaputra.cpwarehouse.dto.response.ApiResponse;
 import io.github.edmaputra.cpwarehouse.dto.response.VariantResponse;
+import io.github.edmaputra.cpwarehouse.service.etag.ResolveEntityTagCommand;
+import io.github.edmaputra.cpwarehouse.service.etag.ResolveEntityTagCommand.Resource;
+import io.github.edmaputra.cpwarehouse.service.etag.ResolveEntityTagCommand.Validator;
 import io.github.edmaputra.cpwarehouse.service.variant.CreateVariantCommand;
 import io.github.edmaputra.cpwarehouse.service.variant.DeleteVariantCommand;
 import io.github.edmaputra.cpwarehouse.service.variant.GetAllVariantsCommand;
@@ -23,6 +26,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -87,6 +91,7 @@ public class VariantController {
    * @param search   search term for variant SKU or name
    * @param sortBy   field to sort by (default: createdAt)
    * @param sortDir  sort direction (default: DESC)
+   * @param fields   optional comma-separated properties to load and return (id is always included)
    * @return page of variants
    */
   @GetMapping("/variants")
@@ -97,16 +102,18 @@ public class VariantController {
       @RequestParam(required = false) Boolean isActive,
       @RequestParam(required = false) String search,
       @RequestParam(defaultValue = "createdAt") String sortBy,
-      @RequestParam(defaultValue = "DESC") String sortDir) {
+      @RequestParam(defaultValue = "DESC") String sortDir,
+      @RequestParam(required = false) List<String> fields) {
 
-    log.info("GET /api/v1/variants - page: {}, size: {}, itemId: {}, isActive: {}, search: {}",
-        page, size, itemId, isActive, search);
+    log.info("GET /api/v1/variants - page: {}, size: {}, itemId: {}, isActive: {}, search: {}, fields: {}",
+        page, size, itemId, isActive, search, fields);
 
     Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
 
     Pageable pageable = PageRequest.of(page, size, sort);
 
-    GetAllVariantsCommand.Request request = new GetAllVariantsCommand.Request(pageable, itemId, isActive, search);
+    GetAllVariantsCommand.Request request =
+        new GetAllVariantsCommand.Request(pageable, itemId, isActive, search, fields);
     Page<VariantResponse> variants = commandExecutor.execute(GetAllVariantsCommand.class, request);
 
     return ResponseEntity.ok(ApiResponse.success(variants));
@@ -114,16 +121,25 @@ public class VariantController {
 
   /**
    * Get variant by ID.
+   * Supports conditional GET: answers 304 without loading the resource when the client's ETag is current.
    * GET /api/v1/variants/{id}
    *
    * @param id the variant ID
+   * @param webRequest the request, for If-None-Match / If-Modified-Since
    * @return variant response
    */
   @GetMapping("/variants/{id}")
-  public ResponseEntity<ApiResponse<VariantResponse>> getVariantById(@PathVariable String id) {
+  public ResponseEntity<ApiResponse<VariantResponse>> getVariantById(@PathVariable String id,
+      WebRequest webRequest) {
 
     log.info("GET /api/v1/variants/{} - Fetching variant", id);
 
+    Validator validator = commandExecutor.execute(ResolveEntityTagCommand.class,
+        new ResolveEntityTagCommand.Request(Resource.VARIANT, id));
+    if (webRequest.checkNotModified(validator.etag(), validator.lastModified())) {
+      return null;
+    }
+
     VariantResponse response = commandExecutor.execute(GetVariantByIdCommand.class, id);
 
     return ResponseEntity.ok(ApiResponse.success(response));
@@ -131,16 +147,25 @@ public class VariantController {
 
   /**
    * Get variant by variant SKU.
+   * Supports conditional GET: answers 304 without loading the resource when the client's ETag is current.
    * GET /api/v1/variants/sku/{sku}
    *
    * @param sku the variant SKU
+   * @param webRequest the request, for If-None-Match / If-Modified-Since
    * @return variant response
    */
   @GetMapping("/variants/sku/{sku}")
-  public ResponseEntity<ApiResponse<VariantResponse>> getVariantBySku(@PathVariable String sku) {
+  public ResponseEntity<ApiResponse<VariantResponse>> getVariantBySku(@PathVariable String sku,
+      WebRequest webRequest) {
 
     log.info("GET /api/v1/variants/sku/{} - Fetching variant", sku);
 
+    Validator validator = commandExecutor.execute(ResolveEntityTagCommand.class,
+        new ResolveEntityTagCommand.Request(Resource.VARIANT_SKU, sku));
+    if (webRequest.checkNotModified(validator.etag(), validator.lastModified())) {
+      return null;
+    }
+
     VariantResponse response = commandExecutor.execute(GetVariantBySkuCommand.class, sku);
 
     return ResponseEntity.ok(ApiResponse.success(response));
@@ -0,0 +1,33 @@
+package io.github.edmaputra.cpwarehouse.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * ChangeStreamCheckpoint entity storing the resume token of a change stream consumer,
+ * so the consumer continues where it left off after a restart.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "change_stream_checkpoints")
+public class ChangeStreamCheckpoint {
+
+  /**
+   * Consumer name.
+   */
+  @Id
+  private String id;
+
+  /**
+   * Resume token of the last processed event, as extended JSON.
+   */
+  private String resumeToken;
+
+  private Long updatedAt;
+}
@@ -66,6 +66,14 @@ public class CheckoutItem {
    */
   private String reservationId;
 
+  /**
+   * Reference to the OUT/RELEASE movement that settled this checkout.
+   * Written together with the status transition out of PENDING, so it also identifies
+   * which payment won that transition.
+   */
+  @Indexed(sparse = true)
+  private String settlementMovementId;
+
   /**
    * Checkout status: PENDING, PAYMENT_FAILED, COMPLETED.
    */
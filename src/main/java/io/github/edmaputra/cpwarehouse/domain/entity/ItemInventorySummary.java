@@ -0,0 +1,60 @@
+package io.github.edmaputra.cpwarehouse.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+/**
+ * ItemInventorySummary entity: materialized per-item rollup of all stock records of an item.
+ * Kept current by every stock mutation through atomic $inc deltas, so reading it is a single lookup.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "item_inventory_summary")
+public class ItemInventorySummary {
+
+  /**
+   * The item ID. Stored as a string, matching Stock.itemId, so summaries written by the
+   * $group rebuild and by $inc upserts share the same _id.
+   */
+  @MongoId(FieldType.STRING)
+  private String itemId;
+
+  /**
+   * Sum of quantity over the item's stock records.
+   */
+  @Builder.Default
+  private Long totalQuantity = 0L;
+
+  /**
+   * Sum of reservedQuantity over the item's stock records.
+   */
+  @Builder.Default
+  private Long totalReserved = 0L;
+
+  /**
+   * Sum of available quantity (quantity - reservedQuantity) over the item's stock records.
+   */
+  @Builder.Default
+  private Long totalAvailable = 0L;
+
+  /**
+   * Number of stock records (variants, or the base item) with available quantity > 0.
+   */
+  @Builder.Default
+  private Long inStockCount = 0L;
+
+  /**
+   * Number of stock records of the item.
+   */
+  @Builder.Default
+  private Long stockCount = 0L;
+
+  private Long updatedAt;
+}
@@ -0,0 +1,94 @@
+package io.github.edmaputra.cpwarehouse.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * ItemPurgeJob entity tracking the background removal of everything that belonged to a hard-deleted item.
+ * The phase and counters are checkpointed after every batch, so an interrupted job resumes where it stopped.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "item_purge_jobs")
+public class ItemPurgeJob {
+
+  @Id
+  private String id;
+
+  /**
+   * The hard-deleted item.
+   */
+  @Indexed
+  private String itemId;
+
+  @Indexed
+  private PurgeStatus status;
+
+  /**
+   * Phase currently being worked on.
+   */
+  private PurgePhase phase;
+
+  /**
+   * Whether movements are copied to the archive collection before they are deleted.
+   */
+  private Boolean archiveMovements;
+
+  @Builder.Default
+  private Long movementsDeleted = 0L;
+
+  @Builder.Default
+  private Long reservationsDeleted = 0L;
+
+  @Builder.Default
+  private Long checkpointsDeleted = 0L;
+
+  @Builder.Default
+  private Long stocksDeleted = 0L;
+
+  @Builder.Default
+  private Long variantsDeleted = 0L;
+
+  @Builder.Default
+  private Long alertsDeleted = 0L;
+
+  private String lastError;
+
+  private Long createdAt;
+
+  private Long updatedAt;
+
+  private Long completedAt;
+
+  /**
+   * Enum for purge job status.
+   */
+  public enum PurgeStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  /**
+   * Enum for purge phases, in execution order. Movements, reservation markers, checkpoints and alerts
+   * go first because they are found through the item's stock IDs.
+   */
+  public enum PurgePhase {
+    MOVEMENTS,
+    RESERVATIONS,
+    CHECKPOINTS,
+    ALERTS,
+    STOCK,
+    VARIANTS,
+    SUMMARY,
+    DONE
+  }
+}
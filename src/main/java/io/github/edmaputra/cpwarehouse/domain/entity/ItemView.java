@@ -0,0 +1,109 @@
+package io.github.edmaputra.cpwarehouse.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ItemView entity: denormalized read model of a product page, holding the item, its active variants
+ * with final prices, and the availability of every stock record of the item.
+ * Rebuilt asynchronously from the write side by the item view projector.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "item_views")
+public class ItemView {
+
+  /**
+   * The item ID, stored as a string so upserts and lookups share the same _id.
+   */
+  @MongoId(FieldType.STRING)
+  private String itemId;
+
+  private String sku;
+
+  private String name;
+
+  private String description;
+
+  private BigDecimal basePrice;
+
+  private Boolean isActive;
+
+  /**
+   * Availability of the base item stock (null when the item has no base stock record).
+   */
+  private StockView baseStock;
+
+  /**
+   * Active variants of the item.
+   */
+  private List<VariantView> variants;
+
+  /**
+   * Available quantity summed over the base stock and all active variants.
+   */
+  private Long totalAvailable;
+
+  /**
+   * Newest updatedAt among the item, its variants and its stock records when the view was built.
+   * A view is at least as fresh as a write whose updatedAt is at or below this watermark.
+   */
+  private Long sourceWatermark;
+
+  /**
+   * Timestamp when the view was built.
+   */
+  private Long builtAt;
+
+  /**
+   * A variant as shown on the product page.
+   */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class VariantView {
+
+    private String variantId;
+    private String variantSku;
+    private String variantName;
+    private Map<String, String> attributes;
+    private BigDecimal priceAdjustment;
+
+    /**
+     * basePrice + priceAdjustment.
+     */
+    private BigDecimal finalPrice;
+
+    /**
+     * Availability of the variant stock (null when the variant has no stock record).
+     */
+    private StockView stock;
+  }
+
+  /**
+   * Availability of one stock record.
+   */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class StockView {
+
+    private String stockId;
+    private Integer availableQuantity;
+    private Boolean inStock;
+    private String warehouseLocation;
+  }
+}
@@ -0,0 +1,36 @@
+package io.github.edmaputra.cpwarehouse.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Lease entity naming the instance that runs a background job which must run on one instance at a time.
+ * The holder renews it while it works; once it expires, another instance may take it over.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "leases")
+public class Lease {
+
+  /**
+   * Job name.
+   */
+  @Id
+  private String id;
+
+  /**
+   * Instance holding the lease.
+   */
+  private String owner;
+
+  /**
+   * Time (epoch millis) after which the lease is free.
+   */
+  private Long expiresAt;
+}
@@ -0,0 +1,64 @@
+package io.github.edmaputra.cpwarehouse.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * ReconciliationRun entity tracking one comparison of every stock record against its movement ledger.
+ * The discrepancies found by the run are stored as {@link StockDiscrepancy} documents.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "reconciliation_runs")
+public class ReconciliationRun {
+
+  @Id
+  private String id;
+
+  @Indexed
+  private RunStatus status;
+
+  /**
+   * Whether discrepancies are corrected with an ADJUSTMENT movement.
+   */
+  private Boolean autoCorrect;
+
+  /**
+   * Number of stock ID ranges processed in parallel.
+   */
+  private Integer partitions;
+
+  @Builder.Default
+  private Long stocksChecked = 0L;
+
+  @Builder.Default
+  private Long movementsReplayed = 0L;
+
+  @Builder.Default
+  private Long discrepancies = 0L;
+
+  @Builder.Default
+  private Long corrected = 0L;
+
+  private String lastError;
+
+  private Long startedAt;
+
+  private Long completedAt;
+
+  /**
+   * Enum for reconciliation run status.
+   */
+  public enum RunStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+}
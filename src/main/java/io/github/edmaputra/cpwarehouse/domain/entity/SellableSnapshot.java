@@ -0,0 +1,71 @@
+package io.github.edmaputra.cpwarehouse.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Denormalized copy of the item and variant state that decides whether a stock can be sold and at what price.
+ * Embedded in {@link Stock} so checkout can validate, price and reserve with a single guarded update.
+ * Item fields are maintained for all stock of an item, variant fields for the stock of that variant.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellableSnapshot {
+
+  /**
+   * Item base price.
+   */
+  private BigDecimal basePrice;
+
+  /**
+   * Variant price adjustment (zero for base item stock).
+   */
+  private BigDecimal priceAdjustment;
+
+  /**
+   * Item active flag.
+   */
+  private Boolean itemActive;
+
+  /**
+   * Variant active flag (always true for base item stock).
+   */
+  private Boolean variantActive;
+
+  /**
+   * Build a snapshot from the current item and variant.
+   *
+   * @param item    the item
+   * @param variant the variant, or null for base item stock
+   * @return the snapshot
+   */
+  public static SellableSnapshot of(Item item, Variant variant) {
+    return SellableSnapshot.builder()
+        .basePrice(item.getBasePrice())
+        .priceAdjustment(variant != null ? variant.getPriceAdjustment() : BigDecimal.ZERO)
+        .itemActive(item.getIsActive())
+        .variantActive(variant == null || variant.getIsActive())
+        .build();
+  }
+
+  /**
+   * Unit price (basePrice + priceAdjustment).
+   */
+  public BigDecimal unitPrice() {
+    return basePrice.add(priceAdjustment);
+  }
+
+  /**
+   * Check if every field is present. Stock written before the snapshot existed has none,
+   * and item or variant updates alone only fill their own half.
+   */
+  public boolean isComplete() {
+    return basePrice != null && priceAdjustment != null && itemActive != null && variantActive != null;
+  }
+}
@@ -58,6 +58,17 @@ public class Stock {
    */
   private String warehouseLocation;
 
+  /**
+   * Available quantity at or below which a LOW_STOCK alert is raised (null means no low-stock alerting).
+   * OUT_OF_STOCK alerts are raised regardless.
+   */
+  private Integer reorderThreshold;
+
+  /**
+   * Snapshot of item/variant price and active state, kept current by the item and variant commands.
+   */
+  private SellableSnapshot sellable;
+
   private Long createdAt;
 
   private Long updatedAt;
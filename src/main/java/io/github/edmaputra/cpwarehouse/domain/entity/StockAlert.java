@@ -0,0 +1,93 @@
+package io.github.edmaputra.cpwarehouse.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * StockAlert entity representing a stock crossing its low-stock or out-of-stock threshold.
+ * At most one alert per stock is active; it is resolved when the stock moves to another level.
+ * Written by the stock change stream watcher.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "stock_alerts")
+@CompoundIndex(name = "stockId_active_idx", def = "{'stockId': 1, 'active': 1}")
+public class StockAlert {
+
+  @Id
+  private String id;
+
+  /**
+   * Reference to the stock record.
+   */
+  private String stockId;
+
+  /**
+   * Reference to the item.
+   */
+  @Indexed
+  private String itemId;
+
+  /**
+   * Reference to the variant (null for base item stock).
+   */
+  private String variantId;
+
+  /**
+   * Alert level reached by the stock.
+   */
+  @Indexed
+  private AlertLevel level;
+
+  /**
+   * Available quantity when the alert was raised.
+   */
+  private Integer availableQuantity;
+
+  /**
+   * Reorder threshold when the alert was raised.
+   */
+  private Integer reorderThreshold;
+
+  /**
+   * True while the stock is still at this level.
+   */
+  @Indexed
+  private Boolean active;
+
+  @Indexed
+  private Long createdAt;
+
+  /**
+   * Timestamp when the stock left this level.
+   */
+  private Long resolvedAt;
+
+  /**
+   * Enum for stock alert levels.
+   */
+  public enum AlertLevel {
+    /**
+     * Available quantity is at or below the reorder threshold.
+     */
+    LOW_STOCK,
+
+    /**
+     * Nothing is available.
+     */
+    OUT_OF_STOCK,
+
+    /**
+     * Stock is back above its threshold; recorded as an already-resolved alert.
+     */
+    RECOVERED
+  }
+}
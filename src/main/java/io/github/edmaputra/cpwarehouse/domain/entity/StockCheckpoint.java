@@ -0,0 +1,53 @@
+package io.github.edmaputra.cpwarehouse.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * StockCheckpoint entity holding the quantities of a stock record at a point in time.
+ * The state includes exactly the stock movements created at or before {@code asOf}, so a
+ * point-in-time query only replays the movements between the nearest checkpoint and the requested time.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "stock_checkpoints")
+@CompoundIndex(name = "stockId_asOf_idx", def = "{'stockId': 1, 'asOf': 1}")
+public class StockCheckpoint {
+
+  @Id
+  private String id;
+
+  /**
+   * Reference to the stock record.
+   */
+  private String stockId;
+
+  /**
+   * Total quantity at asOf.
+   */
+  private Integer quantity;
+
+  /**
+   * Reserved quantity at asOf.
+   */
+  private Integer reservedQuantity;
+
+  /**
+   * Point in time (epoch millis) the quantities describe.
+   */
+  private Long asOf;
+
+  /**
+   * Number of movements replayed to build this checkpoint.
+   */
+  private Integer replayedMovements;
+
+  private Long createdAt;
+}
@@ -0,0 +1,48 @@
+package io.github.edmaputra.cpwarehouse.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * StockCheckpointRun entity tracking one checkpoint run. The asOf of the latest completed run is the
+ * watermark of the next one: a run that stops part-way never completes, so the stocks it did not reach
+ * are picked up again by the next run.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "stock_checkpoint_runs")
+public class StockCheckpointRun {
+
+  @Id
+  private String id;
+
+  /**
+   * Point in time (epoch millis) the run checkpoints.
+   */
+  @Indexed
+  private Long asOf;
+
+  /**
+   * Watermark the run started from (asOf of the previous completed run), or null for the first run.
+   */
+  private Long since;
+
+  /**
+   * Number of checkpoints written.
+   */
+  private Integer checkpoints;
+
+  private Long startedAt;
+
+  /**
+   * Completion time, or null while running or if the run stopped part-way.
+   */
+  private Long completedAt;
+}
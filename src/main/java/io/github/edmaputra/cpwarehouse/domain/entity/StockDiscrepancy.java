@@ -0,0 +1,82 @@
+package io.github.edmaputra.cpwarehouse.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * StockDiscrepancy entity reporting a stock record whose quantities differ from its movement ledger.
+ * Written by a reconciliation run; the ledger values are recomputed by replaying the stock's movements.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "stock_discrepancies")
+@CompoundIndex(name = "runId_stockId_idx", def = "{'runId': 1, 'stockId': 1}")
+public class StockDiscrepancy {
+
+  @Id
+  private String id;
+
+  /**
+   * Reference to the reconciliation run.
+   */
+  private String runId;
+
+  /**
+   * Reference to the stock record.
+   */
+  private String stockId;
+
+  private String itemId;
+
+  private String variantId;
+
+  /**
+   * Total quantity on the stock record.
+   */
+  private Integer stockQuantity;
+
+  /**
+   * Total quantity according to the ledger (null when no movement changed it).
+   */
+  private Integer ledgerQuantity;
+
+  /**
+   * Reserved quantity on the stock record.
+   */
+  private Integer stockReservedQuantity;
+
+  /**
+   * Reserved quantity according to the ledger.
+   */
+  private Integer ledgerReservedQuantity;
+
+  /**
+   * Number of movements replayed for this stock.
+   */
+  private Integer movementsReplayed;
+
+  /**
+   * Number of movements whose previous quantity did not match the one before them,
+   * i.e. places where a movement is missing from the ledger.
+   */
+  private Integer chainBreaks;
+
+  /**
+   * Whether an ADJUSTMENT movement realigned the ledger with the stock record.
+   */
+  private Boolean corrected;
+
+  /**
+   * ID of the correcting ADJUSTMENT movement.
+   */
+  private String correctionMovementId;
+
+  private Long detectedAt;
+}
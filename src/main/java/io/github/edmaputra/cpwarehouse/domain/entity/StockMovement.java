@@ -5,37 +5,35 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 /**
  * StockMovement entity representing audit trail for stock changes.
  * Records all stock movements including type, quantity changes, and reference information.
- * Uses optimistic locking with @Version to prevent race conditions in release operations.
+ * Movements are insert-only: the release state of a RESERVATION lives in {@link StockReservation}.
+ * The stock ID and movement type are stored under {@code meta} and createdAt as a BSON date, so the
+ * collection can also be created as a time-series collection (application.movements.storage).
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "stock_movements")
+@CompoundIndex(name = "meta_stockId_createdAt_id_idx", def = "{'meta.stockId': 1, 'createdAt': 1, '_id': 1}")
 public class StockMovement {
 
   @Id
   private String id;
 
-  /**
-   * Version field for optimistic locking.
-   * Prevents concurrent modification issues during release operations.
-   * Critical for preventing double-release of the same reservation.
-   */
-  @Version
-  private Long version;
-
   /**
    * Reference to the stock record.
    */
   @Indexed
+  @Field("meta.stockId")
   private String stockId;
 
   /**
@@ -43,6 +41,7 @@ public class StockMovement {
    * Values: IN, OUT, ADJUSTMENT, RESERVATION, RELEASE
    */
   @Indexed
+  @Field("meta.movementType")
   private MovementType movementType;
 
   /**
@@ -61,6 +60,16 @@ public class StockMovement {
    */
   private Integer newQuantity;
 
+  /**
+   * For OUT movements that settle reserved units: reserved quantity before this movement.
+   */
+  private Integer previousReservedQuantity;
+
+  /**
+   * For OUT movements that settle reserved units: reserved quantity after this movement.
+   */
+  private Integer newReservedQuantity;
+
   /**
    * Reference number for traceability (e.g., PO number, Order number).
    */
@@ -77,7 +86,11 @@ public class StockMovement {
    */
   private String createdBy;
 
+  /**
+   * Creation time in epoch millis, stored as a BSON date (the time-series time field).
+   */
   @Indexed
+  @Field(targetType = FieldType.DATE_TIME)
   private Long createdAt;
 
   /**
@@ -87,17 +100,6 @@ public class StockMovement {
   @Indexed
   private String relatedMovementId;
 
-  /**
-   * For RESERVATION movements: timestamp when this reservation was released.
-   * Used to prevent double-release of the same reservation.
-   */
-  private Long releasedAt;
-
-  /**
-   * For RESERVATION movements: ID of the RELEASE/OUT movement that released this reservation.
-   */
-  private String releaseMovementId;
-
   /**
    * Lifecycle callback to set timestamp before persisting.
    */
@@ -107,14 +109,6 @@ public class StockMovement {
     }
   }
 
-  /**
-   * Check if this reservation has been released.
-   * Only applicable for RESERVATION movement type.
-   */
-  public boolean isReleased() {
-    return releasedAt != null && releaseMovementId != null;
-  }
-
   /**
    * Enum for stock movement types.
    */
@@ -0,0 +1,94 @@
+package io.github.edmaputra.cpwarehouse.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * StockOutboxEvent entity: a compact snapshot of a stock record right after a mutation,
+ * written by the mutating command and drained to downstream systems by the outbox publisher.
+ *
+ * <p>Events carry the resulting state rather than the delta, so consumers can apply them
+ * idempotently: an event whose stockVersion is not newer than what a consumer already has
+ * is a redelivery and can be dropped.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "stock_outbox")
+@CompoundIndex(name = "publishedAt_id_idx", def = "{'publishedAt': 1, '_id': 1}")
+public class StockOutboxEvent {
+
+  @Id
+  private String id;
+
+  private String stockId;
+
+  private String itemId;
+
+  private String variantId;
+
+  /**
+   * What happened to the stock.
+   */
+  private EventType type;
+
+  private Integer quantity;
+
+  private Integer reservedQuantity;
+
+  private Integer availableQuantity;
+
+  private Integer reorderThreshold;
+
+  /**
+   * Version of the stock record after the mutation; orders the events of one stock.
+   */
+  private Long stockVersion;
+
+  private Long createdAt;
+
+  /**
+   * Timestamp of delivery to the sink (null while pending).
+   */
+  private Long publishedAt;
+
+  /**
+   * Enum for stock event types.
+   */
+  public enum EventType {
+    CREATED,
+    ADJUSTED,
+    RESERVED,
+    RELEASED,
+    COMMITTED,
+    THRESHOLD_CHANGED
+  }
+
+  /**
+   * Build the event describing the given (already saved) stock state.
+   *
+   * @param stock the stock after the mutation
+   * @param type  the kind of mutation
+   * @return pending event
+   */
+  public static StockOutboxEvent of(Stock stock, EventType type) {
+    return StockOutboxEvent.builder()
+        .stockId(stock.getId())
+        .itemId(stock.getItemId())
+        .variantId(stock.getVariantId())
+        .type(type)
+        .quantity(stock.getQuantity())
+        .reservedQuantity(stock.getReservedQuantity())
+        .availableQuantity(stock.getAvailableQuantity())
+        .reorderThreshold(stock.getReorderThreshold())
+        .stockVersion(stock.getVersion())
+        .createdAt(System.currentTimeMillis())
+        .build();
+  }
+}
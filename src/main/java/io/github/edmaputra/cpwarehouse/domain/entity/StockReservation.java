@@ -0,0 +1,60 @@
+package io.github.edmaputra.cpwarehouse.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * StockReservation entity marking a RESERVATION movement as released.
+ * Keyed by the reservation movement ID, so inserting the marker is the guard against
+ * double-release: a second release of the same reservation fails on the duplicate key.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "stock_reservations")
+public class StockReservation {
+
+  /**
+   * ID of the RESERVATION movement.
+   */
+  @Id
+  private String id;
+
+  /**
+   * Reference to the stock record.
+   */
+  @Indexed
+  private String stockId;
+
+  /**
+   * Timestamp when the reservation was released.
+   */
+  private Long releasedAt;
+
+  /**
+   * ID of the RELEASE/OUT movement that released the reservation.
+   */
+  private String releaseMovementId;
+
+  /**
+   * Build the release marker for a settlement movement.
+   *
+   * @param reservationId the ID of the RESERVATION movement being settled
+   * @param settlement    the OUT or RELEASE movement
+   * @return the release marker
+   */
+  public static StockReservation released(String reservationId, StockMovement settlement) {
+    return StockReservation.builder()
+        .id(reservationId)
+        .stockId(settlement.getStockId())
+        .releasedAt(settlement.getCreatedAt())
+        .releaseMovementId(settlement.getId())
+        .build();
+  }
+}
@@ -0,0 +1,57 @@
+package io.github.edmaputra.cpwarehouse.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for batch payment request.
+ * Carries many payment confirmations, e.g. from a payment-gateway settlement file.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPaymentRequest {
+
+  @NotEmpty(message = "Payments are required")
+  @Size(max = 5000, message = "A batch must not exceed 5000 payments")
+  private List<@Valid @NotNull Entry> payments;
+
+  /**
+   * A single payment confirmation for one checkout.
+   */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Entry {
+
+    @NotBlank(message = "Checkout ID is required")
+    private String checkoutId;
+
+    @NotNull(message = "Payment amount is required")
+    @DecimalMin(value = "0.01", message = "Payment amount must be greater than 0")
+    private BigDecimal paymentAmount;
+
+    @NotNull(message = "Payment success flag is required")
+    private Boolean paymentSuccess;
+
+    @Size(max = 100, message = "Payment reference must not exceed 100 characters")
+    private String paymentReference;
+
+    @NotNull(message = "Processed by is required")
+    @Size(max = 100, message = "Processed by must not exceed 100 characters")
+    private String processedBy;
+  }
+}
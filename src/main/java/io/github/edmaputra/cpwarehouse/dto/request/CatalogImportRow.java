@@ -0,0 +1,73 @@
+package io.github.edmaputra.cpwarehouse.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * DTO for a single row of a bulk catalog import (CSV or NDJSON).
+ * Each row describes an item, optionally one of its variants, and optionally the initial stock
+ * for that variant (or for the base item when no variant is given).
+ * Rows for an item that already exists (or appeared earlier in the file) reuse that item.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogImportRow {
+
+  @NotBlank(message = "SKU is required")
+  @Size(max = 100, message = "SKU must not exceed 100 characters")
+  @Pattern(regexp = "^[A-Z0-9-]+$", message = "SKU must contain only uppercase letters, numbers, and hyphens")
+  private String sku;
+
+  @NotBlank(message = "Name is required")
+  @Size(min = 3, max = 255, message = "Name must be between 3 and 255 characters")
+  private String name;
+
+  @Size(max = 2000, message = "Description must not exceed 2000 characters")
+  private String description;
+
+  @NotNull(message = "Base price is required")
+  @DecimalMin(value = "0.0", inclusive = true, message = "Base price must be greater than or equal to 0")
+  @Digits(integer = 10, fraction = 2, message = "Base price must have at most 10 integer digits and 2 decimal places")
+  private BigDecimal basePrice;
+
+  /**
+   * Optional - when present, a variant is created for the item.
+   */
+  @Size(max = 100, message = "Variant SKU must not exceed 100 characters")
+  @Pattern(regexp = "^[A-Z0-9-]+$", message = "Variant SKU must contain only uppercase letters, numbers, and hyphens")
+  private String variantSku;
+
+  @Size(min = 3, max = 255, message = "Variant name must be between 3 and 255 characters")
+  private String variantName;
+
+  /**
+   * Variant attributes (NDJSON only).
+   */
+  private Map<String, String> attributes;
+
+  @Digits(integer = 10, fraction = 2, message = "Price adjustment must have at most 10 integer digits and 2 decimal places")
+  private BigDecimal priceAdjustment;
+
+  /**
+   * Optional - when present, a stock record is created for the variant (or base item).
+   */
+  @Min(value = 0, message = "Quantity must be greater than or equal to 0")
+  private Integer quantity;
+
+  @Size(max = 100, message = "Warehouse location must not exceed 100 characters")
+  private String warehouseLocation;
+}
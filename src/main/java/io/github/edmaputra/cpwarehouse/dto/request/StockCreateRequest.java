@@ -28,4 +28,7 @@ public class StockCreateRequest {
 
   @Size(max = 100, message = "Warehouse location must not exceed 100 characters")
   private String warehouseLocation;
+
+  @Min(value = 0, message = "Reorder threshold must be greater than or equal to 0")
+  private Integer reorderThreshold; // Optional - null disables low-stock alerts
 }
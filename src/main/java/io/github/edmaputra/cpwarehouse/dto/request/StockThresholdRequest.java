@@ -0,0 +1,23 @@
+package io.github.edmaputra.cpwarehouse.dto.request;
+
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for setting the reorder threshold of a stock record.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockThresholdRequest {
+
+  /**
+   * Available quantity at or below which a LOW_STOCK alert is raised. Null disables low-stock alerts.
+   */
+  @Min(value = 0, message = "Reorder threshold must be greater than or equal to 0")
+  private Integer reorderThreshold;
+}
@@ -0,0 +1,46 @@
+package io.github.edmaputra.cpwarehouse.dto.response;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.CheckoutItem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for batch payment result with one result per request entry, in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPaymentResponse {
+
+  private int totalEntries;
+  private int processedEntries;
+  private int failedEntries;
+
+  @Builder.Default
+  private List<Result> results = new ArrayList<>();
+
+  /**
+   * Outcome of a single entry (0-based index into the request).
+   * errorCode uses the same codes as the single payment endpoint's error responses.
+   */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Result {
+    private int index;
+    private String checkoutId;
+    private boolean processed;
+    private CheckoutItem.CheckoutStatus status;
+    private Boolean paymentSuccess;
+    private String paymentReference;
+    private String errorCode;
+    private String message;
+  }
+}
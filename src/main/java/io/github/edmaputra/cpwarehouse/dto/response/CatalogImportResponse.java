@@ -0,0 +1,48 @@
+package io.github.edmaputra.cpwarehouse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for bulk catalog import result with a per-row error report.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogImportResponse {
+
+  private long totalRows;
+  private long importedRows;
+  private long failedRows;
+  private long itemsCreated;
+  private long variantsCreated;
+  private long stocksCreated;
+
+  /**
+   * True when more rows failed than the configured error report limit.
+   */
+  private boolean errorsTruncated;
+
+  @Builder.Default
+  private List<RowError> errors = new ArrayList<>();
+
+  /**
+   * Error for a single input row (1-based, header excluded).
+   */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class RowError {
+    private long row;
+    private String sku;
+    private String variantSku;
+    private String message;
+  }
+}
@@ -0,0 +1,24 @@
+package io.github.edmaputra.cpwarehouse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for per-item inventory summary response.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemInventorySummaryResponse {
+
+  private String itemId;
+  private Long totalQuantity;
+  private Long totalReserved;
+  private Long totalAvailable;
+  private Long inStockCount;
+  private Long stockCount;
+  private Long updatedAt;
+}
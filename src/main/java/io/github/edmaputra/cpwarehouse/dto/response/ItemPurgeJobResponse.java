@@ -0,0 +1,34 @@
+package io.github.edmaputra.cpwarehouse.dto.response;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemPurgeJob.PurgePhase;
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemPurgeJob.PurgeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the progress of an item purge job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemPurgeJobResponse {
+
+  private String id;
+  private String itemId;
+  private PurgeStatus status;
+  private PurgePhase phase;
+  private Boolean archiveMovements;
+  private Long movementsDeleted;
+  private Long reservationsDeleted;
+  private Long checkpointsDeleted;
+  private Long stocksDeleted;
+  private Long variantsDeleted;
+  private Long alertsDeleted;
+  private String lastError;
+  private Long createdAt;
+  private Long updatedAt;
+  private Long completedAt;
+}
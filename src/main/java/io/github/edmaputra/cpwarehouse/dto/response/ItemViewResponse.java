@@ -0,0 +1,65 @@
+package io.github.edmaputra.cpwarehouse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the product page view: item, active variants with final prices, and availability.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemViewResponse {
+
+  private String itemId;
+  private String sku;
+  private String name;
+  private String description;
+  private BigDecimal basePrice;
+  private Boolean isActive;
+  private StockView baseStock;
+  private List<VariantView> variants;
+  private Long totalAvailable;
+  private Long sourceWatermark;
+  private Long builtAt;
+
+  /**
+   * Variant entry of the view.
+   */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class VariantView {
+
+    private String variantId;
+    private String variantSku;
+    private String variantName;
+    private Map<String, String> attributes;
+    private BigDecimal priceAdjustment;
+    private BigDecimal finalPrice;
+    private StockView stock;
+  }
+
+  /**
+   * Availability entry of the view.
+   */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class StockView {
+
+    private String stockId;
+    private Integer availableQuantity;
+    private Boolean inStock;
+    private String warehouseLocation;
+  }
+}
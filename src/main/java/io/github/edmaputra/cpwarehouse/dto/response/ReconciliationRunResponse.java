@@ -0,0 +1,29 @@
+package io.github.edmaputra.cpwarehouse.dto.response;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.ReconciliationRun.RunStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the status and counters of a stock reconciliation run.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationRunResponse {
+
+  private String id;
+  private RunStatus status;
+  private Boolean autoCorrect;
+  private Integer partitions;
+  private Long stocksChecked;
+  private Long movementsReplayed;
+  private Long discrepancies;
+  private Long corrected;
+  private String lastError;
+  private Long startedAt;
+  private Long completedAt;
+}
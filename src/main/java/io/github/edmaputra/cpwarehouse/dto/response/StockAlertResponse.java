@@ -0,0 +1,28 @@
+package io.github.edmaputra.cpwarehouse.dto.response;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockAlert.AlertLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for stock alert response.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlertResponse {
+
+  private String id;
+  private String stockId;
+  private String itemId;
+  private String variantId;
+  private AlertLevel level;
+  private Integer availableQuantity;
+  private Integer reorderThreshold;
+  private Boolean active;
+  private Long createdAt;
+  private Long resolvedAt;
+}
@@ -0,0 +1,27 @@
+package io.github.edmaputra.cpwarehouse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the quantities of a stock record at a point in time.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAsOfResponse {
+
+  private String stockId;
+  private String itemId;
+  private String variantId;
+  private String warehouseLocation;
+  private Long asOf;
+  private Integer quantity;
+  private Integer reservedQuantity;
+  private Integer availableQuantity;
+  private Long checkpointAsOf;
+  private Integer replayedMovements;
+}
@@ -0,0 +1,31 @@
+package io.github.edmaputra.cpwarehouse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a stock record whose quantities differ from its movement ledger.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockDiscrepancyResponse {
+
+  private String id;
+  private String runId;
+  private String stockId;
+  private String itemId;
+  private String variantId;
+  private Integer stockQuantity;
+  private Integer ledgerQuantity;
+  private Integer stockReservedQuantity;
+  private Integer ledgerReservedQuantity;
+  private Integer movementsReplayed;
+  private Integer chainBreaks;
+  private Boolean corrected;
+  private String correctionMovementId;
+  private Long detectedAt;
+}
@@ -1,5 +1,7 @@
 package io.github.edmaputra.cpwarehouse.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import io.github.edmaputra.cpwarehouse.common.FieldSelection;
 import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement.MovementType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,6 +13,7 @@ import lombok.NoArgsConstructor;
  */
 @Data
 @Builder
+@JsonFilter(FieldSelection.FILTER_ID)
 @NoArgsConstructor
 @AllArgsConstructor
 public class StockMovementResponse {
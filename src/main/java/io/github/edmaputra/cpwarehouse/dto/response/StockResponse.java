@@ -21,6 +21,7 @@ public class StockResponse {
   private Integer reservedQuantity;
   private Integer availableQuantity;
   private String warehouseLocation;
+  private Integer reorderThreshold;
   private Long lastRestockedAt;
   private Long createdAt;
   private Long updatedAt;
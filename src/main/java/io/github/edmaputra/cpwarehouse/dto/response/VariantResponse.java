@@ -1,5 +1,7 @@
 package io.github.edmaputra.cpwarehouse.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import io.github.edmaputra.cpwarehouse.common.FieldSelection;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,6 +15,7 @@ import java.util.Map;
  */
 @Data
 @Builder
+@JsonFilter(FieldSelection.FILTER_ID)
 @NoArgsConstructor
 @AllArgsConstructor
 public class VariantResponse {
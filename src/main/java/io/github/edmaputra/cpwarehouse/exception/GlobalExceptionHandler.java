@@ -2,6 +2,7 @@ package io.github.edmaputra.cpwarehouse.exception;
 
 import io.github.edmaputra.cpwarehouse.dto.response.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -100,6 +101,26 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(errorDetail));
   }
 
+  /**
+   * Handle TooManyRequestsException with a Retry-After header in whole seconds.
+   */
+  @ExceptionHandler(TooManyRequestsException.class)
+  public ResponseEntity<ApiResponse<Void>> handleTooManyRequestsException(TooManyRequestsException ex,
+      HttpServletRequest request) {
+
+    ApiResponse.ErrorDetail errorDetail = ApiResponse.ErrorDetail.builder()
+        .code("TOO_MANY_REQUESTS")
+        .message(ex.getMessage())
+        .timestamp(System.currentTimeMillis())
+        .path(request.getRequestURI())
+        .build();
+
+    long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+        .body(ApiResponse.error(errorDetail));
+  }
+
   /**
    * Handle validation errors from @Valid annotation.
    */
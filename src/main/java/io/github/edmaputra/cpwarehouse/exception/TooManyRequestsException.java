@@ -0,0 +1,20 @@
+package io.github.edmaputra.cpwarehouse.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a command is shed by admission control.
+ * Carries the time after which the client may retry.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public TooManyRequestsException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+}
@@ -0,0 +1,71 @@
+package io.github.edmaputra.cpwarehouse.grpc;
+
+import io.github.edmaputra.cpwarehouse.exception.DuplicateResourceException;
+import io.github.edmaputra.cpwarehouse.exception.InsufficientStockException;
+import io.github.edmaputra.cpwarehouse.exception.InvalidOperationException;
+import io.github.edmaputra.cpwarehouse.exception.InvalidPaymentException;
+import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
+import io.github.edmaputra.cpwarehouse.exception.TooManyRequestsException;
+import io.github.edmaputra.cpwarehouse.grpc.v1.Error;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import jakarta.validation.ConstraintViolationException;
+
+import java.util.stream.Collectors;
+
+/**
+ * Maps command exceptions to gRPC statuses, with the same error codes as GlobalExceptionHandler.
+ * The code travels in the {@code error-code} trailer of failed calls and in the Error of stream results.
+ */
+final class GrpcErrors {
+
+  static final Metadata.Key<String> ERROR_CODE = Metadata.Key.of("error-code", Metadata.ASCII_STRING_MARSHALLER);
+  static final Metadata.Key<String> RETRY_AFTER = Metadata.Key.of("retry-after", Metadata.ASCII_STRING_MARSHALLER);
+
+  private record Mapping(Status.Code status, String code) {
+  }
+
+  private GrpcErrors() {
+  }
+
+  static StatusRuntimeException toStatusException(RuntimeException ex) {
+    Mapping mapping = map(ex);
+    Metadata trailers = new Metadata();
+    trailers.put(ERROR_CODE, mapping.code());
+    if (ex instanceof TooManyRequestsException tooMany) {
+      trailers.put(RETRY_AFTER, String.valueOf(Math.max(1, (tooMany.getRetryAfter().toMillis() + 999) / 1000)));
+    }
+    return Status.fromCode(mapping.status()).withDescription(message(ex)).asRuntimeException(trailers);
+  }
+
+  static Error toError(RuntimeException ex) {
+    return Error.newBuilder()
+        .setCode(map(ex).code())
+        .setMessage(message(ex))
+        .build();
+  }
+
+  private static Mapping map(RuntimeException ex) {
+    return switch (ex) {
+      case ResourceNotFoundException e -> new Mapping(Status.Code.NOT_FOUND, "RESOURCE_NOT_FOUND");
+      case DuplicateResourceException e -> new Mapping(Status.Code.ALREADY_EXISTS, "DUPLICATE_RESOURCE");
+      case InsufficientStockException e -> new Mapping(Status.Code.FAILED_PRECONDITION, "INSUFFICIENT_STOCK");
+      case InvalidOperationException e -> new Mapping(Status.Code.FAILED_PRECONDITION, "INVALID_OPERATION");
+      case InvalidPaymentException e -> new Mapping(Status.Code.INVALID_ARGUMENT, "INVALID_PAYMENT");
+      case TooManyRequestsException e -> new Mapping(Status.Code.RESOURCE_EXHAUSTED, "TOO_MANY_REQUESTS");
+      case ConstraintViolationException e -> new Mapping(Status.Code.INVALID_ARGUMENT, "VALIDATION_ERROR");
+      default -> new Mapping(Status.Code.INTERNAL, "INTERNAL_SERVER_ERROR");
+    };
+  }
+
+  private static String message(RuntimeException ex) {
+    if (ex instanceof ConstraintViolationException violations) {
+      return violations.getConstraintViolations().stream()
+          .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+          .sorted()
+          .collect(Collectors.joining(", "));
+    }
+    return ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+  }
+}
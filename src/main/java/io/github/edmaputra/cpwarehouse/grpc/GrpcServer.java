@@ -0,0 +1,83 @@
+package io.github.edmaputra.cpwarehouse.grpc;
+
+import io.github.edmaputra.cpwarehouse.config.GrpcProperties;
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC services of this package on their own port, started and stopped with the application context.
+ * Calls are executed on virtual threads, since every command blocks on Mongo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GrpcServer implements SmartLifecycle {
+
+  private final List<BindableService> services;
+  private final GrpcProperties properties;
+
+  private ExecutorService executor;
+  private Server server;
+
+  @Override
+  public synchronized void start() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    executor = Executors.newVirtualThreadPerTaskExecutor();
+    NettyServerBuilder builder = NettyServerBuilder.forPort(properties.getPort()).executor(executor);
+    services.forEach(builder::addService);
+    try {
+      server = builder.build().start();
+    } catch (IOException e) {
+      executor.shutdown();
+      throw new UncheckedIOException("Failed to start gRPC server on port " + properties.getPort(), e);
+    }
+    log.info("gRPC server started on port {} with {} services", server.getPort(), services.size());
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (server == null) {
+      return;
+    }
+
+    server.shutdown();
+    try {
+      if (!server.awaitTermination(properties.getShutdownGracePeriod().toMillis(), TimeUnit.MILLISECONDS)) {
+        server.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      server.shutdownNow();
+    } finally {
+      executor.shutdown();
+      server = null;
+    }
+  }
+
+  @Override
+  public synchronized boolean isRunning() {
+    return server != null;
+  }
+
+  /**
+   * Port the server is bound to, or -1 if it is not running.
+   */
+  public synchronized int getPort() {
+    return server != null ? server.getPort() : -1;
+  }
+}
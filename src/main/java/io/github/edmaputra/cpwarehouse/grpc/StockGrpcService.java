@@ -0,0 +1,209 @@
+package io.github.edmaputra.cpwarehouse.grpc;
+
+import io.github.edmaputra.cpwarehouse.common.CommandExecutor;
+import io.github.edmaputra.cpwarehouse.config.GrpcProperties;
+import io.github.edmaputra.cpwarehouse.dto.request.StockAdjustRequest;
+import io.github.edmaputra.cpwarehouse.dto.request.StockReleaseRequest;
+import io.github.edmaputra.cpwarehouse.dto.request.StockReserveRequest;
+import io.github.edmaputra.cpwarehouse.dto.response.StockResponse;
+import io.github.edmaputra.cpwarehouse.grpc.v1.AdjustRequest;
+import io.github.edmaputra.cpwarehouse.grpc.v1.AvailabilityReply;
+import io.github.edmaputra.cpwarehouse.grpc.v1.AvailabilityRequest;
+import io.github.edmaputra.cpwarehouse.grpc.v1.ReleaseRequest;
+import io.github.edmaputra.cpwarehouse.grpc.v1.ReserveRequest;
+import io.github.edmaputra.cpwarehouse.grpc.v1.ReserveStreamRequest;
+import io.github.edmaputra.cpwarehouse.grpc.v1.ReserveStreamResult;
+import io.github.edmaputra.cpwarehouse.grpc.v1.StockReply;
+import io.github.edmaputra.cpwarehouse.grpc.v1.StockServiceGrpc;
+import io.github.edmaputra.cpwarehouse.service.stock.AdjustStockCommand;
+import io.github.edmaputra.cpwarehouse.service.stock.GetStockAvailabilityCommand;
+import io.github.edmaputra.cpwarehouse.service.stock.ReleaseStockCommand;
+import io.github.edmaputra.cpwarehouse.service.stock.ReserveStockCommand;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * gRPC counterpart of the reserve, release, adjust and availability endpoints of StockController.
+ * Requests are converted to the same DTOs, validated with the same constraints and executed through
+ * CommandExecutor, so admission control, retries and command events apply as they do over REST.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockGrpcService extends StockServiceGrpc.StockServiceImplBase {
+
+  private final CommandExecutor commandExecutor;
+  private final Validator validator;
+  private final GrpcProperties properties;
+
+  private final ExecutorService streamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+  @PreDestroy
+  void shutdown() {
+    streamExecutor.shutdown();
+  }
+
+  @Override
+  public void reserve(ReserveRequest request, StreamObserver<StockReply> responseObserver) {
+    log.debug("gRPC Reserve - stock: {}, quantity: {}", request.getStockId(), request.getQuantity());
+    unary(responseObserver, () -> StockMessages.toReply(reserve(request)));
+  }
+
+  @Override
+  public void release(ReleaseRequest request, StreamObserver<StockReply> responseObserver) {
+    log.debug("gRPC Release - stock: {}, type: {}", request.getStockId(), request.getMovementType());
+    unary(responseObserver, () -> {
+      StockReleaseRequest releaseRequest = validate(StockMessages.toReleaseRequest(request));
+      return StockMessages.toReply(commandExecutor.execute(ReleaseStockCommand.class,
+          new ReleaseStockCommand.Request(request.getStockId(), releaseRequest)));
+    });
+  }
+
+  @Override
+  public void adjust(AdjustRequest request, StreamObserver<StockReply> responseObserver) {
+    log.debug("gRPC Adjust - stock: {}, type: {}", request.getStockId(), request.getMovementType());
+    unary(responseObserver, () -> {
+      StockAdjustRequest adjustRequest = validate(StockMessages.toAdjustRequest(request));
+      return StockMessages.toReply(commandExecutor.execute(AdjustStockCommand.class,
+          new AdjustStockCommand.Request(request.getStockId(), adjustRequest)));
+    });
+  }
+
+  @Override
+  public void getAvailability(AvailabilityRequest request, StreamObserver<AvailabilityReply> responseObserver) {
+    log.debug("gRPC GetAvailability - stock: {}", request.getStockId());
+    unary(responseObserver, () -> StockMessages.toReply(
+        commandExecutor.execute(GetStockAvailabilityCommand.class, request.getStockId())));
+  }
+
+  @Override
+  public StreamObserver<ReserveStreamRequest> reserveStream(StreamObserver<ReserveStreamResult> responseObserver) {
+    ServerCallStreamObserver<ReserveStreamResult> call = (ServerCallStreamObserver<ReserveStreamResult>) responseObserver;
+    ReservationPipeline pipeline = new ReservationPipeline(call);
+    call.setOnCancelHandler(pipeline::cancel);
+    // Read only as many messages as may run at once; each completed reservation admits the next one
+    call.disableAutoRequest();
+    call.request(Math.max(1, properties.getMaxInFlightPerStream()));
+    return pipeline;
+  }
+
+  private StockResponse reserve(ReserveRequest request) {
+    StockReserveRequest reserveRequest = validate(StockMessages.toReserveRequest(request));
+    return commandExecutor.execute(ReserveStockCommand.class,
+        new ReserveStockCommand.Request(request.getStockId(), reserveRequest));
+  }
+
+  private <T> T validate(T request) {
+    Set<ConstraintViolation<T>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      throw new ConstraintViolationException(violations);
+    }
+    return request;
+  }
+
+  private static <T> void unary(StreamObserver<T> responseObserver, Supplier<T> call) {
+    T reply;
+    try {
+      reply = call.get();
+    } catch (RuntimeException e) {
+      responseObserver.onError(GrpcErrors.toStatusException(e));
+      return;
+    }
+    responseObserver.onNext(reply);
+    responseObserver.onCompleted();
+  }
+
+  /**
+   * One ReserveStream call. Each reservation runs on its own virtual thread and its result is written
+   * as soon as it completes; the response stream is closed once the caller has half-closed and
+   * every reservation has been answered.
+   */
+  private final class ReservationPipeline implements StreamObserver<ReserveStreamRequest> {
+
+    private final ServerCallStreamObserver<ReserveStreamResult> call;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean halfClosed;
+    private volatile boolean cancelled;
+
+    ReservationPipeline(ServerCallStreamObserver<ReserveStreamResult> call) {
+      this.call = call;
+    }
+
+    @Override
+    public void onNext(ReserveStreamRequest request) {
+      inFlight.incrementAndGet();
+      streamExecutor.execute(() -> {
+        ReserveStreamResult result = execute(request);
+        // Response observers are not thread-safe
+        synchronized (call) {
+          if (!cancelled) {
+            call.onNext(result);
+          }
+        }
+        if (inFlight.decrementAndGet() == 0 && halfClosed) {
+          complete();
+        } else if (!cancelled) {
+          call.request(1);
+        }
+      });
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      log.debug("ReserveStream aborted by the caller: {}", t.getMessage());
+      cancel();
+    }
+
+    @Override
+    public void onCompleted() {
+      halfClosed = true;
+      if (inFlight.get() == 0) {
+        complete();
+      }
+    }
+
+    void cancel() {
+      cancelled = true;
+    }
+
+    private ReserveStreamResult execute(ReserveStreamRequest request) {
+      ReserveStreamResult.Builder result = ReserveStreamResult.newBuilder()
+          .setCorrelationId(request.getCorrelationId());
+      if (cancelled) {
+        return result.build();
+      }
+      try {
+        return result.setStock(StockMessages.toReply(reserve(request.getReserve()))).build();
+      } catch (RuntimeException e) {
+        log.debug("ReserveStream reservation {} failed: {}", request.getCorrelationId(), e.getMessage());
+        return result.setError(GrpcErrors.toError(e)).build();
+      }
+    }
+
+    private void complete() {
+      if (!closed.compareAndSet(false, true)) {
+        return;
+      }
+      synchronized (call) {
+        if (!cancelled) {
+          call.onCompleted();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package io.github.edmaputra.cpwarehouse.grpc;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.dto.request.StockAdjustRequest;
+import io.github.edmaputra.cpwarehouse.dto.request.StockReleaseRequest;
+import io.github.edmaputra.cpwarehouse.dto.request.StockReserveRequest;
+import io.github.edmaputra.cpwarehouse.dto.response.StockAvailabilityResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.StockResponse;
+import io.github.edmaputra.cpwarehouse.grpc.v1.AdjustRequest;
+import io.github.edmaputra.cpwarehouse.grpc.v1.AvailabilityReply;
+import io.github.edmaputra.cpwarehouse.grpc.v1.MovementType;
+import io.github.edmaputra.cpwarehouse.grpc.v1.ReleaseRequest;
+import io.github.edmaputra.cpwarehouse.grpc.v1.ReserveRequest;
+import io.github.edmaputra.cpwarehouse.grpc.v1.StockReply;
+
+/**
+ * Converts between the protobuf messages of StockService and the DTOs of the stock commands.
+ * Proto3 has no null: empty strings and unset optionals become null, and null DTO fields are left unset.
+ */
+final class StockMessages {
+
+  private StockMessages() {
+  }
+
+  static StockReserveRequest toReserveRequest(ReserveRequest request) {
+    return StockReserveRequest.builder()
+        .quantity(request.getQuantity())
+        .referenceNumber(emptyToNull(request.getReferenceNumber()))
+        .createdBy(emptyToNull(request.getCreatedBy()))
+        .build();
+  }
+
+  static StockReleaseRequest toReleaseRequest(ReleaseRequest request) {
+    return StockReleaseRequest.builder()
+        .reservationId(emptyToNull(request.getReservationId()))
+        .quantity(request.hasQuantity() ? request.getQuantity() : null)
+        .movementType(toMovementType(request.getMovementType()))
+        .referenceNumber(emptyToNull(request.getReferenceNumber()))
+        .createdBy(emptyToNull(request.getCreatedBy()))
+        .build();
+  }
+
+  static StockAdjustRequest toAdjustRequest(AdjustRequest request) {
+    return StockAdjustRequest.builder()
+        .movementType(toMovementType(request.getMovementType()))
+        .quantity(request.getQuantity())
+        .referenceNumber(emptyToNull(request.getReferenceNumber()))
+        .notes(emptyToNull(request.getNotes()))
+        .createdBy(emptyToNull(request.getCreatedBy()))
+        .build();
+  }
+
+  static StockReply toReply(StockResponse stock) {
+    StockReply.Builder reply = StockReply.newBuilder()
+        .setId(stock.getId())
+        .setItemId(stock.getItemId())
+        .setQuantity(stock.getQuantity())
+        .setReservedQuantity(stock.getReservedQuantity())
+        .setAvailableQuantity(stock.getAvailableQuantity());
+    if (stock.getVariantId() != null) {
+      reply.setVariantId(stock.getVariantId());
+    }
+    if (stock.getWarehouseLocation() != null) {
+      reply.setWarehouseLocation(stock.getWarehouseLocation());
+    }
+    if (stock.getReorderThreshold() != null) {
+      reply.setReorderThreshold(stock.getReorderThreshold());
+    }
+    if (stock.getUpdatedAt() != null) {
+      reply.setUpdatedAt(stock.getUpdatedAt());
+    }
+    if (stock.getVersion() != null) {
+      reply.setVersion(stock.getVersion());
+    }
+    return reply.build();
+  }
+
+  static AvailabilityReply toReply(StockAvailabilityResponse availability) {
+    return AvailabilityReply.newBuilder()
+        .setStockId(availability.getStockId())
+        .setQuantity(availability.getQuantity())
+        .setReservedQuantity(availability.getReservedQuantity())
+        .setAvailableQuantity(availability.getAvailableQuantity())
+        .setIsAvailable(Boolean.TRUE.equals(availability.getIsAvailable()))
+        .build();
+  }
+
+  private static StockMovement.MovementType toMovementType(MovementType movementType) {
+    return switch (movementType) {
+      case MOVEMENT_TYPE_IN -> StockMovement.MovementType.IN;
+      case MOVEMENT_TYPE_OUT -> StockMovement.MovementType.OUT;
+      case MOVEMENT_TYPE_ADJUSTMENT -> StockMovement.MovementType.ADJUSTMENT;
+      case MOVEMENT_TYPE_RESERVATION -> StockMovement.MovementType.RESERVATION;
+      case MOVEMENT_TYPE_RELEASE -> StockMovement.MovementType.RELEASE;
+      case MOVEMENT_TYPE_UNSPECIFIED, UNRECOGNIZED -> null;
+    };
+  }
+
+  private static String emptyToNull(String value) {
+    return value.isEmpty() ? null : value;
+  }
+}
@@ -1,10 +1,14 @@
 package io.github.edmaputra.cpwarehouse.mapper;
 
 import io.github.edmaputra.cpwarehouse.domain.entity.Item;
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemPurgeJob;
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemView;
 import io.github.edmaputra.cpwarehouse.dto.request.ItemCreateRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.ItemUpdateRequest;
 import io.github.edmaputra.cpwarehouse.dto.response.ItemDetailResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemPurgeJobResponse;
 import io.github.edmaputra.cpwarehouse.dto.response.ItemResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemViewResponse;
 import org.mapstruct.*;
 
 /**
@@ -57,4 +61,20 @@ public interface ItemMapper {
    * @return ItemDetailResponse DTO
    */
   ItemDetailResponse toDetailResponse(Item item);
+
+  /**
+   * Convert ItemView read model to ItemViewResponse.
+   *
+   * @param view the item view
+   * @return ItemViewResponse DTO
+   */
+  ItemViewResponse toViewResponse(ItemView view);
+
+  /**
+   * Convert ItemPurgeJob entity to ItemPurgeJobResponse.
+   *
+   * @param job the purge job
+   * @return ItemPurgeJobResponse DTO
+   */
+  ItemPurgeJobResponse toPurgeJobResponse(ItemPurgeJob job);
 }
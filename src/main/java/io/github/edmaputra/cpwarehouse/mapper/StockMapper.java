@@ -1,9 +1,17 @@
 package io.github.edmaputra.cpwarehouse.mapper;
 
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemInventorySummary;
+import io.github.edmaputra.cpwarehouse.domain.entity.ReconciliationRun;
 import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockAlert;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockDiscrepancy;
 import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
 import io.github.edmaputra.cpwarehouse.dto.request.StockCreateRequest;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemInventorySummaryResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.ReconciliationRunResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.StockAlertResponse;
 import io.github.edmaputra.cpwarehouse.dto.response.StockAvailabilityResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.StockDiscrepancyResponse;
 import io.github.edmaputra.cpwarehouse.dto.response.StockMovementResponse;
 import io.github.edmaputra.cpwarehouse.dto.response.StockResponse;
 import org.mapstruct.*;
@@ -57,4 +65,36 @@ public interface StockMapper {
    * @return StockMovementResponse DTO
    */
   StockMovementResponse toMovementResponse(StockMovement stockMovement);
+
+  /**
+   * Convert ItemInventorySummary entity to ItemInventorySummaryResponse.
+   *
+   * @param summary the inventory summary entity
+   * @return ItemInventorySummaryResponse DTO
+   */
+  ItemInventorySummaryResponse toSummaryResponse(ItemInventorySummary summary);
+
+  /**
+   * Convert StockAlert entity to StockAlertResponse.
+   *
+   * @param alert the stock alert entity
+   * @return StockAlertResponse DTO
+   */
+  StockAlertResponse toAlertResponse(StockAlert alert);
+
+  /**
+   * Convert ReconciliationRun entity to ReconciliationRunResponse.
+   *
+   * @param run the reconciliation run entity
+   * @return ReconciliationRunResponse DTO
+   */
+  ReconciliationRunResponse toRunResponse(ReconciliationRun run);
+
+  /**
+   * Convert StockDiscrepancy entity to StockDiscrepancyResponse.
+   *
+   * @param discrepancy the stock discrepancy entity
+   * @return StockDiscrepancyResponse DTO
+   */
+  StockDiscrepancyResponse toDiscrepancyResponse(StockDiscrepancy discrepancy);
 }
@@ -0,0 +1,32 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/**
+ * Repository for deleting documents of any mapped entity in bounded batches,
+ * so a large cleanup never holds one long-running deleteMany.
+ */
+public interface BatchDeleteRepository {
+
+  /**
+   * Delete at most {@code batchSize} documents matching the criteria.
+   *
+   * @param criteria    the filter
+   * @param entityClass the entity class
+   * @param batchSize   maximum number of documents deleted
+   * @return number of documents deleted (less than batchSize once nothing is left)
+   */
+  long deleteBatch(Criteria criteria, Class<?> entityClass, int batchSize);
+
+  /**
+   * Copy at most {@code batchSize} documents matching the criteria to an archive collection, then delete them.
+   * Re-running a batch after an interruption does not duplicate archived documents.
+   *
+   * @param criteria          the filter
+   * @param entityClass       the entity class
+   * @param archiveCollection the archive collection name
+   * @param batchSize         maximum number of documents moved
+   * @return number of documents deleted (less than batchSize once nothing is left)
+   */
+  long archiveBatch(Criteria criteria, Class<?> entityClass, String archiveCollection, int batchSize);
+}
@@ -0,0 +1,21 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository for unordered bulk inserts of any mapped entity.
+ */
+public interface BulkInsertRepository {
+
+  /**
+   * Insert all documents with a single unordered bulkWrite.
+   * A failing document does not stop the others from being inserted.
+   *
+   * @param documents   the documents to insert (ids should be pre-assigned by the caller)
+   * @param entityClass the entity class
+   * @param <T>         the entity type
+   * @return error messages keyed by index in {@code documents}; empty if all succeeded
+   */
+  <T> Map<Integer, String> insertUnordered(List<T> documents, Class<T> entityClass);
+}
@@ -0,0 +1,13 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.ChangeStreamCheckpoint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for ChangeStreamCheckpoint entity.
+ * One document per change stream consumer, keyed by consumer name.
+ */
+@Repository
+public interface ChangeStreamCheckpointRepository extends MongoRepository<ChangeStreamCheckpoint, String> {
+}
@@ -11,7 +11,7 @@ import java.util.Optional;
  * Repository for CheckoutItem entity.
  */
 @Repository
-public interface CheckoutItemRepository extends MongoRepository<CheckoutItem, String> {
+public interface CheckoutItemRepository extends MongoRepository<CheckoutItem, String>, CheckoutItemRepositoryCustom {
 
   /**
    * Find checkout by reference.
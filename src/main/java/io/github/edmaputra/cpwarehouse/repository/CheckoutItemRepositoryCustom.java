@@ -0,0 +1,49 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.CheckoutItem.CheckoutStatus;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Custom repository interface for CheckoutItem entity.
+ * Provides conditional status transitions using MongoTemplate.
+ */
+public interface CheckoutItemRepositoryCustom {
+
+  /**
+   * Atomically move a checkout from one status to another and record its settlement movement.
+   * The update only applies if the checkout is still in the expected status,
+   * so concurrent payments for the same checkout cannot both win.
+   *
+   * @param checkoutId           the checkout ID
+   * @param from                 the status the checkout must currently have
+   * @param to                   the new status
+   * @param settlementMovementId the ID of the movement that will settle the checkout
+   * @return true if this call performed the transition
+   */
+  boolean transitionStatus(String checkoutId, CheckoutStatus from, CheckoutStatus to, String settlementMovementId);
+
+  /**
+   * Apply many conditional transitions in one bulk write.
+   *
+   * @param transitions the transitions to apply
+   * @param from        the status every checkout must currently have
+   * @return IDs of the checkouts whose transition was performed by this call
+   */
+  Set<String> transitionStatuses(Collection<StatusTransition> transitions, CheckoutStatus from);
+
+  /**
+   * Put checkouts claimed with the given settlement movement IDs back to PENDING.
+   * Used when the stock update following a claim is rejected.
+   *
+   * @param settlementMovementIds the settlement movement IDs written by the claims
+   */
+  void revertToPending(Collection<String> settlementMovementIds);
+
+  /**
+   * A single checkout status transition.
+   */
+  record StatusTransition(String checkoutId, CheckoutStatus to, String settlementMovementId) {
+  }
+}
@@ -0,0 +1,14 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemInventorySummary;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for ItemInventorySummary entity.
+ * The summary ID is the item ID, so lookups by item use findById / findAllById.
+ */
+@Repository
+public interface ItemInventorySummaryRepository
+    extends MongoRepository<ItemInventorySummary, String>, ItemInventorySummaryRepositoryCustom {
+}
@@ -0,0 +1,63 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+
+import java.util.Collection;
+
+/**
+ * Custom repository interface for ItemInventorySummary entity.
+ * Applies stock changes as atomic $inc deltas and rebuilds summaries from stock using MongoTemplate.
+ */
+public interface ItemInventorySummaryRepositoryCustom {
+
+  /**
+   * Apply a stock change to its item's summary, creating the summary if needed.
+   *
+   * @param delta the change
+   */
+  void applyDelta(Delta delta);
+
+  /**
+   * Apply many stock changes in one unordered bulk write.
+   *
+   * @param deltas the changes
+   */
+  void applyDeltas(Collection<Delta> deltas);
+
+  /**
+   * Recompute every summary from the stock collection, replacing existing summaries.
+   *
+   * @return number of summaries written
+   */
+  long rebuildAll();
+
+  /**
+   * Change of one item's totals caused by a stock mutation.
+   */
+  record Delta(String itemId, long quantity, long reserved, long inStock, long stocks) {
+
+    /**
+     * Delta of a stock record going from one (quantity, reserved) pair to another.
+     */
+    public static Delta between(String itemId, int previousQuantity, int previousReserved,
+                                int newQuantity, int newReserved) {
+      long inStock = (newQuantity - newReserved > 0 ? 1 : 0) - (previousQuantity - previousReserved > 0 ? 1 : 0);
+      return new Delta(itemId, newQuantity - previousQuantity, newReserved - previousReserved, inStock, 0);
+    }
+
+    /**
+     * Delta of a new stock record.
+     */
+    public static Delta created(Stock stock) {
+      Delta change = between(stock.getItemId(), 0, 0, stock.getQuantity(), stock.getReservedQuantity());
+      return new Delta(change.itemId(), change.quantity(), change.reserved(), change.inStock(), 1);
+    }
+
+    /**
+     * Check if the delta changes nothing.
+     */
+    public boolean isEmpty() {
+      return quantity == 0 && reserved == 0 && inStock == 0 && stocks == 0;
+    }
+  }
+}
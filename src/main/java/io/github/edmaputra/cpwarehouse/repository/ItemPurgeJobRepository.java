@@ -0,0 +1,33 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemPurgeJob;
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemPurgeJob.PurgeStatus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for ItemPurgeJob entity.
+ */
+@Repository
+public interface ItemPurgeJobRepository extends MongoRepository<ItemPurgeJob, String> {
+
+  /**
+   * Find jobs in any of the given statuses, oldest first.
+   *
+   * @param statuses the statuses
+   * @return list of jobs
+   */
+  List<ItemPurgeJob> findByStatusInOrderByCreatedAtAsc(Collection<PurgeStatus> statuses);
+
+  /**
+   * Find the most recent job of an item.
+   *
+   * @param itemId the item ID
+   * @return Optional containing the job if any
+   */
+  Optional<ItemPurgeJob> findFirstByItemIdOrderByCreatedAtDesc(String itemId);
+}
@@ -7,6 +7,8 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,4 +26,12 @@ public interface ItemRepository extends MongoRepository<Item, String>, ItemRepos
    * @return Optional containing the item if found
    */
   Optional<Item> findBySku(String sku);
+
+  /**
+   * Find all items whose SKU is in the given collection.
+   *
+   * @param skus the SKUs to search for
+   * @return list of matching items
+   */
+  List<Item> findBySkuIn(Collection<String> skus);
 }
@@ -4,6 +4,8 @@ import io.github.edmaputra.cpwarehouse.domain.entity.Item;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+
 /**
  * Custom repository interface for Item entity.
  * Provides custom query methods using MongoTemplate.
@@ -17,7 +19,8 @@ public interface ItemRepositoryCustom {
    * @param pageable   pagination information (page, size, sort)
    * @param activeOnly filter by active status (null for all items)
    * @param search     search term for name or SKU (case-insensitive, null for no search)
+   * @param fields     properties to load (empty for the whole document); the rest stay null
    * @return page of items matching the criteria
    */
-  Page<Item> findAllWithFilters(Pageable pageable, Boolean activeOnly, String search);
+  Page<Item> findAllWithFilters(Pageable pageable, Boolean activeOnly, String search, Collection<String> fields);
 }
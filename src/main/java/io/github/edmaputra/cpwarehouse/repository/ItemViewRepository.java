@@ -0,0 +1,13 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemView;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for ItemView read model.
+ * Provides the product page lookup by item ID and the projector's bulk writes.
+ */
+@Repository
+public interface ItemViewRepository extends MongoRepository<ItemView, String>, ItemViewRepositoryCustom {
+}
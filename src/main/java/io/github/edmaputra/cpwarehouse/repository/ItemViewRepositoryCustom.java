@@ -0,0 +1,22 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemView;
+
+import java.util.Collection;
+
+/**
+ * Custom repository interface for ItemView read model.
+ * Provides watermark-guarded bulk replacement using MongoTemplate.
+ */
+public interface ItemViewRepositoryCustom {
+
+  /**
+   * Upsert views in one unordered bulk write. A stored view is only replaced if its
+   * sourceWatermark is not newer than the replacement's, so a slow rebuild can never
+   * overwrite a fresher one.
+   *
+   * @param views the rebuilt views
+   * @return number of views written
+   */
+  int replaceAll(Collection<ItemView> views);
+}
@@ -0,0 +1,13 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.Lease;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for Lease entity.
+ * One document per job, keyed by job name; acquired and released atomically through LeaseRepositoryCustom.
+ */
+@Repository
+public interface LeaseRepository extends MongoRepository<Lease, String>, LeaseRepositoryCustom {
+}
@@ -0,0 +1,27 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+/**
+ * Custom repository interface for Lease entity.
+ * Provides the atomic acquire/renew and release operations using MongoTemplate.
+ */
+public interface LeaseRepositoryCustom {
+
+  /**
+   * Acquire the lease, or renew it if the owner already holds it.
+   *
+   * @param name      the job name
+   * @param owner     the instance acquiring the lease
+   * @param now       current time in epoch millis
+   * @param expiresAt new expiry in epoch millis
+   * @return true if the owner holds the lease until expiresAt, false if another instance holds it
+   */
+  boolean tryAcquire(String name, String owner, long now, long expiresAt);
+
+  /**
+   * Release the lease if the owner holds it.
+   *
+   * @param name  the job name
+   * @param owner the instance releasing the lease
+   */
+  void release(String name, String owner);
+}
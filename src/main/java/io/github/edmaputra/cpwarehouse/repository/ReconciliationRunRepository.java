@@ -0,0 +1,12 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.ReconciliationRun;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for ReconciliationRun entity.
+ */
+@Repository
+public interface ReconciliationRunRepository extends MongoRepository<ReconciliationRun, String> {
+}
@@ -0,0 +1,23 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockAlert;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for StockAlert entity.
+ * Provides CRUD operations and custom query methods for stock alerts.
+ */
+@Repository
+public interface StockAlertRepository extends MongoRepository<StockAlert, String>, StockAlertRepositoryCustom {
+
+  /**
+   * Find the active alert of a stock.
+   *
+   * @param stockId the stock ID
+   * @return Optional containing the active alert if any
+   */
+  Optional<StockAlert> findFirstByStockIdAndActiveTrue(String stockId);
+}
@@ -0,0 +1,33 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockAlert;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Custom repository interface for StockAlert entity.
+ * Provides complex query methods using MongoTemplate.
+ */
+public interface StockAlertRepositoryCustom {
+
+  /**
+   * Find all alerts with optional filters.
+   *
+   * @param active   filter by active status (optional)
+   * @param level    filter by alert level (optional)
+   * @param stockId  filter by stock ID (optional)
+   * @param pageable pagination information
+   * @return page of alerts matching the criteria
+   */
+  Page<StockAlert> findAllWithFilters(Boolean active, StockAlert.AlertLevel level, String stockId,
+                                      Pageable pageable);
+
+  /**
+   * Resolve the active alerts of a stock.
+   *
+   * @param stockId    the stock ID
+   * @param resolvedAt resolution timestamp
+   * @return number of alerts resolved
+   */
+  long resolveActive(String stockId, long resolvedAt);
+}
@@ -0,0 +1,33 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockCheckpoint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for StockCheckpoint entity.
+ * Lookups are served by the (stockId, asOf) index.
+ */
+@Repository
+public interface StockCheckpointRepository extends MongoRepository<StockCheckpoint, String> {
+
+  /**
+   * Find the latest checkpoint of a stock at or before the given time.
+   *
+   * @param stockId the stock ID
+   * @param asOf    upper bound in epoch millis (inclusive)
+   * @return the nearest earlier checkpoint, if any
+   */
+  Optional<StockCheckpoint> findFirstByStockIdAndAsOfLessThanEqualOrderByAsOfDesc(String stockId, Long asOf);
+
+  /**
+   * Find the earliest checkpoint of a stock after the given time.
+   *
+   * @param stockId the stock ID
+   * @param asOf    lower bound in epoch millis (exclusive)
+   * @return the nearest later checkpoint, if any
+   */
+  Optional<StockCheckpoint> findFirstByStockIdAndAsOfGreaterThanOrderByAsOfAsc(String stockId, Long asOf);
+}
@@ -0,0 +1,21 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockCheckpointRun;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for StockCheckpointRun entity.
+ */
+@Repository
+public interface StockCheckpointRunRepository extends MongoRepository<StockCheckpointRun, String> {
+
+  /**
+   * Find the completed run with the latest asOf, whose asOf is the watermark of the next run.
+   *
+   * @return the latest completed run, if any
+   */
+  Optional<StockCheckpointRun> findFirstByCompletedAtNotNullOrderByAsOfDesc();
+}
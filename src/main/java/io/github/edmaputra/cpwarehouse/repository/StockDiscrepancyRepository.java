@@ -0,0 +1,23 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockDiscrepancy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for StockDiscrepancy entity.
+ */
+@Repository
+public interface StockDiscrepancyRepository extends MongoRepository<StockDiscrepancy, String> {
+
+  /**
+   * Find the discrepancies reported by a reconciliation run with pagination.
+   *
+   * @param runId    the reconciliation run ID
+   * @param pageable pagination information
+   * @return page of discrepancies
+   */
+  Page<StockDiscrepancy> findByRunId(String runId, Pageable pageable);
+}
@@ -4,17 +4,21 @@ import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
 import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement.MovementType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
  * Repository interface for StockMovement entity.
  * Provides CRUD operations and custom query methods for stock movements.
+ * Extends StockMovementRepositoryCustom for MongoTemplate-based cursor queries.
  */
 @Repository
-public interface StockMovementRepository extends MongoRepository<StockMovement, String> {
+public interface StockMovementRepository extends MongoRepository<StockMovement, String>, StockMovementRepositoryCustom {
 
   /**
    * Find all stock movements for a specific stock record with pagination.
@@ -39,9 +43,20 @@ public interface StockMovementRepository extends MongoRepository<StockMovement,
    * Find all stock movements for a specific stock record.
    *
    * @param stockId the stock ID
-   * @return list of stock movements ordered by createdAt descending
+   * @return list of stock movements ordered by createdAt descending, then by ID descending
    */
-  List<StockMovement> findByStockIdOrderByCreatedAtDesc(String stockId);
+  List<StockMovement> findByStockIdOrderByCreatedAtDescIdDesc(String stockId);
+
+  /**
+   * Find the stock movements of a stock record created within a time range.
+   *
+   * @param stockId   the stock ID
+   * @param createdAt range on createdAt, with its own bound inclusiveness; instants so the bounds are
+   *                  mapped to BSON dates like the stored field (range operators skip the target type)
+   * @param sort      sort order
+   * @return list of stock movements
+   */
+  List<StockMovement> findByStockIdAndCreatedAtBetween(String stockId, Range<Instant> createdAt, Sort sort);
 
   /**
    * Find stock movements by reference number.
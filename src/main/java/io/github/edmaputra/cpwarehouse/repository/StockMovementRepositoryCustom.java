@@ -0,0 +1,74 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement.MovementType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom repository interface for StockMovement entity.
+ * Provides cursor-based query methods and batched writes using MongoTemplate.
+ */
+public interface StockMovementRepositoryCustom {
+
+  /**
+   * Stream stock movements matching the given filters, ordered by createdAt ascending.
+   * The stream is backed by a Mongo cursor and must be closed by the caller.
+   *
+   * @param stockIds     filter by stock IDs (optional)
+   * @param movementType filter by movement type (optional)
+   * @param createdFrom  inclusive lower bound on createdAt in epoch millis (optional)
+   * @param createdTo    exclusive upper bound on createdAt in epoch millis (optional)
+   * @return cursor-backed stream of stock movements
+   */
+  Stream<StockMovement> streamWithFilters(List<String> stockIds, MovementType movementType,
+                                          Long createdFrom, Long createdTo);
+
+  /**
+   * Find a page of a stock's movements, optionally loading only some fields.
+   *
+   * @param stockId      the stock ID
+   * @param movementType filter by movement type (optional)
+   * @param pageable     pagination information
+   * @param fields       properties to load (empty for the whole document); the rest stay null
+   * @return page of stock movements
+   */
+  Page<StockMovement> findPageByStockId(String stockId, MovementType movementType, Pageable pageable,
+                                        Collection<String> fields);
+
+  /**
+   * Record the settlement (OUT or RELEASE) of a reservation: insert the settlement movement
+   * and the reservation's release marker into {@code stock_reservations}.
+   * The settlement must carry a pre-assigned ID so the marker can reference it.
+   *
+   * @param settlement    the OUT or RELEASE movement to insert
+   * @param reservationId the ID of the RESERVATION movement being settled
+   * @return true if the reservation was still unreleased and has been marked released
+   */
+  boolean settleReservation(StockMovement settlement, String reservationId);
+
+  /**
+   * Batched variant of {@link #settleReservation(StockMovement, String)}: insert all settlement
+   * movements with one bulk insert and the release markers of their reservations (given by
+   * relatedMovementId) with another.
+   *
+   * @param settlements the OUT or RELEASE movements to insert, with pre-assigned IDs
+   * @return the number of reservations that were still unreleased and have been marked released
+   */
+  int settleReservations(List<StockMovement> settlements);
+
+  /**
+   * Stream the movements of all stocks in a stock ID range, ordered by stockId, createdAt then _id,
+   * which the meta_stockId_createdAt_id_idx index serves without a sort. The stream must be closed by the caller.
+   *
+   * @param fromStockId inclusive lower bound on stockId
+   * @param toStockId   exclusive upper bound on stockId, or null for no upper bound
+   * @param batchSize   cursor batch size
+   * @return cursor-backed stream of stock movements
+   */
+  Stream<StockMovement> streamStockIdRange(String fromStockId, String toStockId, int batchSize);
+}
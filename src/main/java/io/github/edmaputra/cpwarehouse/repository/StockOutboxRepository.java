@@ -0,0 +1,20 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for StockOutboxEvent entity.
+ * Provides CRUD operations and the drain/compaction queries of the outbox publisher.
+ */
+@Repository
+public interface StockOutboxRepository extends MongoRepository<StockOutboxEvent, String>, StockOutboxRepositoryCustom {
+
+  /**
+   * Count events not delivered yet.
+   *
+   * @return number of pending events
+   */
+  long countByPublishedAtIsNull();
+}
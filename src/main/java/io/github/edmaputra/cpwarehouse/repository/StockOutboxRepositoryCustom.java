@@ -0,0 +1,45 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom repository interface for StockOutboxEvent entity.
+ * Provides batched drain and compaction operations using MongoTemplate.
+ */
+public interface StockOutboxRepositoryCustom {
+
+  /**
+   * Find the oldest pending events in insertion order.
+   *
+   * @param limit maximum number of events
+   * @return pending events, oldest first
+   */
+  List<StockOutboxEvent> findPending(int limit);
+
+  /**
+   * Mark events as delivered in one update.
+   *
+   * @param ids         the event IDs
+   * @param publishedAt delivery timestamp
+   * @return number of events marked
+   */
+  long markPublished(Collection<String> ids, long publishedAt);
+
+  /**
+   * Delete delivered events published before the given time.
+   *
+   * @param publishedBefore exclusive upper bound on publishedAt
+   * @return number of events deleted
+   */
+  long deletePublishedBefore(long publishedBefore);
+
+  /**
+   * Creation time of the oldest pending event.
+   *
+   * @return epoch millis, or null if nothing is pending
+   */
+  Long oldestPendingCreatedAt();
+}
@@ -4,6 +4,7 @@ import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,7 +13,7 @@ import java.util.Optional;
  * Provides CRUD operations and custom query methods for stock.
  */
 @Repository
-public interface StockRepository extends MongoRepository<Stock, String> {
+public interface StockRepository extends MongoRepository<Stock, String>, StockRepositoryCustom {
 
   /**
    * Find all stock records for a specific item.
@@ -55,4 +56,20 @@ public interface StockRepository extends MongoRepository<Stock, String> {
    * @return true if stock exists
    */
   boolean existsByItemIdAndVariantId(String itemId, String variantId);
+
+  /**
+   * Find base item stock (without variant) for all given items.
+   *
+   * @param itemIds the item IDs
+   * @return list of base item stock records
+   */
+  List<Stock> findByItemIdInAndVariantIdIsNull(Collection<String> itemIds);
+
+  /**
+   * Find all stock records of the given items.
+   *
+   * @param itemIds the item IDs
+   * @return list of stock records
+   */
+  List<Stock> findByItemIdIn(Collection<String> itemIds);
 }
@@ -0,0 +1,112 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.SellableSnapshot;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom repository interface for Stock entity.
+ * Provides guarded atomic quantity updates and sellable snapshot maintenance using MongoTemplate.
+ */
+public interface StockRepositoryCustom {
+
+  /**
+   * Atomically commit reserved stock: decrement both quantity and reservedQuantity.
+   * Only applies if both quantities are at least the given amount.
+   *
+   * @param stockId  the stock ID
+   * @param quantity the reserved quantity to commit
+   * @return the updated stock, or null if the stock does not exist or the guard failed
+   */
+  Stock commitReserved(String stockId, int quantity);
+
+  /**
+   * Atomically release reserved stock: decrement reservedQuantity only.
+   * Only applies if reservedQuantity is at least the given amount.
+   *
+   * @param stockId  the stock ID
+   * @param quantity the reserved quantity to release
+   * @return the updated stock, or null if the stock does not exist or the guard failed
+   */
+  Stock releaseReserved(String stockId, int quantity);
+
+  /**
+   * Atomically commit and release reserved stock in a single update.
+   * Lets a batch apply all of its deltas for one stock at once.
+   *
+   * @param stockId   the stock ID
+   * @param committed reserved quantity leaving the warehouse (decrements quantity and reservedQuantity)
+   * @param released  reserved quantity returned to availability (decrements reservedQuantity only)
+   * @return the updated stock, or null if the stock does not exist or the guard failed
+   */
+  Stock settleReserved(String stockId, int committed, int released);
+
+  /**
+   * Atomically reserve stock of an item or variant, but only if its sellable snapshot is complete,
+   * both item and variant are active, and enough stock is available.
+   *
+   * @param itemId    the item ID
+   * @param variantId the variant ID (null for base item stock)
+   * @param quantity  the quantity to reserve
+   * @return the updated stock, or null if the stock does not exist or any guard failed
+   */
+  Stock reserveSellable(String itemId, String variantId, int quantity);
+
+  /**
+   * Replace the sellable snapshot of one stock.
+   *
+   * @param stockId  the stock ID
+   * @param snapshot the new snapshot
+   */
+  void updateSellable(String stockId, SellableSnapshot snapshot);
+
+  /**
+   * Update the item half of the sellable snapshot on every stock of the item.
+   *
+   * @param itemId    the item ID
+   * @param basePrice the item base price
+   * @param active    the item active flag
+   * @return number of stock records updated
+   */
+  long updateItemSellable(String itemId, BigDecimal basePrice, boolean active);
+
+  /**
+   * Update the variant half of the sellable snapshot on the stock of the variant.
+   *
+   * @param variantId       the variant ID
+   * @param priceAdjustment the variant price adjustment
+   * @param active          the variant active flag
+   * @return number of stock records updated
+   */
+  long updateVariantSellable(String variantId, BigDecimal priceAdjustment, boolean active);
+
+  /**
+   * Set or clear the reorder threshold of one stock.
+   *
+   * @param stockId          the stock ID
+   * @param reorderThreshold the new threshold, or null to disable low-stock alerts
+   * @return the updated stock, or null if the stock does not exist
+   */
+  Stock updateReorderThreshold(String stockId, Integer reorderThreshold);
+
+  /**
+   * Split the stock collection into contiguous _id ranges of roughly equal size.
+   *
+   * @param partitions the maximum number of ranges
+   * @return the inclusive lower bound of every range in ascending order; each range ends where the next begins
+   */
+  List<String> partitionBounds(int partitions);
+
+  /**
+   * Stream the stocks in an _id range ordered by _id, backed by a Mongo cursor the caller must close.
+   *
+   * @param fromId    inclusive lower bound
+   * @param toId      exclusive upper bound, or null for no upper bound
+   * @param batchSize cursor batch size
+   * @return cursor-backed stream of stocks
+   */
+  Stream<Stock> streamIdRange(String fromId, String toId, int batchSize);
+}
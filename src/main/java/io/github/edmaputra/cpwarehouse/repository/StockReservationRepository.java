@@ -0,0 +1,14 @@
+package io.github.edmaputra.cpwarehouse.repository;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockReservation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for StockReservation entity.
+ * One release marker per released reservation, keyed by the RESERVATION movement ID.
+ * Markers are written by {@link StockMovementRepositoryCustom#settleReservation}.
+ */
+@Repository
+public interface StockReservationRepository extends MongoRepository<StockReservation, String> {
+}
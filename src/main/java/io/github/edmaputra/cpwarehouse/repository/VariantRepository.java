@@ -6,6 +6,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,4 +59,20 @@ public interface VariantRepository extends MongoRepository<Variant, String>, Var
    * @return count of variants
    */
   long countByItemId(String itemId);
+
+  /**
+   * Find all variants whose variant SKU is in the given collection.
+   *
+   * @param variantSkus the variant SKUs to search for
+   * @return list of matching variants
+   */
+  List<Variant> findByVariantSkuIn(Collection<String> variantSkus);
+
+  /**
+   * Find all variants of the given items.
+   *
+   * @param itemIds the item IDs
+   * @return list of variants
+   */
+  List<Variant> findByItemIdIn(Collection<String> itemIds);
 }
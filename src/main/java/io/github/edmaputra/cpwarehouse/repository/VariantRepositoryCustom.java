@@ -4,6 +4,8 @@ import io.github.edmaputra.cpwarehouse.domain.entity.Variant;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+
 /**
  * Custom repository interface for Variant entity.
  * Provides complex query methods using MongoTemplate.
@@ -17,7 +19,9 @@ public interface VariantRepositoryCustom {
    * @param isActive   filter by active status (optional)
    * @param search     search term for variant SKU or name (optional)
    * @param pageable   pagination information
+   * @param fields     properties to load (empty for the whole document); the rest stay null
    * @return page of variants matching the criteria
    */
-  Page<Variant> findAllWithFilters(String itemId, Boolean isActive, String search, Pageable pageable);
+  Page<Variant> findAllWithFilters(String itemId, Boolean isActive, String search, Pageable pageable,
+                                   Collection<String> fields);
 }
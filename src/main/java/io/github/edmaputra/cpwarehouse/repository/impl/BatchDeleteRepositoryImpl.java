@@ -0,0 +1,67 @@
+package io.github.edmaputra.cpwarehouse.repository.impl;
+
+import io.github.edmaputra.cpwarehouse.repository.BatchDeleteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Implementation of BatchDeleteRepository using MongoTemplate.
+ * Each batch selects its _ids through the filter's index, then deletes by _id.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class BatchDeleteRepositoryImpl implements BatchDeleteRepository {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public long deleteBatch(Criteria criteria, Class<?> entityClass, int batchSize) {
+    List<Object> ids = findIds(criteria, entityClass, batchSize);
+    if (ids.isEmpty()) {
+      return 0;
+    }
+
+    return mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), entityClass).getDeletedCount();
+  }
+
+  @Override
+  public long archiveBatch(Criteria criteria, Class<?> entityClass, String archiveCollection, int batchSize) {
+    List<Object> ids = findIds(criteria, entityClass, batchSize);
+    if (ids.isEmpty()) {
+      return 0;
+    }
+
+    // $merge on _id keeps an already archived copy, so replaying a batch is harmless
+    Aggregation archive = Aggregation.newAggregation(
+        Aggregation.match(Criteria.where("_id").in(ids)),
+        Aggregation.merge()
+            .intoCollection(archiveCollection)
+            .on("_id")
+            .whenMatched(MergeOperation.WhenDocumentsMatch.keepExistingDocument())
+            .whenNotMatched(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+            .build());
+    mongoTemplate.aggregate(archive, mongoTemplate.getCollectionName(entityClass), Document.class);
+
+    return mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), entityClass).getDeletedCount();
+  }
+
+  private List<Object> findIds(Criteria criteria, Class<?> entityClass, int batchSize) {
+    Query query = new Query(criteria).limit(batchSize);
+    query.fields().include("_id");
+
+    // Querying through the entity type maps property names to stored field names (e.g. meta.stockId)
+    return mongoTemplate.query(entityClass).as(Document.class).matching(query).all().stream()
+        .map(document -> document.get("_id"))
+        .toList();
+  }
+}
@@ -0,0 +1,48 @@
+package io.github.edmaputra.cpwarehouse.repository.impl;
+
+import com.mongodb.bulk.BulkWriteError;
+import io.github.edmaputra.cpwarehouse.repository.BulkInsertRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BulkInsertRepository implementation using MongoTemplate unordered BulkOperations.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class BulkInsertRepositoryImpl implements BulkInsertRepository {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public <T> Map<Integer, String> insertUnordered(List<T> documents, Class<T> entityClass) {
+    if (documents.isEmpty()) {
+      return Map.of();
+    }
+
+    Map<Integer, String> failures = new HashMap<>();
+    try {
+      mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass)
+          .insert(documents)
+          .execute();
+    } catch (BulkOperationException e) {
+      for (BulkWriteError error : e.getErrors()) {
+        failures.put(error.getIndex(), error.getMessage());
+      }
+    }
+
+    log.debug("Bulk inserted {} {} document(s), {} failed",
+        documents.size() - failures.size(), entityClass.getSimpleName(), failures.size());
+
+    return failures;
+  }
+}
@@ -0,0 +1,89 @@
+package io.github.edmaputra.cpwarehouse.repository.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.CheckoutItem;
+import io.github.edmaputra.cpwarehouse.domain.entity.CheckoutItem.CheckoutStatus;
+import io.github.edmaputra.cpwarehouse.repository.CheckoutItemRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Custom implementation of CheckoutItemRepositoryCustom using MongoTemplate.
+ * The expected status is part of the filter, so each transition is a single compare-and-set.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class CheckoutItemRepositoryCustomImpl implements CheckoutItemRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public boolean transitionStatus(String checkoutId, CheckoutStatus from, CheckoutStatus to,
+                                  String settlementMovementId) {
+    log.debug("Transitioning checkout status - checkoutId: {}, from: {}, to: {}", checkoutId, from, to);
+
+    return mongoTemplate.updateFirst(pending(checkoutId, from), transition(to, settlementMovementId),
+        CheckoutItem.class).getModifiedCount() == 1;
+  }
+
+  @Override
+  public Set<String> transitionStatuses(Collection<StatusTransition> transitions, CheckoutStatus from) {
+    log.debug("Transitioning {} checkout statuses from {}", transitions.size(), from);
+
+    if (transitions.isEmpty()) {
+      return Set.of();
+    }
+
+    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CheckoutItem.class);
+    transitions.forEach(t -> bulk.updateOne(pending(t.checkoutId(), from), transition(t.to(), t.settlementMovementId())));
+    int modified = bulk.execute().getModifiedCount();
+
+    if (modified == transitions.size()) {
+      return transitions.stream().map(StatusTransition::checkoutId).collect(Collectors.toSet());
+    }
+
+    // Some checkouts were settled concurrently; the bulk result only has counts,
+    // so find the ones carrying our settlement movement IDs
+    Query ours = new Query(Criteria.where("settlementMovementId")
+        .in(transitions.stream().map(StatusTransition::settlementMovementId).toList()));
+    ours.fields().include("_id");
+    return mongoTemplate.find(ours, CheckoutItem.class).stream()
+        .map(CheckoutItem::getId)
+        .collect(Collectors.toSet());
+  }
+
+  @Override
+  public void revertToPending(Collection<String> settlementMovementIds) {
+    log.debug("Reverting {} checkouts to PENDING", settlementMovementIds.size());
+
+    Query query = new Query(Criteria.where("settlementMovementId").in(settlementMovementIds));
+    Update update = new Update()
+        .set("status", CheckoutStatus.PENDING)
+        .unset("settlementMovementId")
+        .set("updatedAt", System.currentTimeMillis())
+        .inc("version", 1);
+    mongoTemplate.updateMulti(query, update, CheckoutItem.class);
+  }
+
+  private Query pending(String checkoutId, CheckoutStatus from) {
+    return new Query(Criteria.where("_id").is(checkoutId).and("status").is(from));
+  }
+
+  private Update transition(CheckoutStatus to, String settlementMovementId) {
+    return new Update()
+        .set("status", to)
+        .set("settlementMovementId", settlementMovementId)
+        .set("updatedAt", System.currentTimeMillis())
+        .inc("version", 1);
+  }
+}
@@ -0,0 +1,106 @@
+package io.github.edmaputra.cpwarehouse.repository.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemInventorySummary;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Custom implementation of ItemInventorySummaryRepositoryCustom using MongoTemplate.
+ * Deltas are applied with upserting $inc, so concurrent stock mutations never conflict on the summary.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ItemInventorySummaryRepositoryCustomImpl implements ItemInventorySummaryRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public void applyDelta(Delta delta) {
+    if (delta.isEmpty()) {
+      return;
+    }
+    log.debug("Applying inventory summary delta: {}", delta);
+
+    mongoTemplate.upsert(byItem(delta.itemId()), increment(delta), ItemInventorySummary.class);
+  }
+
+  @Override
+  public void applyDeltas(Collection<Delta> deltas) {
+    // One update per item: merge deltas of the same item first
+    Map<String, Delta> merged = deltas.stream()
+        .filter(delta -> !delta.isEmpty())
+        .collect(Collectors.toMap(Delta::itemId, delta -> delta, (a, b) -> new Delta(a.itemId(),
+            a.quantity() + b.quantity(), a.reserved() + b.reserved(), a.inStock() + b.inStock(),
+            a.stocks() + b.stocks())));
+
+    if (merged.isEmpty()) {
+      return;
+    }
+    log.debug("Applying inventory summary deltas for {} items", merged.size());
+
+    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ItemInventorySummary.class);
+    merged.values().forEach(delta -> bulk.upsert(byItem(delta.itemId()), increment(delta)));
+    bulk.execute();
+  }
+
+  @Override
+  public long rebuildAll() {
+    log.info("Rebuilding all item inventory summaries from stock");
+
+    Aggregation aggregation = Aggregation.newAggregation(
+        Aggregation.group("itemId")
+            .sum("quantity").as("totalQuantity")
+            .sum("reservedQuantity").as("totalReserved")
+            .sum(ConditionalOperators.when(ComparisonOperators.Gt
+                    .valueOf(ArithmeticOperators.Subtract.valueOf("quantity").subtract("reservedQuantity"))
+                    .greaterThanValue(0))
+                .then(1)
+                .otherwise(0)).as("inStockCount")
+            .count().as("stockCount"),
+        Aggregation.addFields()
+            .addFieldWithValue("totalAvailable",
+                ArithmeticOperators.Subtract.valueOf("totalQuantity").subtract("totalReserved"))
+            .addFieldWithValue("updatedAt", System.currentTimeMillis())
+            .build(),
+        Aggregation.merge()
+            .intoCollection(mongoTemplate.getCollectionName(ItemInventorySummary.class))
+            .whenMatched(MergeOperation.WhenDocumentsMatch.replaceDocument())
+            .build());
+
+    mongoTemplate.aggregate(aggregation, Stock.class, Document.class);
+    return mongoTemplate.count(new Query(), ItemInventorySummary.class);
+  }
+
+  private Query byItem(String itemId) {
+    return new Query(Criteria.where("_id").is(itemId));
+  }
+
+  private Update increment(Delta delta) {
+    return new Update()
+        .inc("totalQuantity", delta.quantity())
+        .inc("totalReserved", delta.reserved())
+        .inc("totalAvailable", delta.quantity() - delta.reserved())
+        .inc("inStockCount", delta.inStock())
+        .inc("stockCount", delta.stocks())
+        .set("updatedAt", System.currentTimeMillis());
+  }
+}
@@ -15,6 +15,7 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -29,7 +30,8 @@ public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
   private final MongoTemplate mongoTemplate;
 
   @Override
-  public Page<Item> findAllWithFilters(Pageable pageable, Boolean activeOnly, String search) {
+  public Page<Item> findAllWithFilters(Pageable pageable, Boolean activeOnly, String search,
+      Collection<String> fields) {
     log.debug("Finding items with filters - activeOnly: {}, search: {}, page: {}, size: {}",
         activeOnly,
         search,
@@ -67,6 +69,11 @@ public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
     // Apply pagination and sorting
     query.with(pageable);
 
+    // Load only the requested fields
+    if (!CollectionUtils.isEmpty(fields)) {
+      query.fields().include(fields.toArray(new String[0]));
+    }
+
     // Execute query
     List<Item> items = mongoTemplate.find(query, Item.class);
     log.debug("Retrieved {} items for current page", items.size());
@@ -0,0 +1,60 @@
+package io.github.edmaputra.cpwarehouse.repository.impl;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemView;
+import io.github.edmaputra.cpwarehouse.repository.ItemViewRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Custom implementation of ItemViewRepositoryCustom using MongoTemplate.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ItemViewRepositoryCustomImpl implements ItemViewRepositoryCustom {
+
+  private static final int DUPLICATE_KEY = 11000;
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public int replaceAll(Collection<ItemView> views) {
+    if (views.isEmpty()) {
+      return 0;
+    }
+
+    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ItemView.class);
+    for (ItemView view : views) {
+      Query query = new Query(Criteria.where("_id").is(view.getItemId())
+          .orOperator(
+              Criteria.where("sourceWatermark").lte(view.getSourceWatermark()),
+              Criteria.where("sourceWatermark").exists(false)));
+      bulk.replaceOne(query, view, FindAndReplaceOptions.options().upsert());
+    }
+
+    try {
+      BulkWriteResult result = bulk.execute();
+      return result.getModifiedCount() + result.getUpserts().size();
+    } catch (BulkOperationException e) {
+      // A duplicate key means the stored view is newer than ours: the guard did its job
+      for (BulkWriteError error : e.getErrors()) {
+        if (error.getCode() != DUPLICATE_KEY) {
+          throw e;
+        }
+      }
+      log.debug("Skipped {} item views superseded by fresher rebuilds", e.getErrors().size());
+      return e.getResult().getModifiedCount() + e.getResult().getUpserts().size();
+    }
+  }
+}
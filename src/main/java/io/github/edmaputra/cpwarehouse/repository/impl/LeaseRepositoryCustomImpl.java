@@ -0,0 +1,40 @@
+package io.github.edmaputra.cpwarehouse.repository.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.Lease;
+import io.github.edmaputra.cpwarehouse.repository.LeaseRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Custom implementation of LeaseRepositoryCustom using MongoTemplate.
+ * A lease is taken with one upsert that only matches when it is free or already ours; when another
+ * instance holds it, the upsert tries to insert a second document with the same _id and fails.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LeaseRepositoryCustomImpl implements LeaseRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public boolean tryAcquire(String name, String owner, long now, long expiresAt) {
+    Query query = new Query(Criteria.where("_id").is(name)
+        .orOperator(Criteria.where("owner").is(owner), Criteria.where("expiresAt").lte(now)));
+    try {
+      mongoTemplate.upsert(query, Update.update("owner", owner).set("expiresAt", expiresAt), Lease.class);
+      return true;
+    } catch (DuplicateKeyException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public void release(String name, String owner) {
+    mongoTemplate.remove(new Query(Criteria.where("_id").is(name).and("owner").is(owner)), Lease.class);
+  }
+}
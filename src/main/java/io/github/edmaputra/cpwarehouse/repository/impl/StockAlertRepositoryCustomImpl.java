@@ -0,0 +1,75 @@
+package io.github.edmaputra.cpwarehouse.repository.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockAlert;
+import io.github.edmaputra.cpwarehouse.repository.StockAlertRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Custom implementation of StockAlertRepositoryCustom using MongoTemplate.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class StockAlertRepositoryCustomImpl implements StockAlertRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public Page<StockAlert> findAllWithFilters(Boolean active, StockAlert.AlertLevel level, String stockId,
+                                             Pageable pageable) {
+    log.debug("Finding stock alerts with filters - active: {}, level: {}, stockId: {}", active, level, stockId);
+
+    List<Criteria> criteria = new ArrayList<>();
+
+    if (active != null) {
+      criteria.add(Criteria.where("active").is(active));
+    }
+
+    if (level != null) {
+      criteria.add(Criteria.where("level").is(level));
+    }
+
+    if (StringUtils.hasText(stockId)) {
+      criteria.add(Criteria.where("stockId").is(stockId));
+    }
+
+    Query query = new Query();
+    if (!CollectionUtils.isEmpty(criteria)) {
+      query.addCriteria(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
+    }
+
+    long total = mongoTemplate.count(query, StockAlert.class);
+
+    query.with(pageable);
+
+    List<StockAlert> alerts = mongoTemplate.find(query, StockAlert.class);
+
+    log.debug("Found {} stock alerts out of {} total", alerts.size(), total);
+
+    return new PageImpl<>(alerts, pageable, total);
+  }
+
+  @Override
+  public long resolveActive(String stockId, long resolvedAt) {
+    Query query = new Query(Criteria.where("stockId").is(stockId).and("active").is(true));
+    Update update = new Update()
+        .set("active", false)
+        .set("resolvedAt", resolvedAt);
+
+    return mongoTemplate.updateMulti(query, update, StockAlert.class).getModifiedCount();
+  }
+}
@@ -0,0 +1,148 @@
+package io.github.edmaputra.cpwarehouse.repository.impl;
+
+import com.mongodb.bulk.BulkWriteError;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement.MovementType;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockReservation;
+import io.github.edmaputra.cpwarehouse.repository.StockMovementRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.CollectionUtils;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom implementation of StockMovementRepositoryCustom using MongoTemplate.
+ * Streams results from a server-side cursor so memory stays bounded by the cursor batch size,
+ * and batches the writes that settle reservations. Movements are only ever inserted; the
+ * release markers go to {@code stock_reservations}, whose _id is the reservation ID.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class StockMovementRepositoryCustomImpl implements StockMovementRepositoryCustom {
+
+  private static final int CURSOR_BATCH_SIZE = 1000;
+  private static final int DUPLICATE_KEY = 11000;
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public Stream<StockMovement> streamWithFilters(List<String> stockIds, MovementType movementType,
+                                                 Long createdFrom, Long createdTo) {
+    log.debug("Streaming stock movements - stockIds: {}, movementType: {}, createdFrom: {}, createdTo: {}",
+        stockIds, movementType, createdFrom, createdTo);
+
+    Query query = new Query();
+
+    if (!CollectionUtils.isEmpty(stockIds)) {
+      query.addCriteria(Criteria.where("stockId").in(stockIds));
+    }
+
+    if (movementType != null) {
+      query.addCriteria(Criteria.where("movementType").is(movementType));
+    }
+
+    if (createdFrom != null || createdTo != null) {
+      // createdAt is stored as a date and range bounds are not converted to it, so pass dates
+      Criteria createdAt = Criteria.where("createdAt");
+      if (createdFrom != null) {
+        createdAt.gte(new Date(createdFrom));
+      }
+      if (createdTo != null) {
+        createdAt.lt(new Date(createdTo));
+      }
+      query.addCriteria(createdAt);
+    }
+
+    // createdAt order is served by the meta_stockId_createdAt_id_idx / createdAt indexes, so no in-memory sort
+    query.with(Sort.by(Sort.Direction.ASC, "createdAt"));
+    query.cursorBatchSize(CURSOR_BATCH_SIZE);
+
+    return mongoTemplate.stream(query, StockMovement.class);
+  }
+
+  @Override
+  public Page<StockMovement> findPageByStockId(String stockId, MovementType movementType, Pageable pageable,
+                                               Collection<String> fields) {
+    Query query = new Query(Criteria.where("stockId").is(stockId));
+    if (movementType != null) {
+      query.addCriteria(Criteria.where("movementType").is(movementType));
+    }
+
+    long total = mongoTemplate.count(query, StockMovement.class);
+
+    query.with(pageable);
+    if (!CollectionUtils.isEmpty(fields)) {
+      query.fields().include(fields.toArray(new String[0]));
+    }
+
+    return new PageImpl<>(mongoTemplate.find(query, StockMovement.class), pageable, total);
+  }
+
+  @Override
+  public Stream<StockMovement> streamStockIdRange(String fromStockId, String toStockId, int batchSize) {
+    Criteria stockId = Criteria.where("stockId").gte(fromStockId);
+    if (toStockId != null) {
+      stockId.lt(toStockId);
+    }
+
+    // _id breaks ties between movements written in the same millisecond, such as a batch settlement's
+    Query query = new Query(stockId).with(Sort.by(Sort.Direction.ASC, "stockId", "createdAt", "id"));
+    query.cursorBatchSize(batchSize);
+    return mongoTemplate.stream(query, StockMovement.class);
+  }
+
+  @Override
+  public boolean settleReservation(StockMovement settlement, String reservationId) {
+    log.debug("Settling reservation - reservationId: {}, settlementType: {}, settlementId: {}",
+        reservationId, settlement.getMovementType(), settlement.getId());
+
+    mongoTemplate.insert(settlement);
+    return markReleased(List.of(StockReservation.released(reservationId, settlement))) == 1;
+  }
+
+  @Override
+  public int settleReservations(List<StockMovement> settlements) {
+    log.debug("Settling {} reservations", settlements.size());
+
+    if (settlements.isEmpty()) {
+      return 0;
+    }
+
+    mongoTemplate.insert(settlements, StockMovement.class);
+    return markReleased(settlements.stream()
+        .map(settlement -> StockReservation.released(settlement.getRelatedMovementId(), settlement))
+        .toList());
+  }
+
+  private int markReleased(List<StockReservation> markers) {
+    try {
+      return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StockReservation.class)
+          .insert(markers)
+          .execute()
+          .getInsertedCount();
+    } catch (BulkOperationException e) {
+      // A duplicate key means the reservation already has a release marker
+      for (BulkWriteError error : e.getErrors()) {
+        if (error.getCode() != DUPLICATE_KEY) {
+          throw e;
+        }
+      }
+      return e.getResult().getInsertedCount();
+    }
+  }
+}
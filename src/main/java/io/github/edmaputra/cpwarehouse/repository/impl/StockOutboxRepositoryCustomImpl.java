@@ -0,0 +1,67 @@
+package io.github.edmaputra.cpwarehouse.repository.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
+import io.github.edmaputra.cpwarehouse.repository.StockOutboxRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom implementation of StockOutboxRepositoryCustom using MongoTemplate.
+ * Pending events are read through the (publishedAt, _id) index, so a drain never scans delivered events.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class StockOutboxRepositoryCustomImpl implements StockOutboxRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public List<StockOutboxEvent> findPending(int limit) {
+    Query query = new Query(Criteria.where("publishedAt").is(null))
+        .with(Sort.by("_id"))
+        .limit(limit);
+
+    return mongoTemplate.find(query, StockOutboxEvent.class);
+  }
+
+  @Override
+  public long markPublished(Collection<String> ids, long publishedAt) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+
+    Query query = new Query(Criteria.where("_id").in(ids).and("publishedAt").is(null));
+    return mongoTemplate.updateMulti(query, Update.update("publishedAt", publishedAt), StockOutboxEvent.class)
+        .getModifiedCount();
+  }
+
+  @Override
+  public long deletePublishedBefore(long publishedBefore) {
+    Query query = new Query(Criteria.where("publishedAt").lt(publishedBefore));
+    long deleted = mongoTemplate.remove(query, StockOutboxEvent.class).getDeletedCount();
+
+    log.debug("Compacted {} delivered outbox events published before {}", deleted, publishedBefore);
+    return deleted;
+  }
+
+  @Override
+  public Long oldestPendingCreatedAt() {
+    Query query = new Query(Criteria.where("publishedAt").is(null))
+        .with(Sort.by("_id"))
+        .limit(1);
+    query.fields().include("createdAt");
+
+    StockOutboxEvent oldest = mongoTemplate.findOne(query, StockOutboxEvent.class);
+    return oldest != null ? oldest.getCreatedAt() : null;
+  }
+}
@@ -0,0 +1,164 @@
+package io.github.edmaputra.cpwarehouse.repository.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.SellableSnapshot;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.repository.StockRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom implementation of StockRepositoryCustom using MongoTemplate.
+ * Quantities are changed with a server-side $inc guarded by the filter,
+ * so concurrent updates never conflict on the version field and never drive a quantity negative.
+ * Snapshot updates bump the version as well, so a read-modify-save holding a stale snapshot fails
+ * instead of overwriting it.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class StockRepositoryCustomImpl implements StockRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public Stock commitReserved(String stockId, int quantity) {
+    return settleReserved(stockId, quantity, 0);
+  }
+
+  @Override
+  public Stock releaseReserved(String stockId, int quantity) {
+    return settleReserved(stockId, 0, quantity);
+  }
+
+  @Override
+  public Stock settleReserved(String stockId, int committed, int released) {
+    log.debug("Settling reserved stock - stockId: {}, committed: {}, released: {}", stockId, committed, released);
+
+    Query query = new Query(Criteria.where("_id").is(stockId)
+        .and("quantity").gte(committed)
+        .and("reservedQuantity").gte(committed + released));
+    Update update = new Update()
+        .inc("quantity", -committed)
+        .inc("reservedQuantity", -(committed + released))
+        // Bump the version so entity-based saves elsewhere still detect this change
+        .inc("version", 1)
+        .set("updatedAt", System.currentTimeMillis());
+
+    return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Stock.class);
+  }
+
+  @Override
+  public Stock reserveSellable(String itemId, String variantId, int quantity) {
+    log.debug("Reserving sellable stock - itemId: {}, variantId: {}, quantity: {}", itemId, variantId, quantity);
+
+    Query query = new Query(Criteria.where("itemId").is(itemId)
+        .and("variantId").is(variantId)
+        .and("sellable.basePrice").ne(null)
+        .and("sellable.priceAdjustment").ne(null)
+        .and("sellable.itemActive").is(true)
+        .and("sellable.variantActive").is(true)
+        .andOperator(Criteria.expr(ComparisonOperators.Gte
+            .valueOf(ArithmeticOperators.Subtract.valueOf("quantity").subtract("reservedQuantity"))
+            .greaterThanEqualToValue(quantity))));
+    Update update = new Update()
+        .inc("reservedQuantity", quantity)
+        .inc("version", 1)
+        .set("updatedAt", System.currentTimeMillis());
+
+    return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Stock.class);
+  }
+
+  @Override
+  public void updateSellable(String stockId, SellableSnapshot snapshot) {
+    log.debug("Updating sellable snapshot - stockId: {}", stockId);
+
+    Query query = new Query(Criteria.where("_id").is(stockId));
+    mongoTemplate.updateFirst(query, snapshotUpdate().set("sellable", snapshot), Stock.class);
+  }
+
+  @Override
+  public long updateItemSellable(String itemId, BigDecimal basePrice, boolean active) {
+    log.debug("Updating item sellable snapshot - itemId: {}, basePrice: {}, active: {}", itemId, basePrice, active);
+
+    Query query = new Query(Criteria.where("itemId").is(itemId));
+    Update update = snapshotUpdate()
+        .set("sellable.basePrice", basePrice)
+        .set("sellable.itemActive", active);
+
+    return mongoTemplate.updateMulti(query, update, Stock.class).getModifiedCount();
+  }
+
+  @Override
+  public long updateVariantSellable(String variantId, BigDecimal priceAdjustment, boolean active) {
+    log.debug("Updating variant sellable snapshot - variantId: {}, priceAdjustment: {}, active: {}",
+        variantId, priceAdjustment, active);
+
+    Query query = new Query(Criteria.where("variantId").is(variantId));
+    Update update = snapshotUpdate()
+        .set("sellable.priceAdjustment", priceAdjustment)
+        .set("sellable.variantActive", active);
+
+    return mongoTemplate.updateMulti(query, update, Stock.class).getModifiedCount();
+  }
+
+  @Override
+  public Stock updateReorderThreshold(String stockId, Integer reorderThreshold) {
+    log.debug("Updating reorder threshold - stockId: {}, reorderThreshold: {}", stockId, reorderThreshold);
+
+    Query query = new Query(Criteria.where("_id").is(stockId));
+    Update update = new Update()
+        .inc("version", 1)
+        .set("updatedAt", System.currentTimeMillis());
+    if (reorderThreshold == null) {
+      update.unset("reorderThreshold");
+    } else {
+      update.set("reorderThreshold", reorderThreshold);
+    }
+
+    return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Stock.class);
+  }
+
+  @Override
+  public List<String> partitionBounds(int partitions) {
+    Aggregation aggregation = Aggregation.newAggregation(Aggregation.bucketAuto("_id", partitions))
+        .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+    return mongoTemplate.aggregate(aggregation, Stock.class, Document.class).getMappedResults().stream()
+        .map(bucket -> bucket.get("_id", Document.class).get("min").toString())
+        .toList();
+  }
+
+  @Override
+  public Stream<Stock> streamIdRange(String fromId, String toId, int batchSize) {
+    Criteria id = Criteria.where("_id").gte(fromId);
+    if (toId != null) {
+      id.lt(toId);
+    }
+
+    Query query = new Query(id).with(Sort.by(Sort.Direction.ASC, "_id"));
+    query.cursorBatchSize(batchSize);
+    return mongoTemplate.stream(query, Stock.class);
+  }
+
+  private Update snapshotUpdate() {
+    return new Update()
+        .inc("version", 1)
+        .set("updatedAt", System.currentTimeMillis());
+  }
+}
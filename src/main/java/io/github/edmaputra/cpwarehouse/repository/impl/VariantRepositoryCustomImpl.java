@@ -15,6 +15,7 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -30,7 +31,8 @@ public class VariantRepositoryCustomImpl implements VariantRepositoryCustom {
   private final MongoTemplate mongoTemplate;
 
   @Override
-  public Page<Variant> findAllWithFilters(String itemId, Boolean isActive, String search, Pageable pageable) {
+  public Page<Variant> findAllWithFilters(String itemId, Boolean isActive, String search, Pageable pageable,
+                                          Collection<String> fields) {
 
     log.debug("Finding variants with filters - itemId: {}, isActive: {}, search: {}", itemId, isActive, search);
 
@@ -68,6 +70,11 @@ public class VariantRepositoryCustomImpl implements VariantRepositoryCustom {
     // Apply pagination
     query.with(pageable);
 
+    // Load only the requested fields
+    if (!CollectionUtils.isEmpty(fields)) {
+      query.fields().include(fields.toArray(new String[0]));
+    }
+
     // Execute query
     List<Variant> variants = mongoTemplate.find(query, Variant.class);
 
@@ -0,0 +1,19 @@
+package io.github.edmaputra.cpwarehouse.service.alert;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockAlert.AlertLevel;
+import io.github.edmaputra.cpwarehouse.dto.response.StockAlertResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Command to get stock alerts with optional filters and pagination.
+ */
+public interface GetStockAlertsCommand extends Command<GetStockAlertsCommand.Request, Page<StockAlertResponse>> {
+
+  /**
+   * Request wrapper for getting stock alerts with filters.
+   */
+  record Request(Boolean active, AlertLevel level, String stockId, Pageable pageable) {
+  }
+}
@@ -0,0 +1,68 @@
+package io.github.edmaputra.cpwarehouse.service.alert;
+
+import io.github.edmaputra.cpwarehouse.config.StockAlertProperties;
+import io.github.edmaputra.cpwarehouse.dto.response.StockAlertResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fans stock alerts out to the open server-sent events subscriptions.
+ * Subscribers only see alerts raised while they are connected; history is served by the alerts query.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockAlertBroadcaster {
+
+  static final String EVENT_NAME = "stock-alert";
+
+  private final StockAlertProperties properties;
+  private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Open a new subscription.
+   *
+   * @return emitter that receives every alert published from now on
+   */
+  public SseEmitter subscribe() {
+    SseEmitter emitter = new SseEmitter(properties.getSseTimeout().toMillis());
+    emitter.onCompletion(() -> emitters.remove(emitter));
+    emitter.onTimeout(() -> emitters.remove(emitter));
+    emitter.onError(e -> emitters.remove(emitter));
+    emitters.add(emitter);
+
+    log.debug("Stock alert subscriber added - subscribers: {}", emitters.size());
+    return emitter;
+  }
+
+  /**
+   * Send an alert to all subscribers; subscribers that fail to receive it are dropped.
+   *
+   * @param alert the alert
+   */
+  public void publish(StockAlertResponse alert) {
+    for (SseEmitter emitter : emitters) {
+      try {
+        emitter.send(SseEmitter.event().name(EVENT_NAME).id(alert.getId()).data(alert));
+      } catch (IOException | IllegalStateException e) {
+        log.debug("Dropping stock alert subscriber: {}", e.getMessage());
+        emitters.remove(emitter);
+        emitter.completeWithError(e);
+      }
+    }
+  }
+
+  /**
+   * Complete all subscriptions, e.g. on shutdown.
+   */
+  public void completeAll() {
+    emitters.forEach(SseEmitter::complete);
+    emitters.clear();
+  }
+}
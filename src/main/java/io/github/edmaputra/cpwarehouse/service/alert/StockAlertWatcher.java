@@ -0,0 +1,305 @@
+package io.github.edmaputra.cpwarehouse.service.alert;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.github.edmaputra.cpwarehouse.config.StockAlertProperties;
+import io.github.edmaputra.cpwarehouse.domain.entity.ChangeStreamCheckpoint;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockAlert;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockAlert.AlertLevel;
+import io.github.edmaputra.cpwarehouse.mapper.StockMapper;
+import io.github.edmaputra.cpwarehouse.repository.ChangeStreamCheckpointRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockAlertRepository;
+import io.github.edmaputra.cpwarehouse.service.lease.InstanceLeases;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the stock change stream and raises an alert whenever a stock crosses into
+ * another level (normal, LOW_STOCK, OUT_OF_STOCK).
+ *
+ * <p>Only changes that touch quantity, reservedQuantity or reorderThreshold are delivered, and each
+ * one is judged on its own document, so the stock collection is never scanned. The current level of
+ * a stock is its active alert, looked up once and then cached, which also makes replaying an event
+ * after a restart harmless. The resume token is persisted periodically and on shutdown, so a restart
+ * continues from the last checkpoint. Change streams need a replica set; on a standalone server the
+ * watcher logs a warning and stays off.
+ *
+ * <p>Only the instance holding the {@value #CONSUMER_NAME} lease watches, so alerts are raised once and the
+ * stored resume token only moves forward. The others retry the lease every retry delay and take over once it
+ * expires. The lease is renewed while watching; a watcher that loses it stops without saving its token.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockAlertWatcher implements SmartLifecycle {
+
+  static final String CONSUMER_NAME = "stock-alert-watcher";
+
+  private static final int NOT_A_REPLICA_SET = 40573;
+  private static final int CHANGE_STREAM_FATAL_ERROR = 280;
+  private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+  private static final int MAX_CACHED_LEVELS = 100_000;
+
+  private final MongoTemplate mongoTemplate;
+  private final StockAlertRepository stockAlertRepository;
+  private final ChangeStreamCheckpointRepository checkpointRepository;
+  private final StockAlertBroadcaster stockAlertBroadcaster;
+  private final StockMapper stockMapper;
+  private final StockAlertProperties properties;
+  private final InstanceLeases instanceLeases;
+
+  /**
+   * Current level per stock; null values mean "normal". Only touched by the watcher thread.
+   */
+  private final Map<String, AlertLevel> levels = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, AlertLevel> eldest) {
+      return size() > MAX_CACHED_LEVELS;
+    }
+  };
+
+  private volatile boolean running;
+  private Thread thread;
+
+  @Override
+  public void start() {
+    if (!properties.isEnabled()) {
+      log.info("Stock alert watcher is disabled");
+      return;
+    }
+    running = true;
+    thread = new Thread(this::run, CONSUMER_NAME);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (thread != null) {
+      try {
+        thread.join(properties.getRetryDelay().toMillis() + TimeUnit.SECONDS.toMillis(2));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      instanceLeases.release(CONSUMER_NAME);
+    }
+    stockAlertBroadcaster.completeAll();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void run() {
+    while (running) {
+      try {
+        if (!instanceLeases.tryAcquire(CONSUMER_NAME, properties.getLeaseDuration())) {
+          pause();
+          continue;
+        }
+        watch();
+      } catch (MongoException e) {
+        if (e.getCode() == NOT_A_REPLICA_SET) {
+          log.warn("Stock alerts are off: change streams need a replica set or sharded cluster");
+          running = false;
+          return;
+        }
+        if (e.getCode() == CHANGE_STREAM_FATAL_ERROR || e.getCode() == CHANGE_STREAM_HISTORY_LOST) {
+          log.warn("Stock change stream cannot resume from the stored token, restarting from now: {}",
+              e.getMessage());
+          checkpointRepository.deleteById(CONSUMER_NAME);
+        } else {
+          log.error("Stock change stream failed, reopening in {}", properties.getRetryDelay(), e);
+          pause();
+        }
+      } catch (RuntimeException e) {
+        log.error("Stock alert processing failed, reopening in {}", properties.getRetryDelay(), e);
+        pause();
+      }
+    }
+  }
+
+  private void watch() {
+    var stream = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Stock.class))
+        .watch(List.of(Aggregates.match(relevantChanges())))
+        .fullDocument(FullDocument.UPDATE_LOOKUP)
+        .maxAwaitTime(1, TimeUnit.SECONDS);
+
+    BsonDocument resumeToken = loadCheckpoint();
+    if (resumeToken != null) {
+      stream = stream.resumeAfter(resumeToken);
+    }
+    log.info("Stock alert watcher started{}", resumeToken != null ? " from stored resume token" : "");
+
+    long lastCheckpoint = System.currentTimeMillis();
+    long renewInterval = properties.getLeaseDuration().toMillis() / 3;
+    long lastRenewal = lastCheckpoint;
+    BsonDocument saved = resumeToken;
+
+    try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+      while (running) {
+        if (System.currentTimeMillis() - lastRenewal >= renewInterval) {
+          if (!instanceLeases.tryAcquire(CONSUMER_NAME, properties.getLeaseDuration())) {
+            // Another instance took over; its token is newer than ours
+            log.warn("Stock alert watcher lost its lease, stopping on this instance");
+            return;
+          }
+          lastRenewal = System.currentTimeMillis();
+        }
+
+        ChangeStreamDocument<Document> change = cursor.tryNext();
+        if (change != null) {
+          process(change);
+        }
+
+        BsonDocument token = cursor.getResumeToken();
+        long now = System.currentTimeMillis();
+        if (token != null && !token.equals(saved)
+            && (!running || now - lastCheckpoint >= properties.getCheckpointInterval().toMillis())) {
+          saveCheckpoint(token);
+          saved = token;
+          lastCheckpoint = now;
+        }
+      }
+
+      BsonDocument token = cursor.getResumeToken();
+      if (token != null && !token.equals(saved)) {
+        saveCheckpoint(token);
+      }
+    }
+  }
+
+  /**
+   * Inserts, replacements and deletions, plus updates that can move the available quantity
+   * or the threshold.
+   */
+  private Bson relevantChanges() {
+    return Filters.or(
+        Filters.in("operationType", "insert", "replace", "delete"),
+        Filters.and(
+            Filters.eq("operationType", "update"),
+            Filters.or(
+                Filters.exists("updateDescription.updatedFields.quantity"),
+                Filters.exists("updateDescription.updatedFields.reservedQuantity"),
+                Filters.exists("updateDescription.updatedFields.reorderThreshold"),
+                Filters.eq("updateDescription.removedFields", "reorderThreshold"))));
+  }
+
+  private void process(ChangeStreamDocument<Document> change) {
+    String stockId = idOf(change.getDocumentKey() != null ? change.getDocumentKey().get("_id") : null);
+    if (stockId == null) {
+      return;
+    }
+
+    long now = System.currentTimeMillis();
+    Document stock = change.getFullDocument();
+    if (stock == null) {
+      // Deleted (or deleted before the lookup ran): nothing left to alert on
+      if (stockAlertRepository.resolveActive(stockId, now) > 0) {
+        log.debug("Resolved alerts of removed stock: {}", stockId);
+      }
+      levels.remove(stockId);
+      return;
+    }
+
+    int available = intValue(stock.get("quantity")) - intValue(stock.get("reservedQuantity"));
+    Integer threshold = stock.get("reorderThreshold") instanceof Number n ? n.intValue() : null;
+    AlertLevel level = levelOf(available, threshold);
+
+    AlertLevel current = levels.containsKey(stockId) ? levels.get(stockId) : loadLevel(stockId);
+    if (level == current) {
+      levels.put(stockId, current);
+      return;
+    }
+
+    stockAlertRepository.resolveActive(stockId, now);
+    StockAlert alert = StockAlert.builder()
+        .stockId(stockId)
+        .itemId(stock.getString("itemId"))
+        .variantId(stock.getString("variantId"))
+        .level(level != null ? level : AlertLevel.RECOVERED)
+        .availableQuantity(available)
+        .reorderThreshold(threshold)
+        .active(level != null)
+        .createdAt(now)
+        .resolvedAt(level != null ? null : now)
+        .build();
+    alert = stockAlertRepository.save(alert);
+    levels.put(stockId, level);
+
+    log.debug("Stock {} moved from {} to {} - available: {}, threshold: {}",
+        stockId, current, alert.getLevel(), available, threshold);
+
+    stockAlertBroadcaster.publish(stockMapper.toAlertResponse(alert));
+  }
+
+  private AlertLevel levelOf(int available, Integer threshold) {
+    if (available <= 0) {
+      return AlertLevel.OUT_OF_STOCK;
+    }
+    if (threshold != null && available <= threshold) {
+      return AlertLevel.LOW_STOCK;
+    }
+    return null;
+  }
+
+  private AlertLevel loadLevel(String stockId) {
+    return stockAlertRepository.findFirstByStockIdAndActiveTrue(stockId)
+        .map(StockAlert::getLevel)
+        .orElse(null);
+  }
+
+  private BsonDocument loadCheckpoint() {
+    return checkpointRepository.findById(CONSUMER_NAME)
+        .map(ChangeStreamCheckpoint::getResumeToken)
+        .map(BsonDocument::parse)
+        .orElse(null);
+  }
+
+  private void saveCheckpoint(BsonDocument token) {
+    checkpointRepository.save(ChangeStreamCheckpoint.builder()
+        .id(CONSUMER_NAME)
+        .resumeToken(token.toJson())
+        .updatedAt(System.currentTimeMillis())
+        .build());
+  }
+
+  private void pause() {
+    try {
+      Thread.sleep(properties.getRetryDelay().toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+
+  private static String idOf(BsonValue id) {
+    if (id == null) {
+      return null;
+    }
+    return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+  }
+
+  private static int intValue(Object value) {
+    return value instanceof Number n ? n.intValue() : 0;
+  }
+}
@@ -0,0 +1,10 @@
+package io.github.edmaputra.cpwarehouse.service.alert;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Command to open a server-sent events subscription to new stock alerts.
+ */
+public interface SubscribeStockAlertsCommand extends Command<Void, SseEmitter> {
+}
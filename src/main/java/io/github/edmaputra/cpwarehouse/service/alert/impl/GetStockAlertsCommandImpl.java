@@ -0,0 +1,37 @@
+package io.github.edmaputra.cpwarehouse.service.alert.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockAlert;
+import io.github.edmaputra.cpwarehouse.dto.response.StockAlertResponse;
+import io.github.edmaputra.cpwarehouse.mapper.StockMapper;
+import io.github.edmaputra.cpwarehouse.repository.StockAlertRepository;
+import io.github.edmaputra.cpwarehouse.service.alert.GetStockAlertsCommand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of GetStockAlertsCommand.
+ * Reads the alerts written by the stock alert watcher.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GetStockAlertsCommandImpl implements GetStockAlertsCommand {
+
+  private final StockAlertRepository stockAlertRepository;
+  private final StockMapper stockMapper;
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<StockAlertResponse> execute(Request request) {
+    log.debug("Getting stock alerts - active: {}, level: {}, stockId: {}, page: {}",
+        request.active(), request.level(), request.stockId(), request.pageable().getPageNumber());
+
+    Page<StockAlert> alerts = stockAlertRepository.findAllWithFilters(
+        request.active(), request.level(), request.stockId(), request.pageable());
+
+    return alerts.map(stockMapper::toAlertResponse);
+  }
+}
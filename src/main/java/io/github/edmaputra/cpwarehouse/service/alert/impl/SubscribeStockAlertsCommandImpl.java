@@ -0,0 +1,26 @@
+package io.github.edmaputra.cpwarehouse.service.alert.impl;
+
+import io.github.edmaputra.cpwarehouse.service.alert.StockAlertBroadcaster;
+import io.github.edmaputra.cpwarehouse.service.alert.SubscribeStockAlertsCommand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Implementation of SubscribeStockAlertsCommand.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubscribeStockAlertsCommandImpl implements SubscribeStockAlertsCommand {
+
+  private final StockAlertBroadcaster stockAlertBroadcaster;
+
+  @Override
+  public SseEmitter execute(Void request) {
+    log.debug("Opening stock alert subscription");
+
+    return stockAlertBroadcaster.subscribe();
+  }
+}
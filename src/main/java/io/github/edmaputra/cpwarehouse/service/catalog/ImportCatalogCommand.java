@@ -0,0 +1,27 @@
+package io.github.edmaputra.cpwarehouse.service.catalog;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.dto.response.CatalogImportResponse;
+
+import java.io.InputStream;
+
+/**
+ * Command to bulk import items, variants and initial stock from a CSV or NDJSON stream.
+ */
+public interface ImportCatalogCommand extends Command<ImportCatalogCommand.Request, CatalogImportResponse> {
+
+  /**
+   * Request wrapper for catalog import with the raw input stream and its format.
+   */
+  record Request(InputStream inputStream, Format format) {
+  }
+
+  /**
+   * Supported input formats.
+   * CSV requires a header row with CatalogImportRow field names.
+   */
+  enum Format {
+    CSV,
+    NDJSON
+  }
+}
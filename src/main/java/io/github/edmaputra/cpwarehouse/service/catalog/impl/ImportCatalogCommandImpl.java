@@ -0,0 +1,434 @@
+package io.github.edmaputra.cpwarehouse.service.catalog.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.github.edmaputra.cpwarehouse.config.CatalogImportProperties;
+import io.github.edmaputra.cpwarehouse.domain.entity.Item;
+import io.github.edmaputra.cpwarehouse.domain.entity.SellableSnapshot;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
+import io.github.edmaputra.cpwarehouse.domain.entity.Variant;
+import io.github.edmaputra.cpwarehouse.dto.request.CatalogImportRow;
+import io.github.edmaputra.cpwarehouse.dto.response.CatalogImportResponse;
+import io.github.edmaputra.cpwarehouse.repository.BulkInsertRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepositoryCustom.Delta;
+import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.github.edmaputra.cpwarehouse.repository.VariantRepository;
+import io.github.edmaputra.cpwarehouse.service.catalog.ImportCatalogCommand;
+import io.github.edmaputra.cpwarehouse.service.outbox.StockOutbox;
+import io.github.edmaputra.cpwarehouse.service.view.ItemViewProjector;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of ImportCatalogCommand.
+ * Parses the input incrementally and processes it in chunks of {@code application.import.chunk-size} rows:
+ * <ol>
+ *   <li>bean validation per row,</li>
+ *   <li>one {@code $in} lookup per chunk for item SKUs, variant SKUs and existing base item stock,</li>
+ *   <li>unordered bulk inserts for new items, variants and stock (ids are assigned up front so rows can
+ *       reference each other within a chunk).</li>
+ * </ol>
+ * A failing row never stops the import; it is reported with its row number instead. This includes rows
+ * that cannot be parsed; input that cannot be read any further ends the import with a final row error,
+ * keeping the chunks already written.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportCatalogCommandImpl implements ImportCatalogCommand {
+
+  private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+  private final ItemRepository itemRepository;
+  private final VariantRepository variantRepository;
+  private final StockRepository stockRepository;
+  private final BulkInsertRepository bulkInsertRepository;
+  private final ItemInventorySummaryRepository itemInventorySummaryRepository;
+  private final StockOutbox stockOutbox;
+  private final ItemViewProjector itemViewProjector;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final CatalogImportProperties properties;
+
+  @Override
+  public CatalogImportResponse execute(Request request) {
+    log.info("Starting catalog import - format: {}, chunkSize: {}", request.format(), properties.getChunkSize());
+
+    CatalogImportResponse report = new CatalogImportResponse();
+    List<ImportRow> chunk = new ArrayList<>(properties.getChunkSize());
+    long rowNumber = 0;
+
+    try {
+      RowReader reader = request.format() == Format.CSV
+          ? csvReader(request)
+          : ndjsonReader(request);
+
+      ImportRow row;
+      while ((row = reader.next(rowNumber + 1)) != null) {
+        rowNumber++;
+        chunk.add(row);
+        if (chunk.size() >= properties.getChunkSize()) {
+          processChunk(chunk, report);
+          chunk.clear();
+        }
+      }
+    } catch (IOException e) {
+      // Earlier chunks are already written, so report where reading stopped instead of failing the request
+      log.warn("Catalog import input unreadable at row {}: {}", rowNumber + 1, e.getMessage());
+      rowNumber++;
+      chunk.add(ImportRow.failed(rowNumber, "Unreadable input, import stopped here: " + firstLine(e.getMessage())));
+    }
+    processChunk(chunk, report);
+
+    report.setTotalRows(rowNumber);
+    log.info("Catalog import finished - rows: {}, imported: {}, failed: {}, items: {}, variants: {}, stocks: {}",
+        report.getTotalRows(), report.getImportedRows(), report.getFailedRows(),
+        report.getItemsCreated(), report.getVariantsCreated(), report.getStocksCreated());
+
+    return report;
+  }
+
+  // ==================== PARSING ====================
+
+  private RowReader ndjsonReader(Request request) {
+    BufferedReader lines = new BufferedReader(new InputStreamReader(request.inputStream(), StandardCharsets.UTF_8));
+    return rowNumber -> {
+      String line;
+      do {
+        line = lines.readLine();
+        if (line == null) {
+          return null;
+        }
+      } while (!StringUtils.hasText(line));
+
+      try {
+        return ImportRow.of(rowNumber, objectMapper.readValue(line, CatalogImportRow.class));
+      } catch (JsonProcessingException e) {
+        return ImportRow.failed(rowNumber, "Malformed JSON: " + e.getOriginalMessage());
+      }
+    };
+  }
+
+  private RowReader csvReader(Request request) throws IOException {
+    CsvSchema schema = CsvSchema.emptySchema().withHeader();
+    MappingIterator<Map<String, String>> records = CSV_MAPPER.readerForMapOf(String.class)
+        .with(schema)
+        .readValues(request.inputStream());
+
+    return rowNumber -> {
+      Map<String, String> record;
+      try {
+        if (!records.hasNextValue()) {
+          return null;
+        }
+        record = records.nextValue();
+      } catch (JsonProcessingException e) {
+        // The iterator resyncs to the next record, so only this row is lost
+        return ImportRow.failed(rowNumber, "Malformed CSV: " + firstLine(e.getOriginalMessage()));
+      }
+      // Empty cells are treated as absent values
+      record.values().removeIf(value -> !StringUtils.hasText(value));
+
+      try {
+        return ImportRow.of(rowNumber, objectMapper.convertValue(record, CatalogImportRow.class));
+      } catch (IllegalArgumentException e) {
+        return ImportRow.failed(rowNumber, "Invalid value: " + firstLine(e.getMessage()));
+      }
+    };
+  }
+
+  private static String firstLine(String message) {
+    return message == null ? "" : message.lines().findFirst().orElse("");
+  }
+
+  // ==================== CHUNK PROCESSING ====================
+
+  private void processChunk(List<ImportRow> chunk, CatalogImportResponse report) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+
+    chunk.stream().filter(ImportRow::isValid).forEach(this::validate);
+
+    Map<String, Item> candidateItems = resolveItems(chunk);
+    resolveVariants(chunk);
+    resolveStocks(chunk);
+
+    // Only create items that are still referenced by a valid row
+    List<Item> newItems = chunk.stream()
+        .filter(row -> row.isValid() && row.newItem)
+        .map(row -> row.item)
+        .distinct()
+        .toList();
+    Map<Integer, String> itemFailures = bulkInsertRepository.insertUnordered(newItems, Item.class);
+    Map<String, String> failedItems = new HashMap<>();
+    itemFailures.forEach((index, message) -> failedItems.put(newItems.get(index).getId(), message));
+    chunk.stream()
+        .filter(row -> row.isValid() && failedItems.containsKey(row.item.getId()))
+        .forEach(row -> row.fail("Failed to create item: " + failedItems.get(row.item.getId())));
+
+    List<ImportRow> variantRows = chunk.stream().filter(row -> row.isValid() && row.variant != null).toList();
+    Map<Integer, String> variantFailures = bulkInsertRepository.insertUnordered(
+        variantRows.stream().map(row -> row.variant).toList(), Variant.class);
+    variantFailures.forEach((index, message) -> variantRows.get(index).fail("Failed to create variant: " + message));
+
+    List<ImportRow> stockRows = chunk.stream().filter(row -> row.isValid() && row.stock != null).toList();
+    Map<Integer, String> stockFailures = bulkInsertRepository.insertUnordered(
+        stockRows.stream().map(row -> row.stock).toList(), Stock.class);
+    stockFailures.forEach((index, message) -> stockRows.get(index).fail("Failed to create stock: " + message));
+    List<Stock> createdStocks = stockRows.stream().filter(ImportRow::isValid).map(row -> row.stock).toList();
+    itemInventorySummaryRepository.applyDeltas(createdStocks.stream().map(Delta::created).toList());
+    stockOutbox.recordAll(createdStocks, StockOutboxEvent.EventType.CREATED);
+    itemViewProjector.markStale(chunk.stream().filter(ImportRow::isValid).map(row -> row.item.getId()).toList());
+
+    report.setItemsCreated(report.getItemsCreated() + newItems.size() - itemFailures.size());
+    report.setVariantsCreated(report.getVariantsCreated() + variantRows.size() - variantFailures.size());
+    report.setStocksCreated(report.getStocksCreated() + stockRows.size() - stockFailures.size());
+
+    for (ImportRow row : chunk) {
+      if (row.isValid()) {
+        report.setImportedRows(report.getImportedRows() + 1);
+        continue;
+      }
+      report.setFailedRows(report.getFailedRows() + 1);
+      if (report.getErrors().size() < properties.getMaxReportedErrors()) {
+        report.getErrors().add(CatalogImportResponse.RowError.builder()
+            .row(row.rowNumber)
+            .sku(row.data != null ? row.data.getSku() : null)
+            .variantSku(row.data != null ? row.data.getVariantSku() : null)
+            .message(row.error)
+            .build());
+      } else {
+        report.setErrorsTruncated(true);
+      }
+    }
+
+    log.debug("Processed import chunk of {} rows, {} new item candidate(s)", chunk.size(), candidateItems.size());
+  }
+
+  private void validate(ImportRow row) {
+    Set<ConstraintViolation<CatalogImportRow>> violations = validator.validate(row.data);
+    if (!violations.isEmpty()) {
+      row.fail(violations.stream()
+          .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+          .sorted()
+          .collect(Collectors.joining("; ")));
+      return;
+    }
+
+    if (StringUtils.hasText(row.data.getVariantSku()) && !StringUtils.hasText(row.data.getVariantName())) {
+      row.fail("variantName: Variant name is required when variantSku is given");
+    }
+  }
+
+  /**
+   * Attach an existing or new item to every valid row. New items are built once per SKU from the
+   * first row that mentions it and are only inserted later if a row still needs them.
+   */
+  private Map<String, Item> resolveItems(List<ImportRow> chunk) {
+    Set<String> skus = chunk.stream()
+        .filter(ImportRow::isValid)
+        .map(row -> row.data.getSku())
+        .collect(Collectors.toSet());
+
+    Map<String, Item> existing = itemRepository.findBySkuIn(skus).stream()
+        .collect(Collectors.toMap(Item::getSku, Function.identity()));
+
+    Map<String, Item> created = new LinkedHashMap<>();
+    for (ImportRow row : chunk) {
+      if (!row.isValid()) {
+        continue;
+      }
+
+      Item item = existing.get(row.data.getSku());
+      if (item == null) {
+        item = created.computeIfAbsent(row.data.getSku(), sku -> newItem(row.data));
+        row.newItem = true;
+      }
+      row.item = item;
+
+      if (!Boolean.TRUE.equals(item.getIsActive()) && StringUtils.hasText(row.data.getVariantSku())) {
+        row.fail("Cannot create variant for inactive item with SKU: " + item.getSku());
+      }
+    }
+    return created;
+  }
+
+  private void resolveVariants(List<ImportRow> chunk) {
+    Set<String> variantSkus = chunk.stream()
+        .filter(row -> row.isValid() && StringUtils.hasText(row.data.getVariantSku()))
+        .map(row -> row.data.getVariantSku())
+        .collect(Collectors.toSet());
+
+    Set<String> existing = variantSkus.isEmpty() ? Set.of() : variantRepository.findByVariantSkuIn(variantSkus)
+        .stream()
+        .map(Variant::getVariantSku)
+        .collect(Collectors.toSet());
+
+    Set<String> seen = new HashSet<>();
+    for (ImportRow row : chunk) {
+      if (!row.isValid() || !StringUtils.hasText(row.data.getVariantSku())) {
+        continue;
+      }
+
+      String variantSku = row.data.getVariantSku();
+      if (existing.contains(variantSku) || !seen.add(variantSku)) {
+        row.fail(String.format("Variant already exists with SKU: '%s'", variantSku));
+        continue;
+      }
+
+      BigDecimal priceAdjustment = row.data.getPriceAdjustment() != null
+          ? row.data.getPriceAdjustment()
+          : BigDecimal.ZERO;
+      BigDecimal finalPrice = row.item.getBasePrice().add(priceAdjustment);
+      if (finalPrice.compareTo(BigDecimal.ZERO) < 0) {
+        row.fail(String.format("Final price cannot be negative. Base price: %s, Price adjustment: %s, Final price: %s",
+            row.item.getBasePrice(), priceAdjustment, finalPrice));
+        continue;
+      }
+
+      row.variant = newVariant(row.data, row.item.getId(), priceAdjustment);
+    }
+  }
+
+  private void resolveStocks(List<ImportRow> chunk) {
+    // Only base item stock of existing items can already exist; variants are always new here
+    Set<String> existingItemIds = chunk.stream()
+        .filter(row -> row.isValid() && row.data.getQuantity() != null && row.variant == null && !row.newItem)
+        .map(row -> row.item.getId())
+        .collect(Collectors.toSet());
+
+    Set<String> stocked = existingItemIds.isEmpty() ? new HashSet<>()
+        : stockRepository.findByItemIdInAndVariantIdIsNull(existingItemIds).stream()
+        .map(Stock::getItemId)
+        .collect(Collectors.toCollection(HashSet::new));
+
+    for (ImportRow row : chunk) {
+      if (!row.isValid() || row.data.getQuantity() == null) {
+        continue;
+      }
+
+      if (row.variant == null && !stocked.add(row.item.getId())) {
+        row.fail("Stock already exists with item-variant combination: 'itemId=" + row.item.getId() + "'");
+        continue;
+      }
+
+      row.stock = newStock(row.data, row.item, row.variant);
+    }
+  }
+
+  // ==================== ENTITY BUILDERS ====================
+
+  private static Item newItem(CatalogImportRow data) {
+    Item item = Item.builder()
+        .id(new ObjectId().toHexString())
+        .sku(data.getSku())
+        .name(data.getName())
+        .description(data.getDescription())
+        .basePrice(data.getBasePrice())
+        .isActive(true)
+        .build();
+    item.prePersist();
+    return item;
+  }
+
+  private static Variant newVariant(CatalogImportRow data, String itemId, BigDecimal priceAdjustment) {
+    Variant variant = Variant.builder()
+        .id(new ObjectId().toHexString())
+        .itemId(itemId)
+        .variantSku(data.getVariantSku())
+        .variantName(data.getVariantName())
+        .attributes(data.getAttributes())
+        .priceAdjustment(priceAdjustment)
+        .isActive(true)
+        .build();
+    variant.prePersist();
+    return variant;
+  }
+
+  private static Stock newStock(CatalogImportRow data, Item item, Variant variant) {
+    Stock stock = Stock.builder()
+        .id(new ObjectId().toHexString())
+        .itemId(item.getId())
+        .variantId(variant != null ? variant.getId() : null)
+        .quantity(data.getQuantity())
+        .reservedQuantity(0)
+        .warehouseLocation(data.getWarehouseLocation())
+        .sellable(SellableSnapshot.of(item, variant))
+        .version(0L) // bulk inserts bypass version initialization; null would make the next save() an insert
+        .build();
+    stock.prePersist();
+    return stock;
+  }
+
+  // ==================== ROW STATE ====================
+
+  /**
+   * Reads the next row; returns null at end of input.
+   */
+  @FunctionalInterface
+  private interface RowReader {
+    ImportRow next(long rowNumber) throws IOException;
+  }
+
+  /**
+   * Mutable per-row state while a chunk is processed.
+   */
+  private static final class ImportRow {
+    private final long rowNumber;
+    private final CatalogImportRow data;
+    private String error;
+    private Item item;
+    private boolean newItem;
+    private Variant variant;
+    private Stock stock;
+
+    private ImportRow(long rowNumber, CatalogImportRow data, String error) {
+      this.rowNumber = rowNumber;
+      this.data = data;
+      this.error = error;
+    }
+
+    static ImportRow of(long rowNumber, CatalogImportRow data) {
+      return new ImportRow(rowNumber, data, null);
+    }
+
+    static ImportRow failed(long rowNumber, String error) {
+      return new ImportRow(rowNumber, null, error);
+    }
+
+    boolean isValid() {
+      return error == null;
+    }
+
+    void fail(String message) {
+      this.error = message;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package io.github.edmaputra.cpwarehouse.service.checkout;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.dto.request.BatchPaymentRequest;
+import io.github.edmaputra.cpwarehouse.dto.response.BatchPaymentResponse;
+
+/**
+ * Command to process a batch of payments.
+ * Commits or releases stock for every entry and reports the outcome per entry.
+ */
+public interface ProcessBatchPaymentCommand extends Command<ProcessBatchPaymentCommand.Request, BatchPaymentResponse> {
+
+  /**
+   * Request wrapper for batch payment.
+   */
+  record Request(BatchPaymentRequest batchPaymentRequest) {
+  }
+}
@@ -0,0 +1,300 @@
+package io.github.edmaputra.cpwarehouse.service.checkout.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.CheckoutItem;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockReservation;
+import io.github.edmaputra.cpwarehouse.dto.request.BatchPaymentRequest;
+import io.github.edmaputra.cpwarehouse.dto.response.BatchPaymentResponse;
+import io.github.edmaputra.cpwarehouse.repository.CheckoutItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.CheckoutItemRepositoryCustom.StatusTransition;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepositoryCustom.Delta;
+import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockReservationRepository;
+import io.github.edmaputra.cpwarehouse.service.checkout.ProcessBatchPaymentCommand;
+import io.github.edmaputra.cpwarehouse.service.outbox.StockOutbox;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of ProcessBatchPaymentCommand.
+ *
+ * <p>Applies the same rules as {@link ProcessPaymentCommandImpl} to many checkouts at once:
+ * checkouts, stocks and reservations are loaded with one $in query each, all status
+ * transitions go out as one bulk write, stock deltas are grouped so every stock gets
+ * exactly one guarded update, and all settlement movements and release markers are written
+ * with one bulk write each.
+ * A failing entry never fails the batch; it is reported in its result instead.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProcessBatchPaymentCommandImpl implements ProcessBatchPaymentCommand {
+
+  private static final String RESOURCE_NOT_FOUND = "RESOURCE_NOT_FOUND";
+  private static final String INVALID_OPERATION = "INVALID_OPERATION";
+  private static final String INVALID_PAYMENT = "INVALID_PAYMENT";
+
+  private final CheckoutItemRepository checkoutItemRepository;
+  private final StockRepository stockRepository;
+  private final StockMovementRepository stockMovementRepository;
+  private final StockReservationRepository stockReservationRepository;
+  private final ItemInventorySummaryRepository itemInventorySummaryRepository;
+  private final StockOutbox stockOutbox;
+
+  @Override
+  @Transactional
+  public BatchPaymentResponse execute(Request request) {
+    List<BatchPaymentRequest.Entry> entries = request.batchPaymentRequest().getPayments();
+    BatchPaymentResponse.Result[] results = new BatchPaymentResponse.Result[entries.size()];
+
+    log.debug("Processing batch payment - entries: {}", entries.size());
+
+    // 1. Reject repeated checkouts within the batch; only the first entry is applied
+    Set<String> seen = new HashSet<>();
+    for (int i = 0; i < entries.size(); i++) {
+      if (!seen.add(entries.get(i).getCheckoutId())) {
+        results[i] = failure(i, entries.get(i), INVALID_OPERATION,
+            String.format("Checkout %s appears more than once in the batch", entries.get(i).getCheckoutId()));
+      }
+    }
+
+    // 2. Load checkouts, stocks, reservations and their release markers with one $in query each
+    Map<String, CheckoutItem> checkouts = byId(checkoutItemRepository.findAllById(seen), CheckoutItem::getId);
+    Map<String, Stock> stocks = byId(stockRepository.findAllById(
+        checkouts.values().stream().map(CheckoutItem::getStockId).collect(Collectors.toSet())), Stock::getId);
+    Set<String> reservationIds = checkouts.values().stream()
+        .map(CheckoutItem::getReservationId)
+        .collect(Collectors.toSet());
+    Map<String, StockMovement> reservations = byId(stockMovementRepository.findAllById(reservationIds),
+        StockMovement::getId);
+    Set<String> releasedReservations = stockReservationRepository.findAllById(reservationIds).stream()
+        .map(StockReservation::getId)
+        .collect(Collectors.toSet());
+
+    // 3. Validate every entry against what was loaded
+    List<Settlement> candidates = new ArrayList<>();
+    for (int i = 0; i < entries.size(); i++) {
+      if (results[i] == null) {
+        Settlement settlement = validate(i, entries.get(i), checkouts, stocks, reservations, releasedReservations, results);
+        if (settlement != null) {
+          candidates.add(settlement);
+        }
+      }
+    }
+
+    // 4. Claim all valid checkouts in one bulk write; entries settled concurrently lose the claim
+    Set<String> claimed = checkoutItemRepository.transitionStatuses(
+        candidates.stream()
+            .map(s -> new StatusTransition(s.checkout().getId(), s.target(), s.movementId()))
+            .toList(),
+        CheckoutItem.CheckoutStatus.PENDING);
+
+    Map<String, List<Settlement>> byStock = new LinkedHashMap<>();
+    for (Settlement settlement : candidates) {
+      if (claimed.contains(settlement.checkout().getId())) {
+        byStock.computeIfAbsent(settlement.checkout().getStockId(), k -> new ArrayList<>()).add(settlement);
+      } else {
+        results[settlement.index()] = failure(settlement.index(), settlement.entry(), INVALID_OPERATION,
+            String.format("Checkout %s is not in PENDING status", settlement.checkout().getId()));
+      }
+    }
+
+    // 5. One guarded update per stock, then one bulk write each for movements, summaries and outbox events
+    List<StockMovement> movements = new ArrayList<>();
+    List<Delta> deltas = new ArrayList<>();
+    List<StockOutboxEvent> events = new ArrayList<>();
+    byStock.forEach((stockId, settlements) -> settleStock(stockId, settlements, movements, deltas, events, results));
+
+    int released = stockMovementRepository.settleReservations(movements);
+    if (released < movements.size()) {
+      log.warn("Batch payment settled {} movements but only {} reservations were still unreleased",
+          movements.size(), released);
+    }
+    itemInventorySummaryRepository.applyDeltas(deltas);
+    stockOutbox.recordEvents(events);
+
+    int processed = (int) Arrays.stream(results).filter(BatchPaymentResponse.Result::isProcessed).count();
+
+    log.debug("Batch payment finished - entries: {}, processed: {}, failed: {}",
+        entries.size(), processed, entries.size() - processed);
+
+    return BatchPaymentResponse.builder()
+        .totalEntries(entries.size())
+        .processedEntries(processed)
+        .failedEntries(entries.size() - processed)
+        .results(Arrays.asList(results))
+        .build();
+  }
+
+  /**
+   * Apply the single payment endpoint's validation rules to one entry.
+   *
+   * @return the pending settlement, or null if the entry failed (its result is recorded)
+   */
+  private Settlement validate(int index, BatchPaymentRequest.Entry entry, Map<String, CheckoutItem> checkouts,
+                              Map<String, Stock> stocks, Map<String, StockMovement> reservations,
+                              Set<String> releasedReservations, BatchPaymentResponse.Result[] results) {
+    CheckoutItem checkout = checkouts.get(entry.getCheckoutId());
+    if (checkout == null) {
+      results[index] = failure(index, entry, RESOURCE_NOT_FOUND,
+          String.format("CheckoutItem not found with id: '%s'", entry.getCheckoutId()));
+      return null;
+    }
+
+    if (checkout.getStatus() != CheckoutItem.CheckoutStatus.PENDING) {
+      results[index] = failure(index, entry, INVALID_OPERATION,
+          String.format("Checkout %s is not in PENDING status. Current status: %s",
+              checkout.getId(), checkout.getStatus()));
+      return null;
+    }
+
+    if (entry.getPaymentAmount().compareTo(checkout.getTotalPrice()) < 0) {
+      results[index] = failure(index, entry, INVALID_PAYMENT,
+          String.format("Payment amount %.2f is less than required amount %.2f",
+              entry.getPaymentAmount(), checkout.getTotalPrice()));
+      return null;
+    }
+
+    if (!stocks.containsKey(checkout.getStockId())) {
+      results[index] = failure(index, entry, RESOURCE_NOT_FOUND,
+          String.format("Stock not found with id: '%s'", checkout.getStockId()));
+      return null;
+    }
+
+    StockMovement reservation = reservations.get(checkout.getReservationId());
+    if (reservation == null || releasedReservations.contains(reservation.getId())) {
+      results[index] = failure(index, entry, INVALID_OPERATION,
+          String.format("Reservation %s of checkout %s is missing or already released",
+              checkout.getReservationId(), checkout.getId()));
+      return null;
+    }
+
+    CheckoutItem.CheckoutStatus target = entry.getPaymentSuccess()
+        ? CheckoutItem.CheckoutStatus.COMPLETED
+        : CheckoutItem.CheckoutStatus.PAYMENT_FAILED;
+    return new Settlement(index, entry, checkout, target, new ObjectId().toHexString());
+  }
+
+  /**
+   * Apply all committed and released quantities of one stock in a single guarded update,
+   * then derive each entry's movement from the resulting quantities in entry order.
+   */
+  private void settleStock(String stockId, List<Settlement> settlements, List<StockMovement> movements,
+                           List<Delta> deltas, List<StockOutboxEvent> events,
+                           BatchPaymentResponse.Result[] results) {
+    int committed = 0;
+    int released = 0;
+    for (Settlement settlement : settlements) {
+      if (settlement.isCommit()) {
+        committed += settlement.checkout().getQuantity();
+      } else {
+        released += settlement.checkout().getQuantity();
+      }
+    }
+
+    Stock stock = stockRepository.settleReserved(stockId, committed, released);
+    if (stock == null) {
+      checkoutItemRepository.revertToPending(settlements.stream().map(Settlement::movementId).toList());
+      for (Settlement settlement : settlements) {
+        results[settlement.index()] = failure(settlement.index(), settlement.entry(), INVALID_OPERATION,
+            String.format("Stock %s does not hold the reserved units of this batch", stockId));
+      }
+      return;
+    }
+
+    int quantity = stock.getQuantity() + committed;
+    int reserved = stock.getReservedQuantity() + committed + released;
+    deltas.add(Delta.between(stock.getItemId(), quantity, reserved, stock.getQuantity(), stock.getReservedQuantity()));
+    events.add(StockOutboxEvent.of(stock, committed > 0
+        ? StockOutboxEvent.EventType.COMMITTED
+        : StockOutboxEvent.EventType.RELEASED));
+
+    for (Settlement settlement : settlements) {
+      int units = settlement.checkout().getQuantity();
+      StockMovement.StockMovementBuilder movement = StockMovement.builder()
+          .id(settlement.movementId())
+          .stockId(stockId)
+          .quantity(units)
+          .referenceNumber(settlement.entry().getPaymentReference())
+          .createdBy(settlement.entry().getProcessedBy())
+          .relatedMovementId(settlement.checkout().getReservationId());
+
+      if (settlement.isCommit()) {
+        movement.movementType(StockMovement.MovementType.OUT)
+            .previousQuantity(quantity)
+            .newQuantity(quantity - units)
+            .previousReservedQuantity(reserved)
+            .newReservedQuantity(reserved - units);
+        quantity -= units;
+      } else {
+        movement.movementType(StockMovement.MovementType.RELEASE)
+            .previousQuantity(reserved)
+            .newQuantity(reserved - units);
+      }
+      reserved -= units;
+
+      StockMovement built = movement.build();
+      built.prePersist();
+      movements.add(built);
+
+      results[settlement.index()] = BatchPaymentResponse.Result.builder()
+          .index(settlement.index())
+          .checkoutId(settlement.checkout().getId())
+          .processed(true)
+          .status(settlement.target())
+          .paymentSuccess(settlement.isCommit())
+          .paymentReference(settlement.entry().getPaymentReference())
+          .message(settlement.isCommit()
+              ? "Payment successful. Stock committed."
+              : "Payment failed. Stock released.")
+          .build();
+    }
+  }
+
+  private BatchPaymentResponse.Result failure(int index, BatchPaymentRequest.Entry entry, String errorCode,
+                                              String message) {
+    return BatchPaymentResponse.Result.builder()
+        .index(index)
+        .checkoutId(entry.getCheckoutId())
+        .processed(false)
+        .paymentSuccess(entry.getPaymentSuccess())
+        .paymentReference(entry.getPaymentReference())
+        .errorCode(errorCode)
+        .message(message)
+        .build();
+  }
+
+  private <T> Map<String, T> byId(Iterable<T> documents, Function<T, String> id) {
+    Map<String, T> map = new LinkedHashMap<>();
+    documents.forEach(document -> map.put(id.apply(document), document));
+    return map;
+  }
+
+  /**
+   * A validated entry waiting to be applied, with its pre-assigned settlement movement ID.
+   */
+  private record Settlement(int index, BatchPaymentRequest.Entry entry, CheckoutItem checkout,
+                            CheckoutItem.CheckoutStatus target, String movementId) {
+
+    boolean isCommit() {
+      return target == CheckoutItem.CheckoutStatus.COMPLETED;
+    }
+  }
+}
@@ -2,8 +2,10 @@ package io.github.edmaputra.cpwarehouse.service.checkout.impl;
 
 import io.github.edmaputra.cpwarehouse.domain.entity.CheckoutItem;
 import io.github.edmaputra.cpwarehouse.domain.entity.Item;
+import io.github.edmaputra.cpwarehouse.domain.entity.SellableSnapshot;
 import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
 import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
 import io.github.edmaputra.cpwarehouse.domain.entity.Variant;
 import io.github.edmaputra.cpwarehouse.dto.request.CheckoutRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.StockReserveRequest;
@@ -12,24 +14,30 @@ import io.github.edmaputra.cpwarehouse.exception.InsufficientStockException;
 import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
 import io.github.edmaputra.cpwarehouse.mapper.CheckoutMapper;
 import io.github.edmaputra.cpwarehouse.repository.CheckoutItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepositoryCustom.Delta;
 import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
 import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
 import io.github.edmaputra.cpwarehouse.repository.StockRepository;
 import io.github.edmaputra.cpwarehouse.repository.VariantRepository;
 import io.github.edmaputra.cpwarehouse.service.checkout.ProcessCheckoutCommand;
+import io.github.edmaputra.cpwarehouse.service.outbox.StockOutbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.OptimisticLockingFailureException;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 
 /**
  * Implementation of ProcessCheckoutCommand.
  * Handles checkout by checking availability and reserving stock.
+ *
+ * <p>The stock document carries a {@link SellableSnapshot} of item/variant price and active state,
+ * so the common path validates, prices and reserves with one guarded update and never reads the
+ * item or variant. Only when the guard rejects the update is the stock read to find out why; stock
+ * without a complete snapshot gets it rebuilt from the item and variant and is reserved again.
  */
 @Slf4j
 @Service
@@ -41,80 +49,38 @@ public class ProcessCheckoutCommandImpl implements ProcessCheckoutCommand {
   private final ItemRepository itemRepository;
   private final VariantRepository variantRepository;
   private final StockMovementRepository stockMovementRepository;
+  private final ItemInventorySummaryRepository itemInventorySummaryRepository;
+  private final StockOutbox stockOutbox;
   private final CheckoutMapper checkoutMapper;
 
+  private static final int MAX_RESERVE_ATTEMPTS = 3;
+
   @Override
   @Transactional
-  @Retryable(
-      retryFor = OptimisticLockingFailureException.class,
-      maxAttempts = 5,
-      backoff = @Backoff(
-          delay = 100,
-          multiplier = 2,
-          maxDelay = 800
-      )
-  )
   public CheckoutResponse execute(Request request) {
     CheckoutRequest checkoutRequest = request.checkoutRequest();
-    
-    log.info("Processing checkout - itemId: {}, variantId: {}, quantity: {}, customer: {}",
-        checkoutRequest.getItemId(), checkoutRequest.getVariantId(), 
-        checkoutRequest.getQuantity(), checkoutRequest.getCustomerId());
-
-    // 1. Get item to validate and fetch price
-    Item item = itemRepository.findById(checkoutRequest.getItemId())
-        .orElseThrow(() -> new ResourceNotFoundException("Item", "id", checkoutRequest.getItemId()));
-
-    if (!item.getIsActive()) {
-      throw new ResourceNotFoundException("Item", "id", checkoutRequest.getItemId());
-    }
-
-    // 2. Calculate price
-    BigDecimal pricePerUnit = item.getBasePrice();
-    String variantId = checkoutRequest.getVariantId();
-
-    if (variantId != null && !variantId.isEmpty()) {
-      Variant variant = variantRepository.findById(variantId)
-          .orElseThrow(() -> new ResourceNotFoundException("Variant", "id", variantId));
-
-      if (!variant.getIsActive() || !variant.getItemId().equals(item.getId())) {
-        throw new ResourceNotFoundException("Variant", "id", variantId);
-      }
-
-      pricePerUnit = pricePerUnit.add(variant.getPriceAdjustment());
-    }
 
-    // 3. Find stock
-    Stock stock;
-    if (variantId != null && !variantId.isEmpty()) {
-      stock = stockRepository.findByItemIdAndVariantId(item.getId(), variantId)
-          .orElseThrow(() -> new ResourceNotFoundException("Stock", 
-              "itemId and variantId", item.getId() + " and " + variantId));
-    } else {
-      stock = stockRepository.findByItemIdAndVariantIdIsNull(item.getId())
-          .orElseThrow(() -> new ResourceNotFoundException("Stock", 
-              "itemId", item.getId()));
-    }
+    log.debug("Processing checkout - itemId: {}, variantId: {}, quantity: {}, customer: {}",
+        checkoutRequest.getItemId(), checkoutRequest.getVariantId(),
+        checkoutRequest.getQuantity(), checkoutRequest.getCustomerId());
 
-    // 4. Check availability
-    if (stock.getAvailableQuantity() < checkoutRequest.getQuantity()) {
-      throw new InsufficientStockException(
-          stock.getId(), 
-          checkoutRequest.getQuantity(), 
-          stock.getAvailableQuantity());
-    }
+    String itemId = checkoutRequest.getItemId();
+    String variantId = StringUtils.hasText(checkoutRequest.getVariantId()) ? checkoutRequest.getVariantId() : null;
+    int quantity = checkoutRequest.getQuantity();
 
-    // 5. Reserve stock
-    int previousReserved = stock.getReservedQuantity();
-    stock.setReservedQuantity(previousReserved + checkoutRequest.getQuantity());
-    stock.preUpdate();
-    Stock savedStock = stockRepository.save(stock);
+    // 1. Validate, price and reserve in one guarded update
+    Stock savedStock = reserve(itemId, variantId, quantity);
+    BigDecimal pricePerUnit = savedStock.getSellable().unitPrice();
+    int previousReserved = savedStock.getReservedQuantity() - quantity;
+    itemInventorySummaryRepository.applyDelta(Delta.between(itemId,
+        savedStock.getQuantity(), previousReserved, savedStock.getQuantity(), savedStock.getReservedQuantity()));
+    stockOutbox.record(savedStock, StockOutboxEvent.EventType.RESERVED);
 
-    // 6. Create reservation movement
+    // 2. Create reservation movement
     StockMovement reservation = StockMovement.builder()
         .stockId(savedStock.getId())
         .movementType(StockMovement.MovementType.RESERVATION)
-        .quantity(checkoutRequest.getQuantity())
+        .quantity(quantity)
         .previousQuantity(previousReserved)
         .newQuantity(savedStock.getReservedQuantity())
         .referenceNumber(checkoutRequest.getCheckoutReference())
@@ -123,14 +89,14 @@ public class ProcessCheckoutCommandImpl implements ProcessCheckoutCommand {
     reservation.prePersist();
     StockMovement savedReservation = stockMovementRepository.save(reservation);
 
-    // 7. Create checkout item
-    BigDecimal totalPrice = pricePerUnit.multiply(BigDecimal.valueOf(checkoutRequest.getQuantity()));
-    
+    // 3. Create checkout item
+    BigDecimal totalPrice = pricePerUnit.multiply(BigDecimal.valueOf(quantity));
+
     CheckoutItem checkoutItem = CheckoutItem.builder()
-        .itemId(item.getId())
+        .itemId(itemId)
         .variantId(variantId)
         .stockId(savedStock.getId())
-        .quantity(checkoutRequest.getQuantity())
+        .quantity(quantity)
         .pricePerUnit(pricePerUnit)
         .totalPrice(totalPrice)
         .reservationId(savedReservation.getId())
@@ -141,9 +107,80 @@ public class ProcessCheckoutCommandImpl implements ProcessCheckoutCommand {
     checkoutItem.prePersist();
     CheckoutItem savedCheckout = checkoutItemRepository.save(checkoutItem);
 
-    log.info("Checkout completed - checkoutId: {}, reservationId: {}, totalPrice: {}",
+    log.debug("Checkout completed - checkoutId: {}, reservationId: {}, totalPrice: {}",
         savedCheckout.getId(), savedReservation.getId(), totalPrice);
 
     return checkoutMapper.toResponse(savedCheckout);
   }
+
+  /**
+   * Reserve stock with the guarded update, diagnosing and retrying when the guard rejects it.
+   */
+  private Stock reserve(String itemId, String variantId, int quantity) {
+    Stock stock = null;
+
+    for (int attempt = 0; attempt < MAX_RESERVE_ATTEMPTS; attempt++) {
+      Stock reserved = stockRepository.reserveSellable(itemId, variantId, quantity);
+      if (reserved != null) {
+        return reserved;
+      }
+
+      stock = findStock(itemId, variantId);
+
+      SellableSnapshot snapshot = stock.getSellable();
+      if (snapshot == null || !snapshot.isComplete()) {
+        stockRepository.updateSellable(stock.getId(), loadSnapshot(itemId, variantId));
+        continue;
+      }
+
+      if (!snapshot.getItemActive()) {
+        throw new ResourceNotFoundException("Item", "id", itemId);
+      }
+      if (!snapshot.getVariantActive()) {
+        throw new ResourceNotFoundException("Variant", "id", variantId);
+      }
+      if (stock.getAvailableQuantity() < quantity) {
+        throw new InsufficientStockException(stock.getId(), quantity, stock.getAvailableQuantity());
+      }
+      // Otherwise the stock changed between the update and the read; try again
+    }
+
+    throw new InsufficientStockException(stock.getId(), quantity, stock.getAvailableQuantity());
+  }
+
+  /**
+   * Find the stock, reporting a missing item or variant the same way the item/variant lookups would.
+   */
+  private Stock findStock(String itemId, String variantId) {
+    if (variantId != null) {
+      return stockRepository.findByItemIdAndVariantId(itemId, variantId)
+          .orElseThrow(() -> {
+            loadSnapshot(itemId, variantId);
+            return new ResourceNotFoundException("Stock", "itemId and variantId", itemId + " and " + variantId);
+          });
+    }
+    return stockRepository.findByItemIdAndVariantIdIsNull(itemId)
+        .orElseThrow(() -> {
+          loadSnapshot(itemId, null);
+          return new ResourceNotFoundException("Stock", "itemId", itemId);
+        });
+  }
+
+  /**
+   * Build the sellable snapshot from the item and variant.
+   * Missing items, and variants that are missing or belong to another item, are reported as not found.
+   */
+  private SellableSnapshot loadSnapshot(String itemId, String variantId) {
+    Item item = itemRepository.findById(itemId)
+        .orElseThrow(() -> new ResourceNotFoundException("Item", "id", itemId));
+
+    Variant variant = null;
+    if (variantId != null) {
+      variant = variantRepository.findById(variantId)
+          .filter(v -> v.getItemId().equals(itemId))
+          .orElseThrow(() -> new ResourceNotFoundException("Variant", "id", variantId));
+    }
+
+    return SellableSnapshot.of(item, variant);
+  }
 }
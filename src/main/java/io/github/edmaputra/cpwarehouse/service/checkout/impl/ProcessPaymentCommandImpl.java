@@ -3,28 +3,41 @@ package io.github.edmaputra.cpwarehouse.service.checkout.impl;
 import io.github.edmaputra.cpwarehouse.domain.entity.CheckoutItem;
 import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
 import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
 import io.github.edmaputra.cpwarehouse.dto.request.PaymentRequest;
 import io.github.edmaputra.cpwarehouse.dto.response.PaymentResponse;
 import io.github.edmaputra.cpwarehouse.exception.InvalidOperationException;
 import io.github.edmaputra.cpwarehouse.exception.InvalidPaymentException;
 import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
 import io.github.edmaputra.cpwarehouse.repository.CheckoutItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepositoryCustom.Delta;
 import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
 import io.github.edmaputra.cpwarehouse.repository.StockRepository;
 import io.github.edmaputra.cpwarehouse.service.checkout.ProcessPaymentCommand;
+import io.github.edmaputra.cpwarehouse.service.outbox.StockOutbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.OptimisticLockingFailureException;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Implementation of ProcessPaymentCommand.
  * Validates payment amount and commits or releases stock.
+ *
+ * <p>Completion is built on conditional atomic updates instead of read-modify-save:
+ * the checkout moves out of PENDING with a compare-and-set on its status, the stock
+ * quantities change with a guarded $inc, and the settlement movement is inserted together
+ * with the reservation's release marker. None of these can hit a version conflict,
+ * so there is no retry loop; a lost race surfaces as an InvalidOperationException.
+ *
+ * <p>The checkout is read and validated before the first write. With {@code application.transactions}
+ * enabled the writes that follow (checkout claim, stock update, summary delta, outbox event and
+ * settlement) commit or abort together; without it they are separate writes, and a rejected stock
+ * update puts the checkout back to PENDING itself.
  */
 @Slf4j
 @Service
@@ -34,23 +47,16 @@ public class ProcessPaymentCommandImpl implements ProcessPaymentCommand {
   private final CheckoutItemRepository checkoutItemRepository;
   private final StockRepository stockRepository;
   private final StockMovementRepository stockMovementRepository;
+  private final ItemInventorySummaryRepository itemInventorySummaryRepository;
+  private final StockOutbox stockOutbox;
 
   @Override
   @Transactional
-  @Retryable(
-      retryFor = OptimisticLockingFailureException.class,
-      maxAttempts = 5,
-      backoff = @Backoff(
-          delay = 100,
-          multiplier = 2,
-          maxDelay = 800
-      )
-  )
   public PaymentResponse execute(Request request) {
     PaymentRequest paymentRequest = request.paymentRequest();
 
-    log.info("Processing payment - checkoutId: {}, amount: {}, success: {}",
-        request.checkoutId(), paymentRequest.getPaymentAmount(), 
+    log.debug("Processing payment - checkoutId: {}, amount: {}, success: {}",
+        request.checkoutId(), paymentRequest.getPaymentAmount(),
         paymentRequest.getPaymentSuccess());
 
     // 1. Get checkout item
@@ -59,9 +65,7 @@ public class ProcessPaymentCommandImpl implements ProcessPaymentCommand {
 
     // 2. Validate checkout status
     if (checkout.getStatus() != CheckoutItem.CheckoutStatus.PENDING) {
-      throw new InvalidOperationException(
-          String.format("Checkout %s is not in PENDING status. Current status: %s",
-              request.checkoutId(), checkout.getStatus()));
+      throw notPending(checkout.getId(), checkout.getStatus());
     }
 
     // 3. Validate payment amount (must not be less than total price)
@@ -71,70 +75,37 @@ public class ProcessPaymentCommandImpl implements ProcessPaymentCommand {
               paymentRequest.getPaymentAmount(), checkout.getTotalPrice()));
     }
 
-    // 4. Get stock
-    Stock stock = stockRepository.findById(checkout.getStockId())
-        .orElseThrow(() -> new ResourceNotFoundException("Stock", "id", checkout.getStockId()));
-
-    // 5. Get reservation movement
-    StockMovement reservation = stockMovementRepository.findById(checkout.getReservationId())
-        .orElseThrow(() -> new ResourceNotFoundException("StockMovement", "id", 
-            checkout.getReservationId()));
-
-    PaymentResponse response;
-
     if (paymentRequest.getPaymentSuccess()) {
       // Payment succeeded - commit stock (OUT movement)
-      response = processSuccessfulPayment(checkout, stock, reservation, paymentRequest);
-    } else {
-      // Payment failed - release stock (RELEASE movement)
-      response = processFailedPayment(checkout, stock, reservation, paymentRequest);
+      return processSuccessfulPayment(checkout, paymentRequest);
     }
-
-    return response;
+    // Payment failed - release stock (RELEASE movement)
+    return processFailedPayment(checkout, paymentRequest);
   }
 
   /**
    * Process successful payment - commit stock with OUT movement.
    */
-  private PaymentResponse processSuccessfulPayment(CheckoutItem checkout, Stock stock,
-                                                     StockMovement reservation, PaymentRequest paymentRequest) {
-    log.info("Payment successful - committing stock for checkout: {}", checkout.getId());
+  private PaymentResponse processSuccessfulPayment(CheckoutItem checkout, PaymentRequest paymentRequest) {
+    log.debug("Payment successful - committing stock for checkout: {}", checkout.getId());
 
-    // Reduce both reserved and total quantity
-    int previousQuantity = stock.getQuantity();
-    int previousReserved = stock.getReservedQuantity();
-
-    stock.setReservedQuantity(previousReserved - checkout.getQuantity());
-    stock.setQuantity(previousQuantity - checkout.getQuantity());
-    stock.preUpdate();
-    Stock savedStock = stockRepository.save(stock);
-
-    // Create OUT movement
-    StockMovement outMovement = StockMovement.builder()
-        .stockId(savedStock.getId())
-        .movementType(StockMovement.MovementType.OUT)
-        .quantity(checkout.getQuantity())
-        .previousQuantity(previousQuantity)
-        .newQuantity(savedStock.getQuantity())
-        .referenceNumber(paymentRequest.getPaymentReference())
-        .createdBy(paymentRequest.getProcessedBy())
-        .relatedMovementId(reservation.getId())
-        .build();
-    outMovement.prePersist();
-    StockMovement savedOutMovement = stockMovementRepository.save(outMovement);
+    String outMovementId = claimCheckout(checkout, CheckoutItem.CheckoutStatus.COMPLETED);
 
-    // Mark reservation as released
-    reservation.setReleasedAt(System.currentTimeMillis());
-    reservation.setReleaseMovementId(savedOutMovement.getId());
-    stockMovementRepository.save(reservation);
+    // Reduce both reserved and total quantity
+    Stock stock = stockRepository.commitReserved(checkout.getStockId(), checkout.getQuantity());
+    if (stock == null) {
+      throw stockUpdateRejected(checkout);
+    }
+    itemInventorySummaryRepository.applyDelta(Delta.between(stock.getItemId(),
+        stock.getQuantity() + checkout.getQuantity(), stock.getReservedQuantity() + checkout.getQuantity(),
+        stock.getQuantity(), stock.getReservedQuantity()));
+    stockOutbox.record(stock, StockOutboxEvent.EventType.COMMITTED);
 
-    // Update checkout status
-    checkout.setStatus(CheckoutItem.CheckoutStatus.COMPLETED);
-    checkout.preUpdate();
-    checkoutItemRepository.save(checkout);
+    StockMovement outMovement = settleReservation(checkout, paymentRequest, outMovementId,
+        StockMovement.MovementType.OUT, stock);
 
-    log.info("Stock committed - checkout: {}, outMovement: {}, finalQuantity: {}",
-        checkout.getId(), savedOutMovement.getId(), savedStock.getQuantity());
+    log.debug("Stock committed - checkout: {}, outMovement: {}, finalQuantity: {}",
+        checkout.getId(), outMovement.getId(), stock.getQuantity());
 
     return PaymentResponse.builder()
         .checkoutId(checkout.getId())
@@ -151,43 +122,26 @@ public class ProcessPaymentCommandImpl implements ProcessPaymentCommand {
   /**
    * Process failed payment - release stock with RELEASE movement.
    */
-  private PaymentResponse processFailedPayment(CheckoutItem checkout, Stock stock,
-                                                 StockMovement reservation, PaymentRequest paymentRequest) {
-    log.info("Payment failed - releasing stock for checkout: {}", checkout.getId());
+  private PaymentResponse processFailedPayment(CheckoutItem checkout, PaymentRequest paymentRequest) {
+    log.debug("Payment failed - releasing stock for checkout: {}", checkout.getId());
 
-    // Only reduce reserved quantity
-    int previousReserved = stock.getReservedQuantity();
-
-    stock.setReservedQuantity(previousReserved - checkout.getQuantity());
-    stock.preUpdate();
-    Stock savedStock = stockRepository.save(stock);
-
-    // Create RELEASE movement
-    StockMovement releaseMovement = StockMovement.builder()
-        .stockId(savedStock.getId())
-        .movementType(StockMovement.MovementType.RELEASE)
-        .quantity(checkout.getQuantity())
-        .previousQuantity(previousReserved)
-        .newQuantity(savedStock.getReservedQuantity())
-        .referenceNumber(paymentRequest.getPaymentReference())
-        .createdBy(paymentRequest.getProcessedBy())
-        .relatedMovementId(reservation.getId())
-        .build();
-    releaseMovement.prePersist();
-    StockMovement savedReleaseMovement = stockMovementRepository.save(releaseMovement);
+    String releaseMovementId = claimCheckout(checkout, CheckoutItem.CheckoutStatus.PAYMENT_FAILED);
 
-    // Mark reservation as released
-    reservation.setReleasedAt(System.currentTimeMillis());
-    reservation.setReleaseMovementId(savedReleaseMovement.getId());
-    stockMovementRepository.save(reservation);
+    // Only reduce reserved quantity
+    Stock stock = stockRepository.releaseReserved(checkout.getStockId(), checkout.getQuantity());
+    if (stock == null) {
+      throw stockUpdateRejected(checkout);
+    }
+    itemInventorySummaryRepository.applyDelta(Delta.between(stock.getItemId(),
+        stock.getQuantity(), stock.getReservedQuantity() + checkout.getQuantity(),
+        stock.getQuantity(), stock.getReservedQuantity()));
+    stockOutbox.record(stock, StockOutboxEvent.EventType.RELEASED);
 
-    // Update checkout status
-    checkout.setStatus(CheckoutItem.CheckoutStatus.PAYMENT_FAILED);
-    checkout.preUpdate();
-    checkoutItemRepository.save(checkout);
+    StockMovement releaseMovement = settleReservation(checkout, paymentRequest, releaseMovementId,
+        StockMovement.MovementType.RELEASE, stock);
 
-    log.info("Stock released - checkout: {}, releaseMovement: {}, reservedQuantity: {}",
-        checkout.getId(), savedReleaseMovement.getId(), savedStock.getReservedQuantity());
+    log.debug("Stock released - checkout: {}, releaseMovement: {}, reservedQuantity: {}",
+        checkout.getId(), releaseMovement.getId(), stock.getReservedQuantity());
 
     return PaymentResponse.builder()
         .checkoutId(checkout.getId())
@@ -200,4 +154,80 @@ public class ProcessPaymentCommandImpl implements ProcessPaymentCommand {
         .processedAt(System.currentTimeMillis())
         .build();
   }
+
+  /**
+   * Move the checkout out of PENDING. Only one concurrent payment for the same checkout can win.
+   *
+   * @return the pre-assigned ID of the settlement movement recorded on the checkout
+   */
+  private String claimCheckout(CheckoutItem checkout, CheckoutItem.CheckoutStatus target) {
+    String settlementMovementId = new ObjectId().toHexString();
+    if (!checkoutItemRepository.transitionStatus(checkout.getId(), CheckoutItem.CheckoutStatus.PENDING, target,
+        settlementMovementId)) {
+      CheckoutItem.CheckoutStatus current = checkoutItemRepository.findById(checkout.getId())
+          .map(CheckoutItem::getStatus)
+          .orElse(null);
+      throw notPending(checkout.getId(), current);
+    }
+    checkout.setStatus(target);
+    checkout.setSettlementMovementId(settlementMovementId);
+    return settlementMovementId;
+  }
+
+  /**
+   * The guarded stock update matched nothing: put the checkout back to PENDING and report why.
+   */
+  private RuntimeException stockUpdateRejected(CheckoutItem checkout) {
+    checkoutItemRepository.revertToPending(List.of(checkout.getSettlementMovementId()));
+
+    if (!stockRepository.existsById(checkout.getStockId())) {
+      return new ResourceNotFoundException("Stock", "id", checkout.getStockId());
+    }
+    return new InvalidOperationException(
+        String.format("Stock %s does not hold the %d reserved units of checkout %s",
+            checkout.getStockId(), checkout.getQuantity(), checkout.getId()));
+  }
+
+  /**
+   * Insert the OUT/RELEASE movement and mark the reservation released.
+   * OUT tracks the total quantity and also records the reserved units it consumed;
+   * RELEASE tracks the reserved quantity.
+   */
+  private StockMovement settleReservation(CheckoutItem checkout, PaymentRequest paymentRequest,
+                                          String settlementMovementId, StockMovement.MovementType movementType,
+                                          Stock stock) {
+    int units = checkout.getQuantity();
+    StockMovement.StockMovementBuilder builder = StockMovement.builder()
+        .id(settlementMovementId)
+        .stockId(checkout.getStockId())
+        .movementType(movementType)
+        .quantity(units)
+        .referenceNumber(paymentRequest.getPaymentReference())
+        .createdBy(paymentRequest.getProcessedBy())
+        .relatedMovementId(checkout.getReservationId());
+
+    if (movementType == StockMovement.MovementType.OUT) {
+      builder.previousQuantity(stock.getQuantity() + units)
+          .newQuantity(stock.getQuantity())
+          .previousReservedQuantity(stock.getReservedQuantity() + units)
+          .newReservedQuantity(stock.getReservedQuantity());
+    } else {
+      builder.previousQuantity(stock.getReservedQuantity() + units)
+          .newQuantity(stock.getReservedQuantity());
+    }
+
+    StockMovement settlement = builder.build();
+    settlement.prePersist();
+
+    if (!stockMovementRepository.settleReservation(settlement, checkout.getReservationId())) {
+      log.warn("Reservation {} of checkout {} was missing or already released",
+          checkout.getReservationId(), checkout.getId());
+    }
+    return settlement;
+  }
+
+  private InvalidOperationException notPending(String checkoutId, CheckoutItem.CheckoutStatus status) {
+    return new InvalidOperationException(
+        String.format("Checkout %s is not in PENDING status. Current status: %s", checkoutId, status));
+  }
 }
@@ -0,0 +1,199 @@
+package io.github.edmaputra.cpwarehouse.service.checkpoint;
+
+import io.github.edmaputra.cpwarehouse.config.StockCheckpointProperties;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockCheckpoint;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockCheckpointRun;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.repository.StockCheckpointRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockCheckpointRunRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Range.Bound;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Answers point-in-time stock queries from periodic per-stock checkpoints.
+ *
+ * <p>A scheduled run writes a checkpoint for every stock that had movements since the previous completed run,
+ * recorded as a {@link StockCheckpointRun}; a run that stops part-way is not completed, so the next run
+ * covers its stocks again.
+ * The quantities at a time T are then the nearest checkpoint at or before T plus the movements up to T,
+ * or, before the first checkpoint, the next later checkpoint (or the current stock) with the movements
+ * after T undone. Either way the replay is bounded by the checkpoint interval, not the stock's history.
+ *
+ * <p>IN, OUT and ADJUSTMENT movements carry the total quantity before and after; RESERVATION and RELEASE
+ * carry the reserved quantity; OUT movements that consume reserved units also carry the reserved quantity.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockCheckpointer {
+
+  private static final Sort REPLAY_ORDER = Sort.by("createdAt", "id");
+
+  private final StockCheckpointRepository stockCheckpointRepository;
+  private final StockCheckpointRunRepository stockCheckpointRunRepository;
+  private final StockMovementRepository stockMovementRepository;
+  private final StockRepository stockRepository;
+  private final MongoTemplate mongoTemplate;
+  private final StockCheckpointProperties properties;
+
+  /**
+   * Quantities of a stock record at a point in time.
+   *
+   * @param quantity           total quantity
+   * @param reservedQuantity   reserved quantity
+   * @param baseAsOf           time of the checkpoint the replay started from (null for the current stock)
+   * @param replayedMovements  number of movements applied or undone
+   */
+  public record StockState(int quantity, int reservedQuantity, Long baseAsOf, int replayedMovements) {
+  }
+
+  /**
+   * Compute the quantities of a stock record at the given time.
+   *
+   * @param stock the current stock record
+   * @param asOf  point in time in epoch millis
+   * @return the quantities at asOf
+   */
+  public StockState stateAt(Stock stock, long asOf) {
+    Optional<StockCheckpoint> floor =
+        stockCheckpointRepository.findFirstByStockIdAndAsOfLessThanEqualOrderByAsOfDesc(stock.getId(), asOf);
+    if (floor.isPresent()) {
+      StockCheckpoint checkpoint = floor.get();
+      List<StockMovement> movements = stockMovementRepository.findByStockIdAndCreatedAtBetween(
+          stock.getId(), Range.leftOpen(Instant.ofEpochMilli(checkpoint.getAsOf()), Instant.ofEpochMilli(asOf)),
+          REPLAY_ORDER);
+
+      int quantity = checkpoint.getQuantity();
+      int reserved = checkpoint.getReservedQuantity();
+      for (StockMovement movement : movements) {
+        switch (movement.getMovementType()) {
+          case RESERVATION, RELEASE -> reserved = movement.getNewQuantity();
+          default -> {
+            quantity = movement.getNewQuantity();
+            reserved = reservedAfter(movement, reserved);
+          }
+        }
+      }
+      return new StockState(quantity, reserved, checkpoint.getAsOf(), movements.size());
+    }
+
+    // Before the first checkpoint: walk back from the next checkpoint, or from the stock itself
+    Optional<StockCheckpoint> ceiling =
+        stockCheckpointRepository.findFirstByStockIdAndAsOfGreaterThanOrderByAsOfAsc(stock.getId(), asOf);
+    Instant from = Instant.ofEpochMilli(asOf);
+    Range<Instant> range = ceiling
+        .map(checkpoint -> Range.leftOpen(from, Instant.ofEpochMilli(checkpoint.getAsOf())))
+        .orElseGet(() -> Range.of(Bound.exclusive(from), Bound.unbounded()));
+    List<StockMovement> movements = stockMovementRepository.findByStockIdAndCreatedAtBetween(
+        stock.getId(), range, REPLAY_ORDER.descending());
+
+    int quantity = ceiling.map(StockCheckpoint::getQuantity).orElse(stock.getQuantity());
+    int reserved = ceiling.map(StockCheckpoint::getReservedQuantity).orElse(stock.getReservedQuantity());
+    for (StockMovement movement : movements) {
+      switch (movement.getMovementType()) {
+        case RESERVATION, RELEASE -> reserved = movement.getPreviousQuantity();
+        default -> {
+          quantity = movement.getPreviousQuantity();
+          reserved = reservedBefore(movement, reserved);
+        }
+      }
+    }
+    return new StockState(quantity, reserved, ceiling.map(StockCheckpoint::getAsOf).orElse(null), movements.size());
+  }
+
+  /**
+   * Write a checkpoint for every stock with movements since the previous completed run.
+   *
+   * @return number of checkpoints written
+   */
+  @Scheduled(initialDelayString = "${application.checkpoints.interval:1h}",
+      fixedDelayString = "${application.checkpoints.interval:1h}")
+  public synchronized int checkpoint() {
+    if (!properties.isEnabled()) {
+      return 0;
+    }
+
+    long asOf = System.currentTimeMillis() - properties.getSettleDelay().toMillis();
+    Long since = stockCheckpointRunRepository.findFirstByCompletedAtNotNullOrderByAsOfDesc()
+        .map(StockCheckpointRun::getAsOf)
+        .orElse(null);
+    StockCheckpointRun run = stockCheckpointRunRepository.save(StockCheckpointRun.builder()
+        .asOf(asOf)
+        .since(since)
+        .startedAt(System.currentTimeMillis())
+        .build());
+
+    // createdAt is a BSON date; range bounds are not converted to it, so pass dates rather than millis
+    Criteria createdAt = Criteria.where("createdAt").lte(new Date(asOf));
+    if (since != null) {
+      createdAt.gt(new Date(since));
+    }
+    List<String> stockIds = mongoTemplate.findDistinct(new Query(createdAt), "stockId", StockMovement.class,
+        String.class);
+
+    int written = 0;
+    for (int from = 0; from < stockIds.size(); from += properties.getBatchSize()) {
+      List<String> batch = stockIds.subList(from, Math.min(from + properties.getBatchSize(), stockIds.size()));
+      List<StockCheckpoint> checkpoints = new ArrayList<>();
+      for (Stock stock : stockRepository.findAllById(batch)) {
+        StockState state = stateAt(stock, asOf);
+        checkpoints.add(StockCheckpoint.builder()
+            .stockId(stock.getId())
+            .quantity(state.quantity())
+            .reservedQuantity(state.reservedQuantity())
+            .asOf(asOf)
+            .replayedMovements(state.replayedMovements())
+            .createdAt(System.currentTimeMillis())
+            .build());
+      }
+      stockCheckpointRepository.saveAll(checkpoints);
+      written += checkpoints.size();
+    }
+
+    // Only now does the watermark move past this run's stocks
+    run.setCheckpoints(written);
+    run.setCompletedAt(System.currentTimeMillis());
+    stockCheckpointRunRepository.save(run);
+
+    if (written > 0) {
+      log.info("Wrote {} stock checkpoints as of {}", written, asOf);
+    }
+    return written;
+  }
+
+  private int reservedAfter(StockMovement movement, int reserved) {
+    if (movement.getNewReservedQuantity() != null) {
+      return movement.getNewReservedQuantity();
+    }
+    // OUT movements written before reserved quantities were recorded: settling a reservation consumed its units
+    return isLegacySettlement(movement) ? reserved - movement.getQuantity() : reserved;
+  }
+
+  private int reservedBefore(StockMovement movement, int reserved) {
+    if (movement.getPreviousReservedQuantity() != null) {
+      return movement.getPreviousReservedQuantity();
+    }
+    return isLegacySettlement(movement) ? reserved + movement.getQuantity() : reserved;
+  }
+
+  private boolean isLegacySettlement(StockMovement movement) {
+    return movement.getMovementType() == StockMovement.MovementType.OUT && movement.getRelatedMovementId() != null;
+  }
+}
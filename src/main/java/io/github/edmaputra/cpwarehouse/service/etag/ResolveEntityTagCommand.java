@@ -0,0 +1,53 @@
+package io.github.edmaputra.cpwarehouse.service.etag;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+
+/**
+ * Command to resolve the current validators (ETag and Last-Modified) of a resource for conditional GETs.
+ * Reads only the identity and change markers of the document, never the full document.
+ */
+public interface ResolveEntityTagCommand
+    extends Command<ResolveEntityTagCommand.Request, ResolveEntityTagCommand.Validator> {
+
+  /**
+   * Resources that support conditional GET, with the lookup field and the name used in not-found errors.
+   */
+  enum Resource {
+    ITEM("Item", "ID"),
+    VARIANT("Variant", "id"),
+    VARIANT_SKU("Variant", "SKU"),
+    STOCK("Stock", "id"),
+    STOCK_BY_VARIANT("Stock", "variantId");
+
+    private final String entityName;
+    private final String fieldName;
+
+    Resource(String entityName, String fieldName) {
+      this.entityName = entityName;
+      this.fieldName = fieldName;
+    }
+
+    public String entityName() {
+      return entityName;
+    }
+
+    public String fieldName() {
+      return fieldName;
+    }
+  }
+
+  /**
+   * Request wrapper for a validator lookup.
+   */
+  record Request(Resource resource, String key) {
+  }
+
+  /**
+   * Validators of the current representation.
+   *
+   * @param etag         strong entity tag, quoted
+   * @param lastModified last modification time in epoch millis, or -1 if unknown
+   */
+  record Validator(String etag, long lastModified) {
+  }
+}
@@ -0,0 +1,59 @@
+package io.github.edmaputra.cpwarehouse.service.etag.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.Item;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.Variant;
+import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
+import io.github.edmaputra.cpwarehouse.service.etag.ResolveEntityTagCommand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of ResolveEntityTagCommand.
+ * Stocks are tagged with their optimistic-locking version, which every write increments; items and
+ * variants have no version and are tagged with updatedAt. The tag includes the document ID, so a
+ * SKU or variant that now resolves to a different document never matches an old tag.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResolveEntityTagCommandImpl implements ResolveEntityTagCommand {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  @Transactional(readOnly = true)
+  public Validator execute(Request request) {
+    log.debug("Resolving entity tag - resource: {}, key: {}", request.resource(), request.key());
+
+    Document markers = switch (request.resource()) {
+      case ITEM -> findMarkers(Item.class, "id", request.key());
+      case VARIANT -> findMarkers(Variant.class, "id", request.key());
+      case VARIANT_SKU -> findMarkers(Variant.class, "variantSku", request.key());
+      case STOCK -> findMarkers(Stock.class, "id", request.key());
+      case STOCK_BY_VARIANT -> findMarkers(Stock.class, "variantId", request.key());
+    };
+    if (markers == null) {
+      throw new ResourceNotFoundException(request.resource().entityName(), request.resource().fieldName(),
+          request.key());
+    }
+
+    long updatedAt = markers.get("updatedAt") instanceof Number number ? number.longValue() : -1L;
+    Object version = markers.get("version");
+    String stamp = version != null ? "v" + version : "u" + updatedAt;
+
+    return new Validator("\"" + markers.get("_id") + "-" + stamp + "\"", updatedAt);
+  }
+
+  private Document findMarkers(Class<?> entityClass, String field, String value) {
+    Query query = new Query(Criteria.where(field).is(value));
+    query.fields().include("updatedAt", "version");
+    return mongoTemplate.query(entityClass).as(Document.class).matching(query).firstValue();
+  }
+}
@@ -5,6 +5,8 @@ import io.github.edmaputra.cpwarehouse.dto.response.ItemResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 /**
  * Command interface for getting all items with pagination and filtering.
  * Use case: Get All Items
@@ -13,7 +15,8 @@ public interface GetAllItemsCommand extends Command<GetAllItemsCommand.Request,
 
   /**
    * Request wrapper for getAllItems operation.
+   * {@code fields} optionally limits the loaded and returned properties (null for all).
    */
-  record Request(Pageable pageable, Boolean activeOnly, String search) {
+  record Request(Pageable pageable, Boolean activeOnly, String search, List<String> fields) {
   }
 }
@@ -0,0 +1,10 @@
+package io.github.edmaputra.cpwarehouse.service.item;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemPurgeJobResponse;
+
+/**
+ * Command to get the progress of the latest purge job of a hard-deleted item.
+ */
+public interface GetItemPurgeJobCommand extends Command<String, ItemPurgeJobResponse> {
+}
@@ -0,0 +1,10 @@
+package io.github.edmaputra.cpwarehouse.service.item;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemViewResponse;
+
+/**
+ * Command to get the product page view of an item from the item_views read model.
+ */
+public interface GetItemViewCommand extends Command<String, ItemViewResponse> {
+}
@@ -7,6 +7,7 @@ import io.github.edmaputra.cpwarehouse.exception.DuplicateResourceException;
 import io.github.edmaputra.cpwarehouse.mapper.ItemMapper;
 import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
 import io.github.edmaputra.cpwarehouse.service.item.CreateItemCommand;
+import io.github.edmaputra.cpwarehouse.service.view.ItemViewProjector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class CreateItemCommandImpl implements CreateItemCommand {
 
   private final ItemRepository itemRepository;
+  private final ItemViewProjector itemViewProjector;
   private final ItemMapper itemMapper;
 
   @Override
@@ -40,6 +42,7 @@ public class CreateItemCommandImpl implements CreateItemCommand {
 
     // Save and return
     Item savedItem = itemRepository.save(item);
+    itemViewProjector.markStale(savedItem.getId());
     log.info("Item created successfully with ID: {} and SKU: {}", savedItem.getId(), savedItem.getSku());
 
     return itemMapper.toResponse(savedItem);
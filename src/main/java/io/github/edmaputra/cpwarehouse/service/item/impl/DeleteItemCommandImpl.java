@@ -3,7 +3,9 @@ package io.github.edmaputra.cpwarehouse.service.item.impl;
 import io.github.edmaputra.cpwarehouse.domain.entity.Item;
 import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
 import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
 import io.github.edmaputra.cpwarehouse.service.item.DeleteItemCommand;
+import io.github.edmaputra.cpwarehouse.service.view.ItemViewProjector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,6 +21,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class DeleteItemCommandImpl implements DeleteItemCommand {
 
   private final ItemRepository itemRepository;
+  private final StockRepository stockRepository;
+  private final ItemViewProjector itemViewProjector;
 
   @Override
   @Transactional
@@ -31,6 +35,10 @@ public class DeleteItemCommandImpl implements DeleteItemCommand {
     item.preUpdate();
 
     itemRepository.save(item);
+    itemViewProjector.markStale(id);
+
+    // Stop checkout on the item's stock
+    stockRepository.updateItemSellable(id, item.getBasePrice(), false);
     log.info("Item soft deleted successfully with ID: {}", id);
 
     return null;
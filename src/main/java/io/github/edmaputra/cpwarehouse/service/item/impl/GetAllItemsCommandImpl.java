@@ -1,5 +1,7 @@
 package io.github.edmaputra.cpwarehouse.service.item.impl;
 
+import io.github.edmaputra.cpwarehouse.common.FieldSelection;
+import io.github.edmaputra.cpwarehouse.domain.entity.Item;
 import io.github.edmaputra.cpwarehouse.dto.response.ItemResponse;
 import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
 import io.github.edmaputra.cpwarehouse.mapper.ItemMapper;
@@ -11,6 +13,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Set;
+
 /**
  * Implementation of GetAllItemsCommand.
  * Use case: Get all items with pagination, filtering, and search.
@@ -37,8 +41,9 @@ public class GetAllItemsCommandImpl implements GetAllItemsCommand {
         search);
 
     // Use custom repository method with MongoTemplate for dynamic filtering
+    Set<String> fields = FieldSelection.resolve(request.fields(), ItemResponse.class, Item.class);
     Page<ItemResponse> result =
-        itemRepository.findAllWithFilters(pageable, activeOnly, search).map(itemMapper::toResponse);
+        itemRepository.findAllWithFilters(pageable, activeOnly, search, fields).map(itemMapper::toResponse);
 
     log.info("Fetched {} items", result.getNumberOfElements());
     return result;
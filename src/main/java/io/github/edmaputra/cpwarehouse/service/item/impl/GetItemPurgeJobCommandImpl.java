@@ -0,0 +1,35 @@
+package io.github.edmaputra.cpwarehouse.service.item.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemPurgeJob;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemPurgeJobResponse;
+import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
+import io.github.edmaputra.cpwarehouse.mapper.ItemMapper;
+import io.github.edmaputra.cpwarehouse.repository.ItemPurgeJobRepository;
+import io.github.edmaputra.cpwarehouse.service.item.GetItemPurgeJobCommand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of GetItemPurgeJobCommand.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GetItemPurgeJobCommandImpl implements GetItemPurgeJobCommand {
+
+  private final ItemPurgeJobRepository itemPurgeJobRepository;
+  private final ItemMapper itemMapper;
+
+  @Override
+  @Transactional(readOnly = true)
+  public ItemPurgeJobResponse execute(String itemId) {
+    log.debug("Fetching purge job of item: {}", itemId);
+
+    ItemPurgeJob job = itemPurgeJobRepository.findFirstByItemIdOrderByCreatedAtDesc(itemId)
+        .orElseThrow(() -> new ResourceNotFoundException("ItemPurgeJob", "itemId", itemId));
+
+    return itemMapper.toPurgeJobResponse(job);
+  }
+}
@@ -0,0 +1,42 @@
+package io.github.edmaputra.cpwarehouse.service.item.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemView;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemViewResponse;
+import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
+import io.github.edmaputra.cpwarehouse.mapper.ItemMapper;
+import io.github.edmaputra.cpwarehouse.repository.ItemViewRepository;
+import io.github.edmaputra.cpwarehouse.service.item.GetItemViewCommand;
+import io.github.edmaputra.cpwarehouse.service.view.ItemViewProjector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Implementation of GetItemViewCommand.
+ * Serves the view with one _id lookup; a view that was never built is built on the spot.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GetItemViewCommandImpl implements GetItemViewCommand {
+
+  private final ItemViewRepository itemViewRepository;
+  private final ItemViewProjector itemViewProjector;
+  private final ItemMapper itemMapper;
+
+  @Override
+  public ItemViewResponse execute(String id) {
+    log.debug("Fetching item view: {}", id);
+
+    ItemView view = itemViewRepository.findById(id)
+        .orElseGet(() -> {
+          itemViewProjector.rebuild(List.of(id));
+          return itemViewRepository.findById(id)
+              .orElseThrow(() -> new ResourceNotFoundException("Item", "ID", id));
+        });
+
+    return itemMapper.toViewResponse(view);
+  }
+}
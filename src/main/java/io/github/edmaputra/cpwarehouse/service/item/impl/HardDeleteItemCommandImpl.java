@@ -1,16 +1,27 @@
 package io.github.edmaputra.cpwarehouse.service.item.impl;
 
+import io.github.edmaputra.cpwarehouse.config.PurgeProperties;
+import io.github.edmaputra.cpwarehouse.domain.entity.Item;
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemPurgeJob;
 import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
+import io.github.edmaputra.cpwarehouse.repository.ItemPurgeJobRepository;
 import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
 import io.github.edmaputra.cpwarehouse.service.item.HardDeleteItemCommand;
+import io.github.edmaputra.cpwarehouse.service.purge.ItemPurgeWorker;
+import io.github.edmaputra.cpwarehouse.service.view.ItemViewProjector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Implementation of HardDeleteItemCommand.
  * Use case: Permanently delete item from database.
+ * Deletes the item document right away and hands its variants, stock, movements and alerts
+ * to a background purge job, so the request does not wait for the cascade.
  */
 @Slf4j
 @Service
@@ -18,19 +29,49 @@ import org.springframework.transaction.annotation.Transactional;
 public class HardDeleteItemCommandImpl implements HardDeleteItemCommand {
 
   private final ItemRepository itemRepository;
+  private final StockRepository stockRepository;
+  private final ItemPurgeJobRepository itemPurgeJobRepository;
+  private final ItemPurgeWorker itemPurgeWorker;
+  private final ItemViewProjector itemViewProjector;
+  private final PurgeProperties purgeProperties;
 
   @Override
   @Transactional
   public Void execute(String id) {
     log.info("Hard deleting item with ID: {}", id);
 
-    if (!itemRepository.existsById(id)) {
-      throw new ResourceNotFoundException("Item", "ID", id);
-    }
+    Item item = itemRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Item", "ID", id));
 
+    // Stop checkout on the item's stock before it is purged
+    stockRepository.updateItemSellable(id, item.getBasePrice(), false);
     itemRepository.deleteById(id);
-    log.info("Item permanently deleted with ID: {}", id);
+    itemViewProjector.markStale(id);
+
+    long now = System.currentTimeMillis();
+    ItemPurgeJob job = itemPurgeJobRepository.save(ItemPurgeJob.builder()
+        .itemId(id)
+        .status(ItemPurgeJob.PurgeStatus.PENDING)
+        .phase(ItemPurgeJob.PurgePhase.MOVEMENTS)
+        .archiveMovements(purgeProperties.isArchiveMovements())
+        .createdAt(now)
+        .updatedAt(now)
+        .build());
+    submitAfterCommit(job.getId());
+    log.info("Item permanently deleted with ID: {}, purge job: {}", id, job.getId());
 
     return null;
   }
+
+  private void submitAfterCommit(String jobId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      itemPurgeWorker.submit(jobId);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        itemPurgeWorker.submit(jobId);
+      }
+    });
+  }
 }
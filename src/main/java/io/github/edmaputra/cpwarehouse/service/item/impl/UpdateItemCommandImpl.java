@@ -6,7 +6,9 @@ import io.github.edmaputra.cpwarehouse.dto.response.ItemResponse;
 import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
 import io.github.edmaputra.cpwarehouse.mapper.ItemMapper;
 import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
 import io.github.edmaputra.cpwarehouse.service.item.UpdateItemCommand;
+import io.github.edmaputra.cpwarehouse.service.view.ItemViewProjector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,6 +24,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class UpdateItemCommandImpl implements UpdateItemCommand {
 
   private final ItemRepository itemRepository;
+  private final StockRepository stockRepository;
+  private final ItemViewProjector itemViewProjector;
   private final ItemMapper itemMapper;
 
   @Override
@@ -43,6 +47,10 @@ public class UpdateItemCommandImpl implements UpdateItemCommand {
 
     // Save and return
     Item updatedItem = itemRepository.save(item);
+    itemViewProjector.markStale(updatedItem.getId());
+
+    // Keep the sellable snapshot on the item's stock current
+    stockRepository.updateItemSellable(id, updatedItem.getBasePrice(), updatedItem.getIsActive());
     log.info("Item updated successfully with ID: {}", id);
 
     return itemMapper.toResponse(updatedItem);
@@ -0,0 +1,72 @@
+package io.github.edmaputra.cpwarehouse.service.lease;
+
+import io.github.edmaputra.cpwarehouse.repository.LeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Leases held by this instance, for background jobs that must run on one instance at a time.
+ *
+ * <p>A job calls {@link #tryAcquire} before each unit of work; the call renews the lease while this
+ * instance holds it. The lease duration must cover one unit of work, otherwise another instance may
+ * take over while it is still running. Expiry uses the instances' clocks, so they must be roughly in sync.
+ */
+@Slf4j
+@Component
+public class InstanceLeases {
+
+  private final LeaseRepository leaseRepository;
+  private final String owner;
+
+  public InstanceLeases(LeaseRepository leaseRepository) {
+    this.leaseRepository = leaseRepository;
+    this.owner = hostName() + "-" + UUID.randomUUID();
+  }
+
+  /**
+   * Acquire or renew a lease for this instance.
+   *
+   * @param name     the job name
+   * @param duration how long the lease is held without another renewal
+   * @return true if this instance holds the lease
+   */
+  public boolean tryAcquire(String name, Duration duration) {
+    long now = System.currentTimeMillis();
+    boolean acquired = leaseRepository.tryAcquire(name, owner, now, now + duration.toMillis());
+    if (!acquired) {
+      log.debug("Lease {} is held by another instance", name);
+    }
+    return acquired;
+  }
+
+  /**
+   * Release a lease held by this instance, so another instance can take over without waiting for expiry.
+   *
+   * @param name the job name
+   */
+  public void release(String name) {
+    leaseRepository.release(name, owner);
+  }
+
+  /**
+   * Identifier of this instance as lease owner.
+   *
+   * @return the owner identifier
+   */
+  public String owner() {
+    return owner;
+  }
+
+  private static String hostName() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      return "unknown-host";
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package io.github.edmaputra.cpwarehouse.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.edmaputra.cpwarehouse.config.OutboxProperties;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Outbox sink appending events as NDJSON to a local file, for local runs.
+ * Each batch is forced to disk before it counts as delivered.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.outbox", name = "sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+  private final OutboxProperties properties;
+  private final ObjectMapper objectMapper;
+
+  @Override
+  public synchronized void publish(List<StockOutboxEvent> batch) throws IOException {
+    try (FileChannel channel = FileChannel.open(Path.of(properties.getFilePath()),
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+      OutputStream out = Channels.newOutputStream(channel);
+      for (StockOutboxEvent event : batch) {
+        out.write(objectMapper.writeValueAsBytes(event));
+        out.write('\n');
+      }
+      out.flush();
+      channel.force(false);
+    }
+  }
+}
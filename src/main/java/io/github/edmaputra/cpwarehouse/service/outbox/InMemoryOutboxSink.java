@@ -0,0 +1,49 @@
+package io.github.edmaputra.cpwarehouse.service.outbox;
+
+import io.github.edmaputra.cpwarehouse.config.OutboxProperties;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Outbox sink keeping the most recent events in memory, for local runs and tests.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.outbox", name = "sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+  private final OutboxProperties properties;
+  private final Deque<StockOutboxEvent> events = new ArrayDeque<>();
+
+  @Override
+  public synchronized void publish(List<StockOutboxEvent> batch) {
+    for (StockOutboxEvent event : batch) {
+      events.addLast(event);
+      if (events.size() > properties.getMemoryCapacity()) {
+        events.removeFirst();
+      }
+    }
+  }
+
+  /**
+   * Events received so far, oldest first.
+   *
+   * @return copy of the retained events
+   */
+  public synchronized List<StockOutboxEvent> events() {
+    return List.copyOf(events);
+  }
+
+  /**
+   * Forget all received events.
+   */
+  public synchronized void clear() {
+    events.clear();
+  }
+}
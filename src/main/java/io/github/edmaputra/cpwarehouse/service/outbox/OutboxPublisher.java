@@ -0,0 +1,171 @@
+package io.github.edmaputra.cpwarehouse.service.outbox;
+
+import io.github.edmaputra.cpwarehouse.config.OutboxProperties;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
+import io.github.edmaputra.cpwarehouse.repository.StockOutboxRepository;
+import io.github.edmaputra.cpwarehouse.service.lease.InstanceLeases;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the stock outbox to the configured {@link OutboxSink} in batches.
+ *
+ * <p>Each batch is the oldest pending events, regrouped so the events of one stock are adjacent
+ * and in stockVersion order. A batch is marked delivered only after the sink accepted it; a failing
+ * batch stays pending and is retried on the next run (at-least-once). Delivered events are deleted
+ * once they are older than the configured retention.
+ *
+ * <p>Only the instance holding the {@value #LEASE_NAME} lease drains, so events are published once and in
+ * order across instances. The lease is renewed before every batch and released on shutdown.
+ *
+ * <p>Metrics: {@code stock.outbox.lag} (age of the oldest pending event), {@code stock.outbox.pending},
+ * {@code stock.outbox.published}, {@code stock.outbox.failures} and the {@code stock.outbox.publish}
+ * batch timer.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "application.outbox", name = "publisher-enabled", matchIfMissing = true)
+public class OutboxPublisher {
+
+  static final String LEASE_NAME = "stock-outbox-publisher";
+
+  private final StockOutboxRepository stockOutboxRepository;
+  private final OutboxSink sink;
+  private final OutboxProperties properties;
+  private final InstanceLeases instanceLeases;
+
+  private final AtomicLong lagMillis = new AtomicLong();
+  private final AtomicLong pending = new AtomicLong();
+  private final Counter published;
+  private final Counter failures;
+  private final Timer publishTimer;
+
+  public OutboxPublisher(StockOutboxRepository stockOutboxRepository, OutboxSink sink,
+                         OutboxProperties properties, InstanceLeases instanceLeases, MeterRegistry meterRegistry) {
+    this.stockOutboxRepository = stockOutboxRepository;
+    this.sink = sink;
+    this.properties = properties;
+    this.instanceLeases = instanceLeases;
+
+    TimeGauge.builder("stock.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+        .description("Age of the oldest undelivered stock event")
+        .register(meterRegistry);
+    Gauge.builder("stock.outbox.pending", pending, AtomicLong::get)
+        .description("Number of undelivered stock events")
+        .register(meterRegistry);
+    this.published = Counter.builder("stock.outbox.published")
+        .description("Stock events delivered to the sink")
+        .register(meterRegistry);
+    this.failures = Counter.builder("stock.outbox.failures")
+        .description("Batches rejected by the sink")
+        .register(meterRegistry);
+    this.publishTimer = Timer.builder("stock.outbox.publish")
+        .description("Time to deliver one batch to the sink")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Deliver pending events until the outbox is empty, a batch fails, the per-run batch limit is hit,
+   * or this instance does not hold the publisher lease.
+   *
+   * @return number of events delivered
+   */
+  @Scheduled(fixedDelayString = "${application.outbox.poll-interval:1s}")
+  public synchronized int drain() {
+    int delivered = 0;
+    try {
+      for (int round = 0; round < properties.getMaxBatchesPerDrain(); round++) {
+        if (!instanceLeases.tryAcquire(LEASE_NAME, properties.getLeaseDuration())) {
+          break;
+        }
+        List<StockOutboxEvent> batch = stockOutboxRepository.findPending(properties.getBatchSize());
+        if (batch.isEmpty()) {
+          break;
+        }
+
+        List<StockOutboxEvent> ordered = orderPerStock(batch);
+        try {
+          publishTimer.recordCallable(() -> {
+            sink.publish(ordered);
+            return null;
+          });
+        } catch (Exception e) {
+          failures.increment();
+          log.warn("Outbox sink rejected a batch of {} events, retrying on the next run: {}",
+              ordered.size(), e.getMessage());
+          break;
+        }
+
+        stockOutboxRepository.markPublished(ordered.stream().map(StockOutboxEvent::getId).toList(),
+            System.currentTimeMillis());
+        published.increment(ordered.size());
+        delivered += ordered.size();
+
+        if (batch.size() < properties.getBatchSize()) {
+          break;
+        }
+      }
+    } finally {
+      updateLag();
+    }
+
+    if (delivered > 0) {
+      log.debug("Delivered {} stock outbox events", delivered);
+    }
+    return delivered;
+  }
+
+  /**
+   * Hand the publisher lease to another instance right away.
+   */
+  @PreDestroy
+  public void releaseLease() {
+    instanceLeases.release(LEASE_NAME);
+  }
+
+  /**
+   * Delete delivered events older than the retention period.
+   *
+   * @return number of events deleted
+   */
+  @Scheduled(fixedDelayString = "${application.outbox.compaction-interval:5m}")
+  public long compact() {
+    return stockOutboxRepository.deletePublishedBefore(
+        System.currentTimeMillis() - properties.getRetention().toMillis());
+  }
+
+  private List<StockOutboxEvent> orderPerStock(List<StockOutboxEvent> batch) {
+    Map<String, List<StockOutboxEvent>> byStock = new LinkedHashMap<>();
+    batch.forEach(event -> byStock.computeIfAbsent(event.getStockId(), k -> new ArrayList<>()).add(event));
+
+    List<StockOutboxEvent> ordered = new ArrayList<>(batch.size());
+    byStock.values().forEach(events -> {
+      events.sort(Comparator.comparing(StockOutboxEvent::getStockVersion,
+          Comparator.nullsFirst(Comparator.naturalOrder())));
+      ordered.addAll(events);
+    });
+    return ordered;
+  }
+
+  private void updateLag() {
+    Long oldest = stockOutboxRepository.oldestPendingCreatedAt();
+    lagMillis.set(oldest != null ? Math.max(0, System.currentTimeMillis() - oldest) : 0);
+    pending.set(oldest != null ? stockOutboxRepository.countByPublishedAtIsNull() : 0);
+  }
+}
@@ -0,0 +1,23 @@
+package io.github.edmaputra.cpwarehouse.service.outbox;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of stock outbox events (message broker, search indexer, file, ...).
+ *
+ * <p>A batch is only marked delivered after {@link #publish} returns, and is handed over again
+ * when it throws, so delivery is at-least-once. Within a batch the events of each stock are in
+ * stockVersion order.
+ */
+public interface OutboxSink {
+
+  /**
+   * Deliver one batch.
+   *
+   * @param events the events, ordered per stock
+   * @throws Exception if the batch was not (fully) delivered
+   */
+  void publish(List<StockOutboxEvent> events) throws Exception;
+}
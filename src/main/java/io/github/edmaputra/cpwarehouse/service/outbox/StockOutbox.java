@@ -0,0 +1,58 @@
+package io.github.edmaputra.cpwarehouse.service.outbox;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent.EventType;
+import io.github.edmaputra.cpwarehouse.repository.StockOutboxRepository;
+import io.github.edmaputra.cpwarehouse.service.view.ItemViewProjector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Records stock change events in the outbox. Called by every stock mutation right after
+ * the stock write, inside the command's unit of work. Being the one place all stock changes
+ * pass through, it also marks the item views of the changed stock stale.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockOutbox {
+
+  private final StockOutboxRepository stockOutboxRepository;
+  private final ItemViewProjector itemViewProjector;
+
+  /**
+   * Record one event for the given stock state.
+   *
+   * @param stock the stock after the mutation
+   * @param type  the kind of mutation
+   */
+  public void record(Stock stock, EventType type) {
+    stockOutboxRepository.insert(StockOutboxEvent.of(stock, type));
+    itemViewProjector.markStale(stock.getItemId());
+  }
+
+  /**
+   * Record one event per stock in a single bulk insert.
+   *
+   * @param stocks the stocks after the mutation
+   * @param type   the kind of mutation
+   */
+  public void recordAll(Collection<Stock> stocks, EventType type) {
+    recordEvents(stocks.stream().map(stock -> StockOutboxEvent.of(stock, type)).toList());
+  }
+
+  /**
+   * Record prepared events in a single bulk insert.
+   *
+   * @param events the events
+   */
+  public void recordEvents(Collection<StockOutboxEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    stockOutboxRepository.insert(events);
+    itemViewProjector.markStale(events.stream().map(StockOutboxEvent::getItemId).toList());
+  }
+}
@@ -0,0 +1,179 @@
+package io.github.edmaputra.cpwarehouse.service.purge;
+
+import io.github.edmaputra.cpwarehouse.config.PurgeProperties;
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemPurgeJob;
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemPurgeJob.PurgePhase;
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemPurgeJob.PurgeStatus;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockAlert;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockCheckpoint;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockReservation;
+import io.github.edmaputra.cpwarehouse.domain.entity.Variant;
+import io.github.edmaputra.cpwarehouse.repository.BatchDeleteRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemPurgeJobRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs item purge jobs on a single background thread.
+ *
+ * <p>Each phase deletes its documents in bounded batches and checkpoints the job after every batch.
+ * Between batches the worker pauses at least {@code batch-pause}, and long enough to stay under
+ * {@code max-duty-cycle}, so the purge yields to checkout traffic instead of competing with it.
+ * Every phase only deletes what is still left, so resuming a job after a restart is safe.
+ */
+@Slf4j
+@Component
+public class ItemPurgeWorker {
+
+  static final String MOVEMENT_ARCHIVE_COLLECTION = "stock_movements_archive";
+
+  private final ItemPurgeJobRepository itemPurgeJobRepository;
+  private final BatchDeleteRepository batchDeleteRepository;
+  private final StockRepository stockRepository;
+  private final ItemInventorySummaryRepository itemInventorySummaryRepository;
+  private final PurgeProperties properties;
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "item-purge");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private volatile boolean stopping;
+
+  public ItemPurgeWorker(ItemPurgeJobRepository itemPurgeJobRepository, BatchDeleteRepository batchDeleteRepository,
+                         StockRepository stockRepository,
+                         ItemInventorySummaryRepository itemInventorySummaryRepository,
+                         PurgeProperties properties) {
+    this.itemPurgeJobRepository = itemPurgeJobRepository;
+    this.batchDeleteRepository = batchDeleteRepository;
+    this.stockRepository = stockRepository;
+    this.itemInventorySummaryRepository = itemInventorySummaryRepository;
+    this.properties = properties;
+  }
+
+  /**
+   * Queue a job for execution.
+   *
+   * @param jobId the job ID
+   */
+  public void submit(String jobId) {
+    executor.execute(() -> itemPurgeJobRepository.findById(jobId).ifPresent(this::run));
+  }
+
+  @PreDestroy
+  void shutdown() throws InterruptedException {
+    stopping = true;
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  private void run(ItemPurgeJob job) {
+    if (job.getStatus() == PurgeStatus.COMPLETED) {
+      return;
+    }
+    log.info("Purging item {} - job: {}, phase: {}", job.getItemId(), job.getId(), job.getPhase());
+
+    job.setStatus(PurgeStatus.RUNNING);
+    job.setLastError(null);
+    checkpoint(job);
+
+    try {
+      List<String> stockIds = stockRepository.findByItemId(job.getItemId()).stream().map(Stock::getId).toList();
+
+      while (job.getPhase() != PurgePhase.DONE) {
+        if (stopping) {
+          log.info("Purge job {} interrupted by shutdown in phase {}; it resumes on next start",
+              job.getId(), job.getPhase());
+          return;
+        }
+        if (runBatch(job, stockIds) < properties.getBatchSize()) {
+          job.setPhase(PurgePhase.values()[job.getPhase().ordinal() + 1]);
+        }
+        checkpoint(job);
+      }
+
+      job.setStatus(PurgeStatus.COMPLETED);
+      job.setCompletedAt(System.currentTimeMillis());
+      checkpoint(job);
+      log.info("Purged item {} - movements: {}, reservations: {}, checkpoints: {}, alerts: {}, stock: {}, "
+              + "variants: {}", job.getItemId(), job.getMovementsDeleted(), job.getReservationsDeleted(),
+          job.getCheckpointsDeleted(), job.getAlertsDeleted(), job.getStocksDeleted(), job.getVariantsDeleted());
+    } catch (RuntimeException e) {
+      log.error("Purge job {} failed in phase {}", job.getId(), job.getPhase(), e);
+      job.setStatus(PurgeStatus.FAILED);
+      job.setLastError(e.getMessage());
+      checkpoint(job);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Run one throttled batch of the current phase.
+   *
+   * @return number of documents removed
+   */
+  private long runBatch(ItemPurgeJob job, List<String> stockIds) throws InterruptedException {
+    int batchSize = properties.getBatchSize();
+    long start = System.nanoTime();
+    long removed = switch (job.getPhase()) {
+      case MOVEMENTS -> {
+        Criteria criteria = Criteria.where("stockId").in(stockIds);
+        long count = stockIds.isEmpty() ? 0 : Boolean.TRUE.equals(job.getArchiveMovements())
+            ? batchDeleteRepository.archiveBatch(criteria, StockMovement.class, MOVEMENT_ARCHIVE_COLLECTION, batchSize)
+            : batchDeleteRepository.deleteBatch(criteria, StockMovement.class, batchSize);
+        job.setMovementsDeleted(job.getMovementsDeleted() + count);
+        yield count;
+      }
+      case RESERVATIONS -> add(job::getReservationsDeleted, job::setReservationsDeleted, stockIds.isEmpty() ? 0
+          : batchDeleteRepository.deleteBatch(Criteria.where("stockId").in(stockIds), StockReservation.class, batchSize));
+      case CHECKPOINTS -> add(job::getCheckpointsDeleted, job::setCheckpointsDeleted, stockIds.isEmpty() ? 0
+          : batchDeleteRepository.deleteBatch(Criteria.where("stockId").in(stockIds), StockCheckpoint.class, batchSize));
+      case ALERTS -> add(job::getAlertsDeleted, job::setAlertsDeleted, stockIds.isEmpty() ? 0
+          : batchDeleteRepository.deleteBatch(Criteria.where("stockId").in(stockIds), StockAlert.class, batchSize));
+      case STOCK -> add(job::getStocksDeleted, job::setStocksDeleted,
+          batchDeleteRepository.deleteBatch(Criteria.where("itemId").is(job.getItemId()), Stock.class, batchSize));
+      case VARIANTS -> add(job::getVariantsDeleted, job::setVariantsDeleted,
+          batchDeleteRepository.deleteBatch(Criteria.where("itemId").is(job.getItemId()), Variant.class, batchSize));
+      case SUMMARY -> {
+        itemInventorySummaryRepository.deleteById(job.getItemId());
+        yield 0;
+      }
+      case DONE -> 0;
+    };
+
+    if (removed > 0) {
+      throttle(System.nanoTime() - start);
+    }
+    return removed;
+  }
+
+  private long add(LongSupplier current, LongConsumer setter, long count) {
+    setter.accept(current.getAsLong() + count);
+    return count;
+  }
+
+  private void throttle(long batchNanos) throws InterruptedException {
+    double dutyCycle = Math.min(1.0, Math.max(0.01, properties.getMaxDutyCycle()));
+    long dutyPauseMillis = TimeUnit.NANOSECONDS.toMillis((long) (batchNanos * (1 - dutyCycle) / dutyCycle));
+    Thread.sleep(Math.max(properties.getBatchPause().toMillis(), dutyPauseMillis));
+  }
+
+  private void checkpoint(ItemPurgeJob job) {
+    job.setUpdatedAt(System.currentTimeMillis());
+    itemPurgeJobRepository.save(job);
+  }
+}
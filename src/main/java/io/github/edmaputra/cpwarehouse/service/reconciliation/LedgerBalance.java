@@ -0,0 +1,73 @@
+package io.github.edmaputra.cpwarehouse.service.reconciliation;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+
+import java.util.Objects;
+
+/**
+ * Quantities of one stock record recomputed from its movements, applied in createdAt order.
+ * Also counts chain breaks: movements whose previous quantity is not the quantity left by the movement
+ * before them, which is where a movement is missing from the ledger.
+ */
+final class LedgerBalance {
+
+  private Integer quantity;
+  private int reservedQuantity;
+  private int movements;
+  private int chainBreaks;
+
+  void apply(StockMovement movement) {
+    movements++;
+    switch (movement.getMovementType()) {
+      case RESERVATION, RELEASE -> {
+        if (!Objects.equals(movement.getPreviousQuantity(), reservedQuantity)) {
+          chainBreaks++;
+        }
+        reservedQuantity = movement.getNewQuantity();
+      }
+      default -> {
+        // The quantity a stock was created with is not a movement, so the first one cannot break the chain
+        if (quantity != null && !Objects.equals(movement.getPreviousQuantity(), quantity)) {
+          chainBreaks++;
+        }
+        quantity = movement.getNewQuantity();
+
+        if (movement.getNewReservedQuantity() != null) {
+          if (!Objects.equals(movement.getPreviousReservedQuantity(), reservedQuantity)) {
+            chainBreaks++;
+          }
+          reservedQuantity = movement.getNewReservedQuantity();
+        } else if (movement.getMovementType() == StockMovement.MovementType.OUT
+            && movement.getRelatedMovementId() != null) {
+          reservedQuantity -= movement.getQuantity();
+        }
+      }
+    }
+  }
+
+  /**
+   * Whether the stock record agrees with the ledger. Without any IN/OUT/ADJUSTMENT movement the
+   * total quantity is still the one the stock was created with, which the ledger cannot tell.
+   */
+  boolean matches(Stock stock) {
+    return (quantity == null || quantity.equals(stock.getQuantity()))
+        && Objects.equals(reservedQuantity, stock.getReservedQuantity());
+  }
+
+  Integer quantity() {
+    return quantity;
+  }
+
+  int reservedQuantity() {
+    return reservedQuantity;
+  }
+
+  int movements() {
+    return movements;
+  }
+
+  int chainBreaks() {
+    return chainBreaks;
+  }
+}
@@ -0,0 +1,296 @@
+package io.github.edmaputra.cpwarehouse.service.reconciliation;
+
+import io.github.edmaputra.cpwarehouse.config.ReconciliationProperties;
+import io.github.edmaputra.cpwarehouse.domain.entity.ReconciliationRun;
+import io.github.edmaputra.cpwarehouse.domain.entity.ReconciliationRun.RunStatus;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockDiscrepancy;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.exception.InvalidOperationException;
+import io.github.edmaputra.cpwarehouse.repository.ReconciliationRunRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockDiscrepancyRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Compares every stock record against the quantities recomputed from its movement ledger.
+ *
+ * <p>The stock collection is split into contiguous _id ranges. Each range is reconciled on a fork-join pool
+ * by merge-joining two cursors ordered by stock ID: the stocks of the range and the movements of the range,
+ * which the meta_stockId_createdAt_id_idx index returns already ordered. Memory per partition is one cursor batch
+ * each, and the number of concurrent cursors is bounded by {@code parallelism}; a pause after every batch
+ * keeps the read load of a run bounded next to live traffic.
+ *
+ * <p>A mismatch is rechecked against a fresh read of the one stock and its history before it is reported,
+ * because a stock save and its movement are separate writes and may be caught in between. With auto-correct,
+ * a reported stock that has settled gets an ADJUSTMENT movement that realigns the ledger with the stock record.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockReconciler {
+
+  static final String CORRECTED_BY = "reconciliation";
+
+  private final StockRepository stockRepository;
+  private final StockMovementRepository stockMovementRepository;
+  private final ReconciliationRunRepository reconciliationRunRepository;
+  private final StockDiscrepancyRepository stockDiscrepancyRepository;
+  private final ReconciliationProperties properties;
+
+  private final ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "stock-reconciliation");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final AtomicBoolean running = new AtomicBoolean();
+  private volatile boolean stopping;
+
+  /**
+   * Start a reconciliation run in the background. Only one run per instance at a time.
+   *
+   * @param autoCorrect whether discrepancies are corrected with an ADJUSTMENT movement
+   * @return the started run
+   */
+  public ReconciliationRun start(boolean autoCorrect) {
+    if (!running.compareAndSet(false, true)) {
+      throw new InvalidOperationException("A reconciliation run is already in progress");
+    }
+
+    ReconciliationRun run = reconciliationRunRepository.save(ReconciliationRun.builder()
+        .status(RunStatus.RUNNING)
+        .autoCorrect(autoCorrect)
+        .startedAt(System.currentTimeMillis())
+        .build());
+    coordinator.execute(() -> run(run));
+    return run;
+  }
+
+  @Scheduled(cron = "${application.reconciliation.cron:-}")
+  void scheduledRun() {
+    try {
+      start(properties.isAutoCorrect());
+    } catch (InvalidOperationException e) {
+      log.info("Skipping scheduled reconciliation: {}", e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  void shutdown() throws InterruptedException {
+    stopping = true;
+    coordinator.shutdown();
+    coordinator.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  private void run(ReconciliationRun run) {
+    int parallelism = Math.max(1, properties.getParallelism());
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      List<String> bounds = stockRepository.partitionBounds(parallelism * Math.max(1, properties.getPartitionsPerThread()));
+      run.setPartitions(bounds.size());
+      log.info("Reconciliation run {} started - partitions: {}, parallelism: {}, autoCorrect: {}",
+          run.getId(), bounds.size(), parallelism, run.getAutoCorrect());
+
+      List<Callable<PartitionResult>> partitions = new ArrayList<>();
+      for (int i = 0; i < bounds.size(); i++) {
+        String from = bounds.get(i);
+        String to = i + 1 < bounds.size() ? bounds.get(i + 1) : null;
+        partitions.add(() -> reconcile(run, from, to));
+      }
+
+      for (Future<PartitionResult> future : pool.invokeAll(partitions)) {
+        PartitionResult result = future.get();
+        run.setStocksChecked(run.getStocksChecked() + result.stocksChecked);
+        run.setMovementsReplayed(run.getMovementsReplayed() + result.movementsReplayed);
+        run.setDiscrepancies(run.getDiscrepancies() + result.discrepancies);
+        run.setCorrected(run.getCorrected() + result.corrected);
+      }
+
+      run.setStatus(stopping ? RunStatus.FAILED : RunStatus.COMPLETED);
+      run.setLastError(stopping ? "Interrupted by shutdown" : null);
+      log.info("Reconciliation run {} finished - stocks: {}, movements: {}, discrepancies: {}, corrected: {}",
+          run.getId(), run.getStocksChecked(), run.getMovementsReplayed(), run.getDiscrepancies(), run.getCorrected());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      run.setStatus(RunStatus.FAILED);
+      run.setLastError("Interrupted");
+    } catch (ExecutionException | RuntimeException e) {
+      Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+      log.error("Reconciliation run {} failed", run.getId(), cause);
+      run.setStatus(RunStatus.FAILED);
+      run.setLastError(cause.getMessage());
+    } finally {
+      pool.shutdownNow();
+      run.setCompletedAt(System.currentTimeMillis());
+      // Released first, so a client that sees the finished run can start the next one right away
+      running.set(false);
+      reconciliationRunRepository.save(run);
+    }
+  }
+
+  /**
+   * Reconcile the stocks of one _id range.
+   */
+  private PartitionResult reconcile(ReconciliationRun run, String fromId, String toId) throws InterruptedException {
+    PartitionResult result = new PartitionResult();
+    List<StockDiscrepancy> found = new ArrayList<>();
+    int cursorBatchSize = properties.getCursorBatchSize();
+
+    try (Stream<Stock> stocks = stockRepository.streamIdRange(fromId, toId, cursorBatchSize);
+         Stream<StockMovement> movements = stockMovementRepository.streamStockIdRange(fromId, toId, cursorBatchSize)) {
+      Iterator<StockMovement> ledger = movements.iterator();
+      StockMovement next = ledger.hasNext() ? ledger.next() : null;
+
+      for (Iterator<Stock> it = stocks.iterator(); it.hasNext() && !stopping; ) {
+        Stock stock = it.next();
+        LedgerBalance balance = new LedgerBalance();
+
+        // Both cursors are ordered by stock ID; movements of stocks that no longer exist are skipped
+        while (next != null && next.getStockId().compareTo(stock.getId()) <= 0) {
+          if (next.getStockId().equals(stock.getId())) {
+            balance.apply(next);
+          }
+          next = ledger.hasNext() ? ledger.next() : null;
+        }
+
+        result.stocksChecked++;
+        result.movementsReplayed += balance.movements();
+        if (!balance.matches(stock)) {
+          StockDiscrepancy discrepancy = recheck(run, stock.getId());
+          if (discrepancy != null) {
+            found.add(discrepancy);
+          }
+        }
+
+        if (result.stocksChecked % properties.getBatchSize() == 0) {
+          flush(found, result);
+          Thread.sleep(properties.getBatchPause().toMillis());
+        }
+      }
+    }
+
+    flush(found, result);
+    return result;
+  }
+
+  /**
+   * Compare one stock against its full history again, and correct it if enabled and settled.
+   *
+   * @return the discrepancy, or null if the stock and its ledger agree after all
+   */
+  private StockDiscrepancy recheck(ReconciliationRun run, String stockId) {
+    Stock stock = stockRepository.findById(stockId).orElse(null);
+    if (stock == null) {
+      return null;
+    }
+
+    List<StockMovement> history = stockMovementRepository.findByStockIdOrderByCreatedAtDescIdDesc(stockId);
+    LedgerBalance balance = new LedgerBalance();
+    for (int i = history.size() - 1; i >= 0; i--) {
+      balance.apply(history.get(i));
+    }
+    if (balance.matches(stock)) {
+      return null;
+    }
+
+    StockDiscrepancy discrepancy = StockDiscrepancy.builder()
+        .runId(run.getId())
+        .stockId(stock.getId())
+        .itemId(stock.getItemId())
+        .variantId(stock.getVariantId())
+        .stockQuantity(stock.getQuantity())
+        .ledgerQuantity(balance.quantity())
+        .stockReservedQuantity(stock.getReservedQuantity())
+        .ledgerReservedQuantity(balance.reservedQuantity())
+        .movementsReplayed(balance.movements())
+        .chainBreaks(balance.chainBreaks())
+        .corrected(false)
+        .detectedAt(System.currentTimeMillis())
+        .build();
+
+    long settledBefore = System.currentTimeMillis() - properties.getSettleDelay().toMillis();
+    boolean settled = stock.getUpdatedAt() == null || stock.getUpdatedAt() <= settledBefore;
+    if (Boolean.TRUE.equals(run.getAutoCorrect()) && settled) {
+      StockMovement correction = stockMovementRepository.save(correction(run, stock, balance));
+      discrepancy.setCorrected(true);
+      discrepancy.setCorrectionMovementId(correction.getId());
+    }
+
+    log.warn("Stock {} differs from its ledger - quantity: {} vs {}, reserved: {} vs {}, corrected: {}",
+        stock.getId(), stock.getQuantity(), balance.quantity(), stock.getReservedQuantity(),
+        balance.reservedQuantity(), discrepancy.getCorrected());
+    return discrepancy;
+  }
+
+  /**
+   * ADJUSTMENT movement taking the ledger from its recomputed quantities to the stock record's.
+   * Like every movement its quantity is positive, with the direction given by previous/new: the total
+   * difference, or the reserved difference when only the reserved quantity is off.
+   */
+  private StockMovement correction(ReconciliationRun run, Stock stock, LedgerBalance balance) {
+    int ledgerQuantity = balance.quantity() != null ? balance.quantity() : stock.getQuantity();
+    int quantityDelta = Math.abs(stock.getQuantity() - ledgerQuantity);
+    int reservedDelta = Math.abs(stock.getReservedQuantity() - balance.reservedQuantity());
+    String notes;
+    if (quantityDelta == 0) {
+      notes = "Reconciliation: reserved quantity realigned with the stock record";
+    } else if (reservedDelta == 0) {
+      notes = "Reconciliation: quantity realigned with the stock record";
+    } else {
+      notes = "Reconciliation: quantity and reserved quantity realigned with the stock record";
+    }
+
+    StockMovement movement = StockMovement.builder()
+        .stockId(stock.getId())
+        .movementType(StockMovement.MovementType.ADJUSTMENT)
+        .quantity(quantityDelta != 0 ? quantityDelta : reservedDelta)
+        .previousQuantity(ledgerQuantity)
+        .newQuantity(stock.getQuantity())
+        .previousReservedQuantity(balance.reservedQuantity())
+        .newReservedQuantity(stock.getReservedQuantity())
+        .referenceNumber(run.getId())
+        .notes(notes)
+        .createdBy(CORRECTED_BY)
+        .build();
+    movement.prePersist();
+    return movement;
+  }
+
+  private void flush(List<StockDiscrepancy> found, PartitionResult result) {
+    if (found.isEmpty()) {
+      return;
+    }
+    stockDiscrepancyRepository.saveAll(found);
+    result.discrepancies += found.size();
+    result.corrected += found.stream().filter(d -> Boolean.TRUE.equals(d.getCorrected())).count();
+    found.clear();
+  }
+
+  /**
+   * Counters of one partition, summed into the run by the coordinator.
+   */
+  private static final class PartitionResult {
+    long stocksChecked;
+    long movementsReplayed;
+    long discrepancies;
+    long corrected;
+  }
+}
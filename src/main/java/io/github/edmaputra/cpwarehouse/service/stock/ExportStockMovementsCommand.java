@@ -0,0 +1,21 @@
+package io.github.edmaputra.cpwarehouse.service.stock;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement.MovementType;
+
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Command to export stock movements as NDJSON (one StockMovementResponse per line).
+ * Writes directly to the given output stream and returns the number of exported movements.
+ */
+public interface ExportStockMovementsCommand extends Command<ExportStockMovementsCommand.Request, Long> {
+
+  /**
+   * Request wrapper for exporting stock movements with filters and the target stream.
+   */
+  record Request(List<String> stockIds, MovementType movementType, Long createdFrom, Long createdTo,
+                 OutputStream outputStream) {
+  }
+}
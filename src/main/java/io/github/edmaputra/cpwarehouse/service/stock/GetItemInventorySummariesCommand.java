@@ -0,0 +1,12 @@
+package io.github.edmaputra.cpwarehouse.service.stock;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemInventorySummaryResponse;
+
+import java.util.List;
+
+/**
+ * Command to get the inventory summaries of many items at once.
+ */
+public interface GetItemInventorySummariesCommand extends Command<List<String>, List<ItemInventorySummaryResponse>> {
+}
@@ -0,0 +1,10 @@
+package io.github.edmaputra.cpwarehouse.service.stock;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemInventorySummaryResponse;
+
+/**
+ * Command to get the inventory summary (totals over all stock records) of an item.
+ */
+public interface GetItemInventorySummaryCommand extends Command<String, ItemInventorySummaryResponse> {
+}
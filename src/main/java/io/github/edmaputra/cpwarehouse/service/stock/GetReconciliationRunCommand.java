@@ -0,0 +1,10 @@
+package io.github.edmaputra.cpwarehouse.service.stock;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.dto.response.ReconciliationRunResponse;
+
+/**
+ * Command to get the status of a reconciliation run by ID.
+ */
+public interface GetReconciliationRunCommand extends Command<String, ReconciliationRunResponse> {
+}
@@ -0,0 +1,16 @@
+package io.github.edmaputra.cpwarehouse.service.stock;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.dto.response.StockAsOfResponse;
+
+/**
+ * Command to get the quantities of a stock record at a point in time.
+ */
+public interface GetStockAsOfCommand extends Command<GetStockAsOfCommand.Request, StockAsOfResponse> {
+
+  /**
+   * Request wrapper for a point-in-time stock query.
+   */
+  record Request(String stockId, Long ts) {
+  }
+}
@@ -0,0 +1,19 @@
+package io.github.edmaputra.cpwarehouse.service.stock;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.dto.response.StockDiscrepancyResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Command to get the discrepancies reported by a reconciliation run with pagination.
+ */
+public interface GetStockDiscrepanciesCommand
+    extends Command<GetStockDiscrepanciesCommand.Request, Page<StockDiscrepancyResponse>> {
+
+  /**
+   * Request wrapper for getting the discrepancies of a run.
+   */
+  record Request(String runId, Pageable pageable) {
+  }
+}
@@ -6,6 +6,8 @@ import io.github.edmaputra.cpwarehouse.dto.response.StockMovementResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 /**
  * Command to get stock movement history with pagination.
  */
@@ -13,7 +15,8 @@ public interface GetStockMovementsCommand extends Command<GetStockMovementsComma
 
   /**
    * Request wrapper for getting stock movements with filters.
+   * {@code fields} optionally limits the loaded and returned properties (null for all).
    */
-  record Request(String stockId, MovementType movementType, Pageable pageable) {
+  record Request(String stockId, MovementType movementType, Pageable pageable, List<String> fields) {
   }
 }
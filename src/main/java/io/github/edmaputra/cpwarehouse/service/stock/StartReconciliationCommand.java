@@ -0,0 +1,11 @@
+package io.github.edmaputra.cpwarehouse.service.stock;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.dto.response.ReconciliationRunResponse;
+
+/**
+ * Command to start a stock-vs-ledger reconciliation run in the background.
+ * The request is whether discrepancies are auto-corrected.
+ */
+public interface StartReconciliationCommand extends Command<Boolean, ReconciliationRunResponse> {
+}
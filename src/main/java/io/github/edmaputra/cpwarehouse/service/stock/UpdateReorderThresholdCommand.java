@@ -0,0 +1,18 @@
+package io.github.edmaputra.cpwarehouse.service.stock;
+
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.dto.request.StockThresholdRequest;
+import io.github.edmaputra.cpwarehouse.dto.response.StockResponse;
+
+/**
+ * Command to set or clear the reorder threshold of a stock record.
+ */
+public interface UpdateReorderThresholdCommand
+    extends Command<UpdateReorderThresholdCommand.Request, StockResponse> {
+
+  /**
+   * Request wrapper containing stock ID and threshold data.
+   */
+  record Request(String stockId, StockThresholdRequest stockThresholdRequest) {
+  }
+}
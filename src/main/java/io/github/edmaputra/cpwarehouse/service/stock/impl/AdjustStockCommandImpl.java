@@ -3,13 +3,17 @@ package io.github.edmaputra.cpwarehouse.service.stock.impl;
 import io.github.edmaputra.cpwarehouse.common.CommonRetryable;
 import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
 import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
 import io.github.edmaputra.cpwarehouse.dto.request.StockAdjustRequest;
 import io.github.edmaputra.cpwarehouse.dto.response.StockResponse;
 import io.github.edmaputra.cpwarehouse.exception.InvalidOperationException;
 import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
 import io.github.edmaputra.cpwarehouse.mapper.StockMapper;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepositoryCustom.Delta;
 import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
 import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.github.edmaputra.cpwarehouse.service.outbox.StockOutbox;
 import io.github.edmaputra.cpwarehouse.service.stock.AdjustStockCommand;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +37,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class AdjustStockCommandImpl implements AdjustStockCommand {
 
   private final StockRepository stockRepository;
+  private final ItemInventorySummaryRepository itemInventorySummaryRepository;
+  private final StockOutbox stockOutbox;
   private final StockMovementRepository stockMovementRepository;
   private final StockMapper stockMapper;
 
@@ -44,7 +50,7 @@ public class AdjustStockCommandImpl implements AdjustStockCommand {
     RetryContext context = RetrySynchronizationManager.getContext();
     int retryCount = context != null ? context.getRetryCount() : 0;
     
-    log.info("Adjusting stock {} with type: {}, quantity: {} [Retry attempt: {}]",
+    log.debug("Adjusting stock {} with type: {}, quantity: {} [Retry attempt: {}]",
         request.stockId(), request.adjustRequest().getMovementType(), request.adjustRequest().getQuantity(), retryCount + 1);
 
     Stock stock = stockRepository.findById(request.stockId())
@@ -85,11 +91,14 @@ public class AdjustStockCommandImpl implements AdjustStockCommand {
     stock.preUpdate();
 
     Stock savedStock = stockRepository.save(stock);
+    itemInventorySummaryRepository.applyDelta(Delta.between(savedStock.getItemId(),
+        previousQuantity, savedStock.getReservedQuantity(), newQuantity, savedStock.getReservedQuantity()));
+    stockOutbox.record(savedStock, StockOutboxEvent.EventType.ADJUSTED);
 
     // Record movement
     createStockMovement(savedStock.getId(), adjustRequest, previousQuantity, newQuantity);
 
-    log.info("Stock {} adjusted successfully. Previous: {}, New: {}", request.stockId(), previousQuantity, newQuantity);
+    log.debug("Stock {} adjusted successfully. Previous: {}, New: {}", request.stockId(), previousQuantity, newQuantity);
 
     return stockMapper.toResponse(savedStock);
   }
@@ -1,13 +1,20 @@
 package io.github.edmaputra.cpwarehouse.service.stock.impl;
 
 import io.github.edmaputra.cpwarehouse.common.CommandExecutor;
+import io.github.edmaputra.cpwarehouse.domain.entity.SellableSnapshot;
 import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
 import io.github.edmaputra.cpwarehouse.dto.request.StockCreateRequest;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemDetailResponse;
 import io.github.edmaputra.cpwarehouse.dto.response.StockResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.VariantResponse;
 import io.github.edmaputra.cpwarehouse.exception.DuplicateResourceException;
 import io.github.edmaputra.cpwarehouse.mapper.StockMapper;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepositoryCustom.Delta;
 import io.github.edmaputra.cpwarehouse.repository.StockRepository;
 import io.github.edmaputra.cpwarehouse.service.item.GetItemByIdCommand;
+import io.github.edmaputra.cpwarehouse.service.outbox.StockOutbox;
 import io.github.edmaputra.cpwarehouse.service.stock.CreateStockCommand;
 import io.github.edmaputra.cpwarehouse.service.variant.GetVariantByIdCommand;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +23,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.math.BigDecimal;
+
 /**
  * Implementation of CreateStockCommand.
  * Creates or initializes a stock record for an item or variant.
@@ -26,20 +35,23 @@ import org.springframework.util.StringUtils;
 public class CreateStockCommandImpl implements CreateStockCommand {
 
   private final StockRepository stockRepository;
+  private final ItemInventorySummaryRepository itemInventorySummaryRepository;
+  private final StockOutbox stockOutbox;
   private final CommandExecutor commandExecutor;
   private final StockMapper stockMapper;
 
   @Override
   @Transactional
   public StockResponse execute(StockCreateRequest request) {
-    log.info("Creating stock for itemId: {}, variantId: {}", request.getItemId(), request.getVariantId());
+    log.debug("Creating stock for itemId: {}, variantId: {}", request.getItemId(), request.getVariantId());
 
     // Validate item exists using CommandExecutor
-    commandExecutor.execute(GetItemByIdCommand.class, request.getItemId());
+    ItemDetailResponse item = commandExecutor.execute(GetItemByIdCommand.class, request.getItemId());
 
     // Validate variant exists if provided
+    VariantResponse variant = null;
     if (StringUtils.hasText(request.getVariantId())) {
-      commandExecutor.execute(GetVariantByIdCommand.class, request.getVariantId());
+      variant = commandExecutor.execute(GetVariantByIdCommand.class, request.getVariantId());
     }
 
     // Check for duplicate stock record
@@ -52,10 +64,18 @@ public class CreateStockCommandImpl implements CreateStockCommand {
 
     // Map and save
     Stock stock = stockMapper.toEntity(request);
+    stock.setSellable(SellableSnapshot.builder()
+        .basePrice(item.getBasePrice())
+        .priceAdjustment(variant != null ? variant.getPriceAdjustment() : BigDecimal.ZERO)
+        .itemActive(item.getIsActive())
+        .variantActive(variant == null || variant.getIsActive())
+        .build());
     stock.prePersist();
 
     Stock savedStock = stockRepository.save(stock);
-    log.info("Stock created successfully with ID: {}", savedStock.getId());
+    itemInventorySummaryRepository.applyDelta(Delta.created(savedStock));
+    stockOutbox.record(savedStock, StockOutboxEvent.EventType.CREATED);
+    log.debug("Stock created successfully with ID: {}", savedStock.getId());
 
     return stockMapper.toResponse(savedStock);
   }
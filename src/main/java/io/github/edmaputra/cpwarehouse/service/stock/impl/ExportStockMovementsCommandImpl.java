@@ -0,0 +1,77 @@
+package io.github.edmaputra.cpwarehouse.service.stock.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.dto.response.StockMovementResponse;
+import io.github.edmaputra.cpwarehouse.mapper.StockMapper;
+import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
+import io.github.edmaputra.cpwarehouse.service.stock.ExportStockMovementsCommand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of ExportStockMovementsCommand.
+ * Streams movements from a Mongo cursor straight into the response stream, one JSON line at a time.
+ * Nothing is buffered beyond the cursor batch: when the client reads slowly the servlet stream blocks,
+ * the cursor is not advanced and no further batches are fetched.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportStockMovementsCommandImpl implements ExportStockMovementsCommand {
+
+  private static final int FLUSH_INTERVAL = 500;
+
+  private final StockMovementRepository stockMovementRepository;
+  private final StockMapper stockMapper;
+  private final ObjectMapper objectMapper;
+
+  @Override
+  @Transactional(readOnly = true)
+  public Long execute(Request request) {
+    log.debug("Exporting stock movements - stockIds: {}, movementType: {}, createdFrom: {}, createdTo: {}",
+        request.stockIds(), request.movementType(), request.createdFrom(), request.createdTo());
+
+    long count = 0;
+
+    try (Stream<StockMovement> movements = stockMovementRepository.streamWithFilters(
+        request.stockIds(), request.movementType(), request.createdFrom(), request.createdTo());
+         JsonGenerator generator = objectMapper.getFactory().createGenerator(request.outputStream())) {
+
+      // The servlet container owns the response stream; lines are separated explicitly below
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+
+      // Flush in batches of FLUSH_INTERVAL rows instead of after every value
+      ObjectWriter writer = objectMapper.writerFor(StockMovementResponse.class)
+          .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+      Iterator<StockMovement> iterator = movements.iterator();
+      while (iterator.hasNext()) {
+        writer.writeValue(generator, stockMapper.toMovementResponse(iterator.next()));
+        generator.writeRaw('\n');
+
+        if (++count % FLUSH_INTERVAL == 0) {
+          generator.flush();
+        }
+      }
+      generator.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write stock movement export after " + count + " rows", e);
+    }
+
+    log.debug("Exported {} stock movement(s)", count);
+
+    return count;
+  }
+}
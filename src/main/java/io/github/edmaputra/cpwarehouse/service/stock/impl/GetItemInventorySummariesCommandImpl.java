@@ -0,0 +1,55 @@
+package io.github.edmaputra.cpwarehouse.service.stock.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemInventorySummary;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemInventorySummaryResponse;
+import io.github.edmaputra.cpwarehouse.exception.InvalidOperationException;
+import io.github.edmaputra.cpwarehouse.mapper.StockMapper;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepository;
+import io.github.edmaputra.cpwarehouse.service.stock.GetItemInventorySummariesCommand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of GetItemInventorySummariesCommand.
+ * Loads all requested summaries with one $in query and returns them in request order.
+ * Items without a summary get an all-zero summary.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GetItemInventorySummariesCommandImpl implements GetItemInventorySummariesCommand {
+
+  private static final int MAX_ITEMS = 500;
+
+  private final ItemInventorySummaryRepository itemInventorySummaryRepository;
+  private final StockMapper stockMapper;
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<ItemInventorySummaryResponse> execute(List<String> itemIds) {
+    LinkedHashSet<String> ids = new LinkedHashSet<>(itemIds);
+
+    log.debug("Getting inventory summaries for {} items", ids.size());
+
+    if (ids.size() > MAX_ITEMS) {
+      throw new InvalidOperationException(
+          String.format("Cannot fetch more than %d item summaries at once. Requested: %d", MAX_ITEMS, ids.size()));
+    }
+
+    Map<String, ItemInventorySummary> summaries = itemInventorySummaryRepository.findAllById(ids).stream()
+        .collect(Collectors.toMap(ItemInventorySummary::getItemId, Function.identity()));
+
+    return ids.stream()
+        .map(id -> summaries.getOrDefault(id, ItemInventorySummary.builder().itemId(id).build()))
+        .map(stockMapper::toSummaryResponse)
+        .toList();
+  }
+}
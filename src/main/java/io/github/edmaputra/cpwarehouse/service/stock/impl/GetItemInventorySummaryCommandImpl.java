@@ -0,0 +1,44 @@
+package io.github.edmaputra.cpwarehouse.service.stock.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemInventorySummary;
+import io.github.edmaputra.cpwarehouse.dto.response.ItemInventorySummaryResponse;
+import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
+import io.github.edmaputra.cpwarehouse.mapper.StockMapper;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
+import io.github.edmaputra.cpwarehouse.service.stock.GetItemInventorySummaryCommand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of GetItemInventorySummaryCommand.
+ * Reads the materialized summary; an item without stock gets an all-zero summary.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GetItemInventorySummaryCommandImpl implements GetItemInventorySummaryCommand {
+
+  private final ItemInventorySummaryRepository itemInventorySummaryRepository;
+  private final ItemRepository itemRepository;
+  private final StockMapper stockMapper;
+
+  @Override
+  @Transactional(readOnly = true)
+  public ItemInventorySummaryResponse execute(String itemId) {
+    log.debug("Getting inventory summary for item: {}", itemId);
+
+    ItemInventorySummary summary = itemInventorySummaryRepository.findById(itemId)
+        .orElseGet(() -> {
+          // No summary means no stock was ever recorded; only the item itself needs checking
+          if (!itemRepository.existsById(itemId)) {
+            throw new ResourceNotFoundException("Item", "id", itemId);
+          }
+          return ItemInventorySummary.builder().itemId(itemId).build();
+        });
+
+    return stockMapper.toSummaryResponse(summary);
+  }
+}
@@ -0,0 +1,33 @@
+package io.github.edmaputra.cpwarehouse.service.stock.impl;
+
+import io.github.edmaputra.cpwarehouse.dto.response.ReconciliationRunResponse;
+import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
+import io.github.edmaputra.cpwarehouse.mapper.StockMapper;
+import io.github.edmaputra.cpwarehouse.repository.ReconciliationRunRepository;
+import io.github.edmaputra.cpwarehouse.service.stock.GetReconciliationRunCommand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of GetReconciliationRunCommand.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GetReconciliationRunCommandImpl implements GetReconciliationRunCommand {
+
+  private final ReconciliationRunRepository reconciliationRunRepository;
+  private final StockMapper stockMapper;
+
+  @Override
+  @Transactional(readOnly = true)
+  public ReconciliationRunResponse execute(String runId) {
+    log.debug("Getting reconciliation run: {}", runId);
+
+    return reconciliationRunRepository.findById(runId)
+        .map(stockMapper::toRunResponse)
+        .orElseThrow(() -> new ResourceNotFoundException("ReconciliationRun", "id", runId));
+  }
+}
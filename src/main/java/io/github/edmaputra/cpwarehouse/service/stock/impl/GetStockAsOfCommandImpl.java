@@ -0,0 +1,61 @@
+package io.github.edmaputra.cpwarehouse.service.stock.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.dto.response.StockAsOfResponse;
+import io.github.edmaputra.cpwarehouse.exception.InvalidOperationException;
+import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.github.edmaputra.cpwarehouse.service.checkpoint.StockCheckpointer;
+import io.github.edmaputra.cpwarehouse.service.checkpoint.StockCheckpointer.StockState;
+import io.github.edmaputra.cpwarehouse.service.stock.GetStockAsOfCommand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of GetStockAsOfCommand.
+ * Replays the movements between the nearest checkpoint and the requested time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GetStockAsOfCommandImpl implements GetStockAsOfCommand {
+
+  private final StockRepository stockRepository;
+  private final StockCheckpointer stockCheckpointer;
+
+  @Override
+  @Transactional(readOnly = true)
+  public StockAsOfResponse execute(Request request) {
+    log.debug("Getting stock {} as of {}", request.stockId(), request.ts());
+
+    Stock stock = stockRepository.findById(request.stockId())
+        .orElseThrow(() -> new ResourceNotFoundException("Stock", "id", request.stockId()));
+
+    if (stock.getCreatedAt() != null && request.ts() < stock.getCreatedAt()) {
+      throw new InvalidOperationException(
+          String.format("Stock %s did not exist at %d; it was created at %d",
+              stock.getId(), request.ts(), stock.getCreatedAt()));
+    }
+
+    StockState state = stockCheckpointer.stateAt(stock, request.ts());
+
+    log.debug("Stock {} as of {}: quantity {}, reserved {} ({} movements replayed from checkpoint {})",
+        stock.getId(), request.ts(), state.quantity(), state.reservedQuantity(),
+        state.replayedMovements(), state.baseAsOf());
+
+    return StockAsOfResponse.builder()
+        .stockId(stock.getId())
+        .itemId(stock.getItemId())
+        .variantId(stock.getVariantId())
+        .warehouseLocation(stock.getWarehouseLocation())
+        .asOf(request.ts())
+        .quantity(state.quantity())
+        .reservedQuantity(state.reservedQuantity())
+        .availableQuantity(state.quantity() - state.reservedQuantity())
+        .checkpointAsOf(state.baseAsOf())
+        .replayedMovements(state.replayedMovements())
+        .build();
+  }
+}
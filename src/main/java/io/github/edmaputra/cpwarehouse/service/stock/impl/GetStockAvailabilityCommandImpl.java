@@ -26,14 +26,14 @@ public class GetStockAvailabilityCommandImpl implements GetStockAvailabilityComm
   @Override
   @Transactional(readOnly = true)
   public StockAvailabilityResponse execute(String stockId) {
-    log.info("Checking stock availability for stock: {}", stockId);
+    log.debug("Checking stock availability for stock: {}", stockId);
 
     Stock stock = stockRepository.findById(stockId)
         .orElseThrow(() -> new ResourceNotFoundException("Stock", "id", stockId));
 
     StockAvailabilityResponse response = stockMapper.toAvailabilityResponse(stock);
 
-    log.info("Stock {} availability: {}, Available quantity: {}",
+    log.debug("Stock {} availability: {}, Available quantity: {}",
         stockId, response.getIsAvailable(), response.getAvailableQuantity());
 
     return response;
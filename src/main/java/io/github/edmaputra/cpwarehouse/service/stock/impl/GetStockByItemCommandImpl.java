@@ -28,11 +28,11 @@ public class GetStockByItemCommandImpl implements GetStockByItemCommand {
   @Override
   @Transactional(readOnly = true)
   public List<StockResponse> execute(String itemId) {
-    log.info("Getting stock for item: {}", itemId);
+    log.debug("Getting stock for item: {}", itemId);
 
     List<Stock> stocks = stockRepository.findByItemId(itemId);
 
-    log.info("Found {} stock record(s) for item: {}", stocks.size(), itemId);
+    log.debug("Found {} stock record(s) for item: {}", stocks.size(), itemId);
 
     return stocks.stream()
         .map(stockMapper::toResponse)
@@ -26,12 +26,12 @@ public class GetStockByVariantCommandImpl implements GetStockByVariantCommand {
   @Override
   @Transactional(readOnly = true)
   public StockResponse execute(String variantId) {
-    log.info("Getting stock for variant: {}", variantId);
+    log.debug("Getting stock for variant: {}", variantId);
 
     Stock stock = stockRepository.findByVariantId(variantId)
         .orElseThrow(() -> new ResourceNotFoundException("Stock", "variantId", variantId));
 
-    log.info("Stock found for variant: {}", variantId);
+    log.debug("Stock found for variant: {}", variantId);
 
     return stockMapper.toResponse(stock);
   }
@@ -0,0 +1,42 @@
+package io.github.edmaputra.cpwarehouse.service.stock.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.StockDiscrepancy;
+import io.github.edmaputra.cpwarehouse.dto.response.StockDiscrepancyResponse;
+import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
+import io.github.edmaputra.cpwarehouse.mapper.StockMapper;
+import io.github.edmaputra.cpwarehouse.repository.ReconciliationRunRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockDiscrepancyRepository;
+import io.github.edmaputra.cpwarehouse.service.stock.GetStockDiscrepanciesCommand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of GetStockDiscrepanciesCommand.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GetStockDiscrepanciesCommandImpl implements GetStockDiscrepanciesCommand {
+
+  private final ReconciliationRunRepository reconciliationRunRepository;
+  private final StockDiscrepancyRepository stockDiscrepancyRepository;
+  private final StockMapper stockMapper;
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<StockDiscrepancyResponse> execute(Request request) {
+    log.debug("Getting discrepancies of reconciliation run: {}, page: {}",
+        request.runId(), request.pageable().getPageNumber());
+
+    if (!reconciliationRunRepository.existsById(request.runId())) {
+      throw new ResourceNotFoundException("ReconciliationRun", "id", request.runId());
+    }
+
+    Page<StockDiscrepancy> discrepancies =
+        stockDiscrepancyRepository.findByRunId(request.runId(), request.pageable());
+    return discrepancies.map(stockMapper::toDiscrepancyResponse);
+  }
+}
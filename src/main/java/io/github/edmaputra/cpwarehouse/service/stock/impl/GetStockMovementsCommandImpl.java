@@ -1,5 +1,6 @@
 package io.github.edmaputra.cpwarehouse.service.stock.impl;
 
+import io.github.edmaputra.cpwarehouse.common.FieldSelection;
 import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
 import io.github.edmaputra.cpwarehouse.dto.response.StockMovementResponse;
 import io.github.edmaputra.cpwarehouse.mapper.StockMapper;
@@ -11,6 +12,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Set;
+
 /**
  * Implementation of GetStockMovementsCommand.
  * Retrieves stock movement history with optional filtering by movement type.
@@ -26,27 +29,19 @@ public class GetStockMovementsCommandImpl implements GetStockMovementsCommand {
   @Override
   @Transactional(readOnly = true)
   public Page<StockMovementResponse> execute(Request request) {
-    log.info("Getting stock movements for stock: {}, movementType: {}, page: {}",
+    log.debug("Getting stock movements for stock: {}, movementType: {}, page: {}",
         request.stockId(), request.movementType(), request.pageable().getPageNumber());
 
-    Page<StockMovement> movements;
-
-    if (request.movementType() != null) {
-      // Filter by movement type
-      movements = stockMovementRepository.findByStockIdAndMovementType(
-          request.stockId(),
-          request.movementType(),
-          request.pageable()
-      );
-    } else {
-      // Get all movements for stock
-      movements = stockMovementRepository.findByStockId(
-          request.stockId(),
-          request.pageable()
-      );
-    }
-
-    log.info("Found {} stock movement(s) for stock: {}",
+    // Optional movement type filter and field projection
+    Set<String> fields = FieldSelection.resolve(request.fields(), StockMovementResponse.class, StockMovement.class);
+    Page<StockMovement> movements = stockMovementRepository.findPageByStockId(
+        request.stockId(),
+        request.movementType(),
+        request.pageable(),
+        fields
+    );
+
+    log.debug("Found {} stock movement(s) for stock: {}",
         movements.getTotalElements(), request.stockId());
 
     return movements.map(stockMapper::toMovementResponse);
@@ -3,16 +3,23 @@ package io.github.edmaputra.cpwarehouse.service.stock.impl;
 import io.github.edmaputra.cpwarehouse.common.CommonRetryable;
 import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
 import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockReservation;
 import io.github.edmaputra.cpwarehouse.dto.request.StockReleaseRequest;
 import io.github.edmaputra.cpwarehouse.dto.response.StockResponse;
 import io.github.edmaputra.cpwarehouse.exception.InvalidOperationException;
 import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
 import io.github.edmaputra.cpwarehouse.mapper.StockMapper;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepositoryCustom.Delta;
 import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
 import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockReservationRepository;
+import io.github.edmaputra.cpwarehouse.service.outbox.StockOutbox;
 import io.github.edmaputra.cpwarehouse.service.stock.ReleaseStockCommand;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.retry.RetryContext;
 import org.springframework.retry.annotation.Backoff;
@@ -32,7 +39,10 @@ import org.springframework.transaction.annotation.Transactional;
 public class ReleaseStockCommandImpl implements ReleaseStockCommand {
 
   private final StockRepository stockRepository;
+  private final ItemInventorySummaryRepository itemInventorySummaryRepository;
+  private final StockOutbox stockOutbox;
   private final StockMovementRepository stockMovementRepository;
+  private final StockReservationRepository stockReservationRepository;
   private final StockMapper stockMapper;
 
   @Override
@@ -43,7 +53,7 @@ public class ReleaseStockCommandImpl implements ReleaseStockCommand {
     RetryContext context = RetrySynchronizationManager.getContext();
     int retryCount = context != null ? context.getRetryCount() : 0;
     
-    log.info("Processing release for stock {} [Retry attempt: {}]",
+    log.debug("Processing release for stock {} [Retry attempt: {}]",
         request.stockId(), retryCount + 1);
     
     Stock stock = stockRepository.findById(request.stockId())
@@ -56,7 +66,7 @@ public class ReleaseStockCommandImpl implements ReleaseStockCommand {
     // Determine release quantity: reference-based or quantity-based
     if (releaseRequest.getReservationId() != null) {
       // Reference-based mode: fetch reservation and validate
-      log.info("Releasing stock {} via reservation reference: {}",
+      log.debug("Releasing stock {} via reservation reference: {}",
           request.stockId(), releaseRequest.getReservationId());
 
       relatedReservation = stockMovementRepository.findById(releaseRequest.getReservationId())
@@ -77,18 +87,19 @@ public class ReleaseStockCommandImpl implements ReleaseStockCommand {
       }
 
       // Validate not already released
-      if (relatedReservation.isReleased()) {
+      StockReservation released = stockReservationRepository.findById(relatedReservation.getId()).orElse(null);
+      if (released != null) {
         throw new InvalidOperationException(
             String.format("Reservation %s has already been released at %s",
-                releaseRequest.getReservationId(), relatedReservation.getReleasedAt()));
+                releaseRequest.getReservationId(), released.getReleasedAt()));
       }
 
       releaseQuantity = relatedReservation.getQuantity();
-      log.info("Using quantity from reservation: {}", releaseQuantity);
+      log.debug("Using quantity from reservation: {}", releaseQuantity);
 
     } else if (releaseRequest.getQuantity() != null) {
       // Quantity-based mode: manual quantity input
-      log.info("Releasing stock {} with type: {}, quantity: {}",
+      log.debug("Releasing stock {} with type: {}, quantity: {}",
           request.stockId(), releaseRequest.getMovementType(), releaseRequest.getQuantity());
 
       releaseQuantity = releaseRequest.getQuantity();
@@ -135,6 +146,11 @@ public class ReleaseStockCommandImpl implements ReleaseStockCommand {
 
     stock.preUpdate();
     Stock savedStock = stockRepository.save(stock);
+    itemInventorySummaryRepository.applyDelta(Delta.between(savedStock.getItemId(),
+        previousQuantity, previousReserved, savedStock.getQuantity(), savedStock.getReservedQuantity()));
+    stockOutbox.record(savedStock, releaseRequest.getMovementType() == StockMovement.MovementType.OUT
+        ? StockOutboxEvent.EventType.COMMITTED
+        : StockOutboxEvent.EventType.RELEASED);
 
     // Record movement with linkage to original reservation (if reference-based)
     StockMovement releaseMovement = createStockMovement(
@@ -146,15 +162,23 @@ public class ReleaseStockCommandImpl implements ReleaseStockCommand {
         relatedReservation != null ? relatedReservation.getId() : null
     );
 
-    // Mark original reservation as released (if reference-based)
-    if (relatedReservation != null) {
-      relatedReservation.setReleasedAt(System.currentTimeMillis());
-      relatedReservation.setReleaseMovementId(releaseMovement.getId());
-      stockMovementRepository.save(relatedReservation);
-      log.info("Marked reservation {} as released", relatedReservation.getId());
+    if (releaseRequest.getMovementType() == StockMovement.MovementType.OUT) {
+      // OUT consumes reserved units too; record them so the movement can be replayed
+      releaseMovement.setPreviousReservedQuantity(previousReserved);
+      releaseMovement.setNewReservedQuantity(savedStock.getReservedQuantity());
     }
 
-    log.info("Stock {} released successfully. Movement type: {}, Quantity: {}, New reserved: {}",
+    if (relatedReservation == null) {
+      stockMovementRepository.save(releaseMovement);
+    } else if (stockMovementRepository.settleReservation(releaseMovement, relatedReservation.getId())) {
+      log.debug("Marked reservation {} as released", relatedReservation.getId());
+    } else {
+      // Another release claimed the reservation first; the retry reports it as already released
+      throw new OptimisticLockingFailureException(
+          String.format("Reservation %s was released concurrently", relatedReservation.getId()));
+    }
+
+    log.debug("Stock {} released successfully. Movement type: {}, Quantity: {}, New reserved: {}",
         request.stockId(), releaseRequest.getMovementType(), releaseQuantity, savedStock.getReservedQuantity());
 
     return stockMapper.toResponse(savedStock);
@@ -164,6 +188,7 @@ public class ReleaseStockCommandImpl implements ReleaseStockCommand {
                                             int previousQuantity, int newQuantity,
                                             int releaseQuantity, String relatedReservationId) {
     StockMovement movement = StockMovement.builder()
+        .id(new ObjectId().toHexString())
         .stockId(stockId)
         .movementType(request.getMovementType())
         .quantity(releaseQuantity)
@@ -175,6 +200,6 @@ public class ReleaseStockCommandImpl implements ReleaseStockCommand {
         .build();
     movement.prePersist();
 
-    return stockMovementRepository.save(movement);
+    return movement;
   }
 }
@@ -3,14 +3,18 @@ package io.github.edmaputra.cpwarehouse.service.stock.impl;
 import io.github.edmaputra.cpwarehouse.common.CommonRetryable;
 import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
 import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
 import io.github.edmaputra.cpwarehouse.dto.request.StockReserveRequest;
 import io.github.edmaputra.cpwarehouse.dto.response.StockResponse;
 import io.github.edmaputra.cpwarehouse.exception.InsufficientStockException;
 import io.github.edmaputra.cpwarehouse.exception.InvalidOperationException;
 import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
 import io.github.edmaputra.cpwarehouse.mapper.StockMapper;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemInventorySummaryRepositoryCustom.Delta;
 import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
 import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.github.edmaputra.cpwarehouse.service.outbox.StockOutbox;
 import io.github.edmaputra.cpwarehouse.service.stock.ReserveStockCommand;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +36,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class ReserveStockCommandImpl implements ReserveStockCommand {
 
   private final StockRepository stockRepository;
+  private final ItemInventorySummaryRepository itemInventorySummaryRepository;
+  private final StockOutbox stockOutbox;
   private final StockMovementRepository stockMovementRepository;
   private final StockMapper stockMapper;
 
@@ -43,7 +49,7 @@ public class ReserveStockCommandImpl implements ReserveStockCommand {
     RetryContext context = RetrySynchronizationManager.getContext();
     int retryCount = context != null ? context.getRetryCount() : 0;
     
-    log.info("Reserving stock {} quantity: {} [Retry attempt: {}]",
+    log.debug("Reserving stock {} quantity: {} [Retry attempt: {}]",
         request.stockId(), request.reserveRequest().getQuantity(), retryCount + 1);
 
     Stock stock = stockRepository.findById(request.stockId())
@@ -63,11 +69,14 @@ public class ReserveStockCommandImpl implements ReserveStockCommand {
     stock.preUpdate();
 
     Stock savedStock = stockRepository.save(stock);
+    itemInventorySummaryRepository.applyDelta(Delta.between(savedStock.getItemId(),
+        savedStock.getQuantity(), previousReserved, savedStock.getQuantity(), savedStock.getReservedQuantity()));
+    stockOutbox.record(savedStock, StockOutboxEvent.EventType.RESERVED);
 
     // Record movement - track reserved quantity change (before → after)
     createStockMovement(savedStock, reserveRequest, previousReserved, savedStock.getReservedQuantity());
 
-    log.info("Stock {} reserved successfully. Reserved quantity: {}",
+    log.debug("Stock {} reserved successfully. Reserved quantity: {}",
         request.stockId(), savedStock.getReservedQuantity());
 
     return stockMapper.toResponse(savedStock);
@@ -0,0 +1,29 @@
+package io.github.edmaputra.cpwarehouse.service.stock.impl;
+
+import io.github.edmaputra.cpwarehouse.dto.response.ReconciliationRunResponse;
+import io.github.edmaputra.cpwarehouse.mapper.StockMapper;
+import io.github.edmaputra.cpwarehouse.service.reconciliation.StockReconciler;
+import io.github.edmaputra.cpwarehouse.service.stock.StartReconciliationCommand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of StartReconciliationCommand.
+ * Hands the run to the reconciler, which rejects it if another run is in progress.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StartReconciliationCommandImpl implements StartReconciliationCommand {
+
+  private final StockReconciler stockReconciler;
+  private final StockMapper stockMapper;
+
+  @Override
+  public ReconciliationRunResponse execute(Boolean autoCorrect) {
+    log.info("Starting stock reconciliation - autoCorrect: {}", autoCorrect);
+
+    return stockMapper.toRunResponse(stockReconciler.start(Boolean.TRUE.equals(autoCorrect)));
+  }
+}
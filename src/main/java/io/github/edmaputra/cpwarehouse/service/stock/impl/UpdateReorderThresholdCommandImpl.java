@@ -0,0 +1,47 @@
+package io.github.edmaputra.cpwarehouse.service.stock.impl;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
+import io.github.edmaputra.cpwarehouse.dto.response.StockResponse;
+import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
+import io.github.edmaputra.cpwarehouse.mapper.StockMapper;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.github.edmaputra.cpwarehouse.service.outbox.StockOutbox;
+import io.github.edmaputra.cpwarehouse.service.stock.UpdateReorderThresholdCommand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of UpdateReorderThresholdCommand.
+ * Updates only the threshold field, so it never races with concurrent quantity updates;
+ * the stock alert watcher picks the change up from the change stream.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UpdateReorderThresholdCommandImpl implements UpdateReorderThresholdCommand {
+
+  private final StockRepository stockRepository;
+  private final StockOutbox stockOutbox;
+  private final StockMapper stockMapper;
+
+  @Override
+  @Transactional
+  public StockResponse execute(Request request) {
+    Integer threshold = request.stockThresholdRequest().getReorderThreshold();
+
+    log.debug("Updating reorder threshold for stock: {} to {}", request.stockId(), threshold);
+
+    Stock stock = stockRepository.updateReorderThreshold(request.stockId(), threshold);
+    if (stock == null) {
+      throw new ResourceNotFoundException("Stock", "id", request.stockId());
+    }
+    stockOutbox.record(stock, StockOutboxEvent.EventType.THRESHOLD_CHANGED);
+
+    log.debug("Reorder threshold updated for stock: {}", stock.getId());
+
+    return stockMapper.toResponse(stock);
+  }
+}
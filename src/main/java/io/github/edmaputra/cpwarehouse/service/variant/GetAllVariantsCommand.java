@@ -5,6 +5,8 @@ import io.github.edmaputra.cpwarehouse.dto.response.VariantResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 /**
  * Command to get all variants with optional filtering.
  */
@@ -17,7 +19,8 @@ public interface GetAllVariantsCommand extends Command<GetAllVariantsCommand.Req
    * @param itemId   optional filter by item ID
    * @param isActive optional filter by active status
    * @param search   optional search term for variant SKU or name
+   * @param fields   optional properties to load and return (null for all)
    */
-  record Request(Pageable pageable, String itemId, Boolean isActive, String search) {
+  record Request(Pageable pageable, String itemId, Boolean isActive, String search, List<String> fields) {
   }
 }
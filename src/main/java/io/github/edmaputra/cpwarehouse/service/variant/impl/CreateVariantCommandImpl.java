@@ -11,6 +11,7 @@ import io.github.edmaputra.cpwarehouse.mapper.VariantMapper;
 import io.github.edmaputra.cpwarehouse.repository.VariantRepository;
 import io.github.edmaputra.cpwarehouse.service.item.GetItemByIdCommand;
 import io.github.edmaputra.cpwarehouse.service.variant.CreateVariantCommand;
+import io.github.edmaputra.cpwarehouse.service.view.ItemViewProjector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -29,6 +30,7 @@ import java.math.BigDecimal;
 public class CreateVariantCommandImpl implements CreateVariantCommand {
 
   private final VariantRepository variantRepository;
+  private final ItemViewProjector itemViewProjector;
   private final CommandExecutor commandExecutor;
   private final VariantMapper variantMapper;
 
@@ -69,6 +71,7 @@ public class CreateVariantCommandImpl implements CreateVariantCommand {
 
     // Save and return
     Variant savedVariant = variantRepository.save(variant);
+    itemViewProjector.markStale(savedVariant.getItemId());
     log.info("Variant created successfully with ID: {} and SKU: {}", savedVariant.getId(),
         savedVariant.getVariantSku());
 
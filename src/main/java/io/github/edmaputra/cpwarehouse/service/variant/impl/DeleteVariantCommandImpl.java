@@ -2,8 +2,10 @@ package io.github.edmaputra.cpwarehouse.service.variant.impl;
 
 import io.github.edmaputra.cpwarehouse.domain.entity.Variant;
 import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
 import io.github.edmaputra.cpwarehouse.repository.VariantRepository;
 import io.github.edmaputra.cpwarehouse.service.variant.DeleteVariantCommand;
+import io.github.edmaputra.cpwarehouse.service.view.ItemViewProjector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,6 +21,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class DeleteVariantCommandImpl implements DeleteVariantCommand {
 
   private final VariantRepository variantRepository;
+  private final StockRepository stockRepository;
+  private final ItemViewProjector itemViewProjector;
 
   @Override
   @Transactional
@@ -32,6 +36,10 @@ public class DeleteVariantCommandImpl implements DeleteVariantCommand {
     variant.preUpdate();
 
     variantRepository.save(variant);
+    itemViewProjector.markStale(variant.getItemId());
+
+    // Stop checkout on the variant's stock
+    stockRepository.updateVariantSellable(id, variant.getPriceAdjustment(), false);
     log.info("Variant soft deleted successfully: {}", id);
 
     return null;
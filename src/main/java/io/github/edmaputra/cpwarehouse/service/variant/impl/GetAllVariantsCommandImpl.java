@@ -1,5 +1,6 @@
 package io.github.edmaputra.cpwarehouse.service.variant.impl;
 
+import io.github.edmaputra.cpwarehouse.common.FieldSelection;
 import io.github.edmaputra.cpwarehouse.domain.entity.Variant;
 import io.github.edmaputra.cpwarehouse.dto.response.VariantResponse;
 import io.github.edmaputra.cpwarehouse.mapper.VariantMapper;
@@ -11,6 +12,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Set;
+
 /**
  * Implementation of GetAllVariantsCommand.
  * Use case: Get all variants with optional filtering by item ID, active status, and search term.
@@ -30,8 +33,9 @@ public class GetAllVariantsCommandImpl implements GetAllVariantsCommand {
         request.pageable().getPageNumber(), request.pageable().getPageSize(),
         request.itemId(), request.isActive(), request.search());
 
+    Set<String> fields = FieldSelection.resolve(request.fields(), VariantResponse.class, Variant.class);
     Page<Variant> variantsPage = variantRepository.findAllWithFilters(
-        request.itemId(), request.isActive(), request.search(), request.pageable());
+        request.itemId(), request.isActive(), request.search(), request.pageable(), fields);
 
     log.info("Found {} variants out of {} total",
         variantsPage.getNumberOfElements(), variantsPage.getTotalElements());
@@ -2,8 +2,10 @@ package io.github.edmaputra.cpwarehouse.service.variant.impl;
 
 import io.github.edmaputra.cpwarehouse.domain.entity.Variant;
 import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
 import io.github.edmaputra.cpwarehouse.repository.VariantRepository;
 import io.github.edmaputra.cpwarehouse.service.variant.HardDeleteVariantCommand;
+import io.github.edmaputra.cpwarehouse.service.view.ItemViewProjector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -20,6 +22,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class HardDeleteVariantCommandImpl implements HardDeleteVariantCommand {
 
   private final VariantRepository variantRepository;
+  private final StockRepository stockRepository;
+  private final ItemViewProjector itemViewProjector;
 
   @Override
   @Transactional
@@ -29,7 +33,10 @@ public class HardDeleteVariantCommandImpl implements HardDeleteVariantCommand {
     Variant variant = variantRepository.findById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Variant", "id", id));
 
+    // Stop checkout on the variant's stock before the variant is gone
+    stockRepository.updateVariantSellable(id, variant.getPriceAdjustment(), false);
     variantRepository.delete(variant);
+    itemViewProjector.markStale(variant.getItemId());
     log.warn("Variant permanently deleted: {}", id);
 
     return null;
@@ -8,10 +8,11 @@ import io.github.edmaputra.cpwarehouse.dto.response.VariantResponse;
 import io.github.edmaputra.cpwarehouse.exception.InvalidOperationException;
 import io.github.edmaputra.cpwarehouse.exception.ResourceNotFoundException;
 import io.github.edmaputra.cpwarehouse.mapper.VariantMapper;
-import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
 import io.github.edmaputra.cpwarehouse.repository.VariantRepository;
 import io.github.edmaputra.cpwarehouse.service.item.GetItemByIdCommand;
 import io.github.edmaputra.cpwarehouse.service.variant.UpdateVariantCommand;
+import io.github.edmaputra.cpwarehouse.service.view.ItemViewProjector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -29,6 +30,8 @@ import java.math.BigDecimal;
 public class UpdateVariantCommandImpl implements UpdateVariantCommand {
 
   private final VariantRepository variantRepository;
+  private final StockRepository stockRepository;
+  private final ItemViewProjector itemViewProjector;
   private final VariantMapper variantMapper;
   private final CommandExecutor commandExecutor;
 
@@ -51,6 +54,11 @@ public class UpdateVariantCommandImpl implements UpdateVariantCommand {
 
     // Save and return
     Variant updatedVariant = variantRepository.save(variant);
+    itemViewProjector.markStale(updatedVariant.getItemId());
+
+    // Keep the sellable snapshot on the variant's stock current
+    stockRepository.updateVariantSellable(updatedVariant.getId(), updatedVariant.getPriceAdjustment(),
+        updatedVariant.getIsActive());
     log.info("Variant updated successfully: {}", updatedVariant.getId());
 
     VariantResponse response = variantMapper.toResponse(updatedVariant);
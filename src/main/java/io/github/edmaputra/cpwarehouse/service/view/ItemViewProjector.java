@@ -0,0 +1,233 @@
+package io.github.edmaputra.cpwarehouse.service.view;
+
+import io.github.edmaputra.cpwarehouse.config.ItemViewProperties;
+import io.github.edmaputra.cpwarehouse.domain.entity.Item;
+import io.github.edmaputra.cpwarehouse.domain.entity.ItemView;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.Variant;
+import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemViewRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.github.edmaputra.cpwarehouse.repository.VariantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the item_views read model.
+ *
+ * <p>Write commands only mark an item stale, which is a set insert; a scheduled run rebuilds all
+ * stale items in batches from the write collections (one $in query each for items, variants and
+ * stock) and upserts the views in one bulk write. Many writes to one item within a refresh interval
+ * cost a single rebuild. Rebuilding from source keeps the projection idempotent and self-healing;
+ * an item whose rebuild failed stays stale and is retried on the next run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemViewProjector {
+
+  private final ItemRepository itemRepository;
+  private final VariantRepository variantRepository;
+  private final StockRepository stockRepository;
+  private final ItemViewRepository itemViewRepository;
+  private final MongoTemplate mongoTemplate;
+  private final ItemViewProperties properties;
+
+  private final Set<String> stale = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Schedule a rebuild of the item's view.
+   *
+   * @param itemId the item ID
+   */
+  public void markStale(String itemId) {
+    if (itemId != null) {
+      stale.add(itemId);
+    }
+  }
+
+  /**
+   * Schedule a rebuild of the views of several items.
+   *
+   * @param itemIds the item IDs
+   */
+  public void markStale(Collection<String> itemIds) {
+    itemIds.stream().filter(Objects::nonNull).forEach(stale::add);
+  }
+
+  /**
+   * Rebuild every stale view.
+   *
+   * @return number of items processed
+   */
+  @Scheduled(fixedDelayString = "${application.item-view.refresh-interval:200ms}")
+  public synchronized int refresh() {
+    int processed = 0;
+    while (!stale.isEmpty()) {
+      List<String> batch = new ArrayList<>(properties.getBatchSize());
+      Iterator<String> iterator = stale.iterator();
+      while (iterator.hasNext() && batch.size() < properties.getBatchSize()) {
+        batch.add(iterator.next());
+        iterator.remove();
+      }
+
+      try {
+        rebuild(batch);
+      } catch (RuntimeException e) {
+        stale.addAll(batch);
+        log.warn("Item view rebuild of {} items failed, retrying on the next run: {}", batch.size(), e.getMessage());
+        break;
+      }
+      processed += batch.size();
+    }
+
+    if (processed > 0) {
+      log.debug("Rebuilt {} item views", processed);
+    }
+    return processed;
+  }
+
+  /**
+   * Rebuild the views of the given items now. Views of items that no longer exist are deleted.
+   *
+   * @param itemIds the item IDs
+   */
+  public void rebuild(Collection<String> itemIds) {
+    Map<String, Item> items = itemRepository.findAllById(itemIds).stream()
+        .collect(Collectors.toMap(Item::getId, Function.identity()));
+    Map<String, List<Variant>> variants = variantRepository.findByItemIdIn(items.keySet()).stream()
+        .collect(Collectors.groupingBy(Variant::getItemId));
+    Map<String, List<Stock>> stocks = stockRepository.findByItemIdIn(items.keySet()).stream()
+        .collect(Collectors.groupingBy(Stock::getItemId));
+
+    long now = System.currentTimeMillis();
+    List<ItemView> views = items.values().stream()
+        .map(item -> build(item, variants.getOrDefault(item.getId(), List.of()),
+            stocks.getOrDefault(item.getId(), List.of()), now))
+        .toList();
+    itemViewRepository.replaceAll(views);
+
+    Set<String> removed = new HashSet<>(itemIds);
+    removed.removeAll(items.keySet());
+    if (!removed.isEmpty()) {
+      itemViewRepository.deleteAllById(removed);
+    }
+  }
+
+  /**
+   * Rebuild the views of all items, streaming item IDs in batches.
+   *
+   * @return number of items processed
+   */
+  public long rebuildAll() {
+    Query query = new Query();
+    query.fields().include("_id");
+
+    long processed = 0;
+    List<String> batch = new ArrayList<>(properties.getBatchSize());
+    try (Stream<Item> ids = mongoTemplate.stream(query, Item.class)) {
+      for (Iterator<Item> iterator = ids.iterator(); iterator.hasNext(); ) {
+        batch.add(iterator.next().getId());
+        if (batch.size() == properties.getBatchSize()) {
+          rebuild(batch);
+          processed += batch.size();
+          batch.clear();
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      rebuild(batch);
+      processed += batch.size();
+    }
+    return processed;
+  }
+
+  private ItemView build(Item item, List<Variant> variants, List<Stock> stocks, long now) {
+    Map<String, Stock> stockByVariant = new HashMap<>();
+    Stock baseStock = null;
+    long watermark = timestamp(item.getUpdatedAt());
+    for (Stock stock : stocks) {
+      watermark = Math.max(watermark, timestamp(stock.getUpdatedAt()));
+      if (stock.getVariantId() == null) {
+        baseStock = stock;
+      } else {
+        stockByVariant.put(stock.getVariantId(), stock);
+      }
+    }
+
+    BigDecimal basePrice = item.getBasePrice() != null ? item.getBasePrice() : BigDecimal.ZERO;
+    long totalAvailable = baseStock != null ? Math.max(0, baseStock.getAvailableQuantity()) : 0;
+    List<ItemView.VariantView> variantViews = new ArrayList<>();
+    for (Variant variant : variants) {
+      // Inactive variants still count for the watermark: deactivating one is a change the view must reflect
+      watermark = Math.max(watermark, timestamp(variant.getUpdatedAt()));
+      if (!Boolean.TRUE.equals(variant.getIsActive())) {
+        continue;
+      }
+
+      Stock stock = stockByVariant.get(variant.getId());
+      BigDecimal adjustment = variant.getPriceAdjustment() != null ? variant.getPriceAdjustment() : BigDecimal.ZERO;
+      variantViews.add(ItemView.VariantView.builder()
+          .variantId(variant.getId())
+          .variantSku(variant.getVariantSku())
+          .variantName(variant.getVariantName())
+          .attributes(variant.getAttributes())
+          .priceAdjustment(adjustment)
+          .finalPrice(basePrice.add(adjustment))
+          .stock(stockView(stock))
+          .build());
+      if (stock != null) {
+        totalAvailable += Math.max(0, stock.getAvailableQuantity());
+      }
+    }
+
+    return ItemView.builder()
+        .itemId(item.getId())
+        .sku(item.getSku())
+        .name(item.getName())
+        .description(item.getDescription())
+        .basePrice(item.getBasePrice())
+        .isActive(item.getIsActive())
+        .baseStock(stockView(baseStock))
+        .variants(variantViews)
+        .totalAvailable(totalAvailable)
+        .sourceWatermark(watermark)
+        .builtAt(now)
+        .build();
+  }
+
+  private ItemView.StockView stockView(Stock stock) {
+    if (stock == null) {
+      return null;
+    }
+    return ItemView.StockView.builder()
+        .stockId(stock.getId())
+        .availableQuantity(stock.getAvailableQuantity())
+        .inStock(stock.isAvailable())
+        .warehouseLocation(stock.getWarehouseLocation())
+        .build();
+  }
+
+  private static long timestamp(Long value) {
+    return value != null ? value : 0L;
+  }
+}
@@ -0,0 +1,166 @@
+package io.github.edmaputra.cpwarehouse.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import io.github.edmaputra.cpwarehouse.common.CommandEventLogger;
+import io.github.edmaputra.cpwarehouse.config.CommandLoggingProperties;
+import io.github.edmaputra.cpwarehouse.controller.StockController;
+import io.github.edmaputra.cpwarehouse.service.stock.impl.ReserveStockCommandImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request logging overhead of a stock reservation, before and after the production logging mode.
+ * <p>
+ * before: the INFO lines previously written by StockController/ReserveStockCommandImpl plus the
+ * DEBUG lines of CommandExecutor and MongoTemplate, written synchronously with the default pattern.
+ * <p>
+ * after: the same call sites at DEBUG (disabled) plus one sampled structured event from
+ * CommandEventLogger, written through a non-blocking AsyncAppender with the ECS JSON encoder.
+ * <p>
+ * Output goes to a discarding stream so only formatting/encoding/queueing cost is measured.
+ * Run: ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=CommandLoggingBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class CommandLoggingBenchmark {
+
+  private static final Logger CONTROLLER_LOG = LoggerFactory.getLogger(StockController.class);
+  private static final Logger COMMAND_LOG = LoggerFactory.getLogger(ReserveStockCommandImpl.class);
+  private static final Logger EXECUTOR_LOG = LoggerFactory.getLogger("io.github.edmaputra.cpwarehouse.common.CommandExecutor");
+  private static final Logger MONGO_LOG = LoggerFactory.getLogger("org.springframework.data.mongodb.core.MongoTemplate");
+
+  private static final String STOCK_ID = "6652f1c2a4b0c81e3f9d2a17";
+  private static final int QUANTITY = 3;
+
+  @State(Scope.Benchmark)
+  public static class Before {
+
+    @Setup
+    public void setUp() {
+      LoggerContext context = resetContext();
+
+      PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+      encoder.setContext(context);
+      encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n");
+      encoder.start();
+
+      OutputStreamAppender<ILoggingEvent> appender = discardingAppender(context, encoder);
+      context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).addAppender(appender);
+      context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+      context.getLogger("io.github.edmaputra.cpwarehouse").setLevel(Level.DEBUG);
+      context.getLogger("org.springframework.data.mongodb.core.MongoTemplate").setLevel(Level.DEBUG);
+    }
+
+    @TearDown
+    public void tearDown() {
+      resetContext();
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class After {
+
+    CommandEventLogger commandEventLogger;
+
+    @Setup
+    public void setUp() {
+      LoggerContext context = resetContext();
+      context.putObject(Environment.class.getName(), new StandardEnvironment());
+
+      StructuredLogEncoder encoder = new StructuredLogEncoder();
+      encoder.setContext(context);
+      encoder.setFormat("ecs");
+      encoder.start();
+
+      AsyncAppender async = new AsyncAppender();
+      async.setContext(context);
+      async.setQueueSize(8192);
+      async.setDiscardingThreshold(1638);
+      async.setNeverBlock(true);
+      async.setIncludeCallerData(false);
+      async.addAppender(discardingAppender(context, encoder));
+      async.start();
+
+      context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).addAppender(async);
+      context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+      context.getLogger("io.github.edmaputra.cpwarehouse").setLevel(Level.INFO);
+      context.getLogger("org.springframework.data.mongodb.core.MongoTemplate").setLevel(Level.WARN);
+
+      CommandLoggingProperties properties = new CommandLoggingProperties();
+      properties.setSuccessSampleRate(0.01);
+      commandEventLogger = new CommandEventLogger(properties);
+    }
+
+    @TearDown
+    public void tearDown() {
+      resetContext();
+    }
+  }
+
+  @Benchmark
+  public void before(Before state) {
+    CONTROLLER_LOG.info("POST /api/v1/stock/{}/reserve - Reserving {} units", STOCK_ID, QUANTITY);
+    EXECUTOR_LOG.debug("Executing command: {}", "ReserveStockCommand");
+    COMMAND_LOG.info("Reserving stock {} quantity: {} [Retry attempt: {}]", STOCK_ID, QUANTITY, 1);
+    MONGO_LOG.debug("findOne using query: {} fields: Document{{}} for class: {} in collection: {}",
+        "{ \"_id\" : { \"$oid\" : \"" + STOCK_ID + "\"}}", "class io.github.edmaputra.cpwarehouse.domain.entity.Stock", "stock");
+    MONGO_LOG.debug("Saving Document containing fields: {}", "[_id, itemId, variantId, quantity, reservedQuantity]");
+    COMMAND_LOG.info("Stock {} reserved successfully. Reserved quantity: {}", STOCK_ID, 10 + QUANTITY);
+    EXECUTOR_LOG.debug("Command {} executed successfully", "ReserveStockCommand");
+  }
+
+  @Benchmark
+  public void after(After state) {
+    CONTROLLER_LOG.debug("POST /api/v1/stock/{}/reserve - Reserving {} units", STOCK_ID, QUANTITY);
+    EXECUTOR_LOG.debug("Executing command: {}", "ReserveStockCommand");
+    COMMAND_LOG.debug("Reserving stock {} quantity: {} [Retry attempt: {}]", STOCK_ID, QUANTITY, 1);
+    MONGO_LOG.debug("findOne using query: {} fields: Document{{}} for class: {} in collection: {}",
+        "{ \"_id\" : { \"$oid\" : \"" + STOCK_ID + "\"}}", "class io.github.edmaputra.cpwarehouse.domain.entity.Stock", "stock");
+    MONGO_LOG.debug("Saving Document containing fields: {}", "[_id, itemId, variantId, quantity, reservedQuantity]");
+    COMMAND_LOG.debug("Stock {} reserved successfully. Reserved quantity: {}", STOCK_ID, 10 + QUANTITY);
+    state.commandEventLogger.success("ReserveStockCommand", 1_250_000L);
+  }
+
+  private static LoggerContext resetContext() {
+    LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    context.reset();
+    return context;
+  }
+
+  private static OutputStreamAppender<ILoggingEvent> discardingAppender(LoggerContext context,
+      ch.qos.logback.core.encoder.Encoder<ILoggingEvent> encoder) {
+    OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+    appender.setContext(context);
+    appender.setEncoder(encoder);
+    appender.setOutputStream(OutputStream.nullOutputStream());
+    appender.start();
+    return appender;
+  }
+}
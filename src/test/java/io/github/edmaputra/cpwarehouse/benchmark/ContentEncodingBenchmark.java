@@ -0,0 +1,119 @@
+package io.github.edmaputra.cpwarehouse.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.edmaputra.cpwarehouse.domain.entity.CheckoutItem.CheckoutStatus;
+import io.github.edmaputra.cpwarehouse.dto.response.ApiResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.CheckoutResponse;
+import io.github.edmaputra.cpwarehouse.dto.response.StockResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost and payload size of the two highest-volume responses in JSON, Smile and CBOR.
+ * <p>
+ * Each mapper is built like the HTTP message converters (Jackson2ObjectMapperBuilder), and each payload is
+ * the full ApiResponse envelope as it goes over the wire. Encoded sizes are printed once per trial.
+ * Run: ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=ContentEncodingBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentEncodingBenchmark {
+
+  @Param({"json", "smile", "cbor"})
+  public String format;
+
+  private ObjectMapper mapper;
+  private ApiResponse<StockResponse> stock;
+  private ApiResponse<CheckoutResponse> checkout;
+  private JavaType stockType;
+  private JavaType checkoutType;
+  private byte[] stockBytes;
+  private byte[] checkoutBytes;
+
+  @Setup
+  public void setUp() throws IOException {
+    Jackson2ObjectMapperBuilder builder = switch (format) {
+      case "smile" -> Jackson2ObjectMapperBuilder.smile();
+      case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+      default -> Jackson2ObjectMapperBuilder.json();
+    };
+    mapper = builder.build();
+    stockType = mapper.getTypeFactory().constructParametricType(ApiResponse.class, StockResponse.class);
+    checkoutType = mapper.getTypeFactory().constructParametricType(ApiResponse.class, CheckoutResponse.class);
+
+    long now = System.currentTimeMillis();
+    stock = ApiResponse.success(StockResponse.builder()
+        .id("6652f1c2a4b0c81e3f9d2a17")
+        .itemId("6652f1c2a4b0c81e3f9d2a01")
+        .variantId("6652f1c2a4b0c81e3f9d2a02")
+        .quantity(1250)
+        .reservedQuantity(40)
+        .availableQuantity(1210)
+        .warehouseLocation("WAREHOUSE-A")
+        .reorderThreshold(100)
+        .lastRestockedAt(now)
+        .createdAt(now)
+        .updatedAt(now)
+        .version(57L)
+        .build());
+    checkout = ApiResponse.success(CheckoutResponse.builder()
+        .id("6652f1c2a4b0c81e3f9d2b31")
+        .itemId("6652f1c2a4b0c81e3f9d2a01")
+        .variantId("6652f1c2a4b0c81e3f9d2a02")
+        .stockId("6652f1c2a4b0c81e3f9d2a17")
+        .quantity(3)
+        .pricePerUnit(new BigDecimal("129.90"))
+        .totalPrice(new BigDecimal("389.70"))
+        .reservationId("6652f1c2a4b0c81e3f9d2b30")
+        .status(CheckoutStatus.PENDING)
+        .customerId("CUST-00042")
+        .checkoutReference("CHK-20240526-000123")
+        .createdAt(now)
+        .updatedAt(now)
+        .build(), "Checkout processed successfully");
+
+    stockBytes = mapper.writeValueAsBytes(stock);
+    checkoutBytes = mapper.writeValueAsBytes(checkout);
+    System.out.printf("%n%s payload bytes - StockResponse: %d, CheckoutResponse: %d%n",
+        format, stockBytes.length, checkoutBytes.length);
+  }
+
+  @Benchmark
+  public byte[] serializeStock() throws IOException {
+    return mapper.writeValueAsBytes(stock);
+  }
+
+  @Benchmark
+  public Object deserializeStock() throws IOException {
+    return mapper.readValue(stockBytes, stockType);
+  }
+
+  @Benchmark
+  public byte[] serializeCheckout() throws IOException {
+    return mapper.writeValueAsBytes(checkout);
+  }
+
+  @Benchmark
+  public Object deserializeCheckout() throws IOException {
+    return mapper.readValue(checkoutBytes, checkoutType);
+  }
+}
@@ -0,0 +1,169 @@
+package io.github.edmaputra.cpwarehouse.benchmark;
+
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.common.MongoTransactions;
+import io.github.edmaputra.cpwarehouse.config.MovementStorageProperties;
+import io.github.edmaputra.cpwarehouse.config.TransactionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a payment settlement with and without a MongoDB transaction.
+ * <p>
+ * Each operation makes the writes of ProcessPaymentCommandImpl: the checkout claim, a guarded $inc on one of a
+ * few stocks, the inventory summary delta, an outbox event, the settlement movement and the reservation marker.
+ * With transactions, MongoTransactions runs them in one transaction; concurrent settlements of the same stock
+ * conflict and are retried by the driver. Needs a replica set, at MONGODB_URI or mongodb://localhost:27017.
+ * Run: ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=TransactionThroughputBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class TransactionThroughputBenchmark {
+
+  private static final int STOCKS = 16;
+
+  @Param({"false", "true"})
+  public boolean transactions;
+
+  private MongoClient mongoClient;
+  private MongoDatabase database;
+  private MongoTransactions mongoTransactions;
+  private Settlement settlement;
+  private final List<ObjectId> stockIds = new ArrayList<>();
+
+  @Setup
+  public void setUp() {
+    mongoClient = MongoClients.create(System.getenv().getOrDefault("MONGODB_URI", "mongodb://localhost:27017"));
+    database = mongoClient.getDatabase("cpwarehouse_benchmark");
+    database.drop();
+
+    MongoCollection<Document> stock = database.getCollection("stock");
+    for (int i = 0; i < STOCKS; i++) {
+      ObjectId id = new ObjectId();
+      stock.insertOne(new Document("_id", id).append("itemId", "item-" + i)
+          .append("quantity", Integer.MAX_VALUE).append("reservedQuantity", Integer.MAX_VALUE));
+      stockIds.add(id);
+    }
+    // Collections cannot be created implicitly inside a transaction on older servers
+    for (String name : List.of("checkout_items", "item_inventory_summary", "stock_outbox", "stock_movements",
+        "stock_reservations")) {
+      database.createCollection(name);
+    }
+
+    TransactionProperties properties = new TransactionProperties();
+    properties.setEnabled(transactions);
+    mongoTransactions = new MongoTransactions(properties, new MovementStorageProperties(), mongoClient,
+        new SimpleMeterRegistry());
+    settlement = new Settlement(database);
+  }
+
+  @TearDown
+  public void tearDown() {
+    database.drop();
+    mongoClient.close();
+  }
+
+  @Benchmark
+  public Document settle() {
+    ObjectId stockId = stockIds.get(ThreadLocalRandom.current().nextInt(STOCKS));
+    return mongoTransactions.execute("Settlement", settlement, stockId);
+  }
+
+  /**
+   * The writes of a successful payment, bound to the transaction's session when there is one.
+   */
+  static class Settlement implements Command<ObjectId, Document> {
+
+    private final MongoCollection<Document> checkouts;
+    private final MongoCollection<Document> stock;
+    private final MongoCollection<Document> summaries;
+    private final MongoCollection<Document> outbox;
+    private final MongoCollection<Document> movements;
+    private final MongoCollection<Document> reservations;
+
+    Settlement(MongoDatabase database) {
+      this.checkouts = database.getCollection("checkout_items");
+      this.stock = database.getCollection("stock");
+      this.summaries = database.getCollection("item_inventory_summary");
+      this.outbox = database.getCollection("stock_outbox");
+      this.movements = database.getCollection("stock_movements");
+      this.reservations = database.getCollection("stock_reservations");
+    }
+
+    @Override
+    @Transactional
+    public Document execute(ObjectId stockId) {
+      ClientSession session = MongoTransactions.currentSession();
+      ObjectId checkoutId = new ObjectId();
+      ObjectId movementId = new ObjectId();
+
+      insert(session, checkouts, new Document("_id", checkoutId).append("status", "COMPLETED")
+          .append("settlementMovementId", movementId));
+      Bson guard = Filters.and(Filters.eq("_id", stockId), Filters.gte("reservedQuantity", 1));
+      Bson commit = Updates.combine(Updates.inc("quantity", -1), Updates.inc("reservedQuantity", -1));
+      FindOneAndUpdateOptions after = new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER);
+      Document updated = session != null
+          ? stock.findOneAndUpdate(session, guard, commit, after)
+          : stock.findOneAndUpdate(guard, commit, after);
+
+      Bson summary = Filters.eq("_id", updated.getString("itemId"));
+      Bson delta = Updates.combine(Updates.inc("totalQuantity", -1), Updates.inc("reservedQuantity", -1));
+      UpdateOptions upsert = new UpdateOptions().upsert(true);
+      if (session != null) {
+        summaries.updateOne(session, summary, delta, upsert);
+      } else {
+        summaries.updateOne(summary, delta, upsert);
+      }
+      insert(session, outbox, new Document("stockId", stockId).append("type", "COMMITTED")
+          .append("quantity", updated.getInteger("quantity")));
+      insert(session, movements, new Document("_id", movementId).append("stockId", stockId)
+          .append("movementType", "OUT").append("quantity", 1));
+      insert(session, reservations, new Document("_id", new ObjectId()).append("releasedBy", movementId));
+      return updated;
+    }
+
+    private static void insert(ClientSession session, MongoCollection<Document> collection, Document document) {
+      if (session != null) {
+        collection.insertOne(session, document);
+      } else {
+        collection.insertOne(document);
+      }
+    }
+  }
+}
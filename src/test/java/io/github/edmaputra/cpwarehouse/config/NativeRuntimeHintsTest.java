@@ -0,0 +1,62 @@
+package io.github.edmaputra.cpwarehouse.config;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.dto.request.CatalogImportRow;
+import io.github.edmaputra.cpwarehouse.dto.response.StockResponse;
+import io.github.edmaputra.cpwarehouse.grpc.v1.AvailabilityReply;
+import io.github.edmaputra.cpwarehouse.service.checkout.ProcessPaymentCommand;
+import io.github.edmaputra.cpwarehouse.service.checkout.impl.ProcessPaymentCommandImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the hints of {@link NativeRuntimeHints} without building a native image: each test names a reflective
+ * access the application makes at runtime and asserts that a hint covers it.
+ */
+class NativeRuntimeHintsTest {
+
+  private final RuntimeHints hints = new RuntimeHints();
+
+  @BeforeEach
+  void setUp() {
+    new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+  }
+
+  @Test
+  void entitiesAndDtos_ShouldExposeFieldsAndAccessors() {
+    // Mongo converter and FieldSelection read declared fields; Jackson binds through accessors
+    assertThat(RuntimeHintsPredicates.reflection().onType(Stock.class)
+        .withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+    assertThat(RuntimeHintsPredicates.reflection().onType(StockMovement.MovementType.class)).accepts(hints);
+    assertThat(RuntimeHintsPredicates.reflection().onType(StockResponse.class)
+        .withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+    assertThat(RuntimeHintsPredicates.reflection().onType(CatalogImportRow.class)
+        .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+  }
+
+  @Test
+  void commands_ShouldBeProxiedAndIntrospectable() {
+    // CommandExecutor resolves the interface; ReadRouting and MongoTransactions read @Transactional from execute
+    assertThat(RuntimeHintsPredicates.proxies()
+        .forInterfaces(AopProxyUtils.completeJdkProxyInterfaces(ProcessPaymentCommand.class))).accepts(hints);
+    assertThat(RuntimeHintsPredicates.reflection().onType(ProcessPaymentCommand.class)
+        .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS)).accepts(hints);
+    assertThat(RuntimeHintsPredicates.reflection().onType(ProcessPaymentCommandImpl.class)
+        .withMemberCategories(MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.INTROSPECT_DECLARED_METHODS))
+        .accepts(hints);
+  }
+
+  @Test
+  void grpcMessages_ShouldBeFullyReflective() {
+    assertThat(RuntimeHintsPredicates.reflection().onType(AvailabilityReply.class)
+        .withMemberCategories(MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS))
+        .accepts(hints);
+  }
+}
@@ -0,0 +1,220 @@
+package io.github.edmaputra.cpwarehouse.integration;
+
+import io.github.edmaputra.cpwarehouse.common.AdmissionController;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.dto.request.CheckoutRequest;
+import io.github.edmaputra.cpwarehouse.exception.TooManyRequestsException;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for admission control in CommandExecutor.
+ * Runs with a tight token bucket on the availability query so the limit is reached within a test, a
+ * single-slot checkout pool with a short queue timeout, and two single-slot test pools whose commands are
+ * admitted directly to observe queue order.
+ */
+@TestPropertySource(properties = {
+    "application.admission.commands.GetStockAvailabilityCommand.rate-per-second=0.1",
+    "application.admission.commands.GetStockAvailabilityCommand.burst=2",
+    "application.admission.pools.checkout.max-concurrent=1",
+    "application.admission.pools.checkout.queue-timeout=200ms",
+    "application.admission.pools.ordering.max-concurrent=1",
+    "application.admission.pools.ordering.max-queued=3",
+    "application.admission.pools.ordering.queue-timeout=10s",
+    "application.admission.commands.OrderingCheckoutCommand.pool=ordering",
+    "application.admission.commands.OrderingCheckoutCommand.priority=0",
+    "application.admission.commands.OrderingPaymentCommand.pool=ordering",
+    "application.admission.commands.OrderingPaymentCommand.priority=10",
+    "application.admission.pools.displacement.max-concurrent=1",
+    "application.admission.pools.displacement.max-queued=2",
+    "application.admission.pools.displacement.queue-timeout=10s",
+    "application.admission.commands.DisplacementCheckoutCommand.pool=displacement",
+    "application.admission.commands.DisplacementCheckoutCommand.priority=0",
+    "application.admission.commands.DisplacementPaymentCommand.pool=displacement",
+    "application.admission.commands.DisplacementPaymentCommand.priority=10"
+})
+class AdmissionControlIntegrationTest extends BaseIntegrationTest {
+
+  @Autowired
+  StockRepository stockRepository;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Autowired
+  AdmissionController admissionController;
+
+  private ExecutorService executor;
+
+  private String stockId;
+
+  @BeforeEach
+  void setUp() {
+    stockRepository.deleteAll();
+    stockId = stockRepository.save(Stock.builder()
+        .itemId("ADMISSION-ITEM")
+        .quantity(10)
+        .reservedQuantity(0)
+        .warehouseLocation("WAREHOUSE-A")
+        .build()).getId();
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  void tearDown() {
+    stockRepository.deleteAll();
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void rateLimitedCommand_BeyondBurst_ShouldReturnTooManyRequestsWithRetryAfter() throws Exception {
+    // Given - the burst of two is admitted
+    for (int i = 0; i < 2; i++) {
+      mockMvc.perform(get("/api/v1/stock/" + stockId + "/availability"))
+          .andExpect(status().isOk());
+    }
+
+    // When & Then - the next request is shed until a token is refilled (10s at 0.1/s)
+    mockMvc.perform(get("/api/v1/stock/" + stockId + "/availability"))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+        .andExpect(jsonPath("$.success").value(false))
+        .andExpect(jsonPath("$.error.code").value("TOO_MANY_REQUESTS"));
+
+    assertThat(meterRegistry.get("command.admission")
+        .tags("command", "GetStockAvailabilityCommand", "outcome", "shed")
+        .counter().count()).isEqualTo(1.0);
+    assertThat(meterRegistry.get("command.admission")
+        .tags("command", "GetStockAvailabilityCommand", "outcome", "admitted")
+        .counter().count()).isEqualTo(2.0);
+
+    // Commands without a limit are unaffected
+    mockMvc.perform(get("/api/v1/stock/item/ADMISSION-ITEM"))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void queuedPayment_ShouldBeAdmittedBeforeEarlierQueuedCheckouts() throws Exception {
+    // Given - the only slot is taken, and two checkouts queue before a payment
+    List<String> admitted = new CopyOnWriteArrayList<>();
+    AdmissionController.Permit slot = admissionController.admit("OrderingCheckoutCommand");
+    Future<?> first = admitInBackground("OrderingCheckoutCommand", "checkout-1", admitted);
+    awaitQueued("ordering", 1);
+    Future<?> second = admitInBackground("OrderingCheckoutCommand", "checkout-2", admitted);
+    awaitQueued("ordering", 2);
+    Future<?> payment = admitInBackground("OrderingPaymentCommand", "payment", admitted);
+    awaitQueued("ordering", 3);
+
+    // When
+    slot.close();
+
+    // Then - the freed slot goes to the payment, then the checkouts in arrival order
+    for (Future<?> waiter : List.of(first, second, payment)) {
+      waiter.get(5, TimeUnit.SECONDS);
+    }
+    assertThat(admitted).containsExactly("payment", "checkout-1", "checkout-2");
+    assertThat(admissionCount("OrderingPaymentCommand", "queued")).isEqualTo(1.0);
+    assertThat(admissionCount("OrderingCheckoutCommand", "queued")).isEqualTo(2.0);
+  }
+
+  @Test
+  void paymentArrivingAtFullQueue_ShouldDisplaceNewestQueuedCheckout() throws Exception {
+    // Given - the only slot is taken and the queue of two is full of checkouts
+    List<String> admitted = new CopyOnWriteArrayList<>();
+    AdmissionController.Permit slot = admissionController.admit("DisplacementCheckoutCommand");
+    Future<?> first = admitInBackground("DisplacementCheckoutCommand", "checkout-1", admitted);
+    awaitQueued("displacement", 1);
+    Future<?> second = admitInBackground("DisplacementCheckoutCommand", "checkout-2", admitted);
+    awaitQueued("displacement", 2);
+
+    // When
+    Future<?> payment = admitInBackground("DisplacementPaymentCommand", "payment", admitted);
+
+    // Then - the newest checkout is shed at once and the payment takes its place in the queue
+    assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(TooManyRequestsException.class);
+    awaitQueued("displacement", 2);
+
+    slot.close();
+    first.get(5, TimeUnit.SECONDS);
+    payment.get(5, TimeUnit.SECONDS);
+    assertThat(admitted).containsExactly("payment", "checkout-1");
+    assertThat(admissionCount("DisplacementCheckoutCommand", "shed")).isEqualTo(1.0);
+  }
+
+  @Test
+  void checkout_WaitingBeyondQueueTimeout_ShouldReturnTooManyRequests() throws Exception {
+    // Given - a payment holds the only slot of the checkout pool
+    try (AdmissionController.Permit slot = admissionController.admit("ProcessPaymentCommand")) {
+      CheckoutRequest request = CheckoutRequest.builder()
+          .itemId("ADMISSION-ITEM")
+          .variantId("ADMISSION-VARIANT")
+          .quantity(1)
+          .customerId("CUST-ADMISSION")
+          .checkoutReference("ADMISSION-001")
+          .build();
+
+      // When & Then - the checkout waits for the 200ms queue timeout and is shed
+      mockMvc.perform(post("/api/v1/checkout")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(objectMapper.writeValueAsString(request)))
+          .andExpect(status().isTooManyRequests())
+          .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+          .andExpect(jsonPath("$.error.code").value("TOO_MANY_REQUESTS"));
+    }
+
+    assertThat(admissionCount("ProcessCheckoutCommand", "shed")).isEqualTo(1.0);
+    assertThat(stockRepository.findById(stockId).orElseThrow().getReservedQuantity()).isZero();
+  }
+
+  /**
+   * Admit a command on another thread, record its label once admitted and release the slot right away.
+   */
+  private Future<?> admitInBackground(String commandName, String label, List<String> admitted) {
+    return executor.submit(() -> {
+      try (AdmissionController.Permit permit = admissionController.admit(commandName)) {
+        admitted.add(label);
+      }
+    });
+  }
+
+  private void awaitQueued(String pool, int count) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (meterRegistry.get("command.admission.queued").tag("pool", pool).gauge().value() != count) {
+      assertThat(System.nanoTime()).as("waiters queued in %s", pool).isLessThan(deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  private double admissionCount(String commandName, String outcome) {
+    return meterRegistry.get("command.admission")
+        .tags("command", commandName, "outcome", outcome)
+        .counter().count();
+  }
+}
@@ -0,0 +1,174 @@
+package io.github.edmaputra.cpwarehouse.integration;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.Item;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.Variant;
+import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.github.edmaputra.cpwarehouse.repository.VariantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the bulk catalog import API.
+ */
+class CatalogControllerIntegrationTest extends BaseIntegrationTest {
+
+  @Autowired
+  ItemRepository itemRepository;
+
+  @Autowired
+  VariantRepository variantRepository;
+
+  @Autowired
+  StockRepository stockRepository;
+
+  @BeforeEach
+  void setUp() {
+    stockRepository.deleteAll();
+    variantRepository.deleteAll();
+    itemRepository.deleteAll();
+  }
+
+  @AfterEach
+  void tearDown() {
+    stockRepository.deleteAll();
+    variantRepository.deleteAll();
+    itemRepository.deleteAll();
+  }
+
+  @Test
+  void importCatalog_WithCsv_ShouldCreateItemsVariantsAndStock() throws Exception {
+    // Given - one item with two variants and one item with base stock only
+    String csv = """
+        sku,name,description,basePrice,variantSku,variantName,priceAdjustment,quantity,warehouseLocation
+        SHIRT-001,Basic Shirt,Cotton shirt,100.00,SHIRT-001-S,Shirt Small,0,10,A-01
+        SHIRT-001,Basic Shirt,Cotton shirt,100.00,SHIRT-001-L,Shirt Large,5.00,20,A-02
+        MUG-001,Coffee Mug,,15.00,,,,50,B-01
+        """;
+
+    // When & Then
+    mockMvc.perform(post("/api/v1/catalog/import")
+            .contentType("text/csv")
+            .content(csv))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.success").value(true))
+        .andExpect(jsonPath("$.data.totalRows").value(3))
+        .andExpect(jsonPath("$.data.importedRows").value(3))
+        .andExpect(jsonPath("$.data.failedRows").value(0))
+        .andExpect(jsonPath("$.data.itemsCreated").value(2))
+        .andExpect(jsonPath("$.data.variantsCreated").value(2))
+        .andExpect(jsonPath("$.data.stocksCreated").value(3));
+
+    Item shirt = itemRepository.findBySku("SHIRT-001").orElseThrow();
+    assertThat(variantRepository.findByItemId(shirt.getId())).hasSize(2);
+    Variant large = variantRepository.findByVariantSku("SHIRT-001-L").orElseThrow();
+    assertThat(large.getPriceAdjustment()).isEqualByComparingTo(new BigDecimal("5.00"));
+
+    Stock largeStock = stockRepository.findByVariantId(large.getId()).orElseThrow();
+    assertThat(largeStock.getQuantity()).isEqualTo(20);
+    assertThat(largeStock.getReservedQuantity()).isZero();
+
+    Item mug = itemRepository.findBySku("MUG-001").orElseThrow();
+    assertThat(stockRepository.findByItemIdAndVariantIdIsNull(mug.getId())).isPresent();
+  }
+
+  @Test
+  void importCatalog_WithMalformedCsvRows_ShouldReportThemAndContinue() throws Exception {
+    // Given - a row with too many cells in the middle and an unclosed quote on the last row
+    String csv = """
+        sku,name,basePrice,quantity
+        PEN-001,Pen,2.00,10
+        PAD-001,Pad,3.00,5,extra
+        INK-001,Ink,4.00,7
+        CUP-001,"Cup,5.00,1
+        """;
+
+    // When & Then
+    mockMvc.perform(post("/api/v1/catalog/import")
+            .contentType("text/csv")
+            .content(csv))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.totalRows").value(4))
+        .andExpect(jsonPath("$.data.importedRows").value(2))
+        .andExpect(jsonPath("$.data.failedRows").value(2))
+        .andExpect(jsonPath("$.data.errors", hasSize(2)))
+        .andExpect(jsonPath("$.data.errors[0].row").value(2))
+        .andExpect(jsonPath("$.data.errors[0].message").value(startsWith("Malformed CSV")))
+        .andExpect(jsonPath("$.data.errors[1].row").value(4));
+
+    // Rows around the malformed one were still imported
+    assertThat(itemRepository.findBySku("PEN-001")).isPresent();
+    assertThat(itemRepository.findBySku("INK-001")).isPresent();
+    assertThat(itemRepository.findBySku("PAD-001")).isEmpty();
+  }
+
+  @Test
+  void importCatalog_WithNdjsonAndInvalidRows_ShouldReportErrorsPerRow() throws Exception {
+    // Given - existing variant SKU in the database
+    Item existing = Item.builder()
+        .sku("EXIST-001")
+        .name("Existing Item")
+        .basePrice(new BigDecimal("10.00"))
+        .isActive(true)
+        .build();
+    existing.prePersist();
+    existing = itemRepository.save(existing);
+
+    Variant existingVariant = Variant.builder()
+        .itemId(existing.getId())
+        .variantSku("EXIST-001-V")
+        .variantName("Existing Variant")
+        .isActive(true)
+        .build();
+    existingVariant.prePersist();
+    variantRepository.save(existingVariant);
+
+    String ndjson = String.join("\n", List.of(
+        "{\"sku\":\"NEW-001\",\"name\":\"New Item\",\"basePrice\":20.00,\"variantSku\":\"NEW-001-V\","
+            + "\"variantName\":\"New Variant\",\"attributes\":{\"size\":\"M\"},\"quantity\":5}",
+        "{\"sku\":\"EXIST-001\",\"name\":\"Existing Item\",\"basePrice\":10.00,\"variantSku\":\"EXIST-001-V\","
+            + "\"variantName\":\"Duplicate\"}",
+        "{\"sku\":\"lowercase\",\"name\":\"Bad Sku\",\"basePrice\":1.00}",
+        "{not json",
+        "{\"sku\":\"NEG-001\",\"name\":\"Negative\",\"basePrice\":5.00,\"variantSku\":\"NEG-001-V\","
+            + "\"variantName\":\"Negative Variant\",\"priceAdjustment\":-6.00}"));
+
+    // When & Then
+    mockMvc.perform(post("/api/v1/catalog/import")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content(ndjson))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.totalRows").value(5))
+        .andExpect(jsonPath("$.data.importedRows").value(1))
+        .andExpect(jsonPath("$.data.failedRows").value(4))
+        .andExpect(jsonPath("$.data.errors", hasSize(4)))
+        .andExpect(jsonPath("$.data.errors[0].row").value(2))
+        .andExpect(jsonPath("$.data.errors[0].variantSku").value("EXIST-001-V"))
+        .andExpect(jsonPath("$.data.errors[1].row").value(3))
+        .andExpect(jsonPath("$.data.errors[2].row").value(4))
+        .andExpect(jsonPath("$.data.errors[3].row").value(5));
+
+    // Only the valid row was written; the item of the rejected negative-price row was not created
+    assertThat(variantRepository.findByVariantSku("NEW-001-V")).isPresent();
+    assertThat(itemRepository.findBySku("NEG-001")).isEmpty();
+    assertThat(itemRepository.count()).isEqualTo(2);
+  }
+}
@@ -3,14 +3,20 @@ package io.github.edmaputra.cpwarehouse.integration;
 import io.github.edmaputra.cpwarehouse.domain.entity.CheckoutItem;
 import io.github.edmaputra.cpwarehouse.domain.entity.Item;
 import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockReservation;
 import io.github.edmaputra.cpwarehouse.domain.entity.Variant;
+import io.github.edmaputra.cpwarehouse.dto.request.BatchPaymentRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.CheckoutRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.PaymentRequest;
+import io.github.edmaputra.cpwarehouse.dto.request.VariantUpdateRequest;
 import io.github.edmaputra.cpwarehouse.dto.response.CheckoutResponse;
 import io.github.edmaputra.cpwarehouse.dto.response.PaymentResponse;
 import io.github.edmaputra.cpwarehouse.repository.CheckoutItemRepository;
 import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
 import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockReservationRepository;
 import io.github.edmaputra.cpwarehouse.repository.VariantRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,9 +25,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -43,6 +52,12 @@ class CheckoutPaymentIntegrationTest extends BaseIntegrationTest {
   @Autowired
   private CheckoutItemRepository checkoutItemRepository;
 
+  @Autowired
+  private StockMovementRepository stockMovementRepository;
+
+  @Autowired
+  private StockReservationRepository stockReservationRepository;
+
   private Item testItem;
   private Variant testVariant;
   private Stock testStock;
@@ -269,4 +284,210 @@ class CheckoutPaymentIntegrationTest extends BaseIntegrationTest {
         .andExpect(jsonPath("$.success").value(false))
         .andExpect(jsonPath("$.error.code").value("INVALID_PAYMENT"));
   }
+
+  @Test
+  void payment_WhenAlreadyCompleted_ShouldRejectAndRecordSettlementOnce() throws Exception {
+    // Given - Create checkout first
+    CheckoutRequest checkoutRequest = CheckoutRequest.builder()
+        .itemId(testItem.getId())
+        .variantId(testVariant.getId())
+        .quantity(3)
+        .customerId("CUST-005")
+        .checkoutReference("CHECKOUT-006")
+        .build();
+
+    MvcResult checkoutResult = mockMvc.perform(post("/api/v1/checkout")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(checkoutRequest)))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    String checkoutJson = checkoutResult.getResponse().getContentAsString();
+    CheckoutResponse checkoutResponse = objectMapper.readValue(
+        objectMapper.readTree(checkoutJson).get("data").toString(),
+        CheckoutResponse.class);
+
+    PaymentRequest paymentRequest = PaymentRequest.builder()
+        .paymentAmount(new BigDecimal("330.00"))
+        .paymentSuccess(true)
+        .paymentReference("PAY-004")
+        .processedBy("SYSTEM")
+        .build();
+
+    mockMvc.perform(post("/api/v1/checkout/" + checkoutResponse.getId() + "/payment")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(paymentRequest)))
+        .andExpect(status().isOk());
+
+    // When - Pay the same checkout again
+    mockMvc.perform(post("/api/v1/checkout/" + checkoutResponse.getId() + "/payment")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(paymentRequest)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error.code").value("INVALID_OPERATION"));
+
+    // Then - Stock committed once, reservation linked to a single OUT movement
+    Stock updatedStock = stockRepository.findById(testStock.getId()).orElseThrow();
+    assertThat(updatedStock.getQuantity()).isEqualTo(97);
+    assertThat(updatedStock.getReservedQuantity()).isEqualTo(0);
+
+    CheckoutItem checkout = checkoutItemRepository.findById(checkoutResponse.getId()).orElseThrow();
+    StockReservation reservation = stockReservationRepository.findById(checkout.getReservationId()).orElseThrow();
+
+    StockMovement outMovement = stockMovementRepository.findById(reservation.getReleaseMovementId()).orElseThrow();
+    assertThat(outMovement.getMovementType()).isEqualTo(StockMovement.MovementType.OUT);
+    assertThat(outMovement.getRelatedMovementId()).isEqualTo(reservation.getId());
+    assertThat(outMovement.getPreviousQuantity()).isEqualTo(100);
+    assertThat(outMovement.getNewQuantity()).isEqualTo(97);
+  }
+
+  @Test
+  void batchPayment_WithMixedEntries_ShouldReportPerEntryAndApplyStockOnce() throws Exception {
+    // Given - Three checkouts on the same stock: 100 total, 4 + 6 + 5 reserved
+    CheckoutResponse first = createCheckout(4, "BATCH-001");
+    CheckoutResponse second = createCheckout(6, "BATCH-002");
+    CheckoutResponse third = createCheckout(5, "BATCH-003");
+
+    BatchPaymentRequest batchRequest = BatchPaymentRequest.builder()
+        .payments(List.of(
+            batchEntry(first.getId(), "440.00", true, "PAY-B-001"),
+            batchEntry(second.getId(), "660.00", false, "PAY-B-002"),
+            batchEntry(third.getId(), "100.00", true, "PAY-B-003"),   // less than 550.00
+            batchEntry("000000000000000000000000", "10.00", true, "PAY-B-004"),
+            batchEntry(first.getId(), "440.00", true, "PAY-B-005")))  // repeated checkout
+        .build();
+
+    // When & Then
+    mockMvc.perform(post("/api/v1/checkout/payments/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(batchRequest)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.success").value(true))
+        .andExpect(jsonPath("$.data.totalEntries").value(5))
+        .andExpect(jsonPath("$.data.processedEntries").value(2))
+        .andExpect(jsonPath("$.data.failedEntries").value(3))
+        .andExpect(jsonPath("$.data.results[0].processed").value(true))
+        .andExpect(jsonPath("$.data.results[0].status").value("COMPLETED"))
+        .andExpect(jsonPath("$.data.results[1].processed").value(true))
+        .andExpect(jsonPath("$.data.results[1].status").value("PAYMENT_FAILED"))
+        .andExpect(jsonPath("$.data.results[2].errorCode").value("INVALID_PAYMENT"))
+        .andExpect(jsonPath("$.data.results[3].errorCode").value("RESOURCE_NOT_FOUND"))
+        .andExpect(jsonPath("$.data.results[4].errorCode").value("INVALID_OPERATION"));
+
+    // Then - 4 committed, 6 released, 5 still reserved
+    Stock updatedStock = stockRepository.findById(testStock.getId()).orElseThrow();
+    assertThat(updatedStock.getQuantity()).isEqualTo(96);
+    assertThat(updatedStock.getReservedQuantity()).isEqualTo(5);
+
+    assertThat(checkoutItemRepository.findById(third.getId()).orElseThrow().getStatus())
+        .isEqualTo(CheckoutItem.CheckoutStatus.PENDING);
+
+    CheckoutItem completed = checkoutItemRepository.findById(first.getId()).orElseThrow();
+    StockMovement outMovement = stockMovementRepository.findById(completed.getSettlementMovementId()).orElseThrow();
+    assertThat(outMovement.getMovementType()).isEqualTo(StockMovement.MovementType.OUT);
+    assertThat(stockReservationRepository.findById(completed.getReservationId()).orElseThrow()
+        .getReleaseMovementId()).isEqualTo(outMovement.getId());
+  }
+
+  @Test
+  void checkout_AfterVariantAndItemChanges_ShouldUseStockSnapshot() throws Exception {
+    // Given - Raise the variant price adjustment from 10.00 to 20.00
+    VariantUpdateRequest variantUpdate = VariantUpdateRequest.builder()
+        .priceAdjustment(new BigDecimal("20.00"))
+        .build();
+
+    mockMvc.perform(put("/api/v1/variants/" + testVariant.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(variantUpdate)))
+        .andExpect(status().isOk());
+
+    // When & Then - Checkout is priced from the refreshed snapshot
+    CheckoutResponse checkout = createCheckout(2, "SNAPSHOT-001");
+    assertThat(checkout.getPricePerUnit()).isEqualByComparingTo(new BigDecimal("120.00"));
+    assertThat(checkout.getTotalPrice()).isEqualByComparingTo(new BigDecimal("240.00"));
+
+    Stock stock = stockRepository.findById(testStock.getId()).orElseThrow();
+    assertThat(stock.getSellable().isComplete()).isTrue();
+    assertThat(stock.getReservedQuantity()).isEqualTo(2);
+
+    // When - Soft delete the item
+    mockMvc.perform(delete("/api/v1/items/" + testItem.getId()))
+        .andExpect(status().isNoContent());
+
+    // Then - Checkout is rejected without reserving stock
+    CheckoutRequest checkoutRequest = CheckoutRequest.builder()
+        .itemId(testItem.getId())
+        .variantId(testVariant.getId())
+        .quantity(1)
+        .customerId("CUST-006")
+        .checkoutReference("SNAPSHOT-002")
+        .build();
+
+    mockMvc.perform(post("/api/v1/checkout")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(checkoutRequest)))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.error.code").value("RESOURCE_NOT_FOUND"));
+
+    assertThat(stockRepository.findById(testStock.getId()).orElseThrow().getReservedQuantity()).isEqualTo(2);
+  }
+
+  @Test
+  void checkout_AfterVariantHardDelete_ShouldBeRejected() throws Exception {
+    // Given - A checkout fills the stock's sellable snapshot
+    createCheckout(2, "HARD-DELETE-001");
+
+    // When - Permanently delete the variant
+    mockMvc.perform(delete("/api/v1/variants/" + testVariant.getId() + "/permanent"))
+        .andExpect(status().isNoContent());
+
+    // Then - Checkout is rejected without reserving stock
+    CheckoutRequest checkoutRequest = CheckoutRequest.builder()
+        .itemId(testItem.getId())
+        .variantId(testVariant.getId())
+        .quantity(1)
+        .customerId("CUST-007")
+        .checkoutReference("HARD-DELETE-002")
+        .build();
+
+    mockMvc.perform(post("/api/v1/checkout")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(checkoutRequest)))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.error.code").value("RESOURCE_NOT_FOUND"));
+
+    Stock stock = stockRepository.findById(testStock.getId()).orElseThrow();
+    assertThat(stock.getSellable().getVariantActive()).isFalse();
+    assertThat(stock.getReservedQuantity()).isEqualTo(2);
+  }
+
+  private CheckoutResponse createCheckout(int quantity, String reference) throws Exception {
+    CheckoutRequest checkoutRequest = CheckoutRequest.builder()
+        .itemId(testItem.getId())
+        .variantId(testVariant.getId())
+        .quantity(quantity)
+        .customerId("CUST-BATCH")
+        .checkoutReference(reference)
+        .build();
+
+    MvcResult checkoutResult = mockMvc.perform(post("/api/v1/checkout")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(checkoutRequest)))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    return objectMapper.readValue(
+        objectMapper.readTree(checkoutResult.getResponse().getContentAsString()).get("data").toString(),
+        CheckoutResponse.class);
+  }
+
+  private BatchPaymentRequest.Entry batchEntry(String checkoutId, String amount, boolean success, String reference) {
+    return BatchPaymentRequest.Entry.builder()
+        .checkoutId(checkoutId)
+        .paymentAmount(new BigDecimal(amount))
+        .paymentSuccess(success)
+        .paymentReference(reference)
+        .processedBy("GATEWAY")
+        .build();
+  }
 }
@@ -0,0 +1,98 @@
+package io.github.edmaputra.cpwarehouse.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.github.edmaputra.cpwarehouse.dto.request.StockCreateRequest;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for Smile and CBOR content negotiation on the REST API.
+ */
+class ContentNegotiationIntegrationTest extends BaseIntegrationTest {
+
+  private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+  private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+  @Autowired
+  StockRepository stockRepository;
+
+  private final ObjectMapper smileMapper = new SmileMapper();
+  private final ObjectMapper cborMapper = new CBORMapper();
+
+  @BeforeEach
+  void setUp() {
+    stockRepository.deleteAll();
+  }
+
+  @AfterEach
+  void tearDown() {
+    stockRepository.deleteAll();
+  }
+
+  @Test
+  void createStock_WithCborBodyAndSmileAccept_ShouldRoundTripInBinaryEncodings() throws Exception {
+    // Given
+    StockCreateRequest request = StockCreateRequest.builder()
+        .itemId("BINARY-ITEM")
+        .variantId("BINARY-VARIANT")
+        .quantity(25)
+        .warehouseLocation("WAREHOUSE-A")
+        .build();
+
+    // When - CBOR request body, Smile response
+    MvcResult created = mockMvc.perform(post("/api/v1/stock")
+            .contentType(CBOR)
+            .accept(SMILE)
+            .content(cborMapper.writeValueAsBytes(request)))
+        .andExpect(status().isCreated())
+        .andExpect(content().contentTypeCompatibleWith(SMILE))
+        .andReturn();
+
+    // Then
+    JsonNode body = smileMapper.readTree(created.getResponse().getContentAsByteArray());
+    assertThat(body.path("success").asBoolean()).isTrue();
+    assertThat(body.path("data").path("quantity").asInt()).isEqualTo(25);
+    assertThat(body.path("data").path("availableQuantity").asInt()).isEqualTo(25);
+
+    MvcResult fetched = mockMvc.perform(get("/api/v1/stock/variant/BINARY-VARIANT").accept(CBOR))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(CBOR))
+        .andReturn();
+    JsonNode stock = cborMapper.readTree(fetched.getResponse().getContentAsByteArray());
+    assertThat(stock.path("data").path("id").asText()).isEqualTo(body.path("data").path("id").asText());
+    assertThat(stock.path("data").path("warehouseLocation").asText()).isEqualTo("WAREHOUSE-A");
+  }
+
+  @Test
+  void getStock_WithoutAccept_ShouldDefaultToJson() throws Exception {
+    mockMvc.perform(get("/api/v1/stock/item/BINARY-ITEM").header(HttpHeaders.ACCEPT, "*/*"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+  }
+
+  @Test
+  void getStock_WithSmileAcceptAndError_ShouldEncodeErrorAsSmile() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/v1/stock/variant/MISSING-VARIANT").accept(SMILE))
+        .andExpect(status().isNotFound())
+        .andExpect(content().contentTypeCompatibleWith(SMILE))
+        .andReturn();
+
+    JsonNode body = smileMapper.readTree(result.getResponse().getContentAsByteArray());
+    assertThat(body.path("error").path("code").asText()).isEqualTo("RESOURCE_NOT_FOUND");
+  }
+}
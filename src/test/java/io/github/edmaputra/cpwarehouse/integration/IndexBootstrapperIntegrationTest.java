@@ -0,0 +1,40 @@
+package io.github.edmaputra.cpwarehouse.integration;
+
+import io.github.edmaputra.cpwarehouse.config.IndexBootstrapper;
+import io.github.edmaputra.cpwarehouse.domain.entity.Item;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the startup index bootstrap.
+ */
+class IndexBootstrapperIntegrationTest extends BaseIntegrationTest {
+
+  @Autowired
+  IndexBootstrapper indexBootstrapper;
+
+  @Autowired
+  MongoTemplate mongoTemplate;
+
+  @Test
+  void bootstrap_ShouldOnlyBuildMissingIndexes() {
+    // Startup already built everything that was declared
+    assertThat(indexBootstrapper.bootstrap()).isZero();
+
+    // Given - the unique SKU index is gone
+    mongoTemplate.indexOps(Item.class).dropIndex("sku");
+
+    // When & Then - only that index is rebuilt, with its options
+    assertThat(indexBootstrapper.bootstrap()).isEqualTo(1);
+    assertThat(mongoTemplate.indexOps(Item.class).getIndexInfo())
+        .filteredOn(index -> index.getName().equals("sku"))
+        .singleElement()
+        .extracting(IndexInfo::isUnique)
+        .isEqualTo(true);
+    assertThat(indexBootstrapper.bootstrap()).isZero();
+  }
+}
@@ -3,31 +3,56 @@ package io.github.edmaputra.cpwarehouse.integration;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.edmaputra.cpwarehouse.domain.entity.Item;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement.MovementType;
 import io.github.edmaputra.cpwarehouse.dto.request.ItemCreateRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.ItemUpdateRequest;
+import io.github.edmaputra.cpwarehouse.dto.request.StockAdjustRequest;
+import io.github.edmaputra.cpwarehouse.dto.request.StockCreateRequest;
+import io.github.edmaputra.cpwarehouse.dto.request.VariantCreateRequest;
+import io.github.edmaputra.cpwarehouse.dto.request.VariantUpdateRequest;
+import io.github.edmaputra.cpwarehouse.repository.ItemPurgeJobRepository;
 import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemViewRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.github.edmaputra.cpwarehouse.repository.VariantRepository;
+import io.github.edmaputra.cpwarehouse.service.view.ItemViewProjector;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -36,15 +61,46 @@ class ItemControllerIntegrationTest extends BaseIntegrationTest {
   @Autowired
   ItemRepository itemRepository;
 
+  @Autowired
+  VariantRepository variantRepository;
+
+  @Autowired
+  StockRepository stockRepository;
+
+  @Autowired
+  StockMovementRepository stockMovementRepository;
+
+  @Autowired
+  ItemPurgeJobRepository itemPurgeJobRepository;
+
+  @Autowired
+  ItemViewRepository itemViewRepository;
+
+  @Autowired
+  ItemViewProjector itemViewProjector;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
   @BeforeEach
   void setUp() {
     // Clean database before each test
+    itemViewRepository.deleteAll();
+    itemPurgeJobRepository.deleteAll();
+    stockMovementRepository.deleteAll();
+    stockRepository.deleteAll();
+    variantRepository.deleteAll();
     itemRepository.deleteAll();
   }
 
   @AfterEach
   void tearDown() {
     // Clean database after each test
+    itemViewRepository.deleteAll();
+    itemPurgeJobRepository.deleteAll();
+    stockMovementRepository.deleteAll();
+    stockRepository.deleteAll();
+    variantRepository.deleteAll();
     itemRepository.deleteAll();
   }
 
@@ -229,6 +285,31 @@ class ItemControllerIntegrationTest extends BaseIntegrationTest {
         .andExpect(jsonPath("$.data.content[*].name", everyItem(containsString("Blue"))));
   }
 
+  @Test
+  void getAllItems_WithFields_ShouldReturnOnlySelectedFields() throws Exception {
+    // Given
+    createTestItem("TEST-001", "Item One", new BigDecimal("10.00"));
+
+    // When & Then
+    mockMvc.perform(get("/api/v1/items").param("fields", "name,basePrice"))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.content", hasSize(1)))
+        .andExpect(jsonPath("$.data.content[0].id").exists())
+        .andExpect(jsonPath("$.data.content[0].name").value("Item One"))
+        .andExpect(jsonPath("$.data.content[0].basePrice").value(10.00))
+        .andExpect(jsonPath("$.data.content[0].sku").doesNotExist())
+        .andExpect(jsonPath("$.data.content[0].createdAt").doesNotExist());
+  }
+
+  @Test
+  void getAllItems_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+    mockMvc.perform(get("/api/v1/items").param("fields", "name,password"))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error.code").value("INVALID_OPERATION"));
+  }
+
   @Test
   void getItemById_WithExistingId_ShouldReturnItem() throws Exception {
     // Given
@@ -258,6 +339,75 @@ class ItemControllerIntegrationTest extends BaseIntegrationTest {
         .andExpect(jsonPath("$.error.message").value(containsString(nonExistingId)));
   }
 
+  @Test
+  void getItemById_WithCurrentETag_ShouldReturnNotModifiedUntilItemChanges() throws Exception {
+    // Given
+    String itemId = createTestItem("TEST-001", "Test Item", new BigDecimal("29.99"));
+    String etag = mockMvc.perform(get("/api/v1/items/" + itemId))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    // When & Then - revalidation with the current tag has no body
+    mockMvc.perform(get("/api/v1/items/" + itemId).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, etag))
+        .andExpect(content().string(""));
+
+    // After an update the old tag no longer matches
+    Thread.sleep(5);
+    ItemUpdateRequest updateRequest = ItemUpdateRequest.builder()
+        .name("Renamed Item")
+        .basePrice(new BigDecimal("29.99"))
+        .isActive(true)
+        .build();
+    mockMvc.perform(put("/api/v1/items/" + itemId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(updateRequest)))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/api/v1/items/" + itemId).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+        .andExpect(jsonPath("$.data.name").value("Renamed Item"));
+  }
+
+  @Test
+  void getItemById_WithConcurrentIdenticalRequests_ShouldCoalesceIntoSharedCalls() throws Exception {
+    // Given
+    String itemId = createTestItem("TEST-001", "Test Item", new BigDecimal("29.99"));
+    double leadersBefore = singleFlightCount("leader");
+    double coalescedBefore = singleFlightCount("coalesced");
+
+    int concurrentRequests = 16;
+    CountDownLatch startLatch = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(concurrentRequests);
+    List<Future<String>> responses = new ArrayList<>();
+
+    // When
+    for (int i = 0; i < concurrentRequests; i++) {
+      responses.add(executor.submit(() -> {
+        startLatch.await();
+        return mockMvc.perform(get("/api/v1/items/" + itemId))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+      }));
+    }
+    startLatch.countDown();
+
+    // Then - every caller gets the item, and each call either ran the query or joined one
+    for (Future<String> response : responses) {
+      assertThat(objectMapper.readTree(response.get()).get("data").get("id").asText()).isEqualTo(itemId);
+    }
+    executor.shutdown();
+
+    double leaders = singleFlightCount("leader") - leadersBefore;
+    double coalesced = singleFlightCount("coalesced") - coalescedBefore;
+    assertThat(leaders).isGreaterThanOrEqualTo(1);
+    assertThat(leaders + coalesced).isEqualTo(concurrentRequests);
+  }
+
   @Test
   void updateItem_WithValidRequest_ShouldReturnUpdatedItem() throws Exception {
     // Given
@@ -349,6 +499,47 @@ class ItemControllerIntegrationTest extends BaseIntegrationTest {
     assertThat(itemRepository.count()).isEqualTo(0);
   }
 
+  @Test
+  void hardDeleteItem_ShouldPurgeVariantsStockAndMovementsInBackground() throws Exception {
+    // Given - Item with variants, stock and movements, next to an unrelated item
+    String itemId = createTestItem("PURGE-001", "Purged Item", new BigDecimal("10.00"));
+    String keptItemId = createTestItem("KEEP-001", "Kept Item", new BigDecimal("10.00"));
+    String redId = createVariantViaApi(itemId, "PURGE-001-RED", BigDecimal.ZERO);
+    createVariantViaApi(itemId, "PURGE-001-BLUE", BigDecimal.ZERO);
+    String baseStockId = createStockViaApi(itemId, null, 10);
+    String redStockId = createStockViaApi(itemId, redId, 10);
+    String keptStockId = createStockViaApi(keptItemId, null, 10);
+    for (int i = 0; i < 3; i++) {
+      adjustStockViaApi(baseStockId);
+      adjustStockViaApi(redStockId);
+    }
+    adjustStockViaApi(keptStockId);
+
+    // When
+    mockMvc.perform(delete("/api/v1/items/" + itemId + "/permanent"))
+        .andExpect(status().isNoContent());
+
+    // Then - The purge completes in small batches and leaves the other item alone
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+        mockMvc.perform(get("/api/v1/items/" + itemId + "/purge"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.data.phase").value("DONE")));
+
+    assertThat(variantRepository.findByItemId(itemId)).isEmpty();
+    assertThat(stockRepository.findByItemId(itemId)).isEmpty();
+    assertThat(stockMovementRepository.findAll())
+        .allSatisfy(movement -> assertThat(movement.getStockId()).isEqualTo(keptStockId))
+        .isNotEmpty();
+    assertThat(stockRepository.findByItemId(keptItemId)).hasSize(1);
+    assertThat(itemPurgeJobRepository.findFirstByItemIdOrderByCreatedAtDesc(itemId)).get()
+        .satisfies(job -> {
+          assertThat(job.getStocksDeleted()).isEqualTo(2);
+          assertThat(job.getVariantsDeleted()).isEqualTo(2);
+          assertThat(job.getMovementsDeleted()).isGreaterThanOrEqualTo(6);
+        });
+  }
+
   @Test
   void hardDeleteItem_WithNonExistingId_ShouldReturnNotFound() throws Exception {
     // Given
@@ -402,6 +593,113 @@ class ItemControllerIntegrationTest extends BaseIntegrationTest {
         .andExpect(jsonPath("$.data.content[2].basePrice").value(10.00));
   }
 
+  @Test
+  void getItemView_AfterWrites_ShouldServeItemVariantsAndAvailability() throws Exception {
+    // Given - Item with two variants, one of them stocked, plus base stock
+    String itemId = createTestItem("VIEW-001", "Viewed Item", new BigDecimal("100.00"));
+    String redId = createVariantViaApi(itemId, "VIEW-001-RED", new BigDecimal("5.00"));
+    String blueId = createVariantViaApi(itemId, "VIEW-001-BLUE", new BigDecimal("-10.00"));
+    createStockViaApi(itemId, null, 20);
+    createStockViaApi(itemId, redId, 7);
+    itemViewProjector.refresh();
+
+    // When & Then
+    mockMvc.perform(get("/api/v1/items/" + itemId + "/view"))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.itemId").value(itemId))
+        .andExpect(jsonPath("$.data.sku").value("VIEW-001"))
+        .andExpect(jsonPath("$.data.baseStock.availableQuantity").value(20))
+        .andExpect(jsonPath("$.data.variants", hasSize(2)))
+        .andExpect(jsonPath("$.data.variants[?(@.variantId == '" + redId + "')].finalPrice").value(105.00))
+        .andExpect(jsonPath("$.data.variants[?(@.variantId == '" + redId + "')].stock.availableQuantity").value(7))
+        .andExpect(jsonPath("$.data.variants[?(@.variantId == '" + blueId + "')].finalPrice").value(90.00))
+        .andExpect(jsonPath("$.data.totalAvailable").value(27));
+
+    // When - Deactivate a variant; the view follows after the next projector run
+    mockMvc.perform(put("/api/v1/variants/" + blueId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(VariantUpdateRequest.builder().isActive(false).build())))
+        .andExpect(status().isOk());
+    itemViewProjector.refresh();
+
+    // Then
+    mockMvc.perform(get("/api/v1/items/" + itemId + "/view"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.variants", hasSize(1)))
+        .andExpect(jsonPath("$.data.variants[0].variantId").value(redId));
+    assertThat(itemViewRepository.findById(itemId)).get()
+        .satisfies(view -> assertThat(view.getSourceWatermark())
+            .isGreaterThanOrEqualTo(variantRepository.findById(blueId).orElseThrow().getUpdatedAt()));
+  }
+
+  @Test
+  void getItemView_WithoutBuiltView_ShouldBuildOnReadOr404() throws Exception {
+    String itemId = createTestItem("VIEW-002", "Unprojected Item", new BigDecimal("10.00"));
+    itemViewRepository.deleteAll();
+
+    mockMvc.perform(get("/api/v1/items/" + itemId + "/view"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.variants", hasSize(0)))
+        .andExpect(jsonPath("$.data.totalAvailable").value(0));
+
+    mockMvc.perform(get("/api/v1/items/000000000000000000000000/view"))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.success").value(false));
+  }
+
+  private String createVariantViaApi(String itemId, String sku, BigDecimal priceAdjustment) throws Exception {
+    VariantCreateRequest request = VariantCreateRequest.builder()
+        .itemId(itemId)
+        .variantSku(sku)
+        .variantName(sku)
+        .attributes(Map.of("sku", sku))
+        .priceAdjustment(priceAdjustment)
+        .build();
+
+    MvcResult result = mockMvc.perform(post("/api/v1/items/" + itemId + "/variants")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isCreated()).andReturn();
+
+    return objectMapper.readTree(result.getResponse().getContentAsString()).get("data").get("id").asText();
+  }
+
+  private String createStockViaApi(String itemId, String variantId, int quantity) throws Exception {
+    StockCreateRequest request = StockCreateRequest.builder()
+        .itemId(itemId)
+        .variantId(variantId)
+        .quantity(quantity)
+        .build();
+
+    MvcResult result = mockMvc.perform(post("/api/v1/stock")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isCreated()).andReturn();
+
+    return objectMapper.readTree(result.getResponse().getContentAsString()).get("data").get("id").asText();
+  }
+
+  private double singleFlightCount(String role) {
+    return Optional.ofNullable(meterRegistry.find("command.single.flight")
+            .tags("command", "GetItemByIdCommand", "role", role)
+            .counter())
+        .map(counter -> counter.count())
+        .orElse(0.0);
+  }
+
+  private void adjustStockViaApi(String stockId) throws Exception {
+    StockAdjustRequest request = StockAdjustRequest.builder()
+        .movementType(MovementType.IN)
+        .quantity(1)
+        .build();
+
+    mockMvc.perform(put("/api/v1/stock/" + stockId + "/adjust")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk());
+  }
+
   /**
    * Helper method to create a test item.
    */
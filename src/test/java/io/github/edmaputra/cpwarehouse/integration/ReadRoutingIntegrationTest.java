@@ -0,0 +1,271 @@
+package io.github.edmaputra.cpwarehouse.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import io.github.edmaputra.cpwarehouse.common.Command;
+import io.github.edmaputra.cpwarehouse.common.CommandExecutor;
+import io.github.edmaputra.cpwarehouse.controller.ConsistencyTokenInterceptor;
+import io.github.edmaputra.cpwarehouse.dto.request.ItemCreateRequest;
+import io.github.edmaputra.cpwarehouse.dto.request.StockCreateRequest;
+import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for read-preference routing and consistency tokens, against a single-node replica set.
+ * A probe query command is coalesced to check that reads inside a write command never join a routed read.
+ */
+@Testcontainers
+@TestPropertySource(properties = "application.single-flight.commands[0]=ProbeQueryCommand")
+class ReadRoutingIntegrationTest extends BaseIntegrationTest {
+
+  @Container
+  static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+
+  @DynamicPropertySource
+  static void setProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", () -> mongoDBContainer.getReplicaSetUrl("cpwarehouse_test"));
+  }
+
+  static final List<BsonDocument> finds = new CopyOnWriteArrayList<>();
+
+  @TestConfiguration
+  static class FindCommandCapture {
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer findCommandListener() {
+      return builder -> builder.addCommandListener(new CommandListener() {
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+          if (event.getCommandName().equals("find")) {
+            finds.add(event.getCommand().clone());
+          }
+        }
+      });
+    }
+  }
+
+  static final CountDownLatch leaderStarted = new CountDownLatch(1);
+  static final CountDownLatch releaseLeader = new CountDownLatch(1);
+  static final AtomicInteger probeReads = new AtomicInteger();
+
+  /**
+   * Coalesced query command; its first execution blocks until released, so it stays in flight.
+   */
+  static class ProbeQueryCommand implements Command<String, String> {
+
+    @Override
+    @Transactional(readOnly = true)
+    public String execute(String request) {
+      int read = probeReads.incrementAndGet();
+      if (read == 1) {
+        leaderStarted.countDown();
+        try {
+          releaseLeader.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return "read-" + read;
+    }
+  }
+
+  /**
+   * Write command that calls ProbeQueryCommand with the same request.
+   */
+  static class ProbeWriteCommand implements Command<String, String> {
+
+    @Autowired
+    CommandExecutor commandExecutor;
+
+    @Override
+    public String execute(String request) {
+      return commandExecutor.execute(ProbeQueryCommand.class, request);
+    }
+  }
+
+  @TestConfiguration
+  static class ProbeCommands {
+
+    @Bean
+    ProbeQueryCommand probeQueryCommand() {
+      return new ProbeQueryCommand();
+    }
+
+    @Bean
+    ProbeWriteCommand probeWriteCommand() {
+      return new ProbeWriteCommand();
+    }
+  }
+
+  @Autowired
+  CommandExecutor commandExecutor;
+
+  @Autowired
+  ItemRepository itemRepository;
+
+  @Autowired
+  StockRepository stockRepository;
+
+  @Autowired
+  TestHelper testHelper;
+
+  @BeforeEach
+  void setUp() {
+    stockRepository.deleteAll();
+    itemRepository.deleteAll();
+    finds.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    stockRepository.deleteAll();
+    itemRepository.deleteAll();
+  }
+
+  @Test
+  void write_ShouldReturnTokenThatMakesNextReadCausallyConsistent() throws Exception {
+    // When
+    MvcResult created = mockMvc.perform(post("/api/v1/items")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(ItemCreateRequest.builder()
+                .sku("RR-001")
+                .name("Routed Item")
+                .basePrice(new BigDecimal("10.00"))
+                .build())))
+        .andExpect(status().isCreated())
+        .andExpect(header().exists(ConsistencyTokenInterceptor.HEADER))
+        .andReturn();
+    String token = created.getResponse().getHeader(ConsistencyTokenInterceptor.HEADER);
+    JsonNode body = objectMapper.readTree(created.getResponse().getContentAsString());
+    String itemId = body.get("data").get("id").asText();
+    finds.clear();
+
+    // Then
+    mockMvc.perform(get("/api/v1/items/{id}", itemId).header(ConsistencyTokenInterceptor.HEADER, token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.sku").value("RR-001"));
+
+    BsonDocument find = itemsFind();
+    assertRoutedToSecondary(find);
+    BsonTimestamp afterClusterTime = find.getDocument("readConcern").getTimestamp("afterClusterTime");
+    assertThat(afterClusterTime.getValue()).isEqualTo(Long.parseUnsignedLong(token, 16));
+  }
+
+  @Test
+  void read_WithoutToken_ShouldNotWaitForAnyWrite() throws Exception {
+    String itemId = testHelper.createTestItem("RR-002", "Plain Item", BigDecimal.TEN);
+    finds.clear();
+
+    mockMvc.perform(get("/api/v1/items/{id}", itemId))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(ConsistencyTokenInterceptor.HEADER));
+
+    BsonDocument find = itemsFind();
+    assertRoutedToSecondary(find);
+    assertThat(find.containsKey("readConcern")
+        && find.getDocument("readConcern").containsKey("afterClusterTime")).isFalse();
+  }
+
+  @Test
+  void readInsideWriteCommand_ShouldStayOnPrimary() throws Exception {
+    String itemId = testHelper.createTestItem("RR-003", "Stocked Item", BigDecimal.TEN);
+    finds.clear();
+
+    // When - creating stock looks the item up through GetItemByIdCommand, a query command
+    mockMvc.perform(post("/api/v1/stock")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(StockCreateRequest.builder()
+                .itemId(itemId)
+                .quantity(5)
+                .warehouseLocation("RR-01")
+                .build())))
+        .andExpect(status().isCreated());
+
+    // Then - the lookup is sent without a secondary read preference
+    BsonDocument find = itemsFind();
+    assertThat(find.containsKey("$readPreference")
+        ? find.getDocument("$readPreference").getString("mode").getValue()
+        : "primary").isEqualTo("primary");
+  }
+
+  @Test
+  void readInsideWriteCommand_ShouldNotJoinInFlightRead() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      // Given - a routed read of the probe is in flight
+      Future<String> leader = executor.submit(() -> commandExecutor.execute(ProbeQueryCommand.class, "probe"));
+      assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+      // When - a write command reads the same probe
+      Future<String> nested = executor.submit(() -> commandExecutor.execute(ProbeWriteCommand.class, "probe"));
+
+      // Then - it runs its own read instead of waiting for the routed one
+      assertThat(nested.get(5, TimeUnit.SECONDS)).isEqualTo("read-2");
+      releaseLeader.countDown();
+      assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("read-1");
+    } finally {
+      releaseLeader.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void read_WithMalformedToken_ShouldReturnBadRequest() throws Exception {
+    mockMvc.perform(get("/api/v1/items/{id}", "any").header(ConsistencyTokenInterceptor.HEADER, "not-a-token"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error.code").value("INVALID_OPERATION"));
+  }
+
+  private static void assertRoutedToSecondary(BsonDocument find) {
+    BsonDocument readPreference = find.getDocument("$readPreference", new BsonDocument());
+    assertThat(readPreference.getString("mode", new BsonString("primary")).getValue())
+        .isEqualTo("secondaryPreferred");
+    assertThat(readPreference.getNumber("maxStalenessSeconds", new BsonInt64(-1)).longValue()).isEqualTo(90);
+  }
+
+  private static BsonDocument itemsFind() {
+    return finds.stream()
+        .filter(find -> find.getString("find").getValue().equals("items"))
+        .reduce((first, second) -> second)
+        .orElseThrow();
+  }
+}
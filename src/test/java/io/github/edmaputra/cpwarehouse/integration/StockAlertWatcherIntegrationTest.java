@@ -0,0 +1,106 @@
+package io.github.edmaputra.cpwarehouse.integration;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.Lease;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockAlert;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockAlert.AlertLevel;
+import io.github.edmaputra.cpwarehouse.repository.LeaseRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockAlertRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.github.edmaputra.cpwarehouse.service.lease.InstanceLeases;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for the stock alert watcher lease, against a single-node replica set.
+ * Runs with a short lease so a takeover happens within a test.
+ */
+@Testcontainers
+class StockAlertWatcherIntegrationTest extends BaseIntegrationTest {
+
+  private static final String LEASE_NAME = "stock-alert-watcher";
+
+  @Container
+  static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+
+  @DynamicPropertySource
+  static void setProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", () -> mongoDBContainer.getReplicaSetUrl("cpwarehouse_test"));
+    registry.add("application.alerts.enabled", () -> "true");
+    registry.add("application.alerts.lease-duration", () -> "3s");
+    registry.add("application.alerts.retry-delay", () -> "200ms");
+  }
+
+  @Autowired
+  StockRepository stockRepository;
+
+  @Autowired
+  StockAlertRepository stockAlertRepository;
+
+  @Autowired
+  LeaseRepository leaseRepository;
+
+  @Autowired
+  InstanceLeases instanceLeases;
+
+  @BeforeEach
+  void setUp() {
+    stockAlertRepository.deleteAll();
+    stockRepository.deleteAll();
+  }
+
+  @AfterEach
+  void tearDown() {
+    leaseRepository.deleteById(LEASE_NAME);
+    stockAlertRepository.deleteAll();
+    stockRepository.deleteAll();
+  }
+
+  @Test
+  void watcher_WhileAnotherInstanceHoldsLease_ShouldNotRaiseAlerts() throws Exception {
+    // Given - this instance watches
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+        assertThat(leaseRepository.findById(LEASE_NAME))
+            .get()
+            .extracting(Lease::getOwner)
+            .isEqualTo(instanceLeases.owner()));
+
+    // When - another instance takes the lease; the watcher notices on its next renewal and stops
+    leaseRepository.save(Lease.builder()
+        .id(LEASE_NAME)
+        .owner("other-instance")
+        .expiresAt(System.currentTimeMillis() + 60_000)
+        .build());
+    Thread.sleep(3000);
+    String stockId = stockRepository.save(Stock.builder()
+        .itemId("ALERT-ITEM")
+        .quantity(0)
+        .reservedQuantity(0)
+        .build()).getId();
+
+    // Then - no alert while the other instance holds the lease
+    Thread.sleep(2000);
+    assertThat(stockAlertRepository.findFirstByStockIdAndActiveTrue(stockId)).isEmpty();
+
+    // Once it is gone, this instance takes over and resumes from its stored token
+    leaseRepository.deleteById(LEASE_NAME);
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+        assertThat(stockAlertRepository.findFirstByStockIdAndActiveTrue(stockId))
+            .get()
+            .extracting(StockAlert::getLevel)
+            .isEqualTo(AlertLevel.OUT_OF_STOCK));
+  }
+}
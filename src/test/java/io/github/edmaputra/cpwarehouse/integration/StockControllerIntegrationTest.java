@@ -1,31 +1,60 @@
 package io.github.edmaputra.cpwarehouse.integration;
 
+import io.github.edmaputra.cpwarehouse.domain.entity.Lease;
 import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockAlert;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockCheckpoint;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
 import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement.MovementType;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockOutboxEvent;
 import io.github.edmaputra.cpwarehouse.domain.entity.Variant;
 import io.github.edmaputra.cpwarehouse.dto.request.StockAdjustRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.StockCreateRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.StockReleaseRequest;
 import io.github.edmaputra.cpwarehouse.dto.request.StockReserveRequest;
+import io.github.edmaputra.cpwarehouse.dto.request.StockThresholdRequest;
 import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.LeaseRepository;
+import io.github.edmaputra.cpwarehouse.repository.ReconciliationRunRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockAlertRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockCheckpointRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockCheckpointRunRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockDiscrepancyRepository;
 import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockOutboxRepository;
 import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockReservationRepository;
 import io.github.edmaputra.cpwarehouse.repository.VariantRepository;
+import io.github.edmaputra.cpwarehouse.service.checkpoint.StockCheckpointer;
+import io.github.edmaputra.cpwarehouse.service.outbox.InMemoryOutboxSink;
+import io.github.edmaputra.cpwarehouse.service.outbox.OutboxPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -43,15 +72,60 @@ class StockControllerIntegrationTest extends BaseIntegrationTest {
   @Autowired
   VariantRepository variantRepository;
 
+  @Autowired
+  StockAlertRepository stockAlertRepository;
+
+  @Autowired
+  StockOutboxRepository stockOutboxRepository;
+
+  @Autowired
+  StockReservationRepository stockReservationRepository;
+
+  @Autowired
+  StockCheckpointRepository stockCheckpointRepository;
+
+  @Autowired
+  StockCheckpointRunRepository stockCheckpointRunRepository;
+
+  @Autowired
+  StockCheckpointer stockCheckpointer;
+
+  @Autowired
+  ReconciliationRunRepository reconciliationRunRepository;
+
+  @Autowired
+  StockDiscrepancyRepository stockDiscrepancyRepository;
+
+  @Autowired
+  OutboxPublisher outboxPublisher;
+
+  @Autowired
+  InMemoryOutboxSink outboxSink;
+
+  @Autowired
+  LeaseRepository leaseRepository;
+
   @Autowired
   TestHelper testHelper;
 
+  @Autowired
+  MeterRegistry meterRegistry;
+
   private String testItemId;
   private String testVariantId;
 
   @BeforeEach
   void setUp() throws Exception {
     // Clean databases before each test
+    stockOutboxRepository.deleteAll();
+    leaseRepository.deleteAll();
+    outboxSink.clear();
+    stockAlertRepository.deleteAll();
+    stockReservationRepository.deleteAll();
+    stockCheckpointRepository.deleteAll();
+    stockCheckpointRunRepository.deleteAll();
+    stockDiscrepancyRepository.deleteAll();
+    reconciliationRunRepository.deleteAll();
     stockMovementRepository.deleteAll();
     stockRepository.deleteAll();
     variantRepository.deleteAll();
@@ -65,6 +139,9 @@ class StockControllerIntegrationTest extends BaseIntegrationTest {
   @AfterEach
   void tearDown() {
     // Clean databases after each test
+    stockOutboxRepository.deleteAll();
+    leaseRepository.deleteAll();
+    stockAlertRepository.deleteAll();
     stockMovementRepository.deleteAll();
     stockRepository.deleteAll();
     variantRepository.deleteAll();
@@ -481,6 +558,21 @@ class StockControllerIntegrationTest extends BaseIntegrationTest {
         .andExpect(jsonPath("$.error.code").value("INSUFFICIENT_STOCK"));
   }
 
+  @Test
+  void reserveStock_ShouldWriteStockAsCriticalAndMovementAsFast() throws Exception {
+    // Given
+    String stockId = createTestStock(testItemId, null, 100, "WAREHOUSE-A");
+    long stockWrites = writeCount("critical", "update");
+    long movementWrites = writeCount("fast", "insert");
+
+    // When
+    reserveTestStock(stockId, 10);
+
+    // Then - the stock counter is written with majority, the movement audit insert with w:1
+    assertThat(writeCount("critical", "update")).isGreaterThan(stockWrites);
+    assertThat(writeCount("fast", "insert")).isGreaterThan(movementWrites);
+  }
+
   @Test
   void reserveStock_MultipleReservations_ShouldAccumulateReserved() throws Exception {
     // Given
@@ -715,8 +807,8 @@ class StockControllerIntegrationTest extends BaseIntegrationTest {
         .andExpect(jsonPath("$.data.availableQuantity").value(100));
 
     // Verify the reservation is marked as released
-    var reservation = stockMovementRepository.findById(reservationId).get();
-    assertThat(reservation.isReleased()).isTrue();
+    var reservation = stockReservationRepository.findById(reservationId).get();
+    assertThat(reservation.getStockId()).isEqualTo(stockId);
     assertThat(reservation.getReleasedAt()).isNotNull();
     assertThat(reservation.getReleaseMovementId()).isNotNull();
 
@@ -750,8 +842,7 @@ class StockControllerIntegrationTest extends BaseIntegrationTest {
         .andExpect(jsonPath("$.data.availableQuantity").value(65));
 
     // Verify linkage
-    var reservation = stockMovementRepository.findById(reservationId).get();
-    assertThat(reservation.isReleased()).isTrue();
+    assertThat(stockReservationRepository.existsById(reservationId)).isTrue();
   }
 
   @Test
@@ -964,6 +1055,182 @@ class StockControllerIntegrationTest extends BaseIntegrationTest {
         .andExpect(jsonPath("$.data").isEmpty());
   }
 
+  // ==================== ITEM INVENTORY SUMMARY TESTS ====================
+
+  @Test
+  void getItemInventorySummary_AfterStockMutations_ShouldReflectDeltas() throws Exception {
+    // Given - Base stock 100 and variant stock 50, then reserve, commit and drain
+    String baseStockId = createStockViaApi(testItemId, null, 100);
+    String variantStockId = createStockViaApi(testItemId, testVariantId, 50);
+
+    reserveTestStock(baseStockId, 30);           // base: 100 / 30 reserved
+    releaseTestStock(baseStockId, 10, MovementType.OUT);  // base: 90 / 20 reserved
+    adjustTestStock(variantStockId, MovementType.OUT, 50); // variant: 0 / 0 -> out of stock
+
+    // When & Then
+    mockMvc.perform(get("/api/v1/stock/item/" + testItemId + "/summary"))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.success").value(true))
+        .andExpect(jsonPath("$.data.itemId").value(testItemId))
+        .andExpect(jsonPath("$.data.totalQuantity").value(90))
+        .andExpect(jsonPath("$.data.totalReserved").value(20))
+        .andExpect(jsonPath("$.data.totalAvailable").value(70))
+        .andExpect(jsonPath("$.data.inStockCount").value(1))
+        .andExpect(jsonPath("$.data.stockCount").value(2));
+  }
+
+  @Test
+  void getItemInventorySummary_WithNonExistentItem_ShouldReturnNotFound() throws Exception {
+    mockMvc.perform(get("/api/v1/stock/item/000000000000000000000000/summary"))
+        .andDo(print())
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.success").value(false));
+  }
+
+  @Test
+  void getItemInventorySummaries_ShouldReturnSummariesInRequestOrder() throws Exception {
+    // Given
+    String otherItemId = testHelper.createTestItem("TEST-ITEM-002", "Other Item", new BigDecimal("10.00"));
+    createStockViaApi(testItemId, null, 40);
+    createStockViaApi(otherItemId, null, 15);
+
+    // When & Then - Items without stock get a zero summary
+    mockMvc.perform(get("/api/v1/stock/item/summaries")
+            .param("itemIds", otherItemId, testItemId, "000000000000000000000000"))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data", hasSize(3)))
+        .andExpect(jsonPath("$.data[0].itemId").value(otherItemId))
+        .andExpect(jsonPath("$.data[0].totalAvailable").value(15))
+        .andExpect(jsonPath("$.data[1].itemId").value(testItemId))
+        .andExpect(jsonPath("$.data[1].totalAvailable").value(40))
+        .andExpect(jsonPath("$.data[2].totalAvailable").value(0));
+  }
+
+  // ==================== REORDER THRESHOLD & ALERT TESTS ====================
+
+  @Test
+  void updateReorderThreshold_ShouldSetAndClearThreshold() throws Exception {
+    // Given
+    String stockId = createStockViaApi(testItemId, null, 100);
+
+    // When & Then - Set
+    mockMvc.perform(put("/api/v1/stock/" + stockId + "/reorder-threshold")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new StockThresholdRequest(20))))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.reorderThreshold").value(20))
+        .andExpect(jsonPath("$.data.quantity").value(100));
+
+    assertThat(stockRepository.findById(stockId)).get()
+        .extracting(Stock::getReorderThreshold).isEqualTo(20);
+
+    // When & Then - Clear
+    mockMvc.perform(put("/api/v1/stock/" + stockId + "/reorder-threshold")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new StockThresholdRequest(null))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.reorderThreshold").doesNotExist());
+  }
+
+  @Test
+  void updateReorderThreshold_WithNegativeValueOrUnknownStock_ShouldFail() throws Exception {
+    String stockId = createStockViaApi(testItemId, null, 100);
+
+    mockMvc.perform(put("/api/v1/stock/" + stockId + "/reorder-threshold")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new StockThresholdRequest(-1))))
+        .andExpect(status().isBadRequest());
+
+    mockMvc.perform(put("/api/v1/stock/000000000000000000000000/reorder-threshold")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new StockThresholdRequest(5))))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void getStockAlerts_WithFilters_ShouldReturnMatchingAlertsNewestFirst() throws Exception {
+    // Given - Alerts as the change stream watcher writes them
+    stockAlertRepository.save(StockAlert.builder().stockId("stock-1").itemId(testItemId)
+        .level(StockAlert.AlertLevel.LOW_STOCK).availableQuantity(5).reorderThreshold(10)
+        .active(false).createdAt(1000L).resolvedAt(2000L).build());
+    stockAlertRepository.save(StockAlert.builder().stockId("stock-1").itemId(testItemId)
+        .level(StockAlert.AlertLevel.OUT_OF_STOCK).availableQuantity(0).reorderThreshold(10)
+        .active(true).createdAt(2000L).build());
+    stockAlertRepository.save(StockAlert.builder().stockId("stock-2").itemId(testItemId)
+        .level(StockAlert.AlertLevel.LOW_STOCK).availableQuantity(3).reorderThreshold(5)
+        .active(true).createdAt(3000L).build());
+
+    // When & Then
+    mockMvc.perform(get("/api/v1/stock/alerts").param("active", "true"))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.content", hasSize(2)))
+        .andExpect(jsonPath("$.data.content[0].stockId").value("stock-2"))
+        .andExpect(jsonPath("$.data.content[1].level").value("OUT_OF_STOCK"));
+
+    mockMvc.perform(get("/api/v1/stock/alerts").param("stockId", "stock-1").param("level", "LOW_STOCK"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.content", hasSize(1)))
+        .andExpect(jsonPath("$.data.content[0].active").value(false))
+        .andExpect(jsonPath("$.data.content[0].resolvedAt").value(2000));
+  }
+
+  // ==================== OUTBOX TESTS ====================
+
+  @Test
+  void stockMutations_ShouldBeDeliveredFromOutboxInVersionOrder() throws Exception {
+    // Given - Create, reserve, adjust
+    String stockId = createStockViaApi(testItemId, null, 100);
+    reserveTestStock(stockId, 30);
+    adjustTestStock(stockId, MovementType.IN, 5);
+
+    // When
+    outboxPublisher.drain();
+
+    // Then - Events carry the resulting state, in stock version order
+    assertThat(outboxSink.events())
+        .filteredOn(event -> event.getStockId().equals(stockId))
+        .extracting(StockOutboxEvent::getType, StockOutboxEvent::getQuantity,
+            StockOutboxEvent::getReservedQuantity, StockOutboxEvent::getAvailableQuantity)
+        .containsExactly(
+            tuple(StockOutboxEvent.EventType.CREATED, 100, 0, 100),
+            tuple(StockOutboxEvent.EventType.RESERVED, 100, 30, 70),
+            tuple(StockOutboxEvent.EventType.ADJUSTED, 105, 30, 75));
+    assertThat(outboxSink.events())
+        .extracting(StockOutboxEvent::getStockVersion)
+        .isSorted();
+    assertThat(stockOutboxRepository.countByPublishedAtIsNull()).isZero();
+  }
+
+  @Test
+  void outboxDrain_WhileAnotherInstanceHoldsLease_ShouldPublishNothing() throws Exception {
+    // Given - another instance holds the publisher lease
+    leaseRepository.save(Lease.builder()
+        .id("stock-outbox-publisher")
+        .owner("other-instance")
+        .expiresAt(System.currentTimeMillis() + 60_000)
+        .build());
+    createStockViaApi(testItemId, null, 100);
+
+    // When & Then - nothing is published until the lease expires
+    assertThat(outboxPublisher.drain()).isZero();
+    assertThat(stockOutboxRepository.countByPublishedAtIsNull()).isEqualTo(1);
+
+    leaseRepository.save(Lease.builder()
+        .id("stock-outbox-publisher")
+        .owner("other-instance")
+        .expiresAt(System.currentTimeMillis() - 1)
+        .build());
+    assertThat(outboxPublisher.drain()).isEqualTo(1);
+    assertThat(leaseRepository.findById("stock-outbox-publisher"))
+        .get()
+        .extracting(Lease::getOwner)
+        .isNotEqualTo("other-instance");
+  }
+
   // ==================== GET STOCK BY VARIANT TESTS ====================
 
   @Test
@@ -1028,6 +1295,35 @@ class StockControllerIntegrationTest extends BaseIntegrationTest {
         .andExpect(jsonPath("$.data.isAvailable").value(false));
   }
 
+  @Test
+  void getStockAvailability_WithCurrentETag_ShouldReturnNotModifiedUntilStockChanges() throws Exception {
+    // Given
+    String stockId = createStockViaApi(testItemId, null, 100);
+    String etag = mockMvc.perform(get("/api/v1/stock/" + stockId + "/availability"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    // When & Then
+    mockMvc.perform(get("/api/v1/stock/" + stockId + "/availability").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    // A reservation bumps the stock version, so the old tag no longer matches
+    reserveTestStock(stockId, 10);
+    mockMvc.perform(get("/api/v1/stock/" + stockId + "/availability").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+        .andExpect(jsonPath("$.data.availableQuantity").value(90));
+  }
+
+  @Test
+  void getStockAvailability_WithNonExistentStock_AndIfNoneMatch_ShouldReturnNotFound() throws Exception {
+    mockMvc.perform(get("/api/v1/stock/507f1f77bcf86cd799439011/availability")
+            .header(HttpHeaders.IF_NONE_MATCH, "\"507f1f77bcf86cd799439011-v0\""))
+        .andExpect(status().isNotFound());
+  }
+
   // ==================== GET STOCK MOVEMENTS TESTS ====================
 
   @Test
@@ -1144,6 +1440,311 @@ class StockControllerIntegrationTest extends BaseIntegrationTest {
         .andExpect(jsonPath("$.data.content[2].quantity").value(10));
   }
 
+  // ==================== EXPORT STOCK MOVEMENTS TESTS ====================
+
+  @Test
+  void exportStockMovements_WithStockIdFilter_ShouldStreamNdjsonOldestFirst() throws Exception {
+    // Given
+    String stockId = createTestStock(testItemId, null, 100, "WAREHOUSE-A");
+    String otherStockId = createTestStock(testItemId, testVariantId, 50, "WAREHOUSE-B");
+
+    adjustTestStock(stockId, MovementType.IN, 10);
+    Thread.sleep(5);
+    reserveTestStock(stockId, 5);
+    adjustTestStock(otherStockId, MovementType.IN, 7);
+
+    // When
+    MvcResult result = mockMvc.perform(get("/api/v1/stock/movements/export")
+            .param("stockIds", stockId))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    result.getAsyncResult();
+
+    // Then
+    String[] lines = result.getResponse().getContentAsString().split("\n");
+    assertThat(lines).hasSize(2);
+    assertThat(objectMapper.readTree(lines[0]).get("movementType").asText()).isEqualTo("IN");
+    assertThat(objectMapper.readTree(lines[1]).get("movementType").asText()).isEqualTo("RESERVATION");
+    assertThat(objectMapper.readTree(lines[1]).get("stockId").asText()).isEqualTo(stockId);
+  }
+
+  @Test
+  void exportStockMovements_WithMovementTypeFilter_ShouldStreamMatchingMovementsOnly() throws Exception {
+    // Given
+    String stockId = createTestStock(testItemId, null, 100, "WAREHOUSE-A");
+
+    adjustTestStock(stockId, MovementType.IN, 10);
+    reserveTestStock(stockId, 5);
+    reserveTestStock(stockId, 3);
+
+    // When
+    MvcResult result = mockMvc.perform(get("/api/v1/stock/movements/export")
+            .param("movementType", "RESERVATION"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    result.getAsyncResult();
+
+    // Then
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+    String[] lines = result.getResponse().getContentAsString().split("\n");
+    assertThat(lines).hasSize(2);
+    assertThat(lines).allSatisfy(line -> assertThat(line).contains("\"movementType\":\"RESERVATION\""));
+  }
+
+  @Test
+  void exportStockMovements_WithTimeWindow_ShouldStreamMovementsInsideItOnly() throws Exception {
+    // Given - one movement before, two inside and one after the window
+    String stockId = createTestStock(testItemId, null, 100, "WAREHOUSE-A");
+
+    adjustTestStock(stockId, MovementType.IN, 10);
+    Thread.sleep(5);
+    long createdFrom = System.currentTimeMillis();
+    adjustTestStock(stockId, MovementType.IN, 20);
+    reserveTestStock(stockId, 5);
+    Thread.sleep(5);
+    long createdTo = System.currentTimeMillis();
+    Thread.sleep(5);
+    adjustTestStock(stockId, MovementType.IN, 30);
+
+    // When
+    MvcResult result = mockMvc.perform(get("/api/v1/stock/movements/export")
+            .param("createdFrom", String.valueOf(createdFrom))
+            .param("createdTo", String.valueOf(createdTo)))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    result.getAsyncResult();
+
+    // Then
+    String[] lines = result.getResponse().getContentAsString().split("\n");
+    assertThat(lines).hasSize(2);
+    assertThat(objectMapper.readTree(lines[0]).get("quantity").asInt()).isEqualTo(20);
+    assertThat(objectMapper.readTree(lines[1]).get("movementType").asText()).isEqualTo("RESERVATION");
+  }
+
+  // ==================== POINT-IN-TIME TESTS ====================
+
+  @Test
+  void getStockAsOf_ShouldReplayMovementsFromNearestCheckpoint() throws Exception {
+    // Given - 100 units, then +50 received and 30 reserved
+    String stockId = createStockViaApi(testItemId, null, 100);
+    Thread.sleep(5);
+    long beforeMovements = System.currentTimeMillis();
+    Thread.sleep(5);
+
+    StockAdjustRequest adjustRequest = StockAdjustRequest.builder()
+        .movementType(MovementType.IN)
+        .quantity(50)
+        .referenceNumber("PO-ASOF")
+        .createdBy("admin")
+        .build();
+    mockMvc.perform(put("/api/v1/stock/" + stockId + "/adjust")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(adjustRequest)))
+        .andExpect(status().isOk());
+    reserveTestStockAndGetMovementId(stockId, 30, "ORDER-ASOF");
+    Thread.sleep(5);
+    long afterMovements = System.currentTimeMillis();
+
+    // When & Then - No checkpoint yet: walk back from the current stock
+    mockMvc.perform(get("/api/v1/stock/" + stockId + "/as-of").param("ts", String.valueOf(beforeMovements)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.quantity").value(100))
+        .andExpect(jsonPath("$.data.reservedQuantity").value(0))
+        .andExpect(jsonPath("$.data.replayedMovements").value(2));
+
+    // Checkpoint the stock, then answer from it in both directions
+    assertThat(stockCheckpointer.checkpoint()).isEqualTo(1);
+    assertThat(stockCheckpointRepository.findAll()).singleElement()
+        .satisfies(checkpoint -> {
+          assertThat(checkpoint.getQuantity()).isEqualTo(150);
+          assertThat(checkpoint.getReservedQuantity()).isEqualTo(30);
+        });
+
+    mockMvc.perform(get("/api/v1/stock/" + stockId + "/as-of").param("ts", String.valueOf(afterMovements)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.quantity").value(150))
+        .andExpect(jsonPath("$.data.reservedQuantity").value(30))
+        .andExpect(jsonPath("$.data.availableQuantity").value(120));
+
+    mockMvc.perform(get("/api/v1/stock/" + stockId + "/as-of").param("ts", String.valueOf(beforeMovements)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.quantity").value(100))
+        .andExpect(jsonPath("$.data.reservedQuantity").value(0))
+        .andExpect(jsonPath("$.data.replayedMovements").value(2));
+  }
+
+  @Test
+  void getStockAsOf_AfterCheckpoint_ShouldReplayLaterMovementsFromIt() throws Exception {
+    // Given - a checkpoint at 110 units, then 20 units out and 15 reserved
+    String stockId = createStockViaApi(testItemId, null, 100);
+    adjustTestStock(stockId, MovementType.IN, 10);
+    Thread.sleep(5);
+    assertThat(stockCheckpointer.checkpoint()).isEqualTo(1);
+    Thread.sleep(5);
+
+    adjustTestStock(stockId, MovementType.OUT, 20);
+    reserveTestStock(stockId, 15);
+    Thread.sleep(5);
+    long afterMovements = System.currentTimeMillis();
+    stockRepository.findById(stockId).ifPresent(stock -> {
+      // Detach the answer from the current record so only the replay can produce it
+      stock.setQuantity(999);
+      stockRepository.save(stock);
+    });
+
+    // When & Then - both later movements are replayed on top of the checkpoint
+    mockMvc.perform(get("/api/v1/stock/" + stockId + "/as-of").param("ts", String.valueOf(afterMovements)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.quantity").value(90))
+        .andExpect(jsonPath("$.data.reservedQuantity").value(15))
+        .andExpect(jsonPath("$.data.replayedMovements").value(2));
+  }
+
+  @Test
+  void checkpoint_AfterRunStoppedPartWay_ShouldCoverTheStocksItMissed() throws Exception {
+    // Given - two stocks with movements; a run that stopped part-way only checkpointed the first one
+    String reachedStockId = createStockViaApi(testItemId, null, 100);
+    String missedStockId = createStockViaApi(testItemId, testVariantId, 50);
+    adjustTestStock(reachedStockId, MovementType.IN, 10);
+    adjustTestStock(missedStockId, MovementType.IN, 5);
+    Thread.sleep(5);
+    stockCheckpointRepository.save(StockCheckpoint.builder()
+        .stockId(reachedStockId)
+        .quantity(110)
+        .reservedQuantity(0)
+        .asOf(System.currentTimeMillis())
+        .replayedMovements(1)
+        .createdAt(System.currentTimeMillis())
+        .build());
+    Thread.sleep(5);
+
+    // When & Then - the next run starts from the last completed run, not the newest checkpoint
+    assertThat(stockCheckpointer.checkpoint()).isEqualTo(2);
+    assertThat(stockCheckpointRepository.findFirstByStockIdAndAsOfLessThanEqualOrderByAsOfDesc(
+        missedStockId, System.currentTimeMillis()))
+        .get()
+        .extracting(StockCheckpoint::getQuantity)
+        .isEqualTo(55);
+
+    // The completed run moved the watermark, so nothing is left to checkpoint
+    assertThat(stockCheckpointer.checkpoint()).isZero();
+  }
+
+  @Test
+  void getStockAsOf_BeforeStockWasCreated_ShouldReturnBadRequest() throws Exception {
+    // Given
+    String stockId = createStockViaApi(testItemId, null, 100);
+
+    // When & Then
+    mockMvc.perform(get("/api/v1/stock/" + stockId + "/as-of").param("ts", "1000"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error.code").value("INVALID_OPERATION"));
+  }
+
+  // ==================== RECONCILIATION TESTS ====================
+
+  @Test
+  void reconciliation_WithTamperedStock_ShouldReportAndCorrectDiscrepancy() throws Exception {
+    // Given - 100 units +50 received, then the stock record is changed without a movement
+    String stockId = createStockViaApi(testItemId, null, 100);
+    StockAdjustRequest adjustRequest = StockAdjustRequest.builder()
+        .movementType(MovementType.IN)
+        .quantity(50)
+        .referenceNumber("PO-RECON")
+        .createdBy("admin")
+        .build();
+    mockMvc.perform(put("/api/v1/stock/" + stockId + "/adjust")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(adjustRequest)))
+        .andExpect(status().isOk());
+
+    Stock tampered = stockRepository.findById(stockId).orElseThrow();
+    tampered.setQuantity(160);
+    stockRepository.save(tampered);
+
+    // When
+    String runId = startReconciliationAndAwait(true);
+
+    // Then
+    mockMvc.perform(get("/api/v1/stock/reconciliations/" + runId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.stocksChecked").value(1))
+        .andExpect(jsonPath("$.data.discrepancies").value(1))
+        .andExpect(jsonPath("$.data.corrected").value(1));
+
+    MvcResult discrepancies = mockMvc.perform(get("/api/v1/stock/reconciliations/" + runId + "/discrepancies"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.content", hasSize(1)))
+        .andExpect(jsonPath("$.data.content[0].stockId").value(stockId))
+        .andExpect(jsonPath("$.data.content[0].stockQuantity").value(160))
+        .andExpect(jsonPath("$.data.content[0].ledgerQuantity").value(150))
+        .andExpect(jsonPath("$.data.content[0].corrected").value(true))
+        .andReturn();
+
+    // The correction records the 10 units it adds, from the ledger's 150 to the stock's 160
+    String correctionId = objectMapper.readTree(discrepancies.getResponse().getContentAsString())
+        .get("data").get("content").get(0).get("correctionMovementId").asText();
+    StockMovement correction = stockMovementRepository.findById(correctionId).orElseThrow();
+    assertThat(correction.getMovementType()).isEqualTo(MovementType.ADJUSTMENT);
+    assertThat(correction.getQuantity()).isEqualTo(10);
+    assertThat(correction.getPreviousQuantity()).isEqualTo(150);
+    assertThat(correction.getNewQuantity()).isEqualTo(160);
+
+    // The correction realigned the ledger, so a second run finds nothing
+    String secondRunId = startReconciliationAndAwait(false);
+    mockMvc.perform(get("/api/v1/stock/reconciliations/" + secondRunId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.stocksChecked").value(1))
+        .andExpect(jsonPath("$.data.discrepancies").value(0));
+  }
+
+  @Test
+  void reconciliation_WithReservedOnlyMismatch_ShouldRecordPositiveReservedCorrection() throws Exception {
+    // Given - 30 units reserved, then the stock's reserved quantity is lowered without a movement
+    String stockId = createStockViaApi(testItemId, null, 100);
+    reserveTestStock(stockId, 30);
+
+    Stock tampered = stockRepository.findById(stockId).orElseThrow();
+    tampered.setReservedQuantity(20);
+    stockRepository.save(tampered);
+
+    // When
+    String runId = startReconciliationAndAwait(true);
+
+    // Then - the correction carries the 10 reserved units it releases; the total is unchanged
+    MvcResult discrepancies = mockMvc.perform(get("/api/v1/stock/reconciliations/" + runId + "/discrepancies"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.content", hasSize(1)))
+        .andExpect(jsonPath("$.data.content[0].stockReservedQuantity").value(20))
+        .andExpect(jsonPath("$.data.content[0].ledgerReservedQuantity").value(30))
+        .andExpect(jsonPath("$.data.content[0].corrected").value(true))
+        .andReturn();
+
+    String correctionId = objectMapper.readTree(discrepancies.getResponse().getContentAsString())
+        .get("data").get("content").get(0).get("correctionMovementId").asText();
+    StockMovement correction = stockMovementRepository.findById(correctionId).orElseThrow();
+    assertThat(correction.getMovementType()).isEqualTo(MovementType.ADJUSTMENT);
+    assertThat(correction.getQuantity()).isEqualTo(10);
+    assertThat(correction.getPreviousQuantity()).isEqualTo(100);
+    assertThat(correction.getNewQuantity()).isEqualTo(100);
+    assertThat(correction.getPreviousReservedQuantity()).isEqualTo(30);
+    assertThat(correction.getNewReservedQuantity()).isEqualTo(20);
+    assertThat(correction.getNotes()).contains("reserved quantity");
+
+    String secondRunId = startReconciliationAndAwait(false);
+    mockMvc.perform(get("/api/v1/stock/reconciliations/" + secondRunId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.discrepancies").value(0));
+  }
+
+  @Test
+  void getReconciliationRun_WithNonExistentRun_ShouldReturnNotFound() throws Exception {
+    mockMvc.perform(get("/api/v1/stock/reconciliations/non-existent-id"))
+        .andExpect(status().isNotFound());
+  }
+
   // ==================== CONCURRENT OPERATIONS TEST ====================
 
   @Test
@@ -1198,6 +1799,42 @@ class StockControllerIntegrationTest extends BaseIntegrationTest {
     return stockRepository.save(stock).getId();
   }
 
+  private String createStockViaApi(String itemId, String variantId, int quantity) throws Exception {
+    StockCreateRequest request = StockCreateRequest.builder()
+        .itemId(itemId)
+        .variantId(variantId)
+        .quantity(quantity)
+        .warehouseLocation("WAREHOUSE-A")
+        .build();
+
+    MvcResult result = mockMvc.perform(post("/api/v1/stock")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isCreated())
+        .andReturn();
+
+    return objectMapper.readTree(result.getResponse().getContentAsString()).get("data").get("id").asText();
+  }
+
+  private String startReconciliationAndAwait(boolean autoCorrect) throws Exception {
+    MvcResult result = mockMvc.perform(post("/api/v1/stock/reconciliations")
+            .param("autoCorrect", String.valueOf(autoCorrect)))
+        .andExpect(status().isAccepted())
+        .andReturn();
+    String runId = objectMapper.readTree(result.getResponse().getContentAsString()).get("data").get("id").asText();
+
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+        mockMvc.perform(get("/api/v1/stock/reconciliations/" + runId))
+            .andExpect(jsonPath("$.data.status").value("COMPLETED")));
+    return runId;
+  }
+
+  private long writeCount(String tier, String command) {
+    Timer timer = meterRegistry.find("mongodb.write").tag("tier", tier).tag("command", command)
+        .tag("outcome", "success").timer();
+    return timer == null ? 0 : timer.count();
+  }
+
   private void reserveTestStock(String stockId, int quantity) throws Exception {
     StockReserveRequest request = StockReserveRequest.builder()
         .quantity(quantity)
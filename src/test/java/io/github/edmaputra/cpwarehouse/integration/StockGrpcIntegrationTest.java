@@ -0,0 +1,168 @@
+package io.github.edmaputra.cpwarehouse.integration;
+
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.grpc.GrpcServer;
+import io.github.edmaputra.cpwarehouse.grpc.v1.AvailabilityReply;
+import io.github.edmaputra.cpwarehouse.grpc.v1.AvailabilityRequest;
+import io.github.edmaputra.cpwarehouse.grpc.v1.MovementType;
+import io.github.edmaputra.cpwarehouse.grpc.v1.ReleaseRequest;
+import io.github.edmaputra.cpwarehouse.grpc.v1.ReserveRequest;
+import io.github.edmaputra.cpwarehouse.grpc.v1.ReserveStreamRequest;
+import io.github.edmaputra.cpwarehouse.grpc.v1.ReserveStreamResult;
+import io.github.edmaputra.cpwarehouse.grpc.v1.StockReply;
+import io.github.edmaputra.cpwarehouse.grpc.v1.StockServiceGrpc;
+import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the gRPC StockService.
+ */
+class StockGrpcIntegrationTest extends BaseIntegrationTest {
+
+  private static final Metadata.Key<String> ERROR_CODE =
+      Metadata.Key.of("error-code", Metadata.ASCII_STRING_MARSHALLER);
+
+  @Autowired
+  GrpcServer grpcServer;
+
+  @Autowired
+  StockRepository stockRepository;
+
+  @Autowired
+  StockMovementRepository stockMovementRepository;
+
+  private ManagedChannel channel;
+  private String stockId;
+
+  @BeforeEach
+  void setUp() {
+    stockRepository.deleteAll();
+    stockMovementRepository.deleteAll();
+    stockId = stockRepository.save(Stock.builder()
+        .itemId("GRPC-ITEM")
+        .quantity(10)
+        .reservedQuantity(0)
+        .warehouseLocation("WAREHOUSE-A")
+        .build()).getId();
+    channel = ManagedChannelBuilder.forAddress("localhost", grpcServer.getPort()).usePlaintext().build();
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    stockRepository.deleteAll();
+    stockMovementRepository.deleteAll();
+  }
+
+  @Test
+  void reserveAndRelease_ShouldUpdateStockLikeRestEndpoints() {
+    StockServiceGrpc.StockServiceBlockingStub stub = StockServiceGrpc.newBlockingStub(channel);
+
+    // When
+    StockReply reserved = stub.reserve(ReserveRequest.newBuilder()
+        .setStockId(stockId)
+        .setQuantity(4)
+        .setCreatedBy("grpc-test")
+        .build());
+
+    // Then
+    assertThat(reserved.getReservedQuantity()).isEqualTo(4);
+    assertThat(reserved.getAvailableQuantity()).isEqualTo(6);
+    assertThat(reserved.hasReorderThreshold()).isFalse();
+
+    StockReply released = stub.release(ReleaseRequest.newBuilder()
+        .setStockId(stockId)
+        .setQuantity(3)
+        .setMovementType(MovementType.MOVEMENT_TYPE_RELEASE)
+        .setCreatedBy("grpc-test")
+        .build());
+    assertThat(released.getReservedQuantity()).isEqualTo(1);
+
+    AvailabilityReply availability = stub.getAvailability(AvailabilityRequest.newBuilder().setStockId(stockId).build());
+    assertThat(availability.getAvailableQuantity()).isEqualTo(9);
+    assertThat(availability.getIsAvailable()).isTrue();
+  }
+
+  @Test
+  void reserve_WithInsufficientOrInvalidRequest_ShouldFailWithRestErrorCode() {
+    StockServiceGrpc.StockServiceBlockingStub stub = StockServiceGrpc.newBlockingStub(channel);
+
+    assertThatThrownBy(() -> stub.reserve(ReserveRequest.newBuilder()
+        .setStockId(stockId).setQuantity(11).setCreatedBy("grpc-test").build()))
+        .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+          assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.FAILED_PRECONDITION);
+          assertThat(e.getTrailers().get(ERROR_CODE)).isEqualTo("INSUFFICIENT_STOCK");
+        });
+
+    // quantity and createdBy are left unset
+    assertThatThrownBy(() -> stub.reserve(ReserveRequest.newBuilder().setStockId(stockId).build()))
+        .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+          assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+          assertThat(e.getTrailers().get(ERROR_CODE)).isEqualTo("VALIDATION_ERROR");
+          assertThat(e.getStatus().getDescription()).contains("createdBy", "quantity");
+        });
+
+    assertThatThrownBy(() -> stub.getAvailability(AvailabilityRequest.newBuilder().setStockId("missing").build()))
+        .isInstanceOfSatisfying(StatusRuntimeException.class,
+            e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+  }
+
+  @Test
+  void reserveStream_WithPipelinedRequests_ShouldAnswerEachByCorrelationId() throws Exception {
+    StockServiceGrpc.StockServiceStub stub = StockServiceGrpc.newStub(channel);
+    Map<String, ReserveStreamResult> results = new ConcurrentHashMap<>();
+    CompletableFuture<Void> done = new CompletableFuture<>();
+
+    StreamObserver<ReserveStreamRequest> requests = stub.reserveStream(new StreamObserver<>() {
+      @Override
+      public void onNext(ReserveStreamResult result) {
+        results.put(result.getCorrelationId(), result);
+      }
+
+      @Override
+      public void onError(Throwable t) {
+        done.completeExceptionally(t);
+      }
+
+      @Override
+      public void onCompleted() {
+        done.complete(null);
+      }
+    });
+
+    // When - 12 reservations of one unit against 10 units
+    for (int i = 0; i < 12; i++) {
+      requests.onNext(ReserveStreamRequest.newBuilder()
+          .setCorrelationId("r-" + i)
+          .setReserve(ReserveRequest.newBuilder().setStockId(stockId).setQuantity(1).setCreatedBy("grpc-test"))
+          .build());
+    }
+    requests.onCompleted();
+    done.get(30, TimeUnit.SECONDS);
+
+    // Then - every request is answered; the stock is never oversold and matches the successful results
+    assertThat(results).hasSize(12);
+    List<ReserveStreamResult> succeeded = results.values().stream().filter(ReserveStreamResult::hasStock).toList();
+    assertThat(succeeded).hasSizeLessThanOrEqualTo(10);
+    assertThat(stockRepository.findById(stockId).orElseThrow().getReservedQuantity()).isEqualTo(succeeded.size());
+  }
+}
@@ -0,0 +1,104 @@
+package io.github.edmaputra.cpwarehouse.integration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import io.github.edmaputra.cpwarehouse.config.MovementStorageProperties;
+import io.github.edmaputra.cpwarehouse.config.StockMovementStorageInitializer;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockReservationRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the startup handling of movements written before the meta layout.
+ */
+class StockMovementStorageInitializerIntegrationTest extends BaseIntegrationTest {
+
+  @Autowired
+  StockMovementStorageInitializer storageInitializer;
+
+  @Autowired
+  MovementStorageProperties movementStorageProperties;
+
+  @Autowired
+  StockMovementRepository stockMovementRepository;
+
+  @Autowired
+  StockReservationRepository stockReservationRepository;
+
+  @Autowired
+  MongoTemplate mongoTemplate;
+
+  private String reservationId;
+
+  @BeforeEach
+  void setUp() {
+    stockMovementRepository.deleteAll();
+    stockReservationRepository.deleteAll();
+
+    // A released reservation in the legacy layout, with the legacy stockId index
+    reservationId = new ObjectId().toHexString();
+    MongoCollection<Document> movements = mongoTemplate.getCollection("stock_movements");
+    movements.insertOne(new Document("_id", new ObjectId(reservationId))
+        .append("stockId", "legacy-stock")
+        .append("movementType", "RESERVATION")
+        .append("quantity", 5)
+        .append("previousQuantity", 0)
+        .append("newQuantity", 5)
+        .append("createdAt", 1_700_000_000_000L)
+        .append("releasedAt", 1_700_000_100_000L)
+        .append("releaseMovementId", new ObjectId().toHexString()));
+    movements.createIndex(new Document("stockId", 1), new IndexOptions().name("stockId"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    movementStorageProperties.setMigrateLegacy(false);
+    mongoTemplate.getCollection("stock_movements").listIndexes().forEach(index -> {
+      if ("stockId".equals(index.getString("name"))) {
+        mongoTemplate.getCollection("stock_movements").dropIndex("stockId");
+      }
+    });
+    stockMovementRepository.deleteAll();
+    stockReservationRepository.deleteAll();
+  }
+
+  @Test
+  void run_WithUnmigratedLegacyMovements_ShouldFailStartup() {
+    assertThatThrownBy(() -> storageInitializer.run(new DefaultApplicationArguments()))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("migrate-legacy");
+  }
+
+  @Test
+  void run_WithMigrateLegacy_ShouldMoveMovementsToMetaLayout() {
+    // When
+    movementStorageProperties.setMigrateLegacy(true);
+    storageInitializer.run(new DefaultApplicationArguments());
+
+    // Then - the movement is visible to queries, its release marker exists and the legacy index is gone
+    assertThat(stockMovementRepository.findByStockIdOrderByCreatedAtDescIdDesc("legacy-stock"))
+        .singleElement()
+        .extracting(StockMovement::getCreatedAt)
+        .isEqualTo(1_700_000_000_000L);
+    assertThat(stockReservationRepository.findById(reservationId)).isPresent();
+    assertThat(mongoTemplate.indexOps(StockMovement.class).getIndexInfo())
+        .extracting(IndexInfo::getName)
+        .doesNotContain("stockId");
+
+    // A second start has nothing left to refuse
+    movementStorageProperties.setMigrateLegacy(false);
+    storageInitializer.run(new DefaultApplicationArguments());
+  }
+}
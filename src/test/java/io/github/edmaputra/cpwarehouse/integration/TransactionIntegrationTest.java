@@ -0,0 +1,212 @@
+package io.github.edmaputra.cpwarehouse.integration;
+
+import com.mongodb.client.MongoClient;
+import io.github.edmaputra.cpwarehouse.common.MongoTransactions;
+import io.github.edmaputra.cpwarehouse.config.MovementStorageProperties;
+import io.github.edmaputra.cpwarehouse.config.TransactionProperties;
+import io.github.edmaputra.cpwarehouse.domain.entity.CheckoutItem;
+import io.github.edmaputra.cpwarehouse.domain.entity.Item;
+import io.github.edmaputra.cpwarehouse.domain.entity.Stock;
+import io.github.edmaputra.cpwarehouse.domain.entity.StockMovement;
+import io.github.edmaputra.cpwarehouse.domain.entity.Variant;
+import io.github.edmaputra.cpwarehouse.dto.request.CheckoutRequest;
+import io.github.edmaputra.cpwarehouse.dto.request.PaymentRequest;
+import io.github.edmaputra.cpwarehouse.repository.CheckoutItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.ItemRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockMovementRepository;
+import io.github.edmaputra.cpwarehouse.repository.StockRepository;
+import io.github.edmaputra.cpwarehouse.repository.VariantRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for write commands in MongoDB transactions, against a single-node replica set.
+ */
+@Testcontainers
+class TransactionIntegrationTest extends BaseIntegrationTest {
+
+  @Container
+  static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+
+  @DynamicPropertySource
+  static void setProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", () -> mongoDBContainer.getReplicaSetUrl("cpwarehouse_test"));
+    registry.add("application.transactions.enabled", () -> "true");
+  }
+
+  @Autowired
+  ItemRepository itemRepository;
+
+  @Autowired
+  VariantRepository variantRepository;
+
+  @Autowired
+  StockRepository stockRepository;
+
+  @Autowired
+  CheckoutItemRepository checkoutItemRepository;
+
+  @Autowired
+  StockMovementRepository stockMovementRepository;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Autowired
+  MongoClient mongoClient;
+
+  private Item testItem;
+  private Variant testVariant;
+  private Stock testStock;
+
+  @BeforeEach
+  void setUp() {
+    checkoutItemRepository.deleteAll();
+    stockMovementRepository.deleteAll();
+    stockRepository.deleteAll();
+    variantRepository.deleteAll();
+    itemRepository.deleteAll();
+
+    testItem = Item.builder()
+        .sku("TX-ITEM-001")
+        .name("Transactional Product")
+        .basePrice(new BigDecimal("100.00"))
+        .isActive(true)
+        .build();
+    testItem.prePersist();
+    testItem = itemRepository.save(testItem);
+
+    testVariant = Variant.builder()
+        .itemId(testItem.getId())
+        .variantSku("TX-VAR-001")
+        .variantName("Size M")
+        .priceAdjustment(BigDecimal.ZERO)
+        .isActive(true)
+        .build();
+    testVariant.prePersist();
+    testVariant = variantRepository.save(testVariant);
+
+    testStock = Stock.builder()
+        .itemId(testItem.getId())
+        .variantId(testVariant.getId())
+        .quantity(100)
+        .reservedQuantity(0)
+        .warehouseLocation("T-01-01")
+        .build();
+    testStock.prePersist();
+    testStock = stockRepository.save(testStock);
+  }
+
+  @Test
+  void payment_ShouldCommitAllWritesInOneTransaction() throws Exception {
+    // Given
+    String checkoutId = checkout(10);
+    double committed = transactionCount("ProcessPaymentCommand", "committed");
+
+    // When
+    pay(checkoutId)
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.status").value("COMPLETED"));
+
+    // Then
+    CheckoutItem completed = checkoutItemRepository.findById(checkoutId).orElseThrow();
+    assertThat(completed.getStatus()).isEqualTo(CheckoutItem.CheckoutStatus.COMPLETED);
+    Stock stock = stockRepository.findById(testStock.getId()).orElseThrow();
+    assertThat(stock.getQuantity()).isEqualTo(90);
+    assertThat(stock.getReservedQuantity()).isZero();
+    StockMovement out = stockMovementRepository.findById(completed.getSettlementMovementId()).orElseThrow();
+    assertThat(out.getMovementType()).isEqualTo(StockMovement.MovementType.OUT);
+    assertThat(transactionCount("ProcessPaymentCommand", "committed")).isEqualTo(committed + 1);
+  }
+
+  @Test
+  void payment_WithRejectedStockUpdate_ShouldRollBackCheckoutClaim() throws Exception {
+    // Given - the reserved units disappear after checkout, so the guarded stock update fails
+    String checkoutId = checkout(10);
+    Stock stock = stockRepository.findById(testStock.getId()).orElseThrow();
+    stock.setReservedQuantity(0);
+    stockRepository.save(stock);
+    CheckoutItem pending = checkoutItemRepository.findById(checkoutId).orElseThrow();
+    double aborted = transactionCount("ProcessPaymentCommand", "aborted");
+
+    // When
+    pay(checkoutId)
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error.code").value("INVALID_OPERATION"));
+
+    // Then - the claim and its compensating revert were both rolled back, leaving the checkout untouched
+    CheckoutItem checkout = checkoutItemRepository.findById(checkoutId).orElseThrow();
+    assertThat(checkout.getStatus()).isEqualTo(CheckoutItem.CheckoutStatus.PENDING);
+    assertThat(checkout.getVersion()).isEqualTo(pending.getVersion());
+    assertThat(transactionCount("ProcessPaymentCommand", "aborted")).isEqualTo(aborted + 1);
+  }
+
+  @Test
+  void transactions_WithTimeSeriesMovements_ShouldRefuseToStart() {
+    TransactionProperties properties = new TransactionProperties();
+    properties.setEnabled(true);
+    MovementStorageProperties movementStorage = new MovementStorageProperties();
+    movementStorage.setStorage(MovementStorageProperties.Storage.TIMESERIES);
+
+    assertThatThrownBy(() -> new MongoTransactions(properties, movementStorage, mongoClient, meterRegistry))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("timeseries");
+  }
+
+  private String checkout(int quantity) throws Exception {
+    CheckoutRequest request = CheckoutRequest.builder()
+        .itemId(testItem.getId())
+        .variantId(testVariant.getId())
+        .quantity(quantity)
+        .customerId("CUST-TX")
+        .checkoutReference("CHECKOUT-TX")
+        .build();
+    MvcResult result = mockMvc.perform(post("/api/v1/checkout")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andReturn();
+    return objectMapper.readTree(result.getResponse().getContentAsString()).get("data").get("id").asText();
+  }
+
+  private ResultActions pay(String checkoutId) throws Exception {
+    PaymentRequest request = PaymentRequest.builder()
+        .paymentAmount(new BigDecimal("1000.00"))
+        .paymentSuccess(true)
+        .paymentReference("PAY-TX")
+        .processedBy("SYSTEM")
+        .build();
+    return mockMvc.perform(post("/api/v1/checkout/{id}/payment", checkoutId)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(request)));
+  }
+
+  private double transactionCount(String command, String outcome) {
+    return Optional.ofNullable(meterRegistry.find("command.transaction")
+            .tags("command", command, "outcome", outcome)
+            .counter())
+        .map(Counter::count)
+        .orElse(0.0);
+  }
+}